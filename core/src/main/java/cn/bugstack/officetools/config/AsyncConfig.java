@@ -0,0 +1,109 @@
+package cn.bugstack.officetools.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 异步任务配置
+ */
+@Slf4j
+@Configuration
+@EnableAsync
+public class AsyncConfig implements AsyncConfigurer {
+
+    @Value("${conversion.task.core-pool-size:2}")
+    private int corePoolSize;
+
+    @Value("${conversion.task.max-pool-size:5}")
+    private int maxPoolSize;
+
+    @Value("${conversion.task.queue-capacity:50}")
+    private int queueCapacity;
+
+    @Value("${conversion.worker.pool-size:2}")
+    private int workerPoolSize;
+
+    @Value("${conversion.worker.queue-capacity:200}")
+    private int workerQueueCapacity;
+
+    @Value("${search.index.queue-capacity:1000}")
+    private int indexQueueCapacity;
+
+    @Bean(name = "conversionTaskExecutor")
+    @Override
+    public Executor getAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("conversion-async-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+
+        log.info("异步任务执行器初始化完成 - 核心线程数: {}, 最大线程数: {}, 队列容量: {}",
+                corePoolSize, maxPoolSize, queueCapacity);
+
+        return executor;
+    }
+
+    /**
+     * 文档并行处理线程池
+     * 用于单个请求内部的并行工作（按页渲染、按节转换等），与异步任务线程池隔离
+     */
+    @Bean(name = "documentWorkerExecutor")
+    public ThreadPoolTaskExecutor documentWorkerExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerPoolSize);
+        executor.setMaxPoolSize(workerPoolSize);
+        executor.setQueueCapacity(workerQueueCapacity);
+        executor.setThreadNamePrefix("document-worker-");
+        // 队列已满时由调用线程执行，保证请求不会因线程池饱和而失败
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+
+        log.info("文档并行处理线程池初始化完成 - 线程数: {}, 队列容量: {}", workerPoolSize, workerQueueCapacity);
+
+        return executor;
+    }
+
+    /**
+     * 全文索引线程池
+     * 单线程顺序写入索引，与转换链路隔离；队列满时拒绝新任务（索引是尽力而为的，不能拖慢转换）
+     */
+    @Bean(name = "documentIndexExecutor")
+    public ThreadPoolTaskExecutor documentIndexExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(indexQueueCapacity);
+        executor.setThreadNamePrefix("document-index-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+
+        log.info("全文索引线程池初始化完成 - 队列容量: {}", indexQueueCapacity);
+
+        return executor;
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (throwable, method, params) ->
+                log.error("异步任务执行失败 - 方法: {}, 参数: {}, 异常: {}",
+                        method.getName(), params, throwable.getMessage(), throwable);
+    }
+}
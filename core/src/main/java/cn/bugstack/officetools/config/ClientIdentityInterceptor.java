@@ -0,0 +1,56 @@
+package cn.bugstack.officetools.config;
+
+import cn.bugstack.officetools.util.ClientContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 客户端标识拦截器
+ * 在请求线程上设置 ClientContext，请求结束（或转入异步处理）时清除；
+ * 只有配置中登记的 API Key 才作为独立客户端，其余请求按 IP 区分
+ */
+@Slf4j
+@Component
+public class ClientIdentityInterceptor implements AsyncHandlerInterceptor {
+
+    @Value("${client.api-keys:}")
+    private List<String> apiKeys;
+
+    private Set<String> knownKeyIds;
+
+    @PostConstruct
+    public void init() {
+        knownKeyIds = new HashSet<>();
+        for (String apiKey : apiKeys) {
+            if (!apiKey.isBlank()) {
+                knownKeyIds.add(ClientContext.keyId(apiKey));
+            }
+        }
+        log.info("客户端标识初始化 - 已登记 API Key: {}", knownKeyIds);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ClientContext.set(ClientContext.resolve(request, knownKeyIds));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ClientContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ClientContext.clear();
+    }
+}
@@ -0,0 +1,44 @@
+package cn.bugstack.officetools.config;
+
+import cn.bugstack.officetools.scheduler.AdaptiveConcurrencyController;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 转换并发控制端点
+ * GET /actuator/concurrency 查看并发上限与内存压力指标，
+ * POST /actuator/concurrency（JSON: enabled / min / max / limit）在运行时调整
+ * 该端点可修改运行状态，默认不对外暴露，仅在独立的管理端口（management.server.port）上按需开启
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Component
+@Endpoint(id = "concurrency")
+public class ConcurrencyEndpoint {
+
+    @Autowired
+    private AdaptiveConcurrencyController adaptiveConcurrencyController;
+
+    @ReadOperation
+    public Map<String, Object> concurrency() {
+        return adaptiveConcurrencyController.getStatus();
+    }
+
+    @WriteOperation
+    public Map<String, Object> update(@Nullable Boolean enabled, @Nullable Integer min,
+                                      @Nullable Integer max, @Nullable Integer limit) {
+        try {
+            return adaptiveConcurrencyController.update(enabled, min, max, limit);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+}
@@ -58,6 +58,9 @@ public class CorsConfig {
         config.setAllowedMethods(Arrays.asList(allowedMethods));
         config.addAllowedHeader(allowedHeaders);
         config.setMaxAge(maxAge);
+        // 允许前端读取限流响应头
+        config.setExposedHeaders(Arrays.asList(
+                "X-RateLimit-Limit", "X-RateLimit-Remaining", "X-RateLimit-Reset", "Retry-After"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", config);
@@ -0,0 +1,123 @@
+package cn.bugstack.officetools.config;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 按需 JFR 录制端点
+ * GET /actuator/jfr?seconds=30&amp;settings=profile 录制指定时长后返回 .jfr 文件，
+ * 可用 JDK Mission Control 打开，自定义事件位于 "Office Tools" 分类下
+ * 同一时间只允许一个录制，并发请求返回 429；录制文件从临时文件流式返回，写出响应后删除
+ * <p>
+ * 端点默认关闭（defaultAccess = NONE）且不在暴露列表中；需要时在独立的内网管理端口上开启：
+ * management.server.port + management.endpoint.jfr.access=read-only + 暴露列表加入 jfr。
+ * 录制会屏蔽环境变量、系统属性、JVM 启动参数和进程列表等事件，避免 R2 密钥等敏感信息写入文件
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "jfr", defaultAccess = Access.NONE)
+public class JfrEndpoint {
+
+    /**
+     * 可能包含密钥或连接串的 JDK 事件，录制时一律关闭
+     */
+    private static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty",
+            "jdk.InitialSecurityProperty",
+            "jdk.JVMInformation",
+            "jdk.SystemProcess");
+
+    private final ReentrantLock recordingLock = new ReentrantLock();
+
+    @Value("${conversion.jfr.default-seconds:30}")
+    private int defaultSeconds;
+
+    @Value("${conversion.jfr.max-seconds:300}")
+    private int maxSeconds;
+
+    @Value("${conversion.jfr.settings:profile}")
+    private String defaultSettings;
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> record(@Nullable Integer seconds,
+                                                @Nullable String settings) throws Exception {
+        int duration = seconds != null ? seconds : defaultSeconds;
+        if (duration < 1 || duration > maxSeconds) {
+            String message = "录制时长必须在 1-" + maxSeconds + " 秒之间";
+            throw new InvalidEndpointRequestException(message, message);
+        }
+
+        // JDK 自带 default（开销约 1%）与 profile（开销约 2%，包含更细的采样）两种配置
+        String settingsName = settings != null && !settings.isBlank() ? settings : defaultSettings;
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (Exception e) {
+            String message = "不支持的录制配置: " + settingsName + "，可选 default / profile";
+            throw new InvalidEndpointRequestException(message, message);
+        }
+
+        if (!recordingLock.tryLock()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+        Path file = null;
+        boolean streaming = false;
+        try (Recording recording = new Recording(redact(configuration))) {
+            file = Files.createTempFile("office-tools-", ".jfr");
+            recording.setName("office-tools-on-demand");
+            recording.setToDisk(true);
+
+            log.info("【性能监控】开始 JFR 录制 - 时长: {}s, 配置: {}", duration, settingsName);
+            recording.start();
+            Thread.sleep(duration * 1000L);
+            recording.stop();
+            recording.dump(file);
+
+            log.info("【性能监控】JFR 录制完成 - 时长: {}s, 文件大小: {} bytes", duration, Files.size(file));
+            // 录制可达数十 MB，不读入堆；响应写出后关闭流时删除临时文件
+            InputStream content = Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE);
+            streaming = true;
+            return new WebEndpointResponse<>(new InputStreamResource(content));
+        } finally {
+            if (file != null && !streaming) {
+                Files.deleteIfExists(file);
+            }
+            recordingLock.unlock();
+        }
+    }
+
+    /**
+     * 复制 JDK 预置配置并关闭敏感事件
+     */
+    private static Map<String, String> redact(Configuration configuration) {
+        Map<String, String> settings = new HashMap<>(configuration.getSettings());
+        for (String event : SENSITIVE_EVENTS) {
+            settings.put(event + "#enabled", "false");
+        }
+        return settings;
+    }
+}
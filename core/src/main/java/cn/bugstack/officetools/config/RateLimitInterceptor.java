@@ -0,0 +1,126 @@
+package cn.bugstack.officetools.config;
+
+import cn.bugstack.officetools.util.ClientContext;
+import cn.bugstack.officetools.util.TokenBucket;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 按客户端限流拦截器
+ * 每个客户端（已登记的 API Key 或 IP，见 ClientContext）一个令牌桶控制请求速率，
+ * 另外限制同一客户端同时进行的转换请求数（非 GET 请求），避免单个调用方占满转换能力。
+ * 响应携带 X-RateLimit-Limit / X-RateLimit-Remaining / X-RateLimit-Reset，超限时返回 429 与 Retry-After
+ */
+@Slf4j
+@Component
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTR = RateLimitInterceptor.class.getName() + ".permit";
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.capacity:60}")
+    private int capacity;
+
+    @Value("${rate-limit.refill-per-minute:120}")
+    private int refillPerMinute;
+
+    @Value("${rate-limit.max-concurrent:2}")
+    private int maxConcurrent;
+
+    @Value("${rate-limit.idle-expire-minutes:30}")
+    private long idleExpireMinutes;
+
+    @Value("${rate-limit.max-clients:10000}")
+    private long maxClients;
+
+    /**
+     * 客户端状态（长时间无请求的客户端自动移除，总数有上限）
+     */
+    private Cache<String, ClientState> clients;
+
+    @PostConstruct
+    public void init() {
+        clients = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(idleExpireMinutes))
+                .maximumSize(maxClients)
+                .build();
+        log.info("客户端限流初始化 - 启用: {}, 桶容量: {}, 每分钟补充: {}, 单客户端并发转换上限: {}",
+                enabled, capacity, refillPerMinute, maxConcurrent);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 异步请求的再次派发不重复计数
+        if (!enabled || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        // 由 ClientIdentityInterceptor 在前面设置
+        String clientId = ClientContext.getClientId();
+        ClientState state = clients.get(clientId, key -> new ClientState(new TokenBucket(capacity, refillPerMinute)));
+
+        TokenBucket.Probe probe = state.bucket.tryConsume();
+        response.setHeader("X-RateLimit-Limit", String.valueOf(state.bucket.getCapacity()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(probe.getRemaining()));
+        response.setHeader("X-RateLimit-Reset", String.valueOf(toSeconds(probe.getResetNanos())));
+        if (!probe.isConsumed()) {
+            response.setHeader("Retry-After", String.valueOf(Math.max(1, toSeconds(probe.getRetryAfterNanos()))));
+            log.warn("请求速率超限 - 客户端: {}, URI: {}", clientId, request.getRequestURI());
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "请求过于频繁，请稍后重试");
+        }
+
+        if (!"GET".equalsIgnoreCase(request.getMethod())) {
+            if (state.inFlight.incrementAndGet() > maxConcurrent) {
+                state.inFlight.decrementAndGet();
+                response.setHeader("Retry-After", "1");
+                log.warn("并发转换数超限 - 客户端: {}, 上限: {}, URI: {}", clientId, maxConcurrent, request.getRequestURI());
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                        "同时进行的转换请求不能超过 " + maxConcurrent + " 个");
+            }
+            request.setAttribute(PERMIT_ATTR, state);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        // 流式响应在异步派发结束后才会走到这里，许可一直保持到响应写完
+        Object state = request.getAttribute(PERMIT_ATTR);
+        if (state != null) {
+            request.removeAttribute(PERMIT_ATTR);
+            ((ClientState) state).inFlight.decrementAndGet();
+        }
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * 单个客户端的限流状态
+     */
+    private static class ClientState {
+        private final TokenBucket bucket;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        ClientState(TokenBucket bucket) {
+            this.bucket = bucket;
+        }
+    }
+}
@@ -13,9 +13,15 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebMvcConfig implements WebMvcConfigurer {
 
     private final RequestLoggingInterceptor requestLoggingInterceptor;
+    private final ClientIdentityInterceptor clientIdentityInterceptor;
+    private final RateLimitInterceptor rateLimitInterceptor;
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(clientIdentityInterceptor)
+                .addPathPatterns("/api/**");
+        registry.addInterceptor(rateLimitInterceptor)
+                .addPathPatterns("/api/convert/**", "/api/aspose/**", "/api/spire/**", "/api/r2/**");
         registry.addInterceptor(requestLoggingInterceptor)
                 .addPathPatterns("/api/**")
                 .excludePathPatterns("/actuator/**");
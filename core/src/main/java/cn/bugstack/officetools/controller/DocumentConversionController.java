@@ -0,0 +1,397 @@
+package cn.bugstack.officetools.controller;
+
+import cn.bugstack.officetools.domain.dto.ApiResponse;
+import cn.bugstack.officetools.domain.dto.ConversionOptions;
+import cn.bugstack.officetools.domain.dto.ConversionProfile;
+import cn.bugstack.officetools.domain.dto.ConversionResult;
+import cn.bugstack.officetools.domain.dto.PdfImageEncoding;
+import cn.bugstack.officetools.domain.dto.RoutedConversionResult;
+import cn.bugstack.officetools.domain.dto.TaskInfo;
+import cn.bugstack.officetools.service.ConversionScheduler;
+import cn.bugstack.officetools.service.ConversionWorkQueue;
+import cn.bugstack.officetools.service.DocumentConversionService;
+import cn.bugstack.officetools.service.DocumentEngineRouter;
+import cn.bugstack.officetools.service.TaskManager;
+import cn.bugstack.officetools.util.HttpHeaderUtil;
+import cn.bugstack.officetools.util.PageRangeParser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文档转换控制器
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/convert")
+public class DocumentConversionController {
+
+    @Autowired
+    private DocumentConversionService conversionService;
+
+    @Autowired
+    private TaskManager taskManager;
+
+    @Autowired
+    private DocumentEngineRouter documentEngineRouter;
+
+    @Autowired
+    private ConversionScheduler conversionScheduler;
+
+    @Autowired
+    private ConversionWorkQueue conversionWorkQueue;
+
+    /**
+     * 同步转换 - 单文件
+     * 可通过 pages（前 N 页）或 pageRange（如 1-3,5）只转换部分页面，
+     * 大文档可通过 sectionParallel=true 按节并行转换，profile 选择转换档位（fast / balanced / archival），
+     * optimize / imageDpi / imageEncoding（auto / jpeg / flate）控制 PDF 体积优化，默认按档位
+     */
+    @PostMapping("/word-to-pdf/sync/single")
+    public ResponseEntity<?> convertSingleSync(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "returnFile", defaultValue = "true") boolean returnFile,
+            @RequestParam(value = "pages", required = false) Integer pages,
+            @RequestParam(value = "pageRange", required = false) String pageRange,
+            @RequestParam(value = "sectionParallel", defaultValue = "false") boolean sectionParallel,
+            @RequestParam(value = "profile", required = false) String profile,
+            @RequestParam(value = "optimize", required = false) Boolean optimize,
+            @RequestParam(value = "imageDpi", required = false) Integer imageDpi,
+            @RequestParam(value = "imageEncoding", required = false) String imageEncoding) {
+
+        try {
+            ConversionOptions options = ConversionOptions.builder()
+                    .pageRange(PageRangeParser.resolve(pages, pageRange))
+                    .sectionParallel(sectionParallel)
+                    .profile(ConversionProfile.of(profile))
+                    .optimizePdf(optimize)
+                    .imageDpi(imageDpi)
+                    .imageEncoding(PdfImageEncoding.of(imageEncoding))
+                    .build();
+            ConversionResult result = conversionService.convertSingleSync(file, returnFile, options);
+
+            // 如果需要返回文件，直接返回文件流
+            if (returnFile && result.isSuccess()) {
+                byte[] content = conversionService.downloadFile(result.getPdfFileName());
+                return ResponseEntity.ok()
+                        .header("Content-Disposition", HttpHeaderUtil.createContentDispositionValue(result.getPdfFileName()))
+                        .header("Content-Type", "application/pdf")
+                        .header("X-Pdf-Bytes-Saved", String.valueOf(result.getBytesSaved()))
+                        .body(content);
+            }
+
+            // 否则返回 JSON 结果
+            return ResponseEntity.ok()
+                    .body(new ApiResponse<>(true, result.getMessage(), result));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (IllegalStateException e) {
+            // 转换队列已满
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            log.error("单文件转换失败: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "转换失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 同步转换 - 批量
+     */
+    @PostMapping("/word-to-pdf/sync/batch")
+    public ResponseEntity<?> convertBatchSync(
+            @RequestParam("files") MultipartFile[] files,
+            @RequestParam(value = "returnFile", defaultValue = "true") boolean returnFile) {
+
+        try {
+            ConversionResult result = conversionService.convertBatchSync(files, returnFile);
+
+            // 如果需要返回文件，直接返回 ZIP 文件流
+            if (returnFile && result.isSuccess() && result.getZipFileName() != null) {
+                byte[] content = conversionService.downloadFile(result.getZipFileName());
+                return ResponseEntity.ok()
+                        .header("Content-Disposition", HttpHeaderUtil.createContentDispositionValue(result.getZipFileName()))
+                        .header("Content-Type", "application/zip")
+                        .body(content);
+            }
+
+            // 否则返回 JSON 结果
+            return ResponseEntity.ok()
+                    .body(new ApiResponse<>(true, result.getMessage(), result));
+
+        } catch (IllegalStateException e) {
+            // 转换队列已满
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            log.error("批量转换失败: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "转换失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 统一转换入口 - 由引擎路由自动选择 Aspose 或 Spire
+     * PDF 输出可按 optimize / imageDpi / imageEncoding 做体积优化，节省的字节数通过 X-Pdf-Bytes-Saved 返回
+     */
+    @PostMapping("/document")
+    public ResponseEntity<?> convertDocument(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "format", defaultValue = "pdf") String targetFormat,
+            @RequestParam(value = "pages", required = false) Integer pages,
+            @RequestParam(value = "pageRange", required = false) String pageRange,
+            @RequestParam(value = "sectionParallel", defaultValue = "false") boolean sectionParallel,
+            @RequestParam(value = "profile", required = false) String profile,
+            @RequestParam(value = "optimize", required = false) Boolean optimize,
+            @RequestParam(value = "imageDpi", required = false) Integer imageDpi,
+            @RequestParam(value = "imageEncoding", required = false) String imageEncoding) {
+
+        try {
+            ConversionOptions options = ConversionOptions.builder()
+                    .pageRange(PageRangeParser.resolve(pages, pageRange))
+                    .sectionParallel(sectionParallel)
+                    .profile(ConversionProfile.of(profile))
+                    .optimizePdf(optimize)
+                    .imageDpi(imageDpi)
+                    .imageEncoding(PdfImageEncoding.of(imageEncoding))
+                    .build();
+            RoutedConversionResult result = conversionService.convertWithRouting(file, targetFormat, options);
+
+            // 生成带时间戳的输出文件名：原文件名_yyyy-MM-dd-HH-mm-ss.扩展名
+            String originalFilename = file.getOriginalFilename();
+            String baseName = originalFilename.substring(0, originalFilename.lastIndexOf('.'));
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd-HH-mm-ss"));
+            String outputFilename = baseName + "_" + timestamp + "." + targetFormat.toLowerCase();
+
+            return ResponseEntity.ok()
+                    .header("Content-Disposition", HttpHeaderUtil.createContentDispositionValue(outputFilename))
+                    .header("X-Conversion-Engine", result.getEngine())
+                    .header("X-Conversion-Fallback", String.valueOf(result.isFallback()))
+                    .header("X-Pdf-Bytes-Saved", String.valueOf(result.getBytesSaved()))
+                    .body(result.getContent());
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (IllegalStateException e) {
+            // 转换队列已满
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            log.error("统一转换失败: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "转换失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 查询引擎路由统计
+     */
+    @GetMapping("/engines/stats")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getEngineStatistics() {
+        return ResponseEntity.ok()
+                .body(new ApiResponse<>(true, "查询成功", documentEngineRouter.getStatistics()));
+    }
+
+    /**
+     * 查询转换调度统计（按优先级类别的排队、运行数与排队等待分位数）
+     */
+    @GetMapping("/scheduler/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getSchedulerStatistics() {
+        return ResponseEntity.ok()
+                .body(new ApiResponse<>(true, "查询成功", conversionScheduler.getStatistics()));
+    }
+
+    /**
+     * 查询异步工作队列统计（集群模式下包含本实例的租约信息）
+     */
+    @GetMapping("/queue/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getQueueStatistics() {
+        return ResponseEntity.ok()
+                .body(new ApiResponse<>(true, "查询成功", conversionWorkQueue.getStatistics()));
+    }
+
+    /**
+     * 异步转换 - 单文件
+     */
+    @PostMapping("/word-to-pdf/async/single")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> convertSingleAsync(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "callbackUrl", required = false) String callbackUrl) {
+
+        try {
+            String taskId = conversionService.convertSingleAsync(file, callbackUrl);
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("taskId", taskId);
+            data.put("status", "PENDING");
+            data.put("estimatedTime", 30);
+            data.put("statusUrl", "/api/convert/task/" + taskId);
+
+            return ResponseEntity.ok()
+                    .body(new ApiResponse<>(true, "任务已提交", data));
+
+        } catch (IllegalStateException e) {
+            // 转换队列已满
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            log.error("提交单文件异步任务失败: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "提交任务失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 异步转换 - 批量
+     */
+    @PostMapping("/word-to-pdf/async/batch")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> convertBatchAsync(
+            @RequestParam("files") MultipartFile[] files,
+            @RequestParam(value = "callbackUrl", required = false) String callbackUrl) {
+
+        try {
+            String taskId = conversionService.convertBatchAsync(files, callbackUrl);
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("taskId", taskId);
+            data.put("status", "PENDING");
+            data.put("totalFiles", files.length);
+            data.put("estimatedTime", files.length * 30);
+            data.put("statusUrl", "/api/convert/task/" + taskId);
+
+            return ResponseEntity.ok()
+                    .body(new ApiResponse<>(true, "批量任务已提交", data));
+
+        } catch (IllegalStateException e) {
+            // 转换队列已满
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            log.error("提交批量异步任务失败: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "提交任务失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 查询任务状态
+     */
+    @GetMapping("/task/{taskId}")
+    public ResponseEntity<ApiResponse<TaskInfo>> getTaskStatus(@PathVariable String taskId) {
+        TaskInfo taskInfo = taskManager.getTaskInfo(taskId);
+
+        if (taskInfo == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, "任务不存在", null));
+        }
+
+        return ResponseEntity.ok()
+                .body(new ApiResponse<>(true, "查询成功", taskInfo));
+    }
+
+    /**
+     * 下载转换结果
+     */
+    @GetMapping("/download/{taskId}")
+    public ResponseEntity<?> downloadResult(@PathVariable String taskId) {
+        try {
+            TaskInfo taskInfo = taskManager.getTaskInfo(taskId);
+
+            if (taskInfo == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ApiResponse<>(false, "任务不存在", null));
+            }
+
+            if (taskInfo.getStatus() != cn.bugstack.officetools.domain.dto.TaskStatus.COMPLETED) {
+                Map<String, Object> data = new HashMap<>();
+                data.put("status", taskInfo.getStatus().name());
+                data.put("progress", taskInfo.getProgress());
+
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .body(new ApiResponse<>(false, "任务尚未完成", data));
+            }
+
+            ConversionResult result = taskInfo.getResult();
+            byte[] content = conversionService.downloadConversionResult(taskId);
+
+            String fileName;
+            String contentType;
+            if (taskInfo.getTaskType() == cn.bugstack.officetools.domain.dto.TaskType.SINGLE) {
+                fileName = result.getPdfFileName();
+                contentType = "application/pdf";
+            } else {
+                fileName = result.getZipFileName();
+                contentType = "application/zip";
+            }
+
+            return ResponseEntity.ok()
+                    .header("Content-Disposition", HttpHeaderUtil.createContentDispositionValue(fileName))
+                    .header("Content-Type", contentType)
+                    .body(content);
+
+        } catch (Exception e) {
+            log.error("下载失败: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "下载失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 下载批量任务中已完成的单个文件（其他文件仍在转换时也可下载）
+     */
+    @GetMapping("/task/{taskId}/files/{index}/download")
+    public ResponseEntity<?> downloadBatchFile(@PathVariable String taskId, @PathVariable int index) {
+        try {
+            byte[] content = conversionService.downloadBatchFile(taskId, index);
+            String fileName = taskManager.getTaskInfo(taskId).getSubTasks().get(index).getPdfName();
+
+            return ResponseEntity.ok()
+                    .header("Content-Disposition", HttpHeaderUtil.createContentDispositionValue(fileName))
+                    .header("Content-Type", "application/pdf")
+                    .body(content);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            log.error("下载批量任务文件失败: {}#{}, 错误: {}", taskId, index, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "下载失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 重试批量任务中失败的单个文件
+     */
+    @PostMapping("/task/{taskId}/files/{index}/retry")
+    public ResponseEntity<ApiResponse<TaskInfo>> retryBatchFile(@PathVariable String taskId, @PathVariable int index) {
+        try {
+            conversionService.retryBatchFile(taskId, index);
+            return ResponseEntity.ok()
+                    .body(new ApiResponse<>(true, "已重新提交", taskManager.getTaskInfo(taskId)));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+}
@@ -35,8 +35,16 @@ public class HomeController {
         endpoints.put("文档转换 (异步)", "POST /api/convert/word-to-pdf/async/single");
         endpoints.put("批量转换 (同步)", "POST /api/convert/word-to-pdf/sync/batch");
         endpoints.put("批量转换 (异步)", "POST /api/convert/word-to-pdf/async/batch");
+        endpoints.put("统一转换 (引擎自动路由)", "POST /api/convert/document");
+        endpoints.put("文档会话 (上传一次多次操作)", "POST /api/aspose/word/session");
+        endpoints.put("操作链 (替换/插入/水印后一次输出)", "POST /api/aspose/word/operations");
+        endpoints.put("模板批量生成 (邮件合并)", "POST /api/aspose/word/template/generate");
+        endpoints.put("流式文本提取 (text/ndjson)", "POST /api/spire/doc/extract/stream");
+        endpoints.put("全文检索 (带高亮摘要)", "GET /api/search?q={query}");
         endpoints.put("查询任务状态", "GET /api/convert/task/{taskId}");
         endpoints.put("下载转换结果", "GET /api/convert/download/{taskId}");
+        endpoints.put("下载批量任务单个文件", "GET /api/convert/task/{taskId}/files/{index}/download");
+        endpoints.put("重试批量任务失败文件", "POST /api/convert/task/{taskId}/files/{index}/retry");
         endpoints.put("健康检查", "GET /actuator/health");
         info.put("endpoints", endpoints);
 
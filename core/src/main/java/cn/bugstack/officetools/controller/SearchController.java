@@ -0,0 +1,120 @@
+package cn.bugstack.officetools.controller;
+
+import cn.bugstack.officetools.domain.dto.ApiResponse;
+import cn.bugstack.officetools.domain.dto.SearchResult;
+import cn.bugstack.officetools.service.DocumentIndexService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 全文检索控制器
+ * 转换和文本提取时自动建立索引，也可以通过 /index 主动索引；
+ * 索引未启用时抛出 IllegalStateException，由全局异常处理返回 409
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private final DocumentIndexService documentIndexService;
+
+    @Autowired
+    public SearchController(DocumentIndexService documentIndexService) {
+        this.documentIndexService = documentIndexService;
+    }
+
+    /**
+     * 全文检索（同时检索正文和文件名）
+     *
+     * @param query 查询语句，支持 Lucene 查询语法，如 "合同 AND 违约"、fileName:报告
+     * @param limit 最多返回条数（默认 10）
+     * @return 按相关度排序的命中项及高亮摘要
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<SearchResult>> search(
+            @RequestParam("q") String query,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) throws Exception {
+
+        return ResponseEntity.ok()
+                .body(new ApiResponse<>(true, "检索成功", documentIndexService.search(query, limit)));
+    }
+
+    /**
+     * 提取文档文本并写入索引，内容已索引时直接返回
+     *
+     * @param file 上传的文件
+     * @return 文档 ID
+     */
+    @PostMapping("/index")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> index(@RequestParam("file") MultipartFile file) throws Exception {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("文件不能为空");
+        }
+        String originalFilename = file.getOriginalFilename();
+        if (originalFilename == null ||
+                (!originalFilename.toLowerCase().endsWith(".doc") && !originalFilename.toLowerCase().endsWith(".docx"))) {
+            throw new IllegalArgumentException("只支持 .doc 和 .docx 格式的文件");
+        }
+
+        String documentId = documentIndexService.index(file.getBytes(), originalFilename);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("documentId", documentId);
+        result.put("fileName", originalFilename);
+
+        return ResponseEntity.ok()
+                .body(new ApiResponse<>(true, "索引成功", result));
+    }
+
+    /**
+     * 获取已索引文档的元数据和文本
+     *
+     * @param documentId 文档 ID
+     * @return 文档信息
+     */
+    @GetMapping("/documents/{documentId}")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getDocument(@PathVariable String documentId) throws Exception {
+        Map<String, Object> document = documentIndexService.getDocument(documentId);
+        if (document == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, "文档未索引: " + documentId, null));
+        }
+        return ResponseEntity.ok()
+                .body(new ApiResponse<>(true, "获取文档成功", document));
+    }
+
+    /**
+     * 从索引中删除文档
+     *
+     * @param documentId 文档 ID
+     * @return 删除结果
+     */
+    @DeleteMapping("/documents/{documentId}")
+    public ResponseEntity<ApiResponse<Void>> deleteDocument(@PathVariable String documentId) throws Exception {
+        if (!documentIndexService.deleteDocument(documentId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, "文档未索引: " + documentId, null));
+        }
+        return ResponseEntity.ok()
+                .body(new ApiResponse<>(true, "删除成功", null));
+    }
+
+    /**
+     * 获取索引统计
+     *
+     * @return 统计信息
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getStatistics() throws Exception {
+        return ResponseEntity.ok()
+                .body(new ApiResponse<>(true, "获取索引统计成功", documentIndexService.getStatistics()));
+    }
+}
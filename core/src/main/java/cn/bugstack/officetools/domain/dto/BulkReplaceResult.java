@@ -0,0 +1,32 @@
+package cn.bugstack.officetools.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 批量替换结果
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReplaceResult {
+    /**
+     * 替换后的文件内容
+     */
+    private byte[] content;
+
+    /**
+     * 每个模式的命中次数（按传入顺序）
+     */
+    private Map<String, Integer> hits;
+
+    /**
+     * 总替换次数
+     */
+    private int totalHits;
+}
@@ -0,0 +1,70 @@
+package cn.bugstack.officetools.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 转换选项
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversionOptions {
+    /**
+     * 页码范围（从 1 开始，如 "1-3,5,8-"），为空表示全部页
+     */
+    private String pageRange;
+
+    /**
+     * 是否按节并行转换（仅对大文档的 PDF 输出生效，节之间存在依赖时自动回退为串行）
+     */
+    private boolean sectionParallel;
+
+    /**
+     * 转换档位，为空时使用配置的默认档位
+     */
+    private ConversionProfile profile;
+
+    /**
+     * 是否对 PDF 输出做体积优化（图片降采样、重复资源合并、内容流压缩），为空时按档位默认值
+     */
+    private Boolean optimizePdf;
+
+    /**
+     * PDF 优化时图片的目标分辨率（DPI），为空时按档位默认值
+     */
+    private Integer imageDpi;
+
+    /**
+     * PDF 优化时图片的压缩方式，为空时按档位默认值
+     */
+    private PdfImageEncoding imageEncoding;
+
+    /**
+     * 默认选项（全部页）
+     */
+    public static ConversionOptions defaults() {
+        return new ConversionOptions();
+    }
+
+    /**
+     * 是否指定了页码范围
+     */
+    public boolean hasPageRange() {
+        return pageRange != null && !pageRange.isBlank();
+    }
+
+    /**
+     * 生成用于缓存与去重的选项键
+     */
+    public String cacheKey() {
+        return "pages=" + (hasPageRange() ? pageRange.replaceAll("\\s+", "") : "all")
+                + ",profile=" + (profile != null ? profile.name().toLowerCase() : "default")
+                + ",optimize=" + (optimizePdf != null ? optimizePdf : "default")
+                + ",dpi=" + (imageDpi != null ? imageDpi : "default")
+                + ",encoding=" + (imageEncoding != null ? imageEncoding.name().toLowerCase() : "default");
+    }
+}
@@ -0,0 +1,16 @@
+package cn.bugstack.officetools.domain.dto;
+
+/**
+ * 转换任务优先级类别
+ */
+public enum ConversionPriority {
+    /**
+     * 交互式：同步单文件转换，调用方在线等待
+     */
+    INTERACTIVE,
+
+    /**
+     * 批量：异步任务与同步批量转换
+     */
+    BATCH
+}
@@ -0,0 +1,39 @@
+package cn.bugstack.officetools.domain.dto;
+
+/**
+ * 转换性能档位：同一组引擎选项（字体嵌入、图片压缩、OOXML 压缩级别）按用途打包
+ */
+public enum ConversionProfile {
+    /**
+     * 快速预览：只嵌入非标准字体的子集，图片降采样并按 JPEG 压缩，DOCX 使用最快的压缩级别
+     */
+    FAST,
+
+    /**
+     * 均衡：嵌入全部字体的子集（只包含用到的字形），DOCX 使用标准压缩级别
+     */
+    BALANCED,
+
+    /**
+     * 归档：嵌入完整字体文件，保留原始图片，DOCX 使用标准压缩级别（默认）
+     */
+    ARCHIVAL;
+
+    /**
+     * 按名称解析档位（不区分大小写）
+     *
+     * @param name 档位名称，为空时返回 null（使用默认档位）
+     * @throws IllegalArgumentException 名称无效时抛出
+     */
+    public static ConversionProfile of(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        for (ConversionProfile profile : values()) {
+            if (profile.name().equalsIgnoreCase(name.trim())) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("不支持的转换档位: " + name + "（可选 fast、balanced、archival）");
+    }
+}
@@ -41,6 +41,11 @@ public class ConversionResult {
      */
     private Long fileSize;
 
+    /**
+     * PDF 体积优化节省的字节数
+     */
+    private Long bytesSaved;
+
     /**
      * 内容类型
      */
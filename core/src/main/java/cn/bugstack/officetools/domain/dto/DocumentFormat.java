@@ -0,0 +1,51 @@
+package cn.bugstack.officetools.domain.dto;
+
+/**
+ * 按文件内容识别出的文档格式
+ */
+public enum DocumentFormat {
+    /**
+     * Word 97-2003（OLE2 复合文档）
+     */
+    DOC,
+
+    /**
+     * Word 文档（OOXML）
+     */
+    DOCX,
+
+    /**
+     * 启用宏的 Word 文档
+     */
+    DOCM,
+
+    /**
+     * Word 模板
+     */
+    DOTX,
+
+    /**
+     * 启用宏的 Word 模板
+     */
+    DOTM,
+
+    /**
+     * 单文件 XML 形式的 OOXML 包（Flat OPC）
+     */
+    FLAT_OPC,
+
+    /**
+     * 富文本
+     */
+    RTF,
+
+    /**
+     * OpenDocument 文本
+     */
+    ODT,
+
+    /**
+     * HTML
+     */
+    HTML
+}
@@ -0,0 +1,52 @@
+package cn.bugstack.officetools.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 文档编辑操作（操作链中的一步）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentOperation {
+    /**
+     * 操作类型 (replace, bulkReplace, insert, watermark)
+     */
+    private String type;
+
+    /**
+     * replace：要替换的旧文本
+     */
+    private String oldText;
+
+    /**
+     * replace：替换的新文本
+     */
+    private String newText;
+
+    /**
+     * bulkReplace：旧文本到新文本的映射
+     */
+    private Map<String, String> replacements;
+
+    /**
+     * replace / bulkReplace：是否区分大小写
+     */
+    private boolean matchCase;
+
+    /**
+     * insert / watermark：文本内容
+     */
+    private String text;
+
+    /**
+     * insert：插入位置 (start, end)
+     */
+    private String position;
+}
@@ -0,0 +1,52 @@
+package cn.bugstack.officetools.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文档会话信息
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentSessionInfo {
+    /**
+     * 会话 ID
+     */
+    private String sessionId;
+
+    /**
+     * 原始文件名
+     */
+    private String fileName;
+
+    /**
+     * 原始文件大小（字节）
+     */
+    private long fileSize;
+
+    /**
+     * 估算的内存占用（字节），用于缓存容量控制
+     */
+    private long estimatedMemoryBytes;
+
+    /**
+     * 已执行的编辑操作次数
+     */
+    private int operationCount;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * 最后访问时间
+     */
+    private LocalDateTime lastAccessedAt;
+}
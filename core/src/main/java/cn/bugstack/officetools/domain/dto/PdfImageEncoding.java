@@ -0,0 +1,39 @@
+package cn.bugstack.officetools.domain.dto;
+
+/**
+ * PDF 优化时重新编码图片使用的压缩方式
+ */
+public enum PdfImageEncoding {
+    /**
+     * 自动：原图为 JPEG 的仍用 JPEG，其余（截图、图表等）使用无损的 Flate
+     */
+    AUTO,
+
+    /**
+     * 全部使用 JPEG（有损，照片类图片体积最小）
+     */
+    JPEG,
+
+    /**
+     * 全部使用 Flate（无损，适合线条、文字截图）
+     */
+    FLATE;
+
+    /**
+     * 按名称解析压缩方式（不区分大小写）
+     *
+     * @param name 名称，为空时返回 null（使用档位默认值）
+     * @throws IllegalArgumentException 名称无效时抛出
+     */
+    public static PdfImageEncoding of(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        for (PdfImageEncoding encoding : values()) {
+            if (encoding.name().equalsIgnoreCase(name.trim())) {
+                return encoding;
+            }
+        }
+        throw new IllegalArgumentException("不支持的图片压缩方式: " + name + "（可选 auto、jpeg、flate）");
+    }
+}
@@ -0,0 +1,45 @@
+package cn.bugstack.officetools.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 引擎路由转换结果
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoutedConversionResult {
+    /**
+     * 实际完成转换的引擎
+     */
+    private String engine;
+
+    /**
+     * 转换后的文件内容
+     */
+    private byte[] content;
+
+    /**
+     * 转换耗时（毫秒）
+     */
+    private long elapsedMs;
+
+    /**
+     * 是否发生了引擎回退
+     */
+    private boolean fallback;
+
+    /**
+     * 引擎输出的原始大小（字节）
+     */
+    private long originalSize;
+
+    /**
+     * PDF 体积优化节省的字节数（未优化时为 0）
+     */
+    private long bytesSaved;
+}
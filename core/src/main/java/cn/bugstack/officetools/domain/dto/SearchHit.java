@@ -0,0 +1,45 @@
+package cn.bugstack.officetools.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 全文检索命中项
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHit {
+    /**
+     * 文档 ID（内容 SHA-256 摘要）
+     */
+    private String documentId;
+
+    /**
+     * 文件名
+     */
+    private String fileName;
+
+    /**
+     * 相关度得分
+     */
+    private float score;
+
+    /**
+     * 高亮摘要（命中词以 &lt;b&gt; 标记）
+     */
+    private String snippet;
+
+    /**
+     * 原始文件大小（字节）
+     */
+    private long fileSize;
+
+    /**
+     * 索引时间（毫秒时间戳）
+     */
+    private long indexedAt;
+}
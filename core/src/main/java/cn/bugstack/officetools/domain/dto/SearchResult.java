@@ -0,0 +1,37 @@
+package cn.bugstack.officetools.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 全文检索结果
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResult {
+    /**
+     * 查询语句
+     */
+    private String query;
+
+    /**
+     * 命中总数
+     */
+    private long totalHits;
+
+    /**
+     * 查询耗时（毫秒）
+     */
+    private long tookMs;
+
+    /**
+     * 命中项（按相关度排序）
+     */
+    private List<SearchHit> hits;
+}
@@ -0,0 +1,65 @@
+package cn.bugstack.officetools.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 批量任务中单个文件的子任务信息
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubTaskInfo {
+    /**
+     * 文件序号（从 0 开始，与上传顺序一致）
+     */
+    private int index;
+
+    /**
+     * 原始文件名
+     */
+    private String originalName;
+
+    /**
+     * 子任务状态
+     */
+    private TaskStatus status;
+
+    /**
+     * 已执行次数（含重试）
+     */
+    private int attempts;
+
+    /**
+     * 转换后的 PDF 文件名
+     */
+    private String pdfName;
+
+    /**
+     * PDF 文件 URL
+     */
+    private String pdfUrl;
+
+    /**
+     * 文件大小（字节）
+     */
+    private Long fileSize;
+
+    /**
+     * 错误信息（如果转换失败）
+     */
+    private String error;
+
+    /**
+     * 完成时间
+     */
+    private LocalDateTime completedTime;
+}
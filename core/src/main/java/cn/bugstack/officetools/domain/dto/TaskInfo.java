@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 任务信息
@@ -65,6 +66,11 @@ public class TaskInfo {
      */
     private String error;
 
+    /**
+     * 子任务列表（仅批量任务，每个文件一个）
+     */
+    private List<SubTaskInfo> subTasks;
+
     /**
      * 获取已用时间（秒）
      */
@@ -0,0 +1,79 @@
+package cn.bugstack.officetools.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 异步转换工作项：一个任务中的一个文件
+ * 集群模式下以 JSON 保存在对象存储中，租约字段用于多个实例之间的认领
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkItem {
+    /**
+     * 任务 ID
+     */
+    private String taskId;
+
+    /**
+     * 文件序号（单文件任务为 0）
+     */
+    private int index;
+
+    /**
+     * 任务类型
+     */
+    private TaskType taskType;
+
+    /**
+     * 原始文件名
+     */
+    private String originalName;
+
+    /**
+     * 内容类型
+     */
+    private String contentType;
+
+    /**
+     * 输入大小（字节）
+     */
+    private long size;
+
+    /**
+     * 提交任务的客户端标识（用于公平调度）
+     */
+    private String clientId;
+
+    /**
+     * 完成后回调地址
+     */
+    private String callbackUrl;
+
+    /**
+     * 已认领次数
+     */
+    private int attempts;
+
+    /**
+     * 持有租约的实例 ID（未被认领时为空）
+     */
+    private String leaseOwner;
+
+    /**
+     * 租约到期时间（毫秒时间戳）
+     */
+    private long leaseExpiresAt;
+
+    /**
+     * 是否已失败（失败的工作项保留输入，等待重试）
+     */
+    private boolean failed;
+}
@@ -0,0 +1,96 @@
+package cn.bugstack.officetools.domain.model;
+
+import cn.bugstack.officetools.domain.dto.TaskType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 任务日志记录（每行一条 JSON）
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalRecord {
+
+    /**
+     * 记录类型
+     */
+    public enum Type {
+        /**
+         * 任务已受理，输入已暂存
+         */
+        ACCEPTED,
+
+        /**
+         * 单个文件已转换并上传
+         */
+        CONVERTED,
+
+        /**
+         * 单个文件转换失败
+         */
+        FAILED,
+
+        /**
+         * 任务已结束
+         */
+        FINISHED
+    }
+
+    private Type type;
+
+    private String taskId;
+
+    /**
+     * 以下字段仅 ACCEPTED 记录使用
+     */
+    private TaskType taskType;
+
+    private String clientId;
+
+    private String callbackUrl;
+
+    private LocalDateTime createdTime;
+
+    private List<JournalFile> files;
+
+    /**
+     * 以下字段仅 CONVERTED / FAILED 记录使用
+     */
+    private int index;
+
+    private String pdfName;
+
+    private String pdfUrl;
+
+    private Long fileSize;
+
+    private String error;
+
+    /**
+     * 已受理的输入文件
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class JournalFile {
+        private int index;
+        private String originalName;
+        private String contentType;
+        private long size;
+
+        /**
+         * 暂存文件路径
+         */
+        private String path;
+    }
+}
@@ -0,0 +1,47 @@
+package cn.bugstack.officetools.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * PDF 体积优化结果
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Getter
+@AllArgsConstructor
+public class PdfOptimizeResult {
+
+    /**
+     * 优化后的内容（优化后不比原文件小时为原内容）
+     */
+    private final byte[] content;
+
+    /**
+     * 原始大小（字节）
+     */
+    private final long originalSize;
+
+    /**
+     * 降采样的图片数
+     */
+    private final int imagesDownsampled;
+
+    /**
+     * 重新编码（未降采样）的图片数
+     */
+    private final int imagesRecompressed;
+
+    /**
+     * 合并掉的重复资源数（图片、表单、字体文件）
+     */
+    private final int duplicatesMerged;
+
+    /**
+     * 节省的字节数
+     */
+    public long getBytesSaved() {
+        return originalSize - content.length;
+    }
+}
@@ -0,0 +1,63 @@
+package cn.bugstack.officetools.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 落盘暂存的上传文件
+ * 异步任务排队期间只持有文件句柄，转换开始时才读回内容
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Getter
+@AllArgsConstructor
+public class SpooledFile {
+
+    /**
+     * 暂存文件路径
+     */
+    private final Path path;
+
+    /**
+     * 原始文件名
+     */
+    private final String originalFilename;
+
+    /**
+     * 内容类型
+     */
+    private final String contentType;
+
+    /**
+     * 文件大小
+     */
+    private final long size;
+
+    /**
+     * 读取全部内容（按文件大小一次性分配缓冲区）
+     */
+    public byte[] getContent() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    /**
+     * 创建带缓冲的输入流（每次调用返回新的流）
+     */
+    public InputStream getInputStream() throws IOException {
+        return new BufferedInputStream(Files.newInputStream(path));
+    }
+
+    /**
+     * 判断文件是否为空
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,25 @@
+package cn.bugstack.officetools.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 带版本标识（ETag）的对象存储内容，用于条件写入
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Getter
+@AllArgsConstructor
+public class VersionedObject {
+
+    /**
+     * 对象内容
+     */
+    private final byte[] content;
+
+    /**
+     * 读取时的 ETag，写回时作为 If-Match 条件
+     */
+    private final String etag;
+}
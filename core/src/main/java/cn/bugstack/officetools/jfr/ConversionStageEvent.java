@@ -0,0 +1,71 @@
+package cn.bugstack.officetools.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * 转换阶段 JFR 事件（引擎转换、加载、保存、按节并行、合并、PDF 优化、排队）
+ * 未开启录制时 commit 只做一次开关判断，可以常驻在热路径上
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Name("cn.bugstack.officetools.ConversionStage")
+@Label("Conversion Stage")
+@Category({"Office Tools", "Conversion"})
+@Description("文档转换的单个阶段")
+@StackTrace(false)
+@Setter
+public class ConversionStageEvent extends Event {
+
+    @Label("Stage")
+    private String stage;
+
+    @Label("File Name")
+    private String fileName;
+
+    @Label("Engine")
+    private String engine;
+
+    @Label("Target Format")
+    private String targetFormat;
+
+    @Label("Input Size")
+    @DataAmount
+    private long inputSize;
+
+    @Label("Output Size")
+    @DataAmount
+    private long outputSize;
+
+    @Label("Page Count")
+    @Description("页数，未知时为 0")
+    private int pageCount;
+
+    @Label("Success")
+    private boolean success;
+
+    /**
+     * 创建事件并开始计时，阶段结束后设置结果并调用 commit
+     *
+     * @param stage        阶段名称
+     * @param fileName     原文件名
+     * @param targetFormat 目标格式
+     * @param inputSize    输入大小（字节）
+     */
+    public static ConversionStageEvent start(String stage, String fileName, String targetFormat, long inputSize) {
+        ConversionStageEvent event = new ConversionStageEvent();
+        event.stage = stage;
+        event.fileName = fileName;
+        event.targetFormat = targetFormat;
+        event.inputSize = inputSize;
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,54 @@
+package cn.bugstack.officetools.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * 对象存储（R2）请求 JFR 事件
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Name("cn.bugstack.officetools.StorageTransfer")
+@Label("Storage Transfer")
+@Category({"Office Tools", "Storage"})
+@Description("对象存储的一次请求（上传、下载、条件写入、查询等）")
+@StackTrace(false)
+@Setter
+public class StorageTransferEvent extends Event {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Key")
+    private String key;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    @Label("Success")
+    private boolean success;
+
+    /**
+     * 创建事件并开始计时，请求结束后设置结果并调用 commit
+     *
+     * @param operation 操作名称
+     * @param key       对象键
+     * @param bytes     传输字节数（上传时已知，下载时在完成后设置）
+     */
+    public static StorageTransferEvent start(String operation, String key, long bytes) {
+        StorageTransferEvent event = new StorageTransferEvent();
+        event.operation = operation;
+        event.key = key;
+        event.bytes = bytes;
+        event.begin();
+        return event;
+    }
+}
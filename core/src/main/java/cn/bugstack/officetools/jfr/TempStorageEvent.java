@@ -0,0 +1,59 @@
+package cn.bugstack.officetools.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * 本地临时存储 JFR 事件（内存中的结果文件与磁盘上的输入暂存）
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Name("cn.bugstack.officetools.TempStorage")
+@Label("Temp Storage")
+@Category({"Office Tools", "Storage"})
+@Description("临时存储的一次操作（存入、读取、移除、清理、暂存输入）")
+@StackTrace(false)
+@Setter
+public class TempStorageEvent extends Event {
+
+    @Label("Store")
+    @Description("memory：结果文件临时存储；spool：上传输入暂存目录")
+    private String store;
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("File Name")
+    private String fileName;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    @Label("Success")
+    @Description("读取时表示是否命中")
+    private boolean success;
+
+    /**
+     * 创建事件并开始计时，操作结束后设置结果并调用 commit
+     *
+     * @param store     存储类型
+     * @param operation 操作名称
+     * @param fileName  文件名
+     */
+    public static TempStorageEvent start(String store, String operation, String fileName) {
+        TempStorageEvent event = new TempStorageEvent();
+        event.store = store;
+        event.operation = operation;
+        event.fileName = fileName;
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,347 @@
+package cn.bugstack.officetools.scheduler;
+
+import cn.bugstack.officetools.service.ConversionScheduler;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按 GC 与堆内存压力自适应调整转换并发上限（AIMD）
+ * <p>
+ * 监听 GC 通知（回收后的老年代占用、停顿时间）与老年代回收后占用阈值通知：
+ * 老年代占用或 GC 时间占比超过上限时立即按比例下调（乘性减），
+ * 内存有余量且任务在排队时每个周期加 1（加性增）。下调后有冷却时间（期间不再下调也不上调），
+ * 给已在执行的任务留出结束和释放内存的时间。
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyController {
+
+    @Autowired
+    private ConversionScheduler conversionScheduler;
+
+    @Value("${conversion.concurrency.adaptive-enabled:true}")
+    private boolean enabled;
+
+    @Value("${conversion.concurrency.min:1}")
+    private int minConcurrency;
+
+    @Value("${conversion.concurrency.max:0}")
+    private int maxConcurrency;
+
+    @Value("${conversion.concurrency.interval-ms:1000}")
+    private long intervalMs;
+
+    @Value("${conversion.concurrency.old-gen-high:0.85}")
+    private double oldGenHigh;
+
+    @Value("${conversion.concurrency.old-gen-low:0.70}")
+    private double oldGenLow;
+
+    @Value("${conversion.concurrency.gc-time-high:0.10}")
+    private double gcTimeHigh;
+
+    @Value("${conversion.concurrency.gc-window-seconds:10}")
+    private int gcWindowSeconds;
+
+    @Value("${conversion.concurrency.decrease-factor:0.5}")
+    private double decreaseFactor;
+
+    @Value("${conversion.concurrency.cooldown-ms:5000}")
+    private long cooldownMs;
+
+    private MemoryPoolMXBean oldGenPool;
+
+    private final List<NotificationEmitter> gcEmitters = new ArrayList<>();
+    private final NotificationListener gcListener = this::onGcNotification;
+    private final NotificationListener thresholdListener = this::onThresholdNotification;
+
+    private ScheduledExecutorService ticker;
+
+    /**
+     * 窗口内的 GC 停顿（结束时间毫秒, 停顿毫秒）
+     */
+    private final Deque<long[]> gcPauses = new ArrayDeque<>();
+
+    /**
+     * 最近一次 GC 后的老年代占用比例
+     */
+    private double oldGenOccupancy;
+
+    private long lastDecreasedAt;
+    private long increases;
+    private long decreases;
+    private String lastReason = "初始化";
+    private LocalDateTime lastAdjustedTime;
+
+    @PostConstruct
+    public void init() {
+        int workers = conversionScheduler.getMaxConcurrency();
+        int floor = conversionScheduler.getMinConcurrencyLimit();
+        maxConcurrency = maxConcurrency <= 0 ? workers : Math.max(floor, Math.min(maxConcurrency, workers));
+        minConcurrency = Math.max(floor, Math.min(minConcurrency, maxConcurrency));
+        oldGenPool = findOldGenPool();
+
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(gcListener, null, null);
+                gcEmitters.add(emitter);
+            }
+        }
+
+        // 老年代回收后占用超过上限时 JVM 直接通知，不依赖采样周期
+        if (oldGenPool != null && oldGenPool.isCollectionUsageThresholdSupported()) {
+            long max = oldGenPool.getUsage().getMax();
+            if (max > 0) {
+                oldGenPool.setCollectionUsageThreshold((long) (max * oldGenHigh));
+            }
+        }
+        ((NotificationEmitter) ManagementFactory.getMemoryMXBean())
+                .addNotificationListener(thresholdListener, null, null);
+
+        // 从下限开始逐步上调，冷启动时的突发请求不会一次占满内存
+        conversionScheduler.setConcurrencyLimit(enabled ? minConcurrency : maxConcurrency);
+
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "concurrency-controller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(() -> evaluate(true), intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+
+        log.info("自适应并发控制初始化 - 启用: {}, 并发范围: {} ~ {}, 老年代内存池: {}, 老年代占用阈值: {} / {}, GC 时间占比上限: {}",
+                enabled, minConcurrency, maxConcurrency, oldGenPool != null ? oldGenPool.getName() : "未识别",
+                oldGenLow, oldGenHigh, gcTimeHigh);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        ticker.shutdownNow();
+        for (NotificationEmitter emitter : gcEmitters) {
+            removeListener(emitter, gcListener);
+        }
+        removeListener((NotificationEmitter) ManagementFactory.getMemoryMXBean(), thresholdListener);
+    }
+
+    /**
+     * 获取当前状态（并发范围、当前上限与内存压力指标）
+     */
+    public synchronized Map<String, Object> getStatus() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        result.put("limit", conversionScheduler.getConcurrencyLimit());
+        result.put("min", minConcurrency);
+        result.put("max", maxConcurrency);
+        result.put("workers", conversionScheduler.getMaxConcurrency());
+        result.put("saturated", conversionScheduler.isSaturated());
+        result.put("oldGenPool", oldGenPool != null ? oldGenPool.getName() : null);
+        result.put("oldGenOccupancy", round(oldGenOccupancy));
+        result.put("oldGenLow", oldGenLow);
+        result.put("oldGenHigh", oldGenHigh);
+        result.put("gcTimeRatio", round(gcTimeRatio(System.currentTimeMillis())));
+        result.put("gcTimeHigh", gcTimeHigh);
+        result.put("increases", increases);
+        result.put("decreases", decreases);
+        result.put("lastReason", lastReason);
+        result.put("lastAdjustedTime", lastAdjustedTime);
+        return result;
+    }
+
+    /**
+     * 手动调整（未传的参数保持不变）
+     *
+     * @param enabled 是否启用自适应调整；关闭时未指定 limit 则恢复为上限值
+     * @param min     并发下限
+     * @param max     并发上限
+     * @param limit   当前并发上限（启用自适应时从该值继续调整）
+     * @return 调整后的状态
+     * @throws IllegalArgumentException 参数超出范围时抛出
+     */
+    public synchronized Map<String, Object> update(Boolean enabled, Integer min, Integer max, Integer limit) {
+        int workers = conversionScheduler.getMaxConcurrency();
+        int floor = conversionScheduler.getMinConcurrencyLimit();
+        int newMin = min != null ? min : minConcurrency;
+        int newMax = max != null ? max : maxConcurrency;
+        if (newMin < floor || newMax > workers || newMin > newMax) {
+            throw new IllegalArgumentException("并发范围无效，需满足 " + floor + " <= min <= max <= " + workers
+                    + "（下限为交互式预留名额 + 1）");
+        }
+        if (limit != null && (limit < newMin || limit > newMax)) {
+            throw new IllegalArgumentException("limit 需位于 [" + newMin + ", " + newMax + "] 范围内");
+        }
+
+        minConcurrency = newMin;
+        maxConcurrency = newMax;
+        if (enabled != null) {
+            this.enabled = enabled;
+        }
+
+        int target;
+        if (limit != null) {
+            target = limit;
+        } else if (!this.enabled) {
+            target = maxConcurrency;
+        } else {
+            target = Math.max(minConcurrency, Math.min(maxConcurrency, conversionScheduler.getConcurrencyLimit()));
+        }
+        adjust(target, "手动调整");
+        return getStatus();
+    }
+
+    private void onGcNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        GcInfo gcInfo = info.getGcInfo();
+
+        synchronized (this) {
+            // 并发收集器的周期（ZGC Cycles、G1 Concurrent）不停顿应用线程，不计入 GC 时间
+            String gcName = info.getGcName();
+            if (!gcName.contains("Cycles") && !gcName.contains("Concurrent")) {
+                gcPauses.addLast(new long[]{System.currentTimeMillis(), gcInfo.getDuration()});
+            }
+            if (oldGenPool != null) {
+                MemoryUsage after = gcInfo.getMemoryUsageAfterGc().get(oldGenPool.getName());
+                if (after != null) {
+                    oldGenOccupancy = occupancy(after);
+                }
+            }
+        }
+        evaluate(false);
+    }
+
+    private void onThresholdNotification(Notification notification, Object handback) {
+        if (!MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType())) {
+            return;
+        }
+        MemoryNotificationInfo info = MemoryNotificationInfo.from((CompositeData) notification.getUserData());
+        synchronized (this) {
+            oldGenOccupancy = Math.max(oldGenOccupancy, occupancy(info.getUsage()));
+        }
+        evaluate(false);
+    }
+
+    /**
+     * 按当前压力调整并发上限；GC 通知触发时只做下调，上调只在周期检查中进行
+     */
+    private synchronized void evaluate(boolean periodic) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        double gcTimeRatio = gcTimeRatio(now);
+        int limit = conversionScheduler.getConcurrencyLimit();
+        boolean cooledDown = now - lastDecreasedAt >= cooldownMs;
+
+        if (oldGenOccupancy >= oldGenHigh || gcTimeRatio >= gcTimeHigh) {
+            if (limit > minConcurrency && cooledDown) {
+                String reason = oldGenOccupancy >= oldGenHigh ? "下调：老年代占用过高" : "下调：GC 时间占比过高";
+                adjust(Math.max(minConcurrency, (int) (limit * decreaseFactor)), reason);
+                lastDecreasedAt = now;
+                decreases++;
+            }
+        } else if (periodic && cooledDown && limit < maxConcurrency
+                && oldGenOccupancy < oldGenLow && gcTimeRatio < gcTimeHigh / 2
+                && conversionScheduler.isSaturated()) {
+            adjust(limit + 1, "上调：内存有余量且任务排队");
+            increases++;
+        }
+    }
+
+    private void adjust(int target, String reason) {
+        int previous = conversionScheduler.getConcurrencyLimit();
+        int applied = conversionScheduler.setConcurrencyLimit(target);
+        lastReason = reason;
+        lastAdjustedTime = LocalDateTime.now();
+        if (applied != previous) {
+            log.info("【性能监控】转换并发上限调整: {} -> {}, 原因: {}, 老年代占用: {}%, GC 时间占比: {}%",
+                    previous, applied, reason, Math.round(oldGenOccupancy * 100),
+                    Math.round(gcTimeRatio(System.currentTimeMillis()) * 100));
+        }
+    }
+
+    /**
+     * 窗口内 GC 停顿时间占墙钟时间的比例（调用方持有锁）
+     */
+    private double gcTimeRatio(long now) {
+        long windowMs = gcWindowSeconds * 1000L;
+        while (!gcPauses.isEmpty() && gcPauses.peekFirst()[0] < now - windowMs) {
+            gcPauses.pollFirst();
+        }
+        long paused = 0;
+        for (long[] pause : gcPauses) {
+            paused += pause[1];
+        }
+        return (double) paused / windowMs;
+    }
+
+    /**
+     * 识别老年代内存池（Serial/Parallel 的 Tenured/Old Gen、G1 Old Gen、分代 ZGC Old Generation），
+     * 不分代的收集器（Shenandoah 等）使用唯一的堆内存池
+     */
+    private static MemoryPoolMXBean findOldGenPool() {
+        MemoryPoolMXBean fallback = null;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP) {
+                continue;
+            }
+            String name = pool.getName();
+            if (name.contains("Old") || name.contains("Tenured")) {
+                return pool;
+            }
+            if (!name.contains("Eden") && !name.contains("Survivor") && !name.contains("Young")) {
+                fallback = pool;
+            }
+        }
+        return fallback;
+    }
+
+    private static double occupancy(MemoryUsage usage) {
+        long max = usage.getMax() > 0 ? usage.getMax() : usage.getCommitted();
+        return max > 0 ? (double) usage.getUsed() / max : 0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static void removeListener(NotificationEmitter emitter, NotificationListener listener) {
+        try {
+            emitter.removeNotificationListener(listener);
+        } catch (ListenerNotFoundException e) {
+            // 未注册时忽略
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package cn.bugstack.officetools.service;
+
+import cn.bugstack.officetools.domain.dto.ConversionPriority;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 转换调度器接口
+ * 按优先级类别调度（交互式优先于批量），同一类别内按客户端加权公平排队
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+public interface ConversionScheduler {
+
+    /**
+     * 提交任务并等待完成（同步调用方使用）
+     *
+     * @param priority 优先级类别
+     * @param clientId 客户端标识
+     * @param cost     任务代价（输入字节数），用于公平分配
+     * @param task     任务
+     * @return 任务结果
+     * @throws IllegalStateException 队列已满或调度器已关闭时抛出
+     * @throws Exception             任务抛出的异常
+     */
+    <V> V execute(ConversionPriority priority, String clientId, long cost, Callable<V> task) throws Exception;
+
+    /**
+     * 提交任务，不等待完成（异步任务使用）
+     *
+     * @param priority 优先级类别
+     * @param clientId 客户端标识
+     * @param cost     任务代价（输入字节数），用于公平分配
+     * @param task     任务
+     * @return 任务结果
+     * @throws IllegalStateException 队列已满或调度器已关闭时抛出
+     */
+    <V> CompletableFuture<V> submit(ConversionPriority priority, String clientId, long cost, Callable<V> task);
+
+    /**
+     * 获取并发上限的最大值（工作线程数）
+     */
+    int getMaxConcurrency();
+
+    /**
+     * 获取当前并发上限（同时执行的任务数）
+     */
+    int getConcurrencyLimit();
+
+    /**
+     * 并发上限允许的最小值：调到最低时仍能同时容纳一个批量任务和为交互式请求预留的名额
+     */
+    int getMinConcurrencyLimit();
+
+    /**
+     * 调整并发上限，超出 [最小并发上限, 工作线程数] 的值会被截断；调低时已在执行的任务不受影响
+     *
+     * @param limit 新的并发上限
+     * @return 实际生效的并发上限
+     */
+    int setConcurrencyLimit(int limit);
+
+    /**
+     * 是否已用满并发上限且仍有任务排队（调高并发上限才有意义）
+     */
+    boolean isSaturated();
+
+    /**
+     * 获取调度统计（按类别的排队数、运行数与排队等待时间分位数）
+     *
+     * @return 统计信息
+     */
+    Map<String, Object> getStatistics();
+}
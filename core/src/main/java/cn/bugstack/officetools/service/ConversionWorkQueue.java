@@ -0,0 +1,72 @@
+package cn.bugstack.officetools.service;
+
+import cn.bugstack.officetools.domain.dto.WorkItem;
+import cn.bugstack.officetools.domain.model.SpooledFile;
+
+import java.util.Map;
+
+/**
+ * 异步转换工作队列
+ * 单实例模式下直接交给本地调度器；集群模式下工作项与输入保存在对象存储中，由各实例通过租约认领。
+ * 提交后输入文件归队列所有：成功后删除，批量任务的失败文件保留以便重试
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+public interface ConversionWorkQueue {
+
+    /**
+     * 工作项处理器
+     */
+    interface Handler {
+
+        /**
+         * 处理一个工作项
+         *
+         * @param item  工作项
+         * @param input 本地输入文件
+         * @return 是否成功
+         */
+        boolean process(WorkItem item, SpooledFile input);
+
+        /**
+         * 工作项被放弃（多次认领后仍未完成，如执行实例崩溃）
+         *
+         * @param item   工作项
+         * @param reason 原因
+         */
+        void abandon(WorkItem item, String reason);
+    }
+
+    /**
+     * 注册处理器并开始处理（应用启动时调用一次）
+     *
+     * @param handler 工作项处理器
+     */
+    void start(Handler handler);
+
+    /**
+     * 提交工作项
+     *
+     * @param item  工作项
+     * @param input 已暂存的输入文件
+     * @throws IllegalStateException 队列已满或无法提交时抛出（单实例模式下批量任务的输入仍会保留以便重试）
+     */
+    void submit(WorkItem item, SpooledFile input);
+
+    /**
+     * 重新提交失败的批量任务文件
+     *
+     * @param taskId 任务 ID
+     * @param index  文件序号
+     * @throws IllegalStateException 输入已过期或无法提交时抛出
+     */
+    void retry(String taskId, int index);
+
+    /**
+     * 获取队列统计
+     *
+     * @return 统计信息
+     */
+    Map<String, Object> getStatistics();
+}
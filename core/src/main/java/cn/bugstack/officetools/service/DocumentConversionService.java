@@ -1,6 +1,8 @@
 package cn.bugstack.officetools.service;
 
+import cn.bugstack.officetools.domain.dto.ConversionOptions;
 import cn.bugstack.officetools.domain.dto.ConversionResult;
+import cn.bugstack.officetools.domain.dto.RoutedConversionResult;
 import org.springframework.web.multipart.MultipartFile;
 
 /**
@@ -18,6 +20,17 @@ public interface DocumentConversionService {
      */
     ConversionResult convertSingleSync(MultipartFile file, boolean returnFile) throws Exception;
 
+    /**
+     * 按转换选项同步转换单个 Word 文件为 PDF
+     *
+     * @param file       Word 文件
+     * @param returnFile 是否直接返回文件流
+     * @param options    转换选项（页码范围等）
+     * @return 转换结果
+     * @throws Exception 转换失败时抛出异常
+     */
+    ConversionResult convertSingleSync(MultipartFile file, boolean returnFile, ConversionOptions options) throws Exception;
+
     /**
      * 同步批量转换 Word 文件为 PDF
      *
@@ -28,6 +41,17 @@ public interface DocumentConversionService {
      */
     ConversionResult convertBatchSync(MultipartFile[] files, boolean returnFile) throws Exception;
 
+    /**
+     * 通过引擎路由转换单个 Word 文件为任意支持的格式
+     *
+     * @param file         Word 文件
+     * @param targetFormat 目标格式 (pdf, html, txt, docx, etc.)
+     * @param options      转换选项（页码范围等）
+     * @return 路由转换结果（包含实际使用的引擎）
+     * @throws Exception 所有引擎均转换失败时抛出异常
+     */
+    RoutedConversionResult convertWithRouting(MultipartFile file, String targetFormat, ConversionOptions options) throws Exception;
+
     /**
      * 异步转换单个 Word 文件为 PDF
      *
@@ -46,6 +70,26 @@ public interface DocumentConversionService {
      */
     String convertBatchAsync(MultipartFile[] files, String callbackUrl);
 
+    /**
+     * 重试批量任务中失败的单个文件，完成后重新打包汇总 ZIP
+     *
+     * @param taskId 任务 ID
+     * @param index  文件序号
+     * @throws IllegalArgumentException 任务或文件序号不存在时抛出
+     * @throws IllegalStateException    文件不是失败状态、输入已过期或队列已满时抛出
+     */
+    void retryBatchFile(String taskId, int index);
+
+    /**
+     * 下载批量任务中已完成的单个文件（无需等待整个任务完成）
+     *
+     * @param taskId 任务 ID
+     * @param index  文件序号
+     * @return PDF 文件内容
+     * @throws Exception 下载失败时抛出异常
+     */
+    byte[] downloadBatchFile(String taskId, int index) throws Exception;
+
     /**
      * 下载转换结果（通过任务 ID）
      *
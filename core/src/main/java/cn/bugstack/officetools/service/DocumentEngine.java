@@ -0,0 +1,45 @@
+package cn.bugstack.officetools.service;
+
+import cn.bugstack.officetools.domain.dto.ConversionOptions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+
+/**
+ * 文档转换引擎抽象
+ * 每个底层引擎（Aspose、Spire）提供一个实现，供路由层统一调度
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+public interface DocumentEngine {
+
+    /**
+     * 获取引擎名称
+     *
+     * @return 引擎名称 (aspose, spire)
+     */
+    String getName();
+
+    /**
+     * 判断引擎是否支持目标格式及转换选项
+     *
+     * @param targetFormat 目标格式
+     * @param options      转换选项
+     * @return 是否支持
+     */
+    boolean supports(String targetFormat, ConversionOptions options);
+
+    /**
+     * 转换文档
+     *
+     * @param inputStream      文档输入流
+     * @param originalFilename 原始文件名
+     * @param targetFormat     目标格式
+     * @param options          转换选项
+     * @return 转换后的文档输出流
+     * @throws Exception 转换失败时抛出异常
+     */
+    ByteArrayOutputStream convert(InputStream inputStream, String originalFilename, String targetFormat,
+                                  ConversionOptions options) throws Exception;
+}
@@ -0,0 +1,37 @@
+package cn.bugstack.officetools.service;
+
+import cn.bugstack.officetools.domain.dto.ConversionOptions;
+import cn.bugstack.officetools.domain.dto.RoutedConversionResult;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文档转换引擎路由接口
+ * 根据在线统计的耗时与失败率，在多个引擎之间选择当前更快且健康的引擎
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+public interface DocumentEngineRouter {
+
+    /**
+     * 路由并执行转换，首选引擎失败时自动回退到其他引擎
+     *
+     * @param content          文档内容
+     * @param originalFilename 原始文件名
+     * @param targetFormat     目标格式
+     * @param options          转换选项
+     * @return 路由转换结果
+     * @throws Exception 所有引擎均转换失败时抛出最后一个异常
+     */
+    RoutedConversionResult convert(byte[] content, String originalFilename, String targetFormat,
+                                   ConversionOptions options) throws Exception;
+
+    /**
+     * 获取各 (引擎, 目标格式, 大小分档) 的统计信息
+     *
+     * @return 统计信息列表
+     */
+    List<Map<String, Object>> getStatistics();
+}
@@ -0,0 +1,94 @@
+package cn.bugstack.officetools.service;
+
+import cn.bugstack.officetools.domain.dto.SearchResult;
+
+import java.util.Map;
+
+/**
+ * 全文索引服务接口
+ * 文档以内容摘要为 ID 写入内嵌的磁盘倒排索引，已索引的文档查询和取文本都不再重新提取
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+public interface DocumentIndexService {
+
+    /**
+     * 索引是否启用
+     *
+     * @return 是否启用
+     */
+    boolean isEnabled();
+
+    /**
+     * 提取文本并同步写入索引，内容已索引时直接返回
+     *
+     * @param content          文档内容
+     * @param originalFilename 原始文件名
+     * @return 文档 ID
+     * @throws Exception 提取或写入失败时抛出异常
+     */
+    String index(byte[] content, String originalFilename) throws Exception;
+
+    /**
+     * 后台提取文本并写入索引（转换链路调用，失败只记录日志）
+     *
+     * @param content          文档内容
+     * @param originalFilename 原始文件名
+     */
+    void indexAsync(byte[] content, String originalFilename);
+
+    /**
+     * 后台写入已提取好的文本（提取接口调用，避免重复提取）
+     *
+     * @param documentId       文档 ID
+     * @param originalFilename 原始文件名
+     * @param fileSize         文件大小
+     * @param text             文本内容
+     */
+    void indexTextAsync(String documentId, String originalFilename, long fileSize, String text);
+
+    /**
+     * 获取已索引文档的完整文本
+     *
+     * @param documentId 文档 ID
+     * @return 文本内容；未启用、未索引或文本被截断时返回 null
+     */
+    String getIndexedText(String documentId);
+
+    /**
+     * 全文检索
+     *
+     * @param query 查询语句（支持 Lucene 查询语法，语法错误时按普通文本查询）
+     * @param limit 最多返回条数
+     * @return 检索结果
+     * @throws Exception 检索失败时抛出异常
+     */
+    SearchResult search(String query, int limit) throws Exception;
+
+    /**
+     * 获取已索引文档的元数据和文本
+     *
+     * @param documentId 文档 ID
+     * @return 文档信息；不存在时返回 null
+     * @throws Exception 读取失败时抛出异常
+     */
+    Map<String, Object> getDocument(String documentId) throws Exception;
+
+    /**
+     * 从索引中删除文档
+     *
+     * @param documentId 文档 ID
+     * @return 是否存在并已删除
+     * @throws Exception 删除失败时抛出异常
+     */
+    boolean deleteDocument(String documentId) throws Exception;
+
+    /**
+     * 获取索引统计
+     *
+     * @return 统计信息
+     * @throws Exception 读取失败时抛出异常
+     */
+    Map<String, Object> getStatistics() throws Exception;
+}
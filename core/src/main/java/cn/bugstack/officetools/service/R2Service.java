@@ -1,9 +1,12 @@
 package cn.bugstack.officetools.service;
 
+import cn.bugstack.officetools.domain.model.VersionedObject;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
 
 /**
  * Cloudflare R2 文件存储服务接口
@@ -42,6 +45,17 @@ public interface R2Service {
      */
     String uploadBytes(byte[] content, String fileName, String contentType);
 
+    /**
+     * 上传本地文件到 R2（从磁盘流式读取，不把整个文件读入堆）
+     *
+     * @param path        本地文件路径
+     * @param fileName    文件名
+     * @param contentType 内容类型
+     * @return 文件的访问 URL
+     * @throws IOException 读取本地文件失败时抛出异常
+     */
+    String uploadFile(Path path, String fileName, String contentType) throws IOException;
+
     /**
      * 从 R2 下载文件
      *
@@ -74,4 +88,33 @@ public interface R2Service {
      * @return 文件是否存在
      */
     boolean fileExists(String fileName);
+
+    /**
+     * 读取对象及其 ETag
+     *
+     * @param key 对象键
+     * @return 对象内容与 ETag；不存在时返回 null
+     * @throws IOException 读取失败时抛出异常
+     */
+    VersionedObject getVersioned(String key) throws IOException;
+
+    /**
+     * 条件写入：expectedEtag 为 null 时仅在对象不存在时创建（If-None-Match: *），
+     * 否则仅在对象 ETag 未变化时覆盖（If-Match）
+     *
+     * @param key          对象键
+     * @param content      对象内容
+     * @param contentType  内容类型
+     * @param expectedEtag 期望的 ETag
+     * @return 写入后的 ETag；条件不满足时返回 null
+     */
+    String putIfMatch(String key, byte[] content, String contentType, String expectedEtag);
+
+    /**
+     * 列出指定前缀下的所有对象键
+     *
+     * @param prefix 键前缀
+     * @return 对象键列表
+     */
+    List<String> listKeys(String prefix);
 }
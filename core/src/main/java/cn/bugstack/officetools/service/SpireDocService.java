@@ -1,9 +1,11 @@
 package cn.bugstack.officetools.service;
 
+import cn.bugstack.officetools.domain.dto.ConversionOptions;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Map;
 
 /**
@@ -25,6 +27,19 @@ public interface SpireDocService {
      */
     ByteArrayOutputStream convertDocument(InputStream inputStream, String originalFilename, String targetFormat) throws Exception;
 
+    /**
+     * 转换 Word 文档格式，PDF 输出按档位选择字体嵌入方式与图片质量
+     *
+     * @param inputStream        文档输入流
+     * @param originalFilename   原始文件名
+     * @param targetFormat       目标格式 (pdf, html, txt, xps, etc.)
+     * @param options            转换选项（只使用档位）
+     * @return 转换后的文档输出流
+     * @throws Exception 转换失败时抛出异常
+     */
+    ByteArrayOutputStream convertDocument(InputStream inputStream, String originalFilename, String targetFormat,
+                                          ConversionOptions options) throws Exception;
+
     /**
      * 获取文档信息
      *
@@ -45,6 +60,19 @@ public interface SpireDocService {
      */
     String extractText(InputStream inputStream, String originalFilename) throws Exception;
 
+    /**
+     * 流式提取文档文本，边解析边写出
+     * DOCX 直接用 StAX 解析 word/document.xml，不构建对象模型；旧版 .doc 使用 Spire 加载
+     *
+     * @param inputStream        文档输入流
+     * @param originalFilename   原始文件名
+     * @param ndjson             是否输出 NDJSON（每行一个段落对象），否则输出纯文本（每段一行）
+     * @param outputStream       输出流（UTF-8）
+     * @return 段落数
+     * @throws Exception 提取失败时抛出异常
+     */
+    int streamText(InputStream inputStream, String originalFilename, boolean ndjson, OutputStream outputStream) throws Exception;
+
     /**
      * 在文档中添加水印
      *
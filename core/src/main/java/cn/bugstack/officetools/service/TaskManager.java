@@ -0,0 +1,117 @@
+package cn.bugstack.officetools.service;
+
+import cn.bugstack.officetools.domain.dto.ConversionResult;
+import cn.bugstack.officetools.domain.dto.ConvertedFileInfo;
+import cn.bugstack.officetools.domain.dto.SubTaskInfo;
+import cn.bugstack.officetools.domain.dto.TaskInfo;
+import cn.bugstack.officetools.domain.dto.TaskStatus;
+import cn.bugstack.officetools.domain.dto.TaskType;
+
+import java.util.List;
+
+/**
+ * 任务管理接口
+ */
+public interface TaskManager {
+
+    /**
+     * 创建新任务
+     *
+     * @param taskType   任务类型
+     * @param totalFiles 总文件数
+     * @return 任务 ID
+     */
+    String createTask(TaskType taskType, int totalFiles);
+
+    /**
+     * 创建批量任务，每个文件对应一个子任务
+     *
+     * @param fileNames 原始文件名（按上传顺序）
+     * @return 任务 ID
+     */
+    String createBatchTask(List<String> fileNames);
+
+    /**
+     * 恢复任务记录（沿用原任务 ID，进程重启后按任务日志重建）
+     *
+     * @param taskInfo 任务信息
+     * @return 是否恢复成功（同 ID 的任务已存在时不覆盖，返回 false）
+     */
+    boolean restoreTask(TaskInfo taskInfo);
+
+    /**
+     * 标记子任务开始执行
+     *
+     * @param taskId 任务 ID
+     * @param index  文件序号
+     */
+    void startSubTask(String taskId, int index);
+
+    /**
+     * 记录子任务结果并刷新整体进度
+     *
+     * @param taskId 任务 ID
+     * @param index  文件序号
+     * @param file   转换结果（error 非空表示失败）
+     * @return 所有子任务是否都已结束（只有使最后一个子任务结束的调用返回 true）
+     */
+    boolean finishSubTask(String taskId, int index, ConvertedFileInfo file);
+
+    /**
+     * 将失败的子任务重置为待处理，任务整体回到处理中
+     *
+     * @param taskId 任务 ID
+     * @param index  文件序号
+     * @return 重置后的子任务
+     * @throws IllegalArgumentException 任务或子任务不存在时抛出
+     * @throws IllegalStateException    子任务不是失败状态时抛出
+     */
+    SubTaskInfo resetSubTask(String taskId, int index);
+
+    /**
+     * 更新任务状态
+     *
+     * @param taskId  任务 ID
+     * @param status  新状态
+     * @param progress 进度 (0-100)
+     */
+    void updateTaskStatus(String taskId, TaskStatus status, int progress);
+
+    /**
+     * 设置任务结果
+     *
+     * @param taskId 任务 ID
+     * @param result 转换结果
+     */
+    void setTaskResult(String taskId, ConversionResult result);
+
+    /**
+     * 设置任务错误
+     *
+     * @param taskId 任务 ID
+     * @param error  错误信息
+     */
+    void setTaskError(String taskId, String error);
+
+    /**
+     * 获取任务信息
+     *
+     * @param taskId 任务 ID
+     * @return 任务信息
+     */
+    TaskInfo getTaskInfo(String taskId);
+
+    /**
+     * 获取所有任务
+     *
+     * @return 任务列表
+     */
+    List<TaskInfo> getAllTasks();
+
+    /**
+     * 清理过期任务
+     *
+     * @param expireMinutes 过期时间(分钟)
+     */
+    void cleanupExpiredTasks(int expireMinutes);
+}
@@ -0,0 +1,271 @@
+package cn.bugstack.officetools.service.impl;
+
+import cn.bugstack.officetools.domain.dto.ConversionOptions;
+import cn.bugstack.officetools.domain.dto.RoutedConversionResult;
+import cn.bugstack.officetools.jfr.ConversionStageEvent;
+import cn.bugstack.officetools.service.DocumentEngine;
+import cn.bugstack.officetools.service.DocumentEngineRouter;
+import cn.bugstack.officetools.util.DocumentFormatSniffer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 自适应引擎路由实现
+ * 按 (引擎, 目标格式, 大小分档) 维护耗时 EWMA 与失败统计，
+ * 优先选择当前最快且健康的引擎，失败时回退到其他引擎
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Slf4j
+@Service
+public class AdaptiveDocumentEngineRouter implements DocumentEngineRouter {
+
+    private final List<DocumentEngine> engines;
+
+    private final Map<String, EngineStats> statsMap = new ConcurrentHashMap<>();
+
+    @Value("${conversion.router.ewma-alpha:0.2}")
+    private double ewmaAlpha;
+
+    @Value("${conversion.router.min-samples:5}")
+    private int minSamples;
+
+    @Value("${conversion.router.exploration-rate:0.05}")
+    private double explorationRate;
+
+    @Value("${conversion.router.failure-threshold:3}")
+    private int failureThreshold;
+
+    @Value("${conversion.router.cooldown-seconds:60}")
+    private long cooldownSeconds;
+
+    @Value("${conversion.router.default-engine:aspose}")
+    private String defaultEngine;
+
+    @Autowired
+    public AdaptiveDocumentEngineRouter(List<DocumentEngine> engines) {
+        this.engines = engines;
+    }
+
+    @Override
+    public RoutedConversionResult convert(byte[] content, String originalFilename, String targetFormat,
+                                          ConversionOptions options) throws Exception {
+        // 损坏或无法识别的文件在进入任何引擎之前直接拒绝，不计入引擎失败统计
+        DocumentFormatSniffer.detect(content);
+
+        String format = targetFormat.toLowerCase();
+        String sizeBucket = sizeBucket(content.length);
+        ConversionOptions effectiveOptions = options != null ? options : ConversionOptions.defaults();
+
+        List<DocumentEngine> candidates = orderCandidates(format, sizeBucket, effectiveOptions);
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("没有引擎支持该转换: 目标格式 " + targetFormat
+                    + ", 选项 " + effectiveOptions.cacheKey());
+        }
+
+        Exception lastException = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            DocumentEngine engine = candidates.get(i);
+            EngineStats stats = getStats(engine.getName(), format, sizeBucket);
+
+            ConversionStageEvent event = ConversionStageEvent.start("convert", originalFilename, format, content.length);
+            event.setEngine(engine.getName());
+            long start = System.currentTimeMillis();
+            try {
+                ByteArrayOutputStream outputStream = engine.convert(
+                        new ByteArrayInputStream(content), originalFilename, format, effectiveOptions);
+                long elapsed = System.currentTimeMillis() - start;
+                stats.recordSuccess(elapsed, ewmaAlpha);
+                event.setOutputSize(outputStream.size());
+                event.setSuccess(true);
+
+                log.info("【引擎路由】转换完成 - 引擎: {}, 格式: {}, 分档: {}, 耗时: {}ms, 回退: {}",
+                        engine.getName(), format, sizeBucket, elapsed, i > 0);
+
+                return RoutedConversionResult.builder()
+                        .engine(engine.getName())
+                        .content(outputStream.toByteArray())
+                        .elapsedMs(elapsed)
+                        .fallback(i > 0)
+                        .build();
+
+            } catch (IllegalArgumentException e) {
+                // 参数错误与引擎无关，不计入失败统计，也不回退
+                throw e;
+            } catch (Exception e) {
+                long elapsed = System.currentTimeMillis() - start;
+                stats.recordFailure(failureThreshold, cooldownSeconds * 1000);
+                lastException = e;
+                log.warn("【引擎路由】引擎转换失败 - 引擎: {}, 格式: {}, 分档: {}, 耗时: {}ms, 错误: {}",
+                        engine.getName(), format, sizeBucket, elapsed, e.getMessage());
+            } finally {
+                event.commit();
+            }
+        }
+
+        throw lastException;
+    }
+
+    @Override
+    public List<Map<String, Object>> getStatistics() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        long now = System.currentTimeMillis();
+
+        statsMap.forEach((key, stats) -> {
+            String[] parts = key.split("\\|");
+            Map<String, Object> item = new HashMap<>();
+            item.put("engine", parts[0]);
+            item.put("format", parts[1]);
+            item.put("sizeBucket", parts[2]);
+            synchronized (stats) {
+                item.put("samples", stats.samples);
+                item.put("ewmaLatencyMs", Math.round(stats.ewmaLatencyMs));
+                item.put("successCount", stats.successCount);
+                item.put("failureCount", stats.failureCount);
+                item.put("consecutiveFailures", stats.consecutiveFailures);
+                item.put("healthy", stats.isHealthy(now));
+            }
+            result.add(item);
+        });
+
+        return result;
+    }
+
+    /**
+     * 计算候选引擎的尝试顺序：首选引擎在前，其余按耗时升序排列作为回退
+     */
+    private List<DocumentEngine> orderCandidates(String format, String sizeBucket, ConversionOptions options) {
+        List<DocumentEngine> supported = new ArrayList<>();
+        for (DocumentEngine engine : engines) {
+            if (engine.supports(format, options)) {
+                supported.add(engine);
+            }
+        }
+        if (supported.size() <= 1) {
+            return supported;
+        }
+
+        long now = System.currentTimeMillis();
+        List<DocumentEngine> healthy = new ArrayList<>();
+        List<DocumentEngine> unhealthy = new ArrayList<>();
+        for (DocumentEngine engine : supported) {
+            if (getStats(engine.getName(), format, sizeBucket).isHealthy(now)) {
+                healthy.add(engine);
+            } else {
+                unhealthy.add(engine);
+            }
+        }
+
+        // 按耗时排序，样本不足时使用默认引擎优先
+        Comparator<DocumentEngine> byLatency = Comparator.comparingDouble(
+                engine -> getStats(engine.getName(), format, sizeBucket).latencyForOrdering());
+        healthy.sort(byLatency.thenComparing(engine -> !engine.getName().equalsIgnoreCase(defaultEngine)));
+
+        DocumentEngine preferred = choosePreferred(healthy, format, sizeBucket);
+
+        List<DocumentEngine> ordered = new ArrayList<>();
+        if (preferred != null) {
+            ordered.add(preferred);
+        }
+        for (DocumentEngine engine : healthy) {
+            if (engine != preferred) {
+                ordered.add(engine);
+            }
+        }
+        // 熔断中的引擎放在最后，仅在其他引擎都失败时尝试
+        ordered.addAll(unhealthy);
+        return ordered;
+    }
+
+    /**
+     * 选择首选引擎：样本不足的引擎先预热，其余情况下按探索率偶尔尝试非最优引擎
+     */
+    private DocumentEngine choosePreferred(List<DocumentEngine> healthy, String format, String sizeBucket) {
+        if (healthy.isEmpty()) {
+            return null;
+        }
+
+        for (DocumentEngine engine : healthy) {
+            if (getStats(engine.getName(), format, sizeBucket).getSamples() < minSamples) {
+                return engine;
+            }
+        }
+
+        if (healthy.size() > 1 && ThreadLocalRandom.current().nextDouble() < explorationRate) {
+            return healthy.get(1 + ThreadLocalRandom.current().nextInt(healthy.size() - 1));
+        }
+
+        return healthy.get(0);
+    }
+
+    private EngineStats getStats(String engine, String format, String sizeBucket) {
+        return statsMap.computeIfAbsent(engine + "|" + format + "|" + sizeBucket, key -> new EngineStats());
+    }
+
+    /**
+     * 文件大小分档
+     */
+    private String sizeBucket(long size) {
+        if (size < 512 * 1024) {
+            return "S";
+        } else if (size < 2 * 1024 * 1024) {
+            return "M";
+        } else if (size < 8 * 1024 * 1024) {
+            return "L";
+        }
+        return "XL";
+    }
+
+    /**
+     * 单个 (引擎, 格式, 分档) 的在线统计
+     */
+    private static class EngineStats {
+        private long samples;
+        private double ewmaLatencyMs;
+        private long successCount;
+        private long failureCount;
+        private int consecutiveFailures;
+        private long openUntil;
+
+        synchronized void recordSuccess(long latencyMs, double alpha) {
+            ewmaLatencyMs = samples == 0 ? latencyMs : alpha * latencyMs + (1 - alpha) * ewmaLatencyMs;
+            samples++;
+            successCount++;
+            consecutiveFailures = 0;
+            openUntil = 0;
+        }
+
+        synchronized void recordFailure(int threshold, long cooldownMs) {
+            failureCount++;
+            consecutiveFailures++;
+            if (consecutiveFailures >= threshold) {
+                openUntil = System.currentTimeMillis() + cooldownMs;
+            }
+        }
+
+        synchronized boolean isHealthy(long now) {
+            return now >= openUntil;
+        }
+
+        synchronized long getSamples() {
+            return samples;
+        }
+
+        synchronized double latencyForOrdering() {
+            return samples == 0 ? Double.MAX_VALUE : ewmaLatencyMs;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package cn.bugstack.officetools.service.impl;
+
+import cn.bugstack.officetools.domain.dto.ConversionOptions;
+import cn.bugstack.officetools.domain.dto.ConversionProfile;
+import cn.bugstack.officetools.domain.dto.PdfImageEncoding;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 转换档位的通用设置：默认档位、大文档阈值与临时目录、PDF 体积优化默认值
+ * 各引擎的保存选项由引擎模块按档位构建（AsposeProfileOptions、SpireProfileOptions）
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Slf4j
+@Component
+public class ConversionProfileOptions {
+
+    @Value("${conversion.profile.default:archival}")
+    private String defaultProfileName;
+
+    @Value("${conversion.profile.large-document-mb:10}")
+    private long largeDocumentMb;
+
+    @Value("${conversion.profile.temp-dir:${java.io.tmpdir}/office-tools/aspose}")
+    private String tempDir;
+
+    @Value("${conversion.profile.fast.jpeg-quality:60}")
+    private int fastJpegQuality;
+
+    @Value("${conversion.profile.fast.image-dpi:96}")
+    private int fastImageDpi;
+
+    @Value("${conversion.pdf-optimize.profiles:fast,balanced}")
+    private String pdfOptimizeProfileNames;
+
+    @Value("${conversion.pdf-optimize.image-dpi:150}")
+    private int pdfOptimizeImageDpi;
+
+    @Value("${conversion.pdf-optimize.encoding:auto}")
+    private String pdfOptimizeEncodingName;
+
+    @Value("${conversion.pdf-optimize.jpeg-quality:80}")
+    private int pdfOptimizeJpegQuality;
+
+    private ConversionProfile defaultProfile;
+
+    /**
+     * 默认对 PDF 输出做体积优化的档位
+     */
+    private Set<ConversionProfile> pdfOptimizeProfiles;
+
+    private PdfImageEncoding pdfOptimizeEncoding;
+
+    private String tempFolder;
+
+    @PostConstruct
+    public void init() throws IOException {
+        defaultProfile = ConversionProfile.of(defaultProfileName);
+        if (defaultProfile == null) {
+            defaultProfile = ConversionProfile.ARCHIVAL;
+        }
+
+        pdfOptimizeProfiles = EnumSet.noneOf(ConversionProfile.class);
+        pdfOptimizeProfiles.addAll(Arrays.stream(pdfOptimizeProfileNames.split(","))
+                .map(ConversionProfile::of)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        pdfOptimizeEncoding = PdfImageEncoding.of(pdfOptimizeEncodingName);
+        if (pdfOptimizeEncoding == null) {
+            pdfOptimizeEncoding = PdfImageEncoding.AUTO;
+        }
+
+        Path tempPath = Paths.get(tempDir);
+        Files.createDirectories(tempPath);
+        tempFolder = tempPath.toAbsolutePath().toString();
+        log.info("转换档位初始化 - 默认档位: {}, 大文档阈值: {}MB, 临时目录: {}, 默认优化 PDF 的档位: {}",
+                defaultProfile, largeDocumentMb, tempFolder, pdfOptimizeProfiles);
+    }
+
+    /**
+     * 确定请求使用的档位
+     */
+    public ConversionProfile resolve(ConversionOptions options) {
+        return resolve(options != null ? options.getProfile() : null);
+    }
+
+    /**
+     * 确定请求使用的档位
+     */
+    public ConversionProfile resolve(ConversionProfile profile) {
+        return profile != null ? profile : defaultProfile;
+    }
+
+    /**
+     * 是否按大文档处理（开启 Aspose 内存优化与临时目录）
+     *
+     * @param contentSize 输入大小（字节），未知时传 0
+     */
+    public boolean isLargeDocument(long contentSize) {
+        return contentSize >= largeDocumentMb * 1024 * 1024;
+    }
+
+    /**
+     * 大文档加载时使用的临时目录，普通文档返回 null
+     */
+    public String getLoadTempFolder(long contentSize) {
+        return isLargeDocument(contentSize) ? tempFolder : null;
+    }
+
+    /**
+     * 大文档的引擎临时目录（绝对路径）
+     */
+    public String getTempFolder() {
+        return tempFolder;
+    }
+
+    /**
+     * 快速档位的 JPEG 质量（1-100）
+     */
+    public int getFastJpegQuality() {
+        return fastJpegQuality;
+    }
+
+    /**
+     * 快速档位的图片降采样分辨率（DPI）
+     */
+    public int getFastImageDpi() {
+        return fastImageDpi;
+    }
+
+    /**
+     * 是否对 PDF 输出做体积优化：请求指定时以请求为准，否则按档位默认值（归档档位默认不优化）
+     */
+    public boolean isPdfOptimizeEnabled(ConversionOptions options) {
+        if (options != null && options.getOptimizePdf() != null) {
+            return options.getOptimizePdf();
+        }
+        return pdfOptimizeProfiles.contains(resolve(options));
+    }
+
+    /**
+     * 校验请求指定的 PDF 优化参数（在排队前调用）
+     *
+     * @throws IllegalArgumentException 图片分辨率不在 36-1200 之间时抛出
+     */
+    public void validate(ConversionOptions options) {
+        if (options != null && options.getImageDpi() != null
+                && (options.getImageDpi() < 36 || options.getImageDpi() > 1200)) {
+            throw new IllegalArgumentException("图片分辨率必须在 36-1200 DPI 之间: " + options.getImageDpi());
+        }
+    }
+
+    /**
+     * PDF 优化时图片的目标分辨率：请求指定时以请求为准，快速档位与引擎降采样分辨率一致
+     */
+    public int pdfImageDpi(ConversionOptions options) {
+        if (options != null && options.getImageDpi() != null) {
+            return options.getImageDpi();
+        }
+        return resolve(options) == ConversionProfile.FAST ? fastImageDpi : pdfOptimizeImageDpi;
+    }
+
+    /**
+     * PDF 优化时图片的压缩方式：请求指定时以请求为准，快速档位统一使用 JPEG
+     */
+    public PdfImageEncoding pdfImageEncoding(ConversionOptions options) {
+        if (options != null && options.getImageEncoding() != null) {
+            return options.getImageEncoding();
+        }
+        return resolve(options) == ConversionProfile.FAST ? PdfImageEncoding.JPEG : pdfOptimizeEncoding;
+    }
+
+    /**
+     * PDF 优化时重新编码图片的 JPEG 质量
+     */
+    public int pdfJpegQuality(ConversionOptions options) {
+        return resolve(options) == ConversionProfile.FAST ? fastJpegQuality : pdfOptimizeJpegQuality;
+    }
+}
@@ -0,0 +1,960 @@
+package cn.bugstack.officetools.service.impl;
+
+import cn.bugstack.officetools.domain.dto.*;
+import cn.bugstack.officetools.domain.model.JournalRecord;
+import cn.bugstack.officetools.domain.model.PdfOptimizeResult;
+import cn.bugstack.officetools.domain.model.SpooledFile;
+import cn.bugstack.officetools.jfr.ConversionStageEvent;
+import cn.bugstack.officetools.service.*;
+import cn.bugstack.officetools.util.ClientContext;
+import cn.bugstack.officetools.util.DigestUtil;
+import cn.bugstack.officetools.util.DocumentFormatSniffer;
+import cn.bugstack.officetools.util.FileNameGenerator;
+import cn.bugstack.officetools.util.InputSpool;
+import cn.bugstack.officetools.util.JobJournal;
+import cn.bugstack.officetools.util.PdfOptimizer;
+import cn.bugstack.officetools.util.SingleFlight;
+import cn.bugstack.officetools.util.TempFileStorage;
+import cn.bugstack.officetools.util.ZipUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 文档转换服务实现类
+ */
+@Slf4j
+@Service
+public class DocumentConversionServiceImpl implements DocumentConversionService {
+
+    @Autowired
+    private DocumentEngineRouter documentEngineRouter;
+
+    @Autowired
+    private R2Service r2Service;
+
+    @Autowired
+    private TaskManager taskManager;
+
+    @Autowired
+    private FileNameGenerator fileNameGenerator;
+
+    @Autowired
+    private ZipUtil zipUtil;
+
+    @Autowired
+    private TempFileStorage tempFileStorage;
+
+    @Autowired
+    private InputSpool inputSpool;
+
+    @Autowired
+    private DocumentIndexService documentIndexService;
+
+    @Autowired
+    private ConversionScheduler conversionScheduler;
+
+    @Autowired
+    private ConversionWorkQueue conversionWorkQueue;
+
+    @Autowired
+    private JobJournal jobJournal;
+
+    @Autowired
+    private ConversionProfileOptions conversionProfileOptions;
+
+    @Value("${search.index.on-convert:true}")
+    private boolean indexOnConvert;
+
+    @Value("${conversion.single-flight.enabled:true}")
+    private boolean singleFlightEnabled;
+
+    /**
+     * 进行中的转换（按内容摘要 + 目标格式 + 选项合并）
+     */
+    private final SingleFlight<String, RoutedConversionResult> conversionFlight = new SingleFlight<>();
+
+    @Value("${conversion.file.max-count:20}")
+    private int maxFileCount;
+
+    @Value("${conversion.file.max-size:20MB}")
+    private String maxFileSize;
+
+    @Value("${conversion.file.max-size-bytes:20971520}")
+    private long maxFileSizeBytes;
+
+    /**
+     * 注册异步工作项的处理器（单实例模式下在本机执行，集群模式下由认领到工作项的实例执行）
+     */
+    @PostConstruct
+    public void init() {
+        conversionWorkQueue.start(new ConversionWorkQueue.Handler() {
+            @Override
+            public boolean process(WorkItem item, SpooledFile input) {
+                return item.getTaskType() == TaskType.BATCH
+                        ? processSubTask(item, input)
+                        : processConversion(item.getTaskId(), input, item.getCallbackUrl());
+            }
+
+            @Override
+            public void abandon(WorkItem item, String reason) {
+                failWorkItem(item, reason);
+            }
+        });
+    }
+
+    /**
+     * 启动完成后重放任务日志中未完成的任务（沿用原任务 ID）：
+     * 已有检查点且输出仍在存储中的文件跳过转换，其余文件从暂存输入重新排队
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeJournaledJobs() {
+        List<JobJournal.PendingJob> jobs = jobJournal.getPendingJobs();
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        int requeued = 0;
+        for (JobJournal.PendingJob job : jobs) {
+            try {
+                requeued += resumeJob(job);
+            } catch (Exception e) {
+                log.error("恢复任务失败: {}, 错误: {}", job.getAccepted().getTaskId(), e.getMessage(), e);
+            }
+        }
+        log.info("【性能监控】任务日志重放耗时: {}ms, 未完成任务: {}, 重新排队文件: {}",
+                System.currentTimeMillis() - start, jobs.size(), requeued);
+    }
+
+    /**
+     * 重建任务记录并重新排队未完成的文件
+     *
+     * @return 重新排队的文件数
+     */
+    private int resumeJob(JobJournal.PendingJob job) {
+        JournalRecord accepted = job.getAccepted();
+        String taskId = accepted.getTaskId();
+        List<JournalRecord.JournalFile> files = accepted.getFiles();
+
+        List<String> fileNames = new ArrayList<>();
+        for (JournalRecord.JournalFile file : files) {
+            fileNames.add(file.getOriginalName());
+        }
+        TaskInfo taskInfo = accepted.getTaskType() == TaskType.BATCH
+                ? TaskStateSupport.newBatchTask(fileNames)
+                : TaskStateSupport.newTask(TaskType.SINGLE, 1);
+        taskInfo.setTaskId(taskId);
+        taskInfo.setCreatedTime(accepted.getCreatedTime());
+
+        // 跳过已有结果的文件
+        List<JournalRecord.JournalFile> pending = new ArrayList<>();
+        for (JournalRecord.JournalFile file : files) {
+            ConvertedFileInfo finished = restoreOutput(file, job.getCheckpoints().get(file.getIndex()));
+            if (finished == null) {
+                pending.add(file);
+            } else if (taskInfo.getTaskType() == TaskType.BATCH) {
+                TaskStateSupport.finishSubTask(taskInfo, file.getIndex(), finished);
+            } else if (finished.getError() == null) {
+                TaskStateSupport.updateStatus(taskInfo, TaskStatus.COMPLETED, 100);
+                TaskStateSupport.setResult(taskInfo, ConversionResult.builder()
+                        .success(true)
+                        .message("转换成功")
+                        .pdfFileName(finished.getPdfName())
+                        .pdfUrl(finished.getPdfUrl())
+                        .fileSize(finished.getFileSize())
+                        .contentType("application/pdf")
+                        .callbackUrl(accepted.getCallbackUrl())
+                        .build());
+            } else {
+                TaskStateSupport.updateStatus(taskInfo, TaskStatus.FAILED, 0);
+                taskInfo.setError(finished.getError());
+            }
+        }
+        taskManager.restoreTask(taskInfo);
+        log.info("恢复任务: {}, 类型: {}, 文件数: {}, 跳过已完成文件: {}",
+                taskId, taskInfo.getTaskType(), files.size(), files.size() - pending.size());
+
+        if (pending.isEmpty()) {
+            // 只差最后的汇总步骤
+            if (taskInfo.getTaskType() == TaskType.BATCH) {
+                completeBatchTask(taskId, accepted.getCallbackUrl());
+            } else {
+                jobJournal.finished(taskId, taskInfo.getStatus() == TaskStatus.COMPLETED);
+            }
+            return 0;
+        }
+
+        int requeued = 0;
+        for (JournalRecord.JournalFile file : pending) {
+            WorkItem item = WorkItem.builder()
+                    .taskId(taskId)
+                    .index(file.getIndex())
+                    .taskType(taskInfo.getTaskType())
+                    .originalName(file.getOriginalName())
+                    .contentType(file.getContentType())
+                    .size(file.getSize())
+                    .clientId(accepted.getClientId())
+                    .callbackUrl(accepted.getCallbackUrl())
+                    .build();
+            Path path = Paths.get(file.getPath());
+            if (!Files.exists(path)) {
+                failWorkItem(item, "暂存输入已丢失，无法恢复");
+                continue;
+            }
+            try {
+                conversionWorkQueue.submit(item,
+                        new SpooledFile(path, file.getOriginalName(), file.getContentType(), file.getSize()));
+                requeued++;
+            } catch (IllegalStateException e) {
+                failWorkItem(item, e.getMessage());
+            }
+        }
+        return requeued;
+    }
+
+    /**
+     * 按检查点恢复文件结果：失败直接沿用；转换成功且输出仍在存储中时沿用，否则返回 null 重新转换
+     */
+    private ConvertedFileInfo restoreOutput(JournalRecord.JournalFile file, JournalRecord checkpoint) {
+        if (checkpoint == null) {
+            return null;
+        }
+        if (checkpoint.getType() == JournalRecord.Type.FAILED) {
+            return ConvertedFileInfo.builder()
+                    .originalName(file.getOriginalName())
+                    .error(checkpoint.getError())
+                    .build();
+        }
+        try {
+            if (!r2Service.fileExists(checkpoint.getPdfName())) {
+                return null;
+            }
+        } catch (Exception e) {
+            log.warn("检查已转换文件失败，重新转换: {}, 错误: {}", checkpoint.getPdfName(), e.getMessage());
+            return null;
+        }
+        return ConvertedFileInfo.builder()
+                .originalName(file.getOriginalName())
+                .pdfName(checkpoint.getPdfName())
+                .pdfUrl(checkpoint.getPdfUrl())
+                .fileSize(checkpoint.getFileSize())
+                .build();
+    }
+
+    @Override
+    public ConversionResult convertSingleSync(MultipartFile file, boolean returnFile) throws Exception {
+        return convertSingleSync(file, returnFile, ConversionOptions.defaults());
+    }
+
+    @Override
+    public ConversionResult convertSingleSync(MultipartFile file, boolean returnFile, ConversionOptions options) throws Exception {
+        long totalStart = System.currentTimeMillis();
+
+        // 参数验证
+        long validateStart = System.currentTimeMillis();
+        validateFile(file);
+        conversionProfileOptions.validate(options);
+        log.info("【性能监控】文件验证耗时: {}ms, 文件名: {}, 文件大小: {} bytes",
+                System.currentTimeMillis() - validateStart, file.getOriginalFilename(), file.getSize());
+
+        // 交互式优先级：批量负载下也有保留的工作线程；只有转换本身占用调度器名额，上传在请求线程中进行
+        return doConvertSingle(file, returnFile, options, totalStart, ConversionPriority.INTERACTIVE);
+    }
+
+    /**
+     * 单文件转换（调用前已完成参数验证）
+     *
+     * @param priority 调度优先级；为 null 表示调用方已在调度器工作线程中，直接转换
+     */
+    private ConversionResult doConvertSingle(MultipartFile file, boolean returnFile, ConversionOptions options,
+                                             long totalStart, ConversionPriority priority) throws Exception {
+        // 通过引擎路由转换为 PDF
+        long convertStart = System.currentTimeMillis();
+        byte[] content = file.getBytes();
+        RoutedConversionResult routed = convertCoalesced(content, file.getOriginalFilename(), "pdf", options, priority);
+        byte[] pdfBytes = routed.getContent();
+        long convertTime = System.currentTimeMillis() - convertStart;
+        log.info("【性能监控】文档转换耗时: {}ms, 引擎: {}, 输入文件: {}, 输出大小: {} bytes",
+                convertTime, routed.getEngine(), file.getOriginalFilename(), pdfBytes.length);
+
+        // 后台建立全文索引（已索引的内容直接跳过）
+        if (indexOnConvert) {
+            documentIndexService.indexAsync(content, file.getOriginalFilename());
+        }
+
+        // 生成 PDF 文件名（带时间戳）
+        long fileNameStart = System.currentTimeMillis();
+        String pdfFileName = fileNameGenerator.generatePdfFileName(file.getOriginalFilename());
+        log.info("【性能监控】生成文件名耗时: {}ms, 文件名: {}",
+                System.currentTimeMillis() - fileNameStart, pdfFileName);
+
+        // 上传到 R2
+        long uploadStart = System.currentTimeMillis();
+        String pdfUrl = r2Service.uploadBytes(pdfBytes, pdfFileName, "application/pdf");
+        log.info("【性能监控】R2 上传耗时: {}ms, 文件名: {}, URL: {}",
+                System.currentTimeMillis() - uploadStart, pdfFileName, pdfUrl);
+
+        // 如果需要直接返回文件流，保存到临时存储
+        long storageStart = System.currentTimeMillis();
+        if (returnFile) {
+            tempFileStorage.store(pdfFileName, pdfBytes);
+        }
+        log.info("【性能监控】临时存储耗时: {}ms",
+                System.currentTimeMillis() - storageStart);
+
+        // 构建结果
+        ConversionResult result = ConversionResult.builder()
+                .success(true)
+                .message("转换成功")
+                .pdfFileName(pdfFileName)
+                .pdfUrl(pdfUrl)
+                .fileSize((long) pdfBytes.length)
+                .bytesSaved(routed.getBytesSaved())
+                .contentType("application/pdf")
+                .build();
+
+        long totalTime = System.currentTimeMillis() - totalStart;
+        log.info("【性能监控】单文件转换总耗时: {}ms, 文件: {}, 大小: {} -> {} bytes",
+                totalTime, file.getOriginalFilename(), file.getSize(), pdfBytes.length);
+
+        return result;
+    }
+
+    @Override
+    public ConversionResult convertBatchSync(MultipartFile[] files, boolean returnFile) throws Exception {
+        // 参数验证
+        validateFiles(files);
+
+        long totalBytes = 0;
+        for (MultipartFile file : files) {
+            totalBytes += file.getSize();
+        }
+        return conversionScheduler.execute(ConversionPriority.BATCH, ClientContext.getClientId(), totalBytes,
+                () -> doConvertBatch(files, returnFile));
+    }
+
+    /**
+     * 批量转换（在调度器工作线程中执行，调用前已完成参数验证）
+     */
+    private ConversionResult doConvertBatch(MultipartFile[] files, boolean returnFile) throws Exception {
+        List<ConvertedFileInfo> convertedFiles = new ArrayList<>();
+
+        // 批量转换每个文件
+        for (MultipartFile file : files) {
+            try {
+                convertedFiles.add(convertAndUpload(file.getBytes(), file.getOriginalFilename()));
+            } catch (Exception e) {
+                // 记录失败但继续处理其他文件
+                log.error("文件转换失败: {}, 错误: {}", file.getOriginalFilename(), e.getMessage(), e);
+                convertedFiles.add(ConvertedFileInfo.builder()
+                        .originalName(file.getOriginalFilename())
+                        .error(e.getMessage())
+                        .build());
+            }
+        }
+
+        return packBatchResult(convertedFiles, returnFile);
+    }
+
+    /**
+     * 转换单个文件为 PDF 并上传到 R2
+     */
+    private ConvertedFileInfo convertAndUpload(byte[] content, String originalFilename) throws Exception {
+        // 已在调度器工作线程中
+        byte[] pdfBytes = convertCoalesced(content, originalFilename, "pdf", ConversionOptions.defaults(), null).getContent();
+
+        if (indexOnConvert) {
+            documentIndexService.indexAsync(content, originalFilename);
+        }
+
+        // 生成文件名
+        String pdfFileName = fileNameGenerator.generatePdfFileName(originalFilename);
+
+        // 上传到 R2
+        String pdfUrl = r2Service.uploadBytes(pdfBytes, pdfFileName, "application/pdf");
+
+        return ConvertedFileInfo.builder()
+                .originalName(originalFilename)
+                .pdfName(pdfFileName)
+                .pdfUrl(pdfUrl)
+                .fileSize((long) pdfBytes.length)
+                .build();
+    }
+
+    /**
+     * 将转换成功的 PDF 打包为 ZIP 并构建批量结果
+     */
+    private ConversionResult packBatchResult(List<ConvertedFileInfo> convertedFiles, boolean returnFile) throws Exception {
+        List<String> pdfFileNames = new ArrayList<>();
+        for (ConvertedFileInfo convertedFile : convertedFiles) {
+            if (convertedFile.getError() == null) {
+                pdfFileNames.add(convertedFile.getPdfName());
+            }
+        }
+        int successCount = pdfFileNames.size();
+        int failCount = convertedFiles.size() - successCount;
+
+        // 打包成 ZIP
+        String zipFileName = null;
+        String zipUrl = null;
+
+        if (!pdfFileNames.isEmpty()) {
+            // 生成 ZIP 文件名
+            zipFileName = fileNameGenerator.generateZipFileName();
+
+            // 从 R2 下载所有 PDF 并打包
+            byte[] zipBytes = zipUtil.createZipFromR2Files(pdfFileNames);
+
+            // 上传 ZIP 到 R2
+            zipUrl = r2Service.uploadBytes(zipBytes, zipFileName, "application/zip");
+
+            // 临时存储用于下载
+            if (returnFile) {
+                tempFileStorage.store(zipFileName, zipBytes);
+            }
+        }
+
+        // 构建结果
+        ConversionResult result = ConversionResult.builder()
+                .success(true)
+                .message(String.format("批量转换完成: 成功 %d 个, 失败 %d 个", successCount, failCount))
+                .zipFileName(zipFileName)
+                .zipUrl(zipUrl)
+                .totalFiles(convertedFiles.size())
+                .convertedFiles(convertedFiles)
+                .build();
+
+        log.info("批量转换完成: 总数 {}, 成功 {}, 失败 {}", convertedFiles.size(), successCount, failCount);
+        return result;
+    }
+
+    @Override
+    public RoutedConversionResult convertWithRouting(MultipartFile file, String targetFormat, ConversionOptions options) throws Exception {
+        validateFile(file);
+        conversionProfileOptions.validate(options);
+        return convertCoalesced(file.getBytes(), file.getOriginalFilename(), targetFormat, options,
+                ConversionPriority.INTERACTIVE);
+    }
+
+    /**
+     * 通过引擎路由转换，内容和选项完全相同的并发请求只转换一次
+     * 后到的请求等待首个请求的结果并共享输出；转换结束后立即移除，不作为缓存
+     * <p>
+     * 指定优先级时先合并再占用调度器名额：后到的请求在调用线程上等待，只有首个请求提交到调度器，
+     * 一批相同的上传不会占满工作线程
+     *
+     * @param priority 调度优先级；为 null 表示调用方已在调度器工作线程中，直接转换
+     */
+    private RoutedConversionResult convertCoalesced(byte[] content, String originalFilename, String targetFormat,
+                                                    ConversionOptions options, ConversionPriority priority) throws Exception {
+        ConversionOptions effectiveOptions = options != null ? options : ConversionOptions.defaults();
+        String clientId = ClientContext.getClientId();
+        Callable<RoutedConversionResult> conversion = priority == null
+                ? () -> convertAndOptimize(content, originalFilename, targetFormat, effectiveOptions)
+                : () -> conversionScheduler.execute(priority, clientId, content.length,
+                        () -> convertAndOptimize(content, originalFilename, targetFormat, effectiveOptions));
+        if (!singleFlightEnabled) {
+            return conversion.call();
+        }
+
+        String key = DigestUtil.sha256Hex(content) + "|" + targetFormat.toLowerCase() + "|" + effectiveOptions.cacheKey();
+
+        AtomicBoolean leader = new AtomicBoolean(false);
+        RoutedConversionResult result = conversionFlight.execute(key, () -> {
+            leader.set(true);
+            return conversion.call();
+        });
+        if (!leader.get()) {
+            log.info("【性能监控】合并相同的进行中转换 - 文件名: {}, 目标格式: {}, 共享输出: {} bytes",
+                    originalFilename, targetFormat, result.getContent().length);
+        }
+        return result;
+    }
+
+    /**
+     * 通过引擎路由转换，PDF 输出按选项做体积优化后再交给调用方上传或返回
+     * 优化失败不影响转换结果，保留引擎的原始输出
+     */
+    private RoutedConversionResult convertAndOptimize(byte[] content, String originalFilename, String targetFormat,
+                                                      ConversionOptions options) throws Exception {
+        RoutedConversionResult result = documentEngineRouter.convert(content, originalFilename, targetFormat, options);
+        result.setOriginalSize(result.getContent().length);
+        if (!"pdf".equalsIgnoreCase(targetFormat) || !conversionProfileOptions.isPdfOptimizeEnabled(options)) {
+            return result;
+        }
+
+        int imageDpi = conversionProfileOptions.pdfImageDpi(options);
+        long optimizeStart = System.currentTimeMillis();
+        ConversionStageEvent event = ConversionStageEvent.start("optimize", originalFilename, "pdf",
+                result.getContent().length);
+        try {
+            PdfOptimizeResult optimized = PdfOptimizer.optimize(result.getContent(), imageDpi,
+                    conversionProfileOptions.pdfImageEncoding(options), conversionProfileOptions.pdfJpegQuality(options));
+            result.setContent(optimized.getContent());
+            result.setBytesSaved(optimized.getBytesSaved());
+            event.setOutputSize(optimized.getContent().length);
+            event.setSuccess(true);
+            log.info("【性能监控】PDF 体积优化耗时: {}ms, 文件名: {}, 大小: {} -> {} bytes, 节省: {} bytes, "
+                            + "降采样图片: {}, 重新编码图片: {}, 合并重复资源: {}",
+                    System.currentTimeMillis() - optimizeStart, originalFilename, optimized.getOriginalSize(),
+                    optimized.getContent().length, optimized.getBytesSaved(), optimized.getImagesDownsampled(),
+                    optimized.getImagesRecompressed(), optimized.getDuplicatesMerged());
+        } catch (Exception e) {
+            log.warn("PDF 体积优化失败，保留原始输出 - 文件名: {}, 错误: {}", originalFilename, e.getMessage());
+        } finally {
+            event.commit();
+        }
+        return result;
+    }
+
+    @Override
+    public String convertSingleAsync(MultipartFile file, String callbackUrl) {
+        // 参数验证
+        try {
+            validateFile(file);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("文件验证失败: " + e.getMessage());
+        }
+
+        // 将上传文件暂存到磁盘，排队期间只持有文件句柄
+        List<SpooledFile> spooledFiles = spoolFiles(new MultipartFile[]{file});
+
+        // 创建任务
+        String taskId = taskManager.createTask(TaskType.SINGLE, 1);
+        journalAccepted(taskId, TaskType.SINGLE, spooledFiles, callbackUrl);
+
+        // 按批量优先级排队 - 转换开始时再从磁盘（或对象存储）读回文件内容
+        WorkItem item = newWorkItem(taskId, 0, TaskType.SINGLE, spooledFiles.get(0), callbackUrl);
+        try {
+            conversionWorkQueue.submit(item, spooledFiles.get(0));
+        } catch (IllegalStateException e) {
+            failWorkItem(item, e.getMessage());
+            throw e;
+        }
+
+        return taskId;
+    }
+
+    @Override
+    public String convertBatchAsync(MultipartFile[] files, String callbackUrl) {
+        // 参数验证
+        try {
+            validateFiles(files);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("文件验证失败: " + e.getMessage());
+        }
+
+        // 将所有上传文件暂存到磁盘
+        List<SpooledFile> spooledFiles = spoolFiles(files);
+
+        // 创建任务，每个文件一个子任务
+        List<String> fileNames = new ArrayList<>();
+        for (SpooledFile spooledFile : spooledFiles) {
+            fileNames.add(spooledFile.getOriginalFilename());
+        }
+        String taskId = taskManager.createBatchTask(fileNames);
+        journalAccepted(taskId, TaskType.BATCH, spooledFiles, callbackUrl);
+
+        // 每个文件作为独立的工作项排队，与其他客户端的任务交错执行
+        int accepted = 0;
+        IllegalStateException rejection = null;
+        for (int i = 0; i < spooledFiles.size(); i++) {
+            WorkItem item = newWorkItem(taskId, i, TaskType.BATCH, spooledFiles.get(i), callbackUrl);
+            try {
+                conversionWorkQueue.submit(item, spooledFiles.get(i));
+                accepted++;
+            } catch (IllegalStateException e) {
+                // 队列已满：该文件直接标记为失败，可稍后单独重试
+                rejection = e;
+                failWorkItem(item, e.getMessage());
+            }
+        }
+        if (accepted == 0) {
+            throw rejection;
+        }
+
+        return taskId;
+    }
+
+    @Override
+    public void retryBatchFile(String taskId, int index) {
+        TaskInfo taskInfo = taskManager.getTaskInfo(taskId);
+        if (taskInfo == null || taskInfo.getSubTasks() == null) {
+            throw new IllegalArgumentException("批量任务不存在: " + taskId);
+        }
+
+        taskManager.resetSubTask(taskId, index);
+        try {
+            conversionWorkQueue.retry(taskId, index);
+        } catch (IllegalStateException e) {
+            failWorkItem(WorkItem.builder()
+                    .taskId(taskId)
+                    .index(index)
+                    .taskType(TaskType.BATCH)
+                    .originalName(taskInfo.getSubTasks().get(index).getOriginalName())
+                    .callbackUrl(taskInfo.getResult() != null ? taskInfo.getResult().getCallbackUrl() : null)
+                    .build(), e.getMessage());
+            throw e;
+        }
+        log.info("重试批量任务文件: {}#{}", taskId, index);
+    }
+
+    @Override
+    public byte[] downloadBatchFile(String taskId, int index) throws Exception {
+        TaskInfo taskInfo = taskManager.getTaskInfo(taskId);
+        if (taskInfo == null || taskInfo.getSubTasks() == null) {
+            throw new IllegalArgumentException("批量任务不存在: " + taskId);
+        }
+        if (index < 0 || index >= taskInfo.getSubTasks().size()) {
+            throw new IllegalArgumentException("文件序号无效: " + index);
+        }
+        SubTaskInfo subTask = taskInfo.getSubTasks().get(index);
+        if (subTask.getStatus() != TaskStatus.COMPLETED) {
+            throw new IllegalStateException("文件尚未转换完成，当前状态: " + subTask.getStatus());
+        }
+        return downloadFile(subTask.getPdfName());
+    }
+
+    /**
+     * 任务受理记录落盘后才返回任务 ID；写入失败时任务直接标记为失败并删除暂存输入
+     */
+    private void journalAccepted(String taskId, TaskType taskType, List<SpooledFile> spooledFiles, String callbackUrl) {
+        try {
+            jobJournal.accepted(taskId, taskType, spooledFiles, ClientContext.getClientId(), callbackUrl);
+        } catch (IllegalStateException e) {
+            inputSpool.release(spooledFiles);
+            taskManager.updateTaskStatus(taskId, TaskStatus.FAILED, 0);
+            taskManager.setTaskError(taskId, e.getMessage());
+            throw e;
+        }
+    }
+
+    private WorkItem newWorkItem(String taskId, int index, TaskType taskType, SpooledFile spooledFile, String callbackUrl) {
+        return WorkItem.builder()
+                .taskId(taskId)
+                .index(index)
+                .taskType(taskType)
+                .originalName(spooledFile.getOriginalFilename())
+                .contentType(spooledFile.getContentType())
+                .size(spooledFile.getSize())
+                .clientId(ClientContext.getClientId())
+                .callbackUrl(callbackUrl)
+                .build();
+    }
+
+    /**
+     * 工作项未能执行（提交被拒绝或被放弃）：单文件任务标记为失败，批量任务只标记对应文件
+     */
+    private void failWorkItem(WorkItem item, String error) {
+        if (item.getTaskType() == TaskType.BATCH) {
+            ConvertedFileInfo failedFile = ConvertedFileInfo.builder()
+                    .originalName(item.getOriginalName())
+                    .error(error)
+                    .build();
+            jobJournal.fileFinished(item.getTaskId(), item.getIndex(), failedFile);
+            if (taskManager.finishSubTask(item.getTaskId(), item.getIndex(), failedFile)) {
+                completeBatchTask(item.getTaskId(), item.getCallbackUrl());
+            }
+        } else {
+            taskManager.updateTaskStatus(item.getTaskId(), TaskStatus.FAILED, 0);
+            taskManager.setTaskError(item.getTaskId(), error);
+            jobJournal.finished(item.getTaskId(), false);
+        }
+    }
+
+    /**
+     * 执行单个文件的子任务：成功后文件立即可下载；最后结束的子任务负责打包汇总 ZIP
+     *
+     * @return 是否转换成功（失败时由工作队列保留输入供重试）
+     */
+    private boolean processSubTask(WorkItem item, SpooledFile spooledFile) {
+        String taskId = item.getTaskId();
+        int index = item.getIndex();
+        taskManager.startSubTask(taskId, index);
+
+        ConvertedFileInfo convertedFile;
+        try {
+            convertedFile = convertAndUpload(spooledFile.getContent(), spooledFile.getOriginalFilename());
+        } catch (Exception e) {
+            log.error("批量任务文件转换失败: {}#{}, 文件名: {}, 错误: {}",
+                    taskId, index, spooledFile.getOriginalFilename(), e.getMessage(), e);
+            convertedFile = ConvertedFileInfo.builder()
+                    .originalName(spooledFile.getOriginalFilename())
+                    .error(e.getMessage())
+                    .build();
+        }
+
+        jobJournal.fileFinished(taskId, index, convertedFile);
+        if (taskManager.finishSubTask(taskId, index, convertedFile)) {
+            completeBatchTask(taskId, item.getCallbackUrl());
+        }
+        return convertedFile.getError() == null;
+    }
+
+    /**
+     * 所有子任务结束后打包成功的文件；全部失败时任务标记为失败
+     */
+    private void completeBatchTask(String taskId, String callbackUrl) {
+        TaskInfo taskInfo = taskManager.getTaskInfo(taskId);
+        if (taskInfo == null) {
+            return;
+        }
+
+        try {
+            List<ConvertedFileInfo> convertedFiles = new ArrayList<>();
+            for (SubTaskInfo subTask : taskInfo.getSubTasks()) {
+                convertedFiles.add(ConvertedFileInfo.builder()
+                        .originalName(subTask.getOriginalName())
+                        .pdfName(subTask.getPdfName())
+                        .pdfUrl(subTask.getPdfUrl())
+                        .fileSize(subTask.getFileSize())
+                        .error(subTask.getError())
+                        .build());
+            }
+
+            ConversionResult result = packBatchResult(convertedFiles, false);
+            result.setCallbackUrl(callbackUrl);
+            taskManager.setTaskResult(taskId, result);
+
+            if (result.getZipFileName() == null) {
+                taskManager.updateTaskStatus(taskId, TaskStatus.FAILED, 100);
+                taskManager.setTaskError(taskId, "所有文件转换失败");
+            } else {
+                taskManager.updateTaskStatus(taskId, TaskStatus.COMPLETED, 100);
+            }
+            jobJournal.finished(taskId, true);
+            log.info("异步批量任务完成: {}, {}", taskId, result.getMessage());
+
+        } catch (Exception e) {
+            log.error("异步批量任务打包失败: {}, 错误: {}", taskId, e.getMessage(), e);
+            taskManager.updateTaskStatus(taskId, TaskStatus.FAILED, 0);
+            taskManager.setTaskError(taskId, e.getMessage());
+            jobJournal.finished(taskId, false);
+        }
+    }
+
+    /**
+     * 执行单文件异步任务
+     *
+     * @return 是否转换成功
+     */
+    private boolean processConversion(String taskId, SpooledFile spooledFile, String callbackUrl) {
+        try {
+            // 更新任务状态为处理中
+            taskManager.updateTaskStatus(taskId, TaskStatus.PROCESSING, 10);
+
+            ConversionResult result = convertSingleSpooledFile(spooledFile, false);
+            jobJournal.fileFinished(taskId, 0, ConvertedFileInfo.builder()
+                    .originalName(spooledFile.getOriginalFilename())
+                    .pdfName(result.getPdfFileName())
+                    .pdfUrl(result.getPdfUrl())
+                    .fileSize(result.getFileSize())
+                    .build());
+            taskManager.updateTaskStatus(taskId, TaskStatus.PROCESSING, 90);
+
+            // 完成任务
+            taskManager.updateTaskStatus(taskId, TaskStatus.COMPLETED, 100);
+            result.setCallbackUrl(callbackUrl);
+            taskManager.setTaskResult(taskId, result);
+            jobJournal.finished(taskId, true);
+
+            log.info("异步任务完成: {}", taskId);
+            return true;
+
+        } catch (Exception e) {
+            // 任务失败
+            log.error("异步任务失败: {}, 错误: {}", taskId, e.getMessage(), e);
+            taskManager.updateTaskStatus(taskId, TaskStatus.FAILED, 0);
+            taskManager.setTaskError(taskId, e.getMessage());
+            jobJournal.finished(taskId, false);
+            return false;
+        }
+    }
+
+    /**
+     * 暂存上传文件，任一文件失败时删除已暂存的文件
+     */
+    private List<SpooledFile> spoolFiles(MultipartFile[] files) {
+        List<SpooledFile> spooledFiles = new ArrayList<>();
+        try {
+            for (MultipartFile file : files) {
+                spooledFiles.add(inputSpool.spool(file));
+            }
+            return spooledFiles;
+        } catch (IOException e) {
+            inputSpool.release(spooledFiles);
+            throw new IllegalArgumentException("暂存上传文件失败: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            inputSpool.release(spooledFiles);
+            throw e;
+        }
+    }
+
+    /**
+     * 转换单个暂存文件
+     */
+    private ConversionResult convertSingleSpooledFile(SpooledFile spooledFile, boolean returnFile) throws Exception {
+        // 创建适配的 MultipartFile
+        MultipartFile adaptedFile = new AdaptedMultipartFile(spooledFile);
+
+        // 已在调度器工作线程中，直接转换
+        return doConvertSingle(adaptedFile, returnFile, ConversionOptions.defaults(), System.currentTimeMillis(), null);
+    }
+
+    /**
+     * 适配器类：将 SpooledFile 适配为 MultipartFile 接口
+     */
+    private static class AdaptedMultipartFile implements MultipartFile {
+        private final SpooledFile spooledFile;
+
+        public AdaptedMultipartFile(SpooledFile spooledFile) {
+            this.spooledFile = spooledFile;
+        }
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return spooledFile.getOriginalFilename();
+        }
+
+        @Override
+        public String getContentType() {
+            return spooledFile.getContentType();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return spooledFile.isEmpty();
+        }
+
+        @Override
+        public long getSize() {
+            return spooledFile.getSize();
+        }
+
+        @Override
+        public byte[] getBytes() throws IOException {
+            return spooledFile.getContent();
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return spooledFile.getInputStream();
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException, IllegalStateException {
+            Files.copy(spooledFile.getPath(), dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public byte[] downloadConversionResult(String taskId) throws Exception {
+        TaskInfo taskInfo = taskManager.getTaskInfo(taskId);
+
+        if (taskInfo == null) {
+            throw new IllegalArgumentException("任务不存在: " + taskId);
+        }
+
+        if (taskInfo.getStatus() != TaskStatus.COMPLETED) {
+            throw new IllegalStateException("任务尚未完成: " + taskInfo.getStatus().getDescription());
+        }
+
+        ConversionResult result = taskInfo.getResult();
+        byte[] content;
+
+        // 根据任务类型获取文件内容
+        if (taskInfo.getTaskType() == TaskType.SINGLE) {
+            content = tempFileStorage.get(result.getPdfFileName());
+            if (content == null) {
+                // 如果临时存储已过期，从 R2 下载
+                content = r2Service.downloadFile(result.getPdfFileName());
+            }
+        } else {
+            content = tempFileStorage.get(result.getZipFileName());
+            if (content == null) {
+                // 如果临时存储已过期，从 R2 下载
+                content = r2Service.downloadFile(result.getZipFileName());
+            }
+        }
+
+        return content;
+    }
+
+    @Override
+    public byte[] downloadFile(String fileName) throws Exception {
+        // 先尝试从临时存储获取
+        byte[] content = tempFileStorage.get(fileName);
+
+        if (content == null) {
+            // 临时存储中没有，从 R2 下载
+            content = r2Service.downloadFile(fileName);
+        }
+
+        return content;
+    }
+
+    /**
+     * 验证单个文件
+     */
+    private void validateFile(MultipartFile file) throws Exception {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("文件不能为空");
+        }
+
+        // 验证文件大小
+        if (file.getSize() > maxFileSizeBytes) {
+            throw new IllegalArgumentException("文件大小超过限制，最大支持 " + maxFileSize);
+        }
+
+        String originalFilename = file.getOriginalFilename();
+        if (originalFilename == null ||
+                (!originalFilename.toLowerCase().endsWith(".doc") &&
+                        !originalFilename.toLowerCase().endsWith(".docx"))) {
+            throw new IllegalArgumentException("只支持 .doc 和 .docx 格式的文件");
+        }
+
+        // 按文件头识别真实格式并校验结构，损坏的文件不进入转换队列；
+        // 只按需读取文件头、ZIP 尾部与中央目录，不把整个上传文件读入堆
+        DocumentFormatSniffer.detect(file, file.getSize());
+    }
+
+    /**
+     * 验证多个文件
+     */
+    private void validateFiles(MultipartFile[] files) throws Exception {
+        if (files == null || files.length == 0) {
+            throw new IllegalArgumentException("文件不能为空");
+        }
+
+        if (files.length > maxFileCount) {
+            throw new IllegalArgumentException("最多支持 " + maxFileCount + " 个文件");
+        }
+
+        for (MultipartFile file : files) {
+            validateFile(file);
+        }
+    }
+}
@@ -0,0 +1,488 @@
+package cn.bugstack.officetools.service.impl;
+
+import cn.bugstack.officetools.domain.dto.ConversionPriority;
+import cn.bugstack.officetools.service.ConversionScheduler;
+import cn.bugstack.officetools.util.ClientContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 优先级 + 加权公平排队的转换调度器
+ * <p>
+ * 类别之间：交互式任务优先；批量任务最多占用 (workers - interactive-reserved) 个工作线程，
+ * 保证交互式任务到达时总有空闲线程，批量负载不影响交互式延迟。交互式任务持续到达时，
+ * 每连续派发 interactive-burst 个交互式任务后让出一次给批量任务，避免批量任务饿死。
+ * <p>
+ * 类别之内：按客户端做差额轮询（DRR），任务代价为输入大小（MB），每轮为客户端增加 quantum × 权重 的额度，
+ * 一个客户端提交大量任务时只会占用自己的份额，不会让其他客户端的任务排在其全部任务之后。
+ * <p>
+ * 同时执行的任务数不超过并发上限（默认等于工作线程数），可在运行时按内存压力调整。
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Slf4j
+@Service
+public class FairConversionScheduler implements ConversionScheduler {
+
+    private static final long COST_UNIT_BYTES = 1024 * 1024;
+
+    /**
+     * 每个类别保留的最近等待时间样本数（用于计算分位数）
+     */
+    private static final int WAIT_SAMPLES = 1024;
+
+    @Value("${conversion.scheduler.workers:3}")
+    private int workers;
+
+    @Value("${conversion.scheduler.interactive-reserved:1}")
+    private int interactiveReserved;
+
+    @Value("${conversion.scheduler.interactive-burst:8}")
+    private int interactiveBurst;
+
+    @Value("${conversion.scheduler.interactive-queue-capacity:100}")
+    private int interactiveQueueCapacity;
+
+    @Value("${conversion.scheduler.batch-queue-capacity:50}")
+    private int batchQueueCapacity;
+
+    @Value("${conversion.scheduler.quantum-mb:4}")
+    private int quantumMb;
+
+    @Value("${conversion.scheduler.client-weights:}")
+    private String clientWeightsConfig;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition dispatchable = lock.newCondition();
+    private final Map<ConversionPriority, ClassQueue> queues = new EnumMap<>(ConversionPriority.class);
+    private final List<Thread> workerThreads = new ArrayList<>();
+    private Map<String, Integer> clientWeights;
+
+    /**
+     * 批量任务最多可占用的工作线程数
+     */
+    private int batchSlots;
+
+    /**
+     * 同时执行的任务数上限（1 ~ workers）
+     */
+    private int concurrencyLimit;
+
+    /**
+     * 批量任务等待期间连续派发的交互式任务数
+     */
+    private int interactiveStreak;
+
+    private boolean shutdown;
+
+    @PostConstruct
+    public void init() {
+        workers = Math.max(1, workers);
+        batchSlots = Math.max(1, workers - interactiveReserved);
+        concurrencyLimit = workers;
+        clientWeights = parseClientWeights(clientWeightsConfig);
+        queues.put(ConversionPriority.INTERACTIVE, new ClassQueue(interactiveQueueCapacity));
+        queues.put(ConversionPriority.BATCH, new ClassQueue(batchQueueCapacity));
+
+        for (int i = 1; i <= workers; i++) {
+            Thread thread = new Thread(this::workerLoop, "conversion-worker-" + i);
+            workerThreads.add(thread);
+            thread.start();
+        }
+
+        log.info("转换调度器初始化完成 - 工作线程: {}, 批量可用线程: {}, 交互式队列: {}, 批量队列: {}, 客户端权重: {}",
+                workers, batchSlots, interactiveQueueCapacity, batchQueueCapacity, clientWeights);
+    }
+
+    @PreDestroy
+    public void destroy() throws InterruptedException {
+        lock.lock();
+        try {
+            shutdown = true;
+            dispatchable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        // 已排队的任务执行完后工作线程退出，最多等待 60 秒
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        for (Thread thread : workerThreads) {
+            thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            if (thread.isAlive()) {
+                thread.interrupt();
+            }
+        }
+        log.info("转换调度器已关闭");
+    }
+
+    @Override
+    public <V> V execute(ConversionPriority priority, String clientId, long cost, Callable<V> task) throws Exception {
+        try {
+            return submit(priority, clientId, cost, task).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public <V> CompletableFuture<V> submit(ConversionPriority priority, String clientId, long cost, Callable<V> task) {
+        ScheduledTask<V> scheduled = new ScheduledTask<>(priority, clientId,
+                Math.max(1, (cost + COST_UNIT_BYTES - 1) / COST_UNIT_BYTES), task);
+
+        lock.lock();
+        try {
+            if (shutdown) {
+                throw new IllegalStateException("转换调度器已关闭");
+            }
+            ClassQueue queue = queues.get(priority);
+            if (queue.size >= queue.capacity) {
+                queue.rejected++;
+                throw new IllegalStateException("转换队列已满，请稍后重试");
+            }
+            queue.offer(scheduled, quantumMb * clientWeights.getOrDefault(clientId, 1));
+            queue.submitted++;
+            dispatchable.signal();
+        } finally {
+            lock.unlock();
+        }
+        return scheduled.future;
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            result.put("workers", workers);
+            result.put("batchSlots", batchSlots);
+            result.put("concurrencyLimit", concurrencyLimit);
+            queues.forEach((priority, queue) -> result.put(priority.name().toLowerCase(), queue.statistics()));
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        return workers;
+    }
+
+    @Override
+    public int getConcurrencyLimit() {
+        lock.lock();
+        try {
+            return concurrencyLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getMinConcurrencyLimit() {
+        return Math.min(workers, interactiveReserved + 1);
+    }
+
+    @Override
+    public int setConcurrencyLimit(int limit) {
+        lock.lock();
+        try {
+            // 不低于预留名额 + 1，否则唯一的名额会被批量任务占用，交互式预留失效
+            concurrencyLimit = Math.max(getMinConcurrencyLimit(), Math.min(workers, limit));
+            // 调高后空闲的工作线程可以立即取任务
+            dispatchable.signalAll();
+            return concurrencyLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isSaturated() {
+        lock.lock();
+        try {
+            int running = 0;
+            int queued = 0;
+            for (ClassQueue queue : queues.values()) {
+                running += queue.running;
+                queued += queue.size;
+            }
+            return running >= concurrencyLimit && queued > 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void workerLoop() {
+        while (true) {
+            ScheduledTask<?> task;
+            try {
+                task = take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (task == null) {
+                return;
+            }
+
+            ClientContext.set(task.clientId);
+            try {
+                task.run();
+            } finally {
+                ClientContext.clear();
+            }
+
+            lock.lock();
+            try {
+                ClassQueue queue = queues.get(task.priority);
+                queue.running--;
+                if (task.failed) {
+                    queue.failed++;
+                } else {
+                    queue.completed++;
+                }
+                // 批量线程名额释放后可能有新任务可派发
+                dispatchable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 取下一个可派发的任务；关闭且队列为空时返回 null
+     */
+    private ScheduledTask<?> take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (true) {
+                ScheduledTask<?> task = pickNext();
+                if (task != null) {
+                    return task;
+                }
+                if (shutdown && queues.values().stream().allMatch(queue -> queue.size == 0)) {
+                    return null;
+                }
+                dispatchable.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 选择下一个任务（调用方持有锁）
+     */
+    private ScheduledTask<?> pickNext() {
+        ClassQueue interactive = queues.get(ConversionPriority.INTERACTIVE);
+        ClassQueue batch = queues.get(ConversionPriority.BATCH);
+        if (interactive.running + batch.running >= concurrencyLimit) {
+            return null;
+        }
+        // 并发上限调低后仍为交互式任务保留名额
+        int batchLimit = Math.max(1, Math.min(batchSlots, concurrencyLimit - interactiveReserved));
+        boolean batchReady = batch.size > 0 && batch.running < batchLimit;
+
+        ScheduledTask<?> task = null;
+        if (interactive.size > 0 && !(batchReady && interactiveStreak >= interactiveBurst)) {
+            task = interactive.poll();
+            if (batchReady) {
+                interactiveStreak++;
+            }
+        } else if (batchReady) {
+            task = batch.poll();
+            interactiveStreak = 0;
+        }
+
+        if (task != null) {
+            ClassQueue queue = queues.get(task.priority);
+            queue.running++;
+            queue.recordWait(System.nanoTime() - task.enqueuedAt);
+        }
+        return task;
+    }
+
+    /**
+     * 解析客户端权重配置，格式：客户端标识=权重，多个以逗号分隔
+     */
+    private static Map<String, Integer> parseClientWeights(String config) {
+        Map<String, Integer> weights = new HashMap<>();
+        if (config == null || config.isBlank()) {
+            return weights;
+        }
+        for (String item : config.split(",")) {
+            int index = item.lastIndexOf('=');
+            if (index <= 0) {
+                continue;
+            }
+            try {
+                weights.put(item.substring(0, index).trim(), Math.max(1, Integer.parseInt(item.substring(index + 1).trim())));
+            } catch (NumberFormatException e) {
+                log.warn("忽略无效的客户端权重配置: {}", item);
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * 单个优先级类别的队列：按客户端分组的差额轮询
+     */
+    private static class ClassQueue {
+        private final int capacity;
+        private final Map<String, ClientQueue> clients = new HashMap<>();
+        private final Deque<ClientQueue> active = new ArrayDeque<>();
+        private final long[] waitSamples = new long[WAIT_SAMPLES];
+        private long waitCount;
+        private long maxWaitNanos;
+        private int size;
+        private int running;
+        private long submitted;
+        private long completed;
+        private long failed;
+        private long rejected;
+
+        ClassQueue(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void offer(ScheduledTask<?> task, int quantum) {
+            ClientQueue clientQueue = clients.get(task.clientId);
+            if (clientQueue == null) {
+                clientQueue = new ClientQueue(task.clientId, quantum);
+                clients.put(task.clientId, clientQueue);
+                active.addLast(clientQueue);
+            }
+            clientQueue.tasks.addLast(task);
+            size++;
+        }
+
+        ScheduledTask<?> poll() {
+            while (!active.isEmpty()) {
+                ClientQueue clientQueue = active.peekFirst();
+                ScheduledTask<?> head = clientQueue.tasks.peekFirst();
+                if (clientQueue.deficit >= head.cost) {
+                    clientQueue.deficit -= head.cost;
+                    clientQueue.tasks.pollFirst();
+                    size--;
+                    if (clientQueue.tasks.isEmpty()) {
+                        active.pollFirst();
+                        clients.remove(clientQueue.clientId);
+                    }
+                    return head;
+                }
+                // 额度不足：补充额度后轮到下一个客户端
+                clientQueue.deficit += clientQueue.quantum;
+                active.addLast(active.pollFirst());
+            }
+            return null;
+        }
+
+        void recordWait(long waitNanos) {
+            waitSamples[(int) (waitCount++ % WAIT_SAMPLES)] = waitNanos;
+            maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+        }
+
+        Map<String, Object> statistics() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("queued", size);
+            result.put("running", running);
+            result.put("submitted", submitted);
+            result.put("completed", completed);
+            result.put("failed", failed);
+            result.put("rejected", rejected);
+
+            Map<String, Integer> queuedByClient = new LinkedHashMap<>();
+            for (ClientQueue clientQueue : active) {
+                queuedByClient.put(clientQueue.clientId, clientQueue.tasks.size());
+            }
+            result.put("queuedByClient", queuedByClient);
+
+            long[] samples = Arrays.copyOf(waitSamples, (int) Math.min(waitCount, WAIT_SAMPLES));
+            Arrays.sort(samples);
+            result.put("waitP50Ms", percentileMillis(samples, 0.50));
+            result.put("waitP95Ms", percentileMillis(samples, 0.95));
+            result.put("waitP99Ms", percentileMillis(samples, 0.99));
+            result.put("waitMaxMs", TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+            return result;
+        }
+
+        private static long percentileMillis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, index)]);
+        }
+    }
+
+    /**
+     * 单个客户端的待执行任务
+     */
+    private static class ClientQueue {
+        private final String clientId;
+        private final long quantum;
+        private final Deque<ScheduledTask<?>> tasks = new ArrayDeque<>();
+        private long deficit;
+
+        ClientQueue(String clientId, long quantum) {
+            this.clientId = clientId;
+            this.quantum = quantum;
+        }
+    }
+
+    /**
+     * 排队中的任务
+     */
+    private static class ScheduledTask<V> {
+        private final ConversionPriority priority;
+        private final String clientId;
+        private final long cost;
+        private final Callable<V> callable;
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private final long enqueuedAt = System.nanoTime();
+        private boolean failed;
+
+        ScheduledTask(ConversionPriority priority, String clientId, long cost, Callable<V> callable) {
+            this.priority = priority;
+            this.clientId = clientId;
+            this.cost = cost;
+            this.callable = callable;
+        }
+
+        void run() {
+            try {
+                future.complete(callable.call());
+            } catch (Throwable e) {
+                failed = true;
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
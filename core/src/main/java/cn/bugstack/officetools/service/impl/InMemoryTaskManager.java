@@ -0,0 +1,161 @@
+package cn.bugstack.officetools.service.impl;
+
+import cn.bugstack.officetools.domain.dto.ConversionResult;
+import cn.bugstack.officetools.domain.dto.ConvertedFileInfo;
+import cn.bugstack.officetools.domain.dto.SubTaskInfo;
+import cn.bugstack.officetools.domain.dto.TaskInfo;
+import cn.bugstack.officetools.domain.dto.TaskStatus;
+import cn.bugstack.officetools.domain.dto.TaskType;
+import cn.bugstack.officetools.service.TaskManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 内存任务管理实现（单实例模式）
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "false", matchIfMissing = true)
+public class InMemoryTaskManager implements TaskManager {
+
+    private final ConcurrentHashMap<String, TaskInfo> tasks = new ConcurrentHashMap<>();
+
+    @Override
+    public String createTask(TaskType taskType, int totalFiles) {
+        TaskInfo taskInfo = TaskStateSupport.newTask(taskType, totalFiles);
+        tasks.put(taskInfo.getTaskId(), taskInfo);
+        log.debug("创建任务: {}, 类型: {}, 文件数: {}", taskInfo.getTaskId(), taskType, totalFiles);
+
+        return taskInfo.getTaskId();
+    }
+
+    @Override
+    public String createBatchTask(List<String> fileNames) {
+        TaskInfo taskInfo = TaskStateSupport.newBatchTask(fileNames);
+        tasks.put(taskInfo.getTaskId(), taskInfo);
+        log.debug("创建批量任务: {}, 文件数: {}", taskInfo.getTaskId(), fileNames.size());
+
+        return taskInfo.getTaskId();
+    }
+
+    @Override
+    public boolean restoreTask(TaskInfo taskInfo) {
+        boolean restored = tasks.putIfAbsent(taskInfo.getTaskId(), taskInfo) == null;
+        log.debug("恢复任务: {}, 结果: {}", taskInfo.getTaskId(), restored);
+        return restored;
+    }
+
+    @Override
+    public void startSubTask(String taskId, int index) {
+        TaskInfo taskInfo = tasks.get(taskId);
+        if (taskInfo == null) {
+            return;
+        }
+        synchronized (taskInfo) {
+            TaskStateSupport.startSubTask(taskInfo, index);
+        }
+        log.debug("子任务开始: {}#{}", taskId, index);
+    }
+
+    @Override
+    public boolean finishSubTask(String taskId, int index, ConvertedFileInfo file) {
+        TaskInfo taskInfo = tasks.get(taskId);
+        if (taskInfo == null) {
+            return false;
+        }
+        synchronized (taskInfo) {
+            boolean allFinished = TaskStateSupport.finishSubTask(taskInfo, index, file);
+            log.debug("子任务结束: {}#{}, 失败: {}, 已结束: {}/{}", taskId, index, file.getError() != null,
+                    taskInfo.getProcessedFiles(), taskInfo.getTotalFiles());
+            return allFinished;
+        }
+    }
+
+    @Override
+    public SubTaskInfo resetSubTask(String taskId, int index) {
+        TaskInfo taskInfo = tasks.get(taskId);
+        if (taskInfo == null || taskInfo.getSubTasks() == null) {
+            throw new IllegalArgumentException("批量任务不存在: " + taskId);
+        }
+        synchronized (taskInfo) {
+            return TaskStateSupport.resetSubTask(taskInfo, index);
+        }
+    }
+
+    @Override
+    public void updateTaskStatus(String taskId, TaskStatus status, int progress) {
+        TaskInfo taskInfo = tasks.get(taskId);
+        if (taskInfo != null) {
+            synchronized (taskInfo) {
+                TaskStateSupport.updateStatus(taskInfo, status, progress);
+            }
+            log.debug("更新任务状态: {}, 状态: {}, 进度: {}%", taskId, status, progress);
+        }
+    }
+
+    @Override
+    public void setTaskResult(String taskId, ConversionResult result) {
+        TaskInfo taskInfo = tasks.get(taskId);
+        if (taskInfo != null) {
+            synchronized (taskInfo) {
+                TaskStateSupport.setResult(taskInfo, result);
+            }
+            log.debug("设置任务结果: {}", taskId);
+        }
+    }
+
+    @Override
+    public void setTaskError(String taskId, String error) {
+        TaskInfo taskInfo = tasks.get(taskId);
+        if (taskInfo != null) {
+            taskInfo.setError(error);
+            log.debug("设置任务错误: {}, 错误: {}", taskId, error);
+        }
+    }
+
+    @Override
+    public TaskInfo getTaskInfo(String taskId) {
+        return tasks.get(taskId);
+    }
+
+    @Override
+    public List<TaskInfo> getAllTasks() {
+        return new ArrayList<>(tasks.values());
+    }
+
+    /**
+     * 定时清理过期任务 (每小时执行一次)
+     */
+    @Scheduled(fixedRate = 3600000)
+    public void scheduledCleanupExpiredTasks() {
+        cleanupExpiredTasks(60); // 清理 60 分钟前的任务
+    }
+
+    /**
+     * 清理过期任务
+     *
+     * @param expireMinutes 过期时间(分钟)
+     */
+    public void cleanupExpiredTasks(int expireMinutes) {
+        LocalDateTime expireTime = LocalDateTime.now().minusMinutes(expireMinutes);
+        int removedCount = 0;
+
+        for (TaskInfo taskInfo : tasks.values()) {
+            if (TaskStateSupport.isExpired(taskInfo, expireTime)) {
+                tasks.remove(taskInfo.getTaskId());
+                removedCount++;
+            }
+        }
+
+        if (removedCount > 0) {
+            log.info("清理过期任务: {} 个", removedCount);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package cn.bugstack.officetools.service.impl;
+
+import cn.bugstack.officetools.domain.dto.ConversionPriority;
+import cn.bugstack.officetools.domain.dto.TaskType;
+import cn.bugstack.officetools.domain.dto.WorkItem;
+import cn.bugstack.officetools.domain.model.SpooledFile;
+import cn.bugstack.officetools.service.ConversionScheduler;
+import cn.bugstack.officetools.service.ConversionWorkQueue;
+import cn.bugstack.officetools.util.InputSpool;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 本地工作队列（单实例模式）
+ * 工作项直接提交到本机的转换调度器，输入保存在本地暂存目录
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "false", matchIfMissing = true)
+public class LocalConversionWorkQueue implements ConversionWorkQueue {
+
+    @Autowired
+    private ConversionScheduler conversionScheduler;
+
+    @Autowired
+    private InputSpool inputSpool;
+
+    @Value("${conversion.batch.retry-input-expire-minutes:60}")
+    private long retryInputExpireMinutes;
+
+    private Handler handler;
+
+    /**
+     * 批量任务中失败文件的工作项与暂存输入（任务 ID#序号 -> 工作项），过期后删除，重试时取出
+     */
+    private Cache<String, FailedItem> failedItems;
+
+    @PostConstruct
+    public void init() {
+        failedItems = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(retryInputExpireMinutes))
+                .scheduler(Scheduler.systemScheduler())
+                .removalListener((String key, FailedItem failed, RemovalCause cause) -> {
+                    // 重试取出或显式移除时由调用方负责，只有过期时在这里删除
+                    if (cause.wasEvicted() && failed != null) {
+                        inputSpool.release(List.of(failed.input));
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public void start(Handler handler) {
+        this.handler = handler;
+    }
+
+    @Override
+    public void submit(WorkItem item, SpooledFile input) {
+        try {
+            conversionScheduler.submit(ConversionPriority.BATCH, item.getClientId(), item.getSize(), () -> {
+                run(item, input);
+                return null;
+            });
+        } catch (IllegalStateException e) {
+            keepOrRelease(item, input);
+            throw e;
+        }
+    }
+
+    @Override
+    public void retry(String taskId, int index) {
+        FailedItem failed = failedItems.asMap().remove(key(taskId, index));
+        if (failed == null) {
+            throw new IllegalStateException("文件输入已过期或不存在，无法重试: " + taskId + "#" + index);
+        }
+        failed.item.setFailed(false);
+        submit(failed.item, failed.input);
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("mode", "local");
+        result.put("retainedFailedInputs", failedItems.estimatedSize());
+        return result;
+    }
+
+    private void run(WorkItem item, SpooledFile input) {
+        item.setAttempts(item.getAttempts() + 1);
+        if (handler.process(item, input)) {
+            inputSpool.release(List.of(input));
+        } else {
+            keepOrRelease(item, input);
+        }
+    }
+
+    /**
+     * 批量任务的失败文件保留输入以便重试，单文件任务直接删除
+     */
+    private void keepOrRelease(WorkItem item, SpooledFile input) {
+        if (item.getTaskType() == TaskType.BATCH) {
+            item.setFailed(true);
+            failedItems.put(key(item.getTaskId(), item.getIndex()), new FailedItem(item, input));
+        } else {
+            inputSpool.release(List.of(input));
+        }
+    }
+
+    private static String key(String taskId, int index) {
+        return taskId + "#" + index;
+    }
+
+    /**
+     * 失败的工作项与其输入
+     */
+    private static class FailedItem {
+        private final WorkItem item;
+        private final SpooledFile input;
+
+        FailedItem(WorkItem item, SpooledFile input) {
+            this.item = item;
+            this.input = input;
+        }
+    }
+}
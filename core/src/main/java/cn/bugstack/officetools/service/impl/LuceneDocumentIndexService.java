@@ -0,0 +1,530 @@
+package cn.bugstack.officetools.service.impl;
+
+import cn.bugstack.officetools.domain.dto.SearchHit;
+import cn.bugstack.officetools.domain.dto.SearchResult;
+import cn.bugstack.officetools.service.DocumentIndexService;
+import cn.bugstack.officetools.service.SpireDocService;
+import cn.bugstack.officetools.util.DigestUtil;
+import cn.bugstack.officetools.util.DocxTextExtractor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.cjk.CJKAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于 Lucene 的全文索引服务实现类
+ * 索引保存在本地磁盘，以内容 SHA-256 为文档 ID 增量更新；
+ * 写入后立即刷新近实时搜索器，提交按批进行（空闲时或累计到一定数量时提交）
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Slf4j
+@Service
+public class LuceneDocumentIndexService implements DocumentIndexService {
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_FILE_NAME = "fileName";
+    private static final String FIELD_CONTENT = "content";
+    private static final String FIELD_FILE_SIZE = "fileSize";
+    private static final String FIELD_INDEXED_AT = "indexedAt";
+    private static final String FIELD_TRUNCATED = "truncated";
+
+    /**
+     * 检索结果只加载元数据字段，不加载正文
+     */
+    private static final Set<String> HIT_FIELDS = Set.of(FIELD_ID, FIELD_FILE_NAME, FIELD_FILE_SIZE, FIELD_INDEXED_AT);
+
+    /**
+     * 正文字段：存储原文，并在倒排表中记录偏移量，高亮时无需重新分词
+     */
+    private static final FieldType CONTENT_FIELD_TYPE = createContentFieldType();
+
+    /**
+     * 未部署 Spire 引擎模块时为空，只能索引 DOCX
+     */
+    @Autowired(required = false)
+    private SpireDocService spireDocService;
+
+    @Autowired
+    @Qualifier("documentIndexExecutor")
+    private ThreadPoolTaskExecutor documentIndexExecutor;
+
+    @Value("${search.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.index.dir:./data/index}")
+    private String indexDir;
+
+    @Value("${search.index.ram-buffer-mb:32}")
+    private double ramBufferMb;
+
+    @Value("${search.index.commit-batch:100}")
+    private int commitBatch;
+
+    @Value("${search.index.max-content-chars:1000000}")
+    private int maxContentChars;
+
+    @Value("${search.index.max-results:100}")
+    private int maxResults;
+
+    @Value("${search.index.queue-max-mb:32}")
+    private long queueMaxMb;
+
+    private Analyzer analyzer;
+    private Directory directory;
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+
+    /**
+     * 已排队但尚未写入的文档 ID，避免同一文档重复排队
+     */
+    private final Set<String> pendingIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 上次提交以来的写入次数
+     */
+    private final AtomicInteger uncommittedCount = new AtomicInteger();
+
+    /**
+     * 排队任务持有的字节数（原文或提取好的文本），按字节而不是按任务数限制队列，
+     * 避免大文档积压时把整份输入长时间留在堆上
+     */
+    private final AtomicLong queuedBytes = new AtomicLong();
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!enabled) {
+            log.info("全文索引未启用");
+            return;
+        }
+
+        Path path = Paths.get(indexDir);
+        Files.createDirectories(path);
+        directory = FSDirectory.open(path);
+        // CJK 文本按二元组切分，其他文本按标准分词
+        analyzer = new CJKAnalyzer();
+
+        IndexWriterConfig config = new IndexWriterConfig(analyzer);
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        config.setRAMBufferSizeMB(ramBufferMb);
+        indexWriter = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(indexWriter, null);
+
+        log.info("全文索引初始化完成 - 目录: {}, 已索引文档数: {}",
+                path.toAbsolutePath(), indexWriter.getDocStats().numDocs);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (!enabled) {
+            return;
+        }
+        // 先等待排队中的索引任务写完，再提交并关闭
+        documentIndexExecutor.shutdown();
+        try {
+            searcherManager.close();
+            indexWriter.commit();
+            indexWriter.close();
+            directory.close();
+            log.info("全文索引已关闭");
+        } catch (IOException e) {
+            log.warn("关闭全文索引失败: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String index(byte[] content, String originalFilename) throws Exception {
+        ensureEnabled();
+        String documentId = DigestUtil.sha256Hex(content);
+        if (contains(documentId)) {
+            log.info("【性能监控-Lucene】文档已索引, 文件名: {}, 文档: {}", originalFilename, documentId);
+            return documentId;
+        }
+
+        long start = System.currentTimeMillis();
+        String text = extractText(content, originalFilename);
+        writeDocument(documentId, originalFilename, content.length, text);
+
+        log.info("【性能监控-Lucene】文档索引耗时: {}ms, 文件名: {}, 文本长度: {}",
+                System.currentTimeMillis() - start, originalFilename, text.length());
+        return documentId;
+    }
+
+    @Override
+    public void indexAsync(byte[] content, String originalFilename) {
+        if (!enabled || !isIndexable(originalFilename)) {
+            return;
+        }
+        String documentId = DigestUtil.sha256Hex(content);
+        submit(documentId, content.length, () -> {
+            if (!contains(documentId)) {
+                String text = extractText(content, originalFilename);
+                writeDocument(documentId, originalFilename, content.length, text);
+            }
+        });
+    }
+
+    @Override
+    public void indexTextAsync(String documentId, String originalFilename, long fileSize, String text) {
+        if (!enabled) {
+            return;
+        }
+        // String 按 UTF-16 估算占用
+        submit(documentId, 2L * text.length(), () -> {
+            if (!contains(documentId)) {
+                writeDocument(documentId, originalFilename, fileSize, text);
+            }
+        });
+    }
+
+    @Override
+    public String getIndexedText(String documentId) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            Document doc = loadDocument(documentId);
+            if (doc == null || doc.getField(FIELD_TRUNCATED).numericValue().intValue() != 0) {
+                return null;
+            }
+            return doc.get(FIELD_CONTENT);
+        } catch (IOException e) {
+            log.warn("读取索引文本失败 - 文档: {}, 错误: {}", documentId, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public SearchResult search(String query, int limit) throws Exception {
+        ensureEnabled();
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("查询语句不能为空");
+        }
+
+        long start = System.currentTimeMillis();
+        Query parsedQuery = parseQuery(query);
+        int size = Math.max(1, Math.min(limit, maxResults));
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs topDocs = searcher.search(parsedQuery, size);
+
+            // 只命中文件名的文档返回正文开头作为摘要
+            UnifiedHighlighter highlighter = UnifiedHighlighter.builder(searcher, analyzer)
+                    .withMaxLength(maxContentChars)
+                    .withMaxNoHighlightPassages(1)
+                    .build();
+            String[] snippets = highlighter.highlight(FIELD_CONTENT, parsedQuery, topDocs, 2);
+
+            StoredFields storedFields = searcher.storedFields();
+            List<SearchHit> hits = new ArrayList<>(topDocs.scoreDocs.length);
+            for (int i = 0; i < topDocs.scoreDocs.length; i++) {
+                ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                Document doc = storedFields.document(scoreDoc.doc, HIT_FIELDS);
+                hits.add(SearchHit.builder()
+                        .documentId(doc.get(FIELD_ID))
+                        .fileName(doc.get(FIELD_FILE_NAME))
+                        .score(scoreDoc.score)
+                        .snippet(snippets[i])
+                        .fileSize(doc.getField(FIELD_FILE_SIZE).numericValue().longValue())
+                        .indexedAt(doc.getField(FIELD_INDEXED_AT).numericValue().longValue())
+                        .build());
+            }
+
+            long tookMs = System.currentTimeMillis() - start;
+            log.info("【性能监控-Lucene】全文检索耗时: {}ms, 查询: {}, 命中: {}", tookMs, query, topDocs.totalHits.value);
+
+            return SearchResult.builder()
+                    .query(query)
+                    .totalHits(topDocs.totalHits.value)
+                    .tookMs(tookMs)
+                    .hits(hits)
+                    .build();
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getDocument(String documentId) throws Exception {
+        ensureEnabled();
+        Document doc = loadDocument(documentId);
+        if (doc == null) {
+            return null;
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("documentId", documentId);
+        result.put("fileName", doc.get(FIELD_FILE_NAME));
+        result.put("fileSize", doc.getField(FIELD_FILE_SIZE).numericValue().longValue());
+        result.put("indexedAt", doc.getField(FIELD_INDEXED_AT).numericValue().longValue());
+        result.put("truncated", doc.getField(FIELD_TRUNCATED).numericValue().intValue() != 0);
+        result.put("content", doc.get(FIELD_CONTENT));
+        return result;
+    }
+
+    @Override
+    public boolean deleteDocument(String documentId) throws Exception {
+        ensureEnabled();
+        if (!contains(documentId)) {
+            return false;
+        }
+        indexWriter.deleteDocuments(new Term(FIELD_ID, documentId));
+        searcherManager.maybeRefresh();
+        commit();
+        log.info("全文索引已删除文档: {}", documentId);
+        return true;
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() throws Exception {
+        Map<String, Object> result = new HashMap<>();
+        result.put("enabled", enabled);
+        if (!enabled) {
+            return result;
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            result.put("documentCount", searcher.getIndexReader().numDocs());
+        } finally {
+            searcherManager.release(searcher);
+        }
+        result.put("indexDir", Paths.get(indexDir).toAbsolutePath().toString());
+        result.put("indexSizeBytes", indexSizeBytes());
+        result.put("pendingTasks", documentIndexExecutor.getThreadPoolExecutor().getQueue().size());
+        result.put("pendingBytes", queuedBytes.get());
+        result.put("uncommittedCount", uncommittedCount.get());
+        return result;
+    }
+
+    /**
+     * 提交后台索引任务，同一文档已在队列中时忽略；排队字节数超出上限时跳过
+     */
+    private void submit(String documentId, long bytes, IndexTask task) {
+        if (!pendingIds.add(documentId)) {
+            return;
+        }
+        if (!reserveQueueBytes(bytes)) {
+            pendingIds.remove(documentId);
+            log.warn("全文索引队列已满（排队 {} bytes，上限 {}MB），跳过文档: {}", queuedBytes.get(), queueMaxMb, documentId);
+            return;
+        }
+        try {
+            documentIndexExecutor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.warn("全文索引失败 - 文档: {}, 错误: {}", documentId, e.getMessage());
+                } finally {
+                    queuedBytes.addAndGet(-bytes);
+                    pendingIds.remove(documentId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            queuedBytes.addAndGet(-bytes);
+            pendingIds.remove(documentId);
+            log.warn("全文索引队列已满，跳过文档: {}", documentId);
+        }
+    }
+
+    /**
+     * 占用排队字节额度；队列为空时即使单个文档超过上限也允许排队，否则大文档永远无法索引
+     */
+    private boolean reserveQueueBytes(long bytes) {
+        long maxBytes = queueMaxMb * 1024 * 1024;
+        while (true) {
+            long current = queuedBytes.get();
+            if (current > 0 && current + bytes > maxBytes) {
+                return false;
+            }
+            if (queuedBytes.compareAndSet(current, current + bytes)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 写入（或覆盖）一个文档，并立即刷新搜索器使其可见
+     */
+    private void writeDocument(String documentId, String fileName, long fileSize, String text) throws IOException {
+        boolean truncated = text.length() > maxContentChars;
+
+        Document doc = new Document();
+        doc.add(new StringField(FIELD_ID, documentId, Field.Store.YES));
+        doc.add(new TextField(FIELD_FILE_NAME, fileName == null ? "" : fileName, Field.Store.YES));
+        doc.add(new Field(FIELD_CONTENT, truncated ? text.substring(0, maxContentChars) : text, CONTENT_FIELD_TYPE));
+        doc.add(new StoredField(FIELD_FILE_SIZE, fileSize));
+        doc.add(new StoredField(FIELD_INDEXED_AT, System.currentTimeMillis()));
+        doc.add(new StoredField(FIELD_TRUNCATED, truncated ? 1 : 0));
+
+        indexWriter.updateDocument(new Term(FIELD_ID, documentId), doc);
+        searcherManager.maybeRefresh();
+
+        // 队列空闲时立即提交，持续写入时按批提交，减少 fsync 次数
+        if (uncommittedCount.incrementAndGet() >= commitBatch
+                || documentIndexExecutor.getThreadPoolExecutor().getQueue().isEmpty()) {
+            commit();
+        }
+    }
+
+    private void commit() throws IOException {
+        uncommittedCount.set(0);
+        indexWriter.commit();
+    }
+
+    private boolean contains(String documentId) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return searcher.count(new TermQuery(new Term(FIELD_ID, documentId))) > 0;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * 按 ID 读取全部存储字段
+     */
+    private Document loadDocument(String documentId) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs topDocs = searcher.search(new TermQuery(new Term(FIELD_ID, documentId)), 1);
+            if (topDocs.scoreDocs.length == 0) {
+                return null;
+            }
+            return searcher.storedFields().document(topDocs.scoreDocs[0].doc);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * 解析查询语句：同时检索正文和文件名，多个词之间为 AND；
+     * 语法错误（如未闭合的引号）时转义后按普通文本查询
+     */
+    private Query parseQuery(String query) {
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(new String[]{FIELD_CONTENT, FIELD_FILE_NAME}, analyzer);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        // 中文词被切成多个二元组时按短语匹配，避免只命中其中一个二元组
+        parser.setAutoGeneratePhraseQueries(true);
+        try {
+            return parser.parse(query);
+        } catch (ParseException e) {
+            try {
+                return parser.parse(QueryParser.escape(query));
+            } catch (ParseException ex) {
+                throw new IllegalArgumentException("无法解析查询语句: " + query);
+            }
+        }
+    }
+
+    private long indexSizeBytes() throws IOException {
+        long total = 0;
+        for (String file : directory.listAll()) {
+            try {
+                total += directory.fileLength(file);
+            } catch (IOException e) {
+                // 段合并期间文件可能已被删除
+            }
+        }
+        return total;
+    }
+
+    private void ensureEnabled() {
+        if (!enabled) {
+            throw new IllegalStateException("全文索引未启用");
+        }
+    }
+
+    /**
+     * 提取正文：有 Spire 引擎时交给引擎（支持 .doc），否则只能流式解析 DOCX
+     */
+    private String extractText(byte[] content, String originalFilename) throws Exception {
+        if (spireDocService != null) {
+            return spireDocService.extractText(new ByteArrayInputStream(content), originalFilename);
+        }
+        if (!DocxTextExtractor.isZip(content)) {
+            throw new IllegalArgumentException("未部署 Spire 引擎模块，仅支持索引 DOCX 文档: " + originalFilename);
+        }
+        StringBuilder textContent = new StringBuilder();
+        int paragraphCount = DocxTextExtractor.extract(new ByteArrayInputStream(content),
+                (index, text) -> textContent.append(text).append("\n"));
+        if (paragraphCount < 0) {
+            throw new IllegalArgumentException("不是有效的 Word 文档：缺少 word/document.xml");
+        }
+        return textContent.toString();
+    }
+
+    private boolean isIndexable(String filename) {
+        if (filename == null) {
+            return false;
+        }
+        String lower = filename.toLowerCase();
+        return lower.endsWith(".doc") || lower.endsWith(".docx");
+    }
+
+    private static FieldType createContentFieldType() {
+        FieldType type = new FieldType(TextField.TYPE_STORED);
+        type.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS);
+        type.freeze();
+        return type;
+    }
+
+    /**
+     * 后台索引任务
+     */
+    @FunctionalInterface
+    private interface IndexTask {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,426 @@
+package cn.bugstack.officetools.service.impl;
+
+import cn.bugstack.officetools.domain.dto.ConversionPriority;
+import cn.bugstack.officetools.domain.dto.WorkItem;
+import cn.bugstack.officetools.domain.model.SpooledFile;
+import cn.bugstack.officetools.domain.model.VersionedObject;
+import cn.bugstack.officetools.service.ConversionScheduler;
+import cn.bugstack.officetools.service.ConversionWorkQueue;
+import cn.bugstack.officetools.service.R2Service;
+import cn.bugstack.officetools.util.InputSpool;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 对象存储工作队列（集群模式）
+ * 工作项保存在 {prefix}queue/，输入保存在 {prefix}inputs/，多个实例轮询同一前缀并通过租约认领：
+ * <ul>
+ *     <li>认领：未被持有或租约已过期的工作项，以 If-Match 条件写入自己的实例 ID 与到期时间，写入成功者获得租约</li>
+ *     <li>心跳：执行期间每 1/3 租约时长续约一次；续约失败说明租约已被其他实例接管</li>
+ *     <li>过期：实例崩溃后租约自然过期，由其他实例重新认领；认领次数达到上限后放弃并标记失败</li>
+ * </ul>
+ * 语义为至少执行一次：租约丢失时同一文件可能被转换两次，结果以最后写入的为准
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "true")
+public class ObjectStoreConversionWorkQueue implements ConversionWorkQueue {
+
+    private static final String CONTENT_TYPE = "application/json";
+
+    @Autowired
+    private R2Service r2Service;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private ConversionScheduler conversionScheduler;
+
+    @Autowired
+    private InputSpool inputSpool;
+
+    @Value("${cluster.prefix:cluster/}")
+    private String prefix;
+
+    @Value("${cluster.instance-id:}")
+    private String instanceId;
+
+    @Value("${cluster.lease-seconds:60}")
+    private long leaseSeconds;
+
+    @Value("${cluster.poll-interval-ms:2000}")
+    private long pollIntervalMs;
+
+    @Value("${cluster.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${cluster.max-local-claims:2}")
+    private int maxLocalClaims;
+
+    private Handler handler;
+    private Semaphore claimPermits;
+    private ScheduledExecutorService executor;
+    private volatile boolean running;
+
+    /**
+     * 本实例持有的租约（工作项键 -> 租约）
+     */
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    private final AtomicLong claimedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong lostLeaseCount = new AtomicLong();
+    private final AtomicLong abandonedCount = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        if (instanceId == null || instanceId.isBlank()) {
+            instanceId = defaultInstanceId();
+        }
+        claimPermits = new Semaphore(Math.max(1, maxLocalClaims));
+
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        executor = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "cluster-queue-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void start(Handler handler) {
+        this.handler = handler;
+        running = true;
+        executor.scheduleWithFixedDelay(this::poll, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        long heartbeatMs = Math.max(1000, TimeUnit.SECONDS.toMillis(leaseSeconds) / 3);
+        executor.scheduleAtFixedRate(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+
+        log.info("集群工作队列启动 - 实例: {}, 前缀: {}, 租约: {}s, 轮询间隔: {}ms, 本地并发认领: {}, 最大认领次数: {}",
+                instanceId, prefix, leaseSeconds, pollIntervalMs, maxLocalClaims, maxAttempts);
+    }
+
+    /**
+     * 停止认领新工作，等待本实例持有的工作完成（期间继续续约），最多等待一个租约时长
+     */
+    @PreDestroy
+    public void destroy() throws InterruptedException {
+        running = false;
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(leaseSeconds);
+        while (!leases.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(200);
+        }
+        executor.shutdownNow();
+        log.info("集群工作队列已停止 - 实例: {}, 未完成租约: {}", instanceId, leases.size());
+    }
+
+    @Override
+    public void submit(WorkItem item, SpooledFile input) {
+        try {
+            r2Service.uploadFile(input.getPath(), inputKey(item.getTaskId(), item.getIndex()),
+                    input.getContentType() != null ? input.getContentType() : "application/octet-stream");
+
+            item.setLeaseOwner(null);
+            item.setLeaseExpiresAt(0);
+            if (r2Service.putIfMatch(itemKey(item.getTaskId(), item.getIndex()), jsonMapper.writeValueAsBytes(item),
+                    CONTENT_TYPE, null) == null) {
+                throw new IllegalStateException("工作项已存在: " + item.getTaskId() + "#" + item.getIndex());
+            }
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("提交到共享队列失败: {}#{}, 错误: {}", item.getTaskId(), item.getIndex(), e.getMessage(), e);
+            throw new IllegalStateException("提交到共享队列失败: " + e.getMessage(), e);
+        } finally {
+            // 输入已上传到对象存储（或提交失败），本地副本不再需要
+            inputSpool.release(List.of(input));
+        }
+    }
+
+    @Override
+    public void retry(String taskId, int index) {
+        String key = itemKey(taskId, index);
+        VersionedObject object;
+        try {
+            object = r2Service.getVersioned(key);
+        } catch (Exception e) {
+            throw new IllegalStateException("读取工作项失败: " + e.getMessage(), e);
+        }
+        if (object == null) {
+            throw new IllegalStateException("文件输入已过期或不存在，无法重试: " + taskId + "#" + index);
+        }
+
+        WorkItem item = jsonMapper.readValue(object.getContent(), WorkItem.class);
+        if (!item.isFailed()) {
+            throw new IllegalStateException("文件正在处理中: " + taskId + "#" + index);
+        }
+        item.setFailed(false);
+        item.setAttempts(0);
+        item.setLeaseOwner(null);
+        item.setLeaseExpiresAt(0);
+        if (r2Service.putIfMatch(key, jsonMapper.writeValueAsBytes(item), CONTENT_TYPE, object.getEtag()) == null) {
+            throw new IllegalStateException("工作项已被修改，请稍后重试: " + taskId + "#" + index);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("mode", "cluster");
+        result.put("instanceId", instanceId);
+        result.put("heldLeases", leases.size());
+        result.put("claimed", claimedCount.get());
+        result.put("completed", completedCount.get());
+        result.put("failed", failedCount.get());
+        result.put("lostLeases", lostLeaseCount.get());
+        result.put("abandoned", abandonedCount.get());
+        return result;
+    }
+
+    /**
+     * 轮询共享队列，在本地并发额度内认领工作项
+     */
+    private void poll() {
+        if (!running) {
+            return;
+        }
+        try {
+            List<String> keys = r2Service.listKeys(prefix + "queue/");
+            // 打乱顺序，减少多个实例争抢同一个工作项
+            Collections.shuffle(keys);
+            for (String key : keys) {
+                if (!running || leases.containsKey(key)) {
+                    continue;
+                }
+                if (!claimPermits.tryAcquire()) {
+                    break;
+                }
+                boolean dispatched = false;
+                try {
+                    dispatched = tryClaim(key);
+                } catch (Exception e) {
+                    log.warn("认领工作项失败: {}, 错误: {}", key, e.getMessage());
+                } finally {
+                    if (!dispatched) {
+                        claimPermits.release();
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.warn("轮询共享队列失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 尝试认领并执行一个工作项
+     *
+     * @return 是否已获得租约（获得后由 finish/relinquish 归还本地并发额度）
+     */
+    private boolean tryClaim(String key) throws Exception {
+        VersionedObject object = r2Service.getVersioned(key);
+        if (object == null) {
+            return false;
+        }
+        WorkItem item = jsonMapper.readValue(object.getContent(), WorkItem.class);
+        long now = System.currentTimeMillis();
+        if (item.isFailed() || (item.getLeaseOwner() != null && item.getLeaseExpiresAt() > now)) {
+            return false;
+        }
+
+        if (item.getLeaseOwner() != null && item.getAttempts() >= maxAttempts) {
+            // 租约多次过期仍未完成（执行实例反复崩溃），放弃该工作项
+            item.setFailed(true);
+            item.setLeaseOwner(null);
+            if (r2Service.putIfMatch(key, jsonMapper.writeValueAsBytes(item), CONTENT_TYPE, object.getEtag()) != null) {
+                abandonedCount.incrementAndGet();
+                log.warn("放弃工作项: {}, 已认领 {} 次", key, item.getAttempts());
+                handler.abandon(item, "处理超时，已认领 " + item.getAttempts() + " 次仍未完成");
+            }
+            return false;
+        }
+
+        item.setAttempts(item.getAttempts() + 1);
+        item.setLeaseOwner(instanceId);
+        item.setLeaseExpiresAt(now + TimeUnit.SECONDS.toMillis(leaseSeconds));
+        String etag = r2Service.putIfMatch(key, jsonMapper.writeValueAsBytes(item), CONTENT_TYPE, object.getEtag());
+        if (etag == null) {
+            // 其他实例先认领了
+            return false;
+        }
+
+        Lease lease = new Lease(key, item, etag);
+        leases.put(key, lease);
+        claimedCount.incrementAndGet();
+        log.info("认领工作项: {}, 第 {} 次, 实例: {}", key, item.getAttempts(), instanceId);
+
+        SpooledFile input;
+        try (InputStream inputStream = r2Service.downloadFileStream(inputKey(item.getTaskId(), item.getIndex()))) {
+            input = inputSpool.spool(inputStream, item.getOriginalName(), item.getContentType());
+        } catch (Exception e) {
+            log.error("读取工作项输入失败: {}, 错误: {}", key, e.getMessage(), e);
+            handler.abandon(item, "读取输入失败: " + e.getMessage());
+            finish(lease, false);
+            return true;
+        }
+
+        try {
+            conversionScheduler.submit(ConversionPriority.BATCH, item.getClientId(), item.getSize(), () -> {
+                execute(lease, input);
+                return null;
+            });
+        } catch (IllegalStateException e) {
+            // 本地调度队列已满：归还租约，留给其他实例或下一轮
+            inputSpool.release(List.of(input));
+            relinquish(lease);
+        }
+        return true;
+    }
+
+    private void execute(Lease lease, SpooledFile input) {
+        boolean success = false;
+        try {
+            success = handler.process(lease.item, input);
+        } finally {
+            inputSpool.release(List.of(input));
+            finish(lease, success);
+        }
+    }
+
+    /**
+     * 结束租约：成功时删除工作项与输入；失败时标记为失败并保留输入，等待重试
+     */
+    private void finish(Lease lease, boolean success) {
+        synchronized (lease) {
+            leases.remove(lease.key);
+            claimPermits.release();
+            if (lease.lost) {
+                log.warn("租约已丢失，结果不再写回: {}", lease.key);
+                return;
+            }
+
+            try {
+                if (success) {
+                    r2Service.deleteFile(lease.key);
+                    r2Service.deleteFile(inputKey(lease.item.getTaskId(), lease.item.getIndex()));
+                    completedCount.incrementAndGet();
+                } else {
+                    lease.item.setFailed(true);
+                    lease.item.setLeaseOwner(null);
+                    lease.item.setLeaseExpiresAt(0);
+                    r2Service.putIfMatch(lease.key, jsonMapper.writeValueAsBytes(lease.item), CONTENT_TYPE, lease.etag);
+                    failedCount.incrementAndGet();
+                }
+            } catch (Exception e) {
+                log.warn("更新工作项失败: {}, 错误: {}", lease.key, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 未执行就归还租约，不计入认领次数
+     */
+    private void relinquish(Lease lease) {
+        synchronized (lease) {
+            leases.remove(lease.key);
+            claimPermits.release();
+            if (lease.lost) {
+                return;
+            }
+            try {
+                lease.item.setAttempts(lease.item.getAttempts() - 1);
+                lease.item.setLeaseOwner(null);
+                lease.item.setLeaseExpiresAt(0);
+                r2Service.putIfMatch(lease.key, jsonMapper.writeValueAsBytes(lease.item), CONTENT_TYPE, lease.etag);
+            } catch (Exception e) {
+                log.warn("归还租约失败: {}, 错误: {}", lease.key, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 为本实例持有的所有租约续约
+     */
+    private void heartbeat() {
+        for (Lease lease : leases.values()) {
+            synchronized (lease) {
+                if (lease.lost || !leases.containsKey(lease.key)) {
+                    continue;
+                }
+                try {
+                    lease.item.setLeaseExpiresAt(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(leaseSeconds));
+                    String etag = r2Service.putIfMatch(lease.key, jsonMapper.writeValueAsBytes(lease.item),
+                            CONTENT_TYPE, lease.etag);
+                    if (etag == null) {
+                        lease.lost = true;
+                        lostLeaseCount.incrementAndGet();
+                        log.warn("租约已被其他实例接管: {}", lease.key);
+                    } else {
+                        lease.etag = etag;
+                    }
+                } catch (Exception e) {
+                    // 下一次心跳再试；在租约到期前恢复即可
+                    log.warn("续约失败: {}, 错误: {}", lease.key, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private String itemKey(String taskId, int index) {
+        return prefix + "queue/" + taskId + "-" + index + ".json";
+    }
+
+    private String inputKey(String taskId, int index) {
+        return prefix + "inputs/" + taskId + "/" + index;
+    }
+
+    private static String defaultInstanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "instance";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * 本实例持有的租约
+     */
+    private static class Lease {
+        private final String key;
+        private final WorkItem item;
+        private String etag;
+        private boolean lost;
+
+        Lease(String key, WorkItem item, String etag) {
+            this.key = key;
+            this.item = item;
+            this.etag = etag;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package cn.bugstack.officetools.service.impl;
+
+import cn.bugstack.officetools.domain.dto.ConversionResult;
+import cn.bugstack.officetools.domain.dto.ConvertedFileInfo;
+import cn.bugstack.officetools.domain.dto.SubTaskInfo;
+import cn.bugstack.officetools.domain.dto.TaskInfo;
+import cn.bugstack.officetools.domain.dto.TaskStatus;
+import cn.bugstack.officetools.domain.dto.TaskType;
+import cn.bugstack.officetools.domain.model.VersionedObject;
+import cn.bugstack.officetools.service.R2Service;
+import cn.bugstack.officetools.service.TaskManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * 对象存储任务管理实现（集群模式）
+ * 任务记录以 JSON 保存在 R2 的 {prefix}tasks/ 下，任意实例都可以查询和更新；
+ * 所有修改都是 读取 -> 修改 -> If-Match 条件写回 的循环，多个实例同时更新同一任务时不会丢失修改
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "true")
+public class ObjectStoreTaskManager implements TaskManager {
+
+    private static final String CONTENT_TYPE = "application/json";
+
+    /**
+     * 条件写入冲突时的最大重试次数
+     */
+    private static final int MAX_CAS_ATTEMPTS = 20;
+
+    @Autowired
+    private R2Service r2Service;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Value("${cluster.prefix:cluster/}")
+    private String prefix;
+
+    @Override
+    public String createTask(TaskType taskType, int totalFiles) {
+        TaskInfo taskInfo = TaskStateSupport.newTask(taskType, totalFiles);
+        create(taskInfo);
+        log.debug("创建任务: {}, 类型: {}, 文件数: {}", taskInfo.getTaskId(), taskType, totalFiles);
+        return taskInfo.getTaskId();
+    }
+
+    @Override
+    public String createBatchTask(List<String> fileNames) {
+        TaskInfo taskInfo = TaskStateSupport.newBatchTask(fileNames);
+        create(taskInfo);
+        log.debug("创建批量任务: {}, 文件数: {}", taskInfo.getTaskId(), fileNames.size());
+        return taskInfo.getTaskId();
+    }
+
+    @Override
+    public boolean restoreTask(TaskInfo taskInfo) {
+        return r2Service.putIfMatch(taskKey(taskInfo.getTaskId()), jsonMapper.writeValueAsBytes(taskInfo),
+                CONTENT_TYPE, null) != null;
+    }
+
+    @Override
+    public void startSubTask(String taskId, int index) {
+        mutate(taskId, taskInfo -> {
+            TaskStateSupport.startSubTask(taskInfo, index);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean finishSubTask(String taskId, int index, ConvertedFileInfo file) {
+        Boolean allFinished = mutate(taskId, taskInfo -> TaskStateSupport.finishSubTask(taskInfo, index, file));
+        return Boolean.TRUE.equals(allFinished);
+    }
+
+    @Override
+    public SubTaskInfo resetSubTask(String taskId, int index) {
+        SubTaskInfo subTask = mutate(taskId, taskInfo -> {
+            if (taskInfo.getSubTasks() == null) {
+                throw new IllegalArgumentException("批量任务不存在: " + taskId);
+            }
+            return TaskStateSupport.resetSubTask(taskInfo, index);
+        });
+        if (subTask == null) {
+            throw new IllegalArgumentException("批量任务不存在: " + taskId);
+        }
+        return subTask;
+    }
+
+    @Override
+    public void updateTaskStatus(String taskId, TaskStatus status, int progress) {
+        mutate(taskId, taskInfo -> {
+            TaskStateSupport.updateStatus(taskInfo, status, progress);
+            return null;
+        });
+    }
+
+    @Override
+    public void setTaskResult(String taskId, ConversionResult result) {
+        mutate(taskId, taskInfo -> {
+            TaskStateSupport.setResult(taskInfo, result);
+            return null;
+        });
+    }
+
+    @Override
+    public void setTaskError(String taskId, String error) {
+        mutate(taskId, taskInfo -> {
+            taskInfo.setError(error);
+            return null;
+        });
+    }
+
+    @Override
+    public TaskInfo getTaskInfo(String taskId) {
+        try {
+            VersionedObject object = r2Service.getVersioned(taskKey(taskId));
+            return object != null ? jsonMapper.readValue(object.getContent(), TaskInfo.class) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public List<TaskInfo> getAllTasks() {
+        List<TaskInfo> tasks = new ArrayList<>();
+        for (String key : r2Service.listKeys(prefix + "tasks/")) {
+            TaskInfo taskInfo = getTaskInfo(taskIdOf(key));
+            if (taskInfo != null) {
+                tasks.add(taskInfo);
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * 定时清理过期任务 (每小时执行一次)，多个实例同时清理是安全的
+     */
+    @Scheduled(fixedRate = 3600000)
+    public void scheduledCleanupExpiredTasks() {
+        cleanupExpiredTasks(60);
+    }
+
+    @Override
+    public void cleanupExpiredTasks(int expireMinutes) {
+        LocalDateTime expireTime = LocalDateTime.now().minusMinutes(expireMinutes);
+        int removedCount = 0;
+
+        for (TaskInfo taskInfo : getAllTasks()) {
+            if (TaskStateSupport.isExpired(taskInfo, expireTime)) {
+                // 连同未完成的工作项和保留的输入一起删除
+                for (String key : r2Service.listKeys(prefix + "queue/" + taskInfo.getTaskId() + "-")) {
+                    r2Service.deleteFile(key);
+                }
+                for (String key : r2Service.listKeys(prefix + "inputs/" + taskInfo.getTaskId() + "/")) {
+                    r2Service.deleteFile(key);
+                }
+                r2Service.deleteFile(taskKey(taskInfo.getTaskId()));
+                removedCount++;
+            }
+        }
+
+        if (removedCount > 0) {
+            log.info("清理过期任务: {} 个", removedCount);
+        }
+    }
+
+    private void create(TaskInfo taskInfo) {
+        if (r2Service.putIfMatch(taskKey(taskInfo.getTaskId()), jsonMapper.writeValueAsBytes(taskInfo),
+                CONTENT_TYPE, null) == null) {
+            throw new IllegalStateException("任务已存在: " + taskInfo.getTaskId());
+        }
+    }
+
+    /**
+     * 条件更新任务记录：ETag 变化（其他实例已修改）时重新读取并重放修改
+     *
+     * @return 修改函数的返回值；任务不存在时返回 null
+     */
+    private <R> R mutate(String taskId, Function<TaskInfo, R> change) {
+        String key = taskKey(taskId);
+        for (int attempt = 1; attempt <= MAX_CAS_ATTEMPTS; attempt++) {
+            VersionedObject object;
+            try {
+                object = r2Service.getVersioned(key);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (object == null) {
+                return null;
+            }
+
+            TaskInfo taskInfo = jsonMapper.readValue(object.getContent(), TaskInfo.class);
+            R result = change.apply(taskInfo);
+            if (r2Service.putIfMatch(key, jsonMapper.writeValueAsBytes(taskInfo), CONTENT_TYPE, object.getEtag()) != null) {
+                return result;
+            }
+
+            // 写入冲突，随机退避后重试
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextLong(10, 20L * attempt + 10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new IllegalStateException("任务更新冲突过多，请稍后重试: " + taskId);
+    }
+
+    private String taskKey(String taskId) {
+        return prefix + "tasks/" + taskId + ".json";
+    }
+
+    private String taskIdOf(String key) {
+        String name = key.substring(key.lastIndexOf('/') + 1);
+        return name.endsWith(".json") ? name.substring(0, name.length() - ".json".length()) : name;
+    }
+}
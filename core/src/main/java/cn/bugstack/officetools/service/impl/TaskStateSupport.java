@@ -0,0 +1,131 @@
+package cn.bugstack.officetools.service.impl;
+
+import cn.bugstack.officetools.domain.dto.ConversionResult;
+import cn.bugstack.officetools.domain.dto.ConvertedFileInfo;
+import cn.bugstack.officetools.domain.dto.SubTaskInfo;
+import cn.bugstack.officetools.domain.dto.TaskInfo;
+import cn.bugstack.officetools.domain.dto.TaskStatus;
+import cn.bugstack.officetools.domain.dto.TaskType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 任务状态变更的公共逻辑
+ * 内存与对象存储两种任务管理实现共用，调用方负责并发控制（加锁或条件写入）
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+final class TaskStateSupport {
+
+    private TaskStateSupport() {
+    }
+
+    static TaskInfo newTask(TaskType taskType, int totalFiles) {
+        return TaskInfo.builder()
+                .taskId(UUID.randomUUID().toString())
+                .taskType(taskType)
+                .status(TaskStatus.PENDING)
+                .progress(0)
+                .totalFiles(totalFiles)
+                .processedFiles(0)
+                .createdTime(LocalDateTime.now())
+                .build();
+    }
+
+    static TaskInfo newBatchTask(List<String> fileNames) {
+        TaskInfo taskInfo = newTask(TaskType.BATCH, fileNames.size());
+
+        List<SubTaskInfo> subTasks = new ArrayList<>(fileNames.size());
+        for (int i = 0; i < fileNames.size(); i++) {
+            subTasks.add(SubTaskInfo.builder()
+                    .index(i)
+                    .originalName(fileNames.get(i))
+                    .status(TaskStatus.PENDING)
+                    .build());
+        }
+        taskInfo.setSubTasks(subTasks);
+        return taskInfo;
+    }
+
+    static void startSubTask(TaskInfo taskInfo, int index) {
+        SubTaskInfo subTask = getSubTask(taskInfo, index);
+        subTask.setStatus(TaskStatus.PROCESSING);
+        subTask.setAttempts(subTask.getAttempts() + 1);
+        if (taskInfo.getStatus() == TaskStatus.PENDING) {
+            taskInfo.setStatus(TaskStatus.PROCESSING);
+        }
+    }
+
+    /**
+     * @return 所有子任务是否都已结束
+     */
+    static boolean finishSubTask(TaskInfo taskInfo, int index, ConvertedFileInfo file) {
+        SubTaskInfo subTask = getSubTask(taskInfo, index);
+        subTask.setStatus(file.getError() != null ? TaskStatus.FAILED : TaskStatus.COMPLETED);
+        subTask.setPdfName(file.getPdfName());
+        subTask.setPdfUrl(file.getPdfUrl());
+        subTask.setFileSize(file.getFileSize());
+        subTask.setError(file.getError());
+        subTask.setCompletedTime(LocalDateTime.now());
+
+        int finished = 0;
+        for (SubTaskInfo item : taskInfo.getSubTasks()) {
+            if (item.getStatus() == TaskStatus.COMPLETED || item.getStatus() == TaskStatus.FAILED) {
+                finished++;
+            }
+        }
+        int total = taskInfo.getSubTasks().size();
+        taskInfo.setProcessedFiles(finished);
+        // 汇总 ZIP 完成前进度最多到 90%
+        taskInfo.setProgress(finished * 90 / total);
+        return finished == total;
+    }
+
+    static SubTaskInfo resetSubTask(TaskInfo taskInfo, int index) {
+        SubTaskInfo subTask = getSubTask(taskInfo, index);
+        if (subTask.getStatus() != TaskStatus.FAILED) {
+            throw new IllegalStateException("只能重试失败的文件，当前状态: " + subTask.getStatus());
+        }
+        subTask.setStatus(TaskStatus.PENDING);
+        subTask.setError(null);
+        subTask.setCompletedTime(null);
+
+        taskInfo.setStatus(TaskStatus.PROCESSING);
+        taskInfo.setCompletedTime(null);
+        taskInfo.setError(null);
+        taskInfo.setProcessedFiles(taskInfo.getProcessedFiles() - 1);
+        return subTask;
+    }
+
+    static void updateStatus(TaskInfo taskInfo, TaskStatus status, int progress) {
+        taskInfo.setStatus(status);
+        taskInfo.setProgress(progress);
+
+        if (status == TaskStatus.COMPLETED || status == TaskStatus.FAILED) {
+            taskInfo.setCompletedTime(LocalDateTime.now());
+        }
+    }
+
+    static void setResult(TaskInfo taskInfo, ConversionResult result) {
+        taskInfo.setResult(result);
+        taskInfo.setProcessedFiles(result.getTotalFiles() != null ? result.getTotalFiles() : 1);
+    }
+
+    static boolean isExpired(TaskInfo taskInfo, LocalDateTime expireTime) {
+        LocalDateTime taskTime = taskInfo.getCompletedTime() != null ?
+                taskInfo.getCompletedTime() : taskInfo.getCreatedTime();
+        return taskTime.isBefore(expireTime);
+    }
+
+    private static SubTaskInfo getSubTask(TaskInfo taskInfo, int index) {
+        List<SubTaskInfo> subTasks = taskInfo.getSubTasks();
+        if (subTasks == null || index < 0 || index >= subTasks.size()) {
+            throw new IllegalArgumentException("文件序号无效: " + index);
+        }
+        return subTasks.get(index);
+    }
+}
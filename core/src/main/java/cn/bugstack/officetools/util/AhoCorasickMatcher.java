@@ -0,0 +1,184 @@
+package cn.bugstack.officetools.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick 多模式匹配器
+ * 一次扫描文本即可找出所有模式的出现位置，耗时与模式数量无关
+ * 构建后不可变，可在多线程间共享
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+public class AhoCorasickMatcher {
+
+    private final List<String> patterns;
+
+    private final boolean ignoreCase;
+
+    /**
+     * 每个状态的转移表
+     */
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+
+    /**
+     * 失配指针
+     */
+    private final List<Integer> failure = new ArrayList<>();
+
+    /**
+     * 到达该状态时匹配成功的模式下标（含沿失配链继承的输出）
+     */
+    private final List<List<Integer>> outputs = new ArrayList<>();
+
+    /**
+     * 构建匹配器
+     *
+     * @param patterns   模式列表（不能包含空字符串）
+     * @param ignoreCase 是否忽略大小写
+     */
+    public AhoCorasickMatcher(List<String> patterns, boolean ignoreCase) {
+        this.patterns = List.copyOf(patterns);
+        this.ignoreCase = ignoreCase;
+
+        newState();
+        for (int i = 0; i < this.patterns.size(); i++) {
+            String pattern = this.patterns.get(i);
+            if (pattern == null || pattern.isEmpty()) {
+                throw new IllegalArgumentException("匹配模式不能为空");
+            }
+            int state = 0;
+            for (int j = 0; j < pattern.length(); j++) {
+                char c = normalize(pattern.charAt(j));
+                Integer next = transitions.get(state).get(c);
+                if (next == null) {
+                    next = newState();
+                    transitions.get(state).put(c, next);
+                }
+                state = next;
+            }
+            outputs.get(state).add(i);
+        }
+        buildFailureLinks();
+    }
+
+    /**
+     * 查找所有不重叠的匹配
+     * 多个模式在同一位置重叠时，优先取起点最靠前的，其次取最长的
+     *
+     * @param text 文本
+     * @return 按起点升序排列的匹配结果
+     */
+    public List<Match> findAll(CharSequence text) {
+        List<Match> candidates = new ArrayList<>();
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = normalize(text.charAt(i));
+            while (state != 0 && !transitions.get(state).containsKey(c)) {
+                state = failure.get(state);
+            }
+            state = transitions.get(state).getOrDefault(c, 0);
+            for (Integer patternIndex : outputs.get(state)) {
+                int length = patterns.get(patternIndex).length();
+                candidates.add(new Match(i + 1 - length, i + 1, patternIndex));
+            }
+        }
+
+        candidates.sort(Comparator.comparingInt(Match::getStart)
+                .thenComparing(Comparator.comparingInt(Match::getEnd).reversed()));
+
+        List<Match> result = new ArrayList<>();
+        int lastEnd = 0;
+        for (Match match : candidates) {
+            if (match.getStart() >= lastEnd) {
+                result.add(match);
+                lastEnd = match.getEnd();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获取模式
+     *
+     * @param patternIndex 模式下标
+     * @return 模式
+     */
+    public String getPattern(int patternIndex) {
+        return patterns.get(patternIndex);
+    }
+
+    private int newState() {
+        transitions.add(new HashMap<>());
+        failure.add(0);
+        outputs.add(new ArrayList<>());
+        return transitions.size() - 1;
+    }
+
+    /**
+     * 广度优先构建失配指针，并沿失配链合并输出
+     */
+    private void buildFailureLinks() {
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (Integer child : transitions.get(0).values()) {
+            failure.set(child, 0);
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> entry : transitions.get(state).entrySet()) {
+                char c = entry.getKey();
+                int child = entry.getValue();
+
+                int fallback = failure.get(state);
+                while (fallback != 0 && !transitions.get(fallback).containsKey(c)) {
+                    fallback = failure.get(fallback);
+                }
+                Integer target = transitions.get(fallback).get(c);
+                int childFailure = target != null && target != child ? target : 0;
+
+                failure.set(child, childFailure);
+                outputs.get(child).addAll(outputs.get(childFailure));
+                queue.add(child);
+            }
+        }
+    }
+
+    private char normalize(char c) {
+        return ignoreCase ? Character.toLowerCase(c) : c;
+    }
+
+    /**
+     * 匹配结果，区间为 [start, end)
+     */
+    public static final class Match {
+        private final int start;
+        private final int end;
+        private final int patternIndex;
+
+        public Match(int start, int end, int patternIndex) {
+            this.start = start;
+            this.end = end;
+            this.patternIndex = patternIndex;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getEnd() {
+            return end;
+        }
+
+        public int getPatternIndex() {
+            return patternIndex;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package cn.bugstack.officetools.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * 当前请求的客户端标识
+ * X-API-Key 在配置的白名单中时按 API Key 区分（只保留摘要前缀，不记录原文），否则按客户端 IP 区分；
+ * 未登记的 Key 一律按 IP 计，随意伪造 Key 不能换来新的限流额度。
+ * 客户端 IP 取 request.getRemoteAddr()：部署在反向代理之后时由容器（server.forward-headers-strategy=native，
+ * 即 Tomcat RemoteIpValve）从 X-Forwarded-For 中按受信任代理逐跳还原，而不是直接信任客户端可伪造的最左侧地址；
+ * 由拦截器在请求线程上设置，供调度、限流等按客户端统计的组件读取
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+public final class ClientContext {
+
+    /**
+     * 非 Web 请求线程上的默认标识
+     */
+    public static final String ANONYMOUS = "anonymous";
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private static final ThreadLocal<String> CLIENT_ID = new ThreadLocal<>();
+
+    private ClientContext() {
+    }
+
+    /**
+     * 从请求中解析客户端标识
+     *
+     * @param request      HTTP 请求
+     * @param knownKeyIds 已登记 API Key 的标识（见 {@link #keyId(String)}）
+     * @return 客户端标识，如 key:1a2b3c4d5e6f 或 ip:10.0.0.1
+     */
+    public static String resolve(HttpServletRequest request, Set<String> knownKeyIds) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (apiKey != null && !apiKey.isBlank()) {
+            String keyId = keyId(apiKey);
+            if (knownKeyIds.contains(keyId)) {
+                return keyId;
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * 计算 API Key 对应的客户端标识
+     *
+     * @param apiKey API Key 原文
+     * @return key: 加 SHA-256 摘要前 12 位
+     */
+    public static String keyId(String apiKey) {
+        return "key:" + DigestUtil.sha256Hex(apiKey.trim().getBytes(StandardCharsets.UTF_8)).substring(0, 12);
+    }
+
+    public static void set(String clientId) {
+        CLIENT_ID.set(clientId);
+    }
+
+    /**
+     * 获取当前线程的客户端标识
+     *
+     * @return 客户端标识；未设置时返回 {@link #ANONYMOUS}
+     */
+    public static String getClientId() {
+        String clientId = CLIENT_ID.get();
+        return clientId != null ? clientId : ANONYMOUS;
+    }
+
+    public static void clear() {
+        CLIENT_ID.remove();
+    }
+}
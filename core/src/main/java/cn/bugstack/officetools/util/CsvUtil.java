@@ -0,0 +1,113 @@
+package cn.bugstack.officetools.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CSV 解析工具类（RFC 4180：支持引号、转义引号和字段内换行）
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+public class CsvUtil {
+
+    /**
+     * 解析带表头的 UTF-8 CSV，每行转换为 表头 -> 值 的映射
+     *
+     * @param inputStream CSV 输入流
+     * @return 数据行（不含表头，跳过空行）
+     * @throws IOException 读取失败时抛出异常
+     */
+    public static List<Map<String, Object>> parseWithHeader(InputStream inputStream) throws IOException {
+        List<List<String>> records = parse(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)));
+        List<Map<String, Object>> rows = new ArrayList<>();
+        if (records.isEmpty()) {
+            return rows;
+        }
+
+        List<String> header = records.get(0);
+        if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+            // 去掉 Excel 导出的 UTF-8 BOM
+            header.set(0, header.get(0).substring(1));
+        }
+
+        for (int i = 1; i < records.size(); i++) {
+            List<String> record = records.get(i);
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int j = 0; j < header.size(); j++) {
+                row.put(header.get(j).trim(), j < record.size() ? record.get(j) : "");
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * 解析 CSV 为记录列表
+     */
+    private static List<List<String>> parse(Reader reader) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean pending = false;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            char ch = (char) c;
+            pending = true;
+            if (inQuotes) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                inQuotes = true;
+            } else if (ch == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n' || ch == '\r') {
+                if (ch == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                record.add(field.toString());
+                field.setLength(0);
+                records.add(record);
+                record = new ArrayList<>();
+                pending = false;
+            } else {
+                field.append(ch);
+            }
+        }
+
+        if (pending) {
+            record.add(field.toString());
+            records.add(record);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,29 @@
+package cn.bugstack.officetools.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 内容摘要工具
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+public class DigestUtil {
+
+    /**
+     * 计算内容的 SHA-256 十六进制摘要
+     *
+     * @param content 内容
+     * @return 十六进制摘要
+     */
+    public static String sha256Hex(byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 算法不可用", e);
+        }
+    }
+}
@@ -0,0 +1,529 @@
+package cn.bugstack.officetools.util;
+
+import cn.bugstack.officetools.domain.dto.DocumentFormat;
+import org.springframework.core.io.InputStreamSource;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 文档格式嗅探工具
+ * 根据文件头识别真实格式，并对容器结构做轻量校验（OLE2 扇区表、ZIP 中央目录与 [Content_Types].xml），
+ * 损坏、截断或不是 Word 文档的文件在交给引擎加载之前即被拒绝，整个过程只读取少量字节
+ * （文件头、ZIP 尾部与中央目录、包描述文件），可直接对磁盘文件嗅探而不必把整个文档读入堆
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+public class DocumentFormatSniffer {
+
+    private static final byte[] OLE2_SIGNATURE = {
+            (byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+    private static final int OLE2_HEADER_SIZE = 512;
+
+    private static final int ZIP_LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int ZIP_CENTRAL_DIRECTORY_SIGNATURE = 0x02014b50;
+    private static final int ZIP_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int ZIP_END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int ZIP_MAX_COMMENT_SIZE = 0xFFFF;
+
+    private static final String CONTENT_TYPES_ENTRY = "[Content_Types].xml";
+    private static final String ODF_MIMETYPE_ENTRY = "mimetype";
+    private static final String WORD_MAIN_PART = "word/document.xml";
+
+    /**
+     * 读取包内描述文件的大小上限
+     */
+    private static final int MAX_DESCRIPTOR_SIZE = 1024 * 1024;
+
+    /**
+     * 中央目录大小上限（约十万个条目），超出时不是正常的 Word 文档
+     */
+    private static final int MAX_CENTRAL_DIRECTORY_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * 文本类格式（RTF、HTML、Flat OPC）只检查开头这么多字节
+     */
+    private static final int TEXT_PROBE_SIZE = 4096;
+
+    /**
+     * 识别文档格式并校验容器结构
+     *
+     * @param content 文件内容
+     * @return 文档格式
+     * @throws IllegalArgumentException 内容为空、格式无法识别、结构损坏或不是 Word 文档时抛出
+     */
+    public static DocumentFormat detect(byte[] content) {
+        if (content == null) {
+            throw new IllegalArgumentException("文件内容为空或过短，不是有效的文档");
+        }
+        try {
+            return detect(new ByteArraySource(content));
+        } catch (IOException e) {
+            // 内存中的内容不会产生 IO 异常
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 识别磁盘文件的格式并校验容器结构（只读取需要的字节）
+     *
+     * @param file 文件路径
+     * @return 文档格式
+     * @throws IllegalArgumentException 格式无法识别、结构损坏或不是 Word 文档时抛出
+     * @throws IOException              读取文件失败时抛出
+     */
+    public static DocumentFormat detect(Path file) throws IOException {
+        try (SeekableByteChannel channel = Files.newByteChannel(file, StandardOpenOption.READ)) {
+            return detect(channel);
+        }
+    }
+
+    /**
+     * 识别文档格式并校验容器结构，按需定位读取（不关闭通道）
+     *
+     * @param channel 文档内容通道
+     * @return 文档格式
+     * @throws IllegalArgumentException 格式无法识别、结构损坏或不是 Word 文档时抛出
+     * @throws IOException              读取失败时抛出
+     */
+    public static DocumentFormat detect(SeekableByteChannel channel) throws IOException {
+        return detect(new ChannelSource(channel));
+    }
+
+    /**
+     * 识别可重复打开的内容（如上传文件）的格式：每次按需打开流并跳到所需位置读取，不把整个文件读入堆
+     *
+     * @param source 内容来源（每次调用 getInputStream 返回新的流）
+     * @param size   内容大小
+     * @return 文档格式
+     * @throws IllegalArgumentException 格式无法识别、结构损坏或不是 Word 文档时抛出
+     * @throws IOException              读取失败时抛出
+     */
+    public static DocumentFormat detect(InputStreamSource source, long size) throws IOException {
+        return detect(new StreamSource(source, size));
+    }
+
+    private static DocumentFormat detect(Source source) throws IOException {
+        long size = source.size();
+        if (size < OLE2_SIGNATURE.length) {
+            throw new IllegalArgumentException("文件内容为空或过短，不是有效的文档");
+        }
+        byte[] header = source.read(0, (int) Math.min(size, OLE2_HEADER_SIZE));
+        try {
+            if (startsWith(header, OLE2_SIGNATURE)) {
+                return detectOle2(source, header);
+            }
+            if (readInt(header, 0) == ZIP_LOCAL_HEADER_SIGNATURE) {
+                return detectZip(source);
+            }
+        } catch (IndexOutOfBoundsException e) {
+            // 兜底：字段值指向内容之外（含 new String 抛出的 StringIndexOutOfBoundsException）
+            throw new IllegalArgumentException("文档结构已损坏或被截断");
+        }
+        // BOM 之后再检查 TEXT_PROBE_SIZE 个字节
+        return detectText(source.read(0, (int) Math.min(size, TEXT_PROBE_SIZE + 3)));
+    }
+
+    /**
+     * OLE2 复合文档：校验扇区表位置，并在首个目录扇区中查找 WordDocument 流
+     */
+    private static DocumentFormat detectOle2(Source source, byte[] header) throws IOException {
+        if (header.length < OLE2_HEADER_SIZE) {
+            throw new IllegalArgumentException("OLE2 文件头不完整，文件可能被截断");
+        }
+        if (readShort(header, 28) != 0xFFFE) {
+            throw new IllegalArgumentException("OLE2 字节序标记无效，文件已损坏");
+        }
+        int sectorShift = readShort(header, 30);
+        if (sectorShift != 9 && sectorShift != 12) {
+            throw new IllegalArgumentException("OLE2 扇区大小无效，文件已损坏");
+        }
+
+        // 扇区 n 位于 (n + 1) * sectorSize，文件头占用第一个扇区
+        int sectorSize = 1 << sectorShift;
+        long sectorCount = (source.size() + sectorSize - 1L) / sectorSize - 1;
+
+        int fatSectorCount = readInt(header, 44);
+        int directoryStart = readInt(header, 48);
+        if (fatSectorCount <= 0 || fatSectorCount > sectorCount || directoryStart < 0 || directoryStart >= sectorCount) {
+            throw new IllegalArgumentException("OLE2 扇区表越界，文件可能被截断");
+        }
+        // 文件头内最多记录 109 个 FAT 扇区位置
+        for (int i = 0; i < Math.min(fatSectorCount, 109); i++) {
+            int fatSector = readInt(header, 76 + i * 4);
+            if (fatSector < 0 || fatSector >= sectorCount) {
+                throw new IllegalArgumentException("OLE2 扇区表越界，文件可能被截断");
+            }
+        }
+
+        Set<String> streams = new HashSet<>();
+        long directoryOffset = (directoryStart + 1L) * sectorSize;
+        byte[] directory = source.read(directoryOffset, (int) Math.min(sectorSize, source.size() - directoryOffset));
+        for (int offset = 0; offset + 128 <= directory.length; offset += 128) {
+            int nameLength = readShort(directory, offset + 64);
+            if (nameLength >= 2 && nameLength <= 64) {
+                streams.add(new String(directory, offset, nameLength - 2, StandardCharsets.UTF_16LE));
+            }
+        }
+
+        if (streams.contains("EncryptedPackage")) {
+            throw new IllegalArgumentException("文档已加密，暂不支持");
+        }
+        if (!streams.contains("WordDocument")
+                && (streams.contains("Workbook") || streams.contains("Book") || streams.contains("PowerPoint Document"))) {
+            throw new IllegalArgumentException("不是 Word 文档");
+        }
+        // 首个目录扇区中未找到 WordDocument 时交给引擎判断
+        return DocumentFormat.DOC;
+    }
+
+    /**
+     * ZIP 包（OOXML / ODT）：定位并遍历中央目录，再读取包描述文件确定主文档类型
+     */
+    private static DocumentFormat detectZip(Source source) throws IOException {
+        // 中央目录结尾记录之后可能跟有最长 65535 字节的注释，只读取文件尾部
+        int tailLength = (int) Math.min(source.size(), ZIP_END_OF_CENTRAL_DIRECTORY_SIZE + ZIP_MAX_COMMENT_SIZE);
+        long tailOffset = source.size() - tailLength;
+        byte[] tail = source.read(tailOffset, tailLength);
+        int eocdIndex = findEndOfCentralDirectory(tail);
+        if (eocdIndex < 0) {
+            throw new IllegalArgumentException("ZIP 包缺少中央目录结尾记录，文件可能被截断");
+        }
+        long eocdOffset = tailOffset + eocdIndex;
+
+        int entryCount = readShort(tail, eocdIndex + 10);
+        long directorySize = readUnsignedInt(tail, eocdIndex + 12);
+        long directoryOffset = readUnsignedInt(tail, eocdIndex + 16);
+        if (entryCount == 0xFFFF || directoryOffset == 0xFFFFFFFFL) {
+            // ZIP64 包不做结构校验，交给引擎判断
+            return DocumentFormat.DOCX;
+        }
+        if (directoryOffset + directorySize > eocdOffset) {
+            throw new IllegalArgumentException("ZIP 中央目录越界，文件可能被截断");
+        }
+        if (directorySize > MAX_CENTRAL_DIRECTORY_SIZE) {
+            throw new IllegalArgumentException("ZIP 中央目录过大，不是有效的 Word 文档");
+        }
+        byte[] directory = source.read(directoryOffset, (int) directorySize);
+
+        EntryLocation contentTypes = null;
+        EntryLocation mimetype = null;
+        boolean hasWordMainPart = false;
+
+        int offset = 0;
+        for (int i = 0; i < entryCount; i++) {
+            if (offset + 46 > directory.length || readInt(directory, offset) != ZIP_CENTRAL_DIRECTORY_SIGNATURE) {
+                throw new IllegalArgumentException("ZIP 中央目录已损坏");
+            }
+            int nameLength = readShort(directory, offset + 28);
+            int extraLength = readShort(directory, offset + 30);
+            int commentLength = readShort(directory, offset + 32);
+            if (offset + 46L + nameLength + extraLength + commentLength > directory.length) {
+                throw new IllegalArgumentException("ZIP 中央目录已损坏");
+            }
+            long localHeaderOffset = readUnsignedInt(directory, offset + 42);
+            if (localHeaderOffset >= directoryOffset) {
+                throw new IllegalArgumentException("ZIP 条目位置越界，文件已损坏");
+            }
+
+            String name = new String(directory, offset + 46, nameLength, StandardCharsets.UTF_8);
+            if (CONTENT_TYPES_ENTRY.equals(name) || ODF_MIMETYPE_ENTRY.equals(name)) {
+                EntryLocation location = new EntryLocation(readShort(directory, offset + 10),
+                        readUnsignedInt(directory, offset + 20), readUnsignedInt(directory, offset + 24), localHeaderOffset);
+                if (CONTENT_TYPES_ENTRY.equals(name)) {
+                    contentTypes = location;
+                } else {
+                    mimetype = location;
+                }
+            } else if (WORD_MAIN_PART.equals(name)) {
+                hasWordMainPart = true;
+            }
+            offset += 46 + nameLength + extraLength + commentLength;
+        }
+
+        if (contentTypes != null) {
+            return detectOoxml(readEntry(source, contentTypes).toLowerCase(Locale.ROOT), hasWordMainPart);
+        }
+        if (mimetype != null) {
+            if ("application/vnd.oasis.opendocument.text".equals(readEntry(source, mimetype).trim())) {
+                return DocumentFormat.ODT;
+            }
+            throw new IllegalArgumentException("不是 Word 文档");
+        }
+        throw new IllegalArgumentException("ZIP 包中缺少 [Content_Types].xml，不是有效的 Office 文档");
+    }
+
+    /**
+     * 根据 [Content_Types].xml 中声明的主文档类型确定格式
+     */
+    private static DocumentFormat detectOoxml(String contentTypes, boolean hasWordMainPart) {
+        if (contentTypes.contains("application/vnd.openxmlformats-officedocument.wordprocessingml.document.main+xml")) {
+            return DocumentFormat.DOCX;
+        }
+        if (contentTypes.contains("application/vnd.ms-word.document.macroenabled.main+xml")) {
+            return DocumentFormat.DOCM;
+        }
+        if (contentTypes.contains("application/vnd.openxmlformats-officedocument.wordprocessingml.template.main+xml")) {
+            return DocumentFormat.DOTX;
+        }
+        if (contentTypes.contains("application/vnd.ms-word.template.macroenabledtemplate.main+xml")) {
+            return DocumentFormat.DOTM;
+        }
+        if (hasWordMainPart) {
+            return DocumentFormat.DOCX;
+        }
+        if (contentTypes.contains("spreadsheetml") || contentTypes.contains("presentationml")) {
+            throw new IllegalArgumentException("不是 Word 文档");
+        }
+        throw new IllegalArgumentException("OOXML 包中缺少 Word 主文档");
+    }
+
+    /**
+     * 文本类格式：RTF、HTML、Flat OPC
+     *
+     * @param content 内容开头部分
+     */
+    private static DocumentFormat detectText(byte[] content) {
+        int start = 0;
+        // 跳过 UTF-8 BOM
+        if (content.length >= 3 && (content[0] & 0xFF) == 0xEF && (content[1] & 0xFF) == 0xBB && (content[2] & 0xFF) == 0xBF) {
+            start = 3;
+        }
+        // 只匹配 ASCII 标记，按 ISO-8859-1 逐字节解码即可
+        String head = new String(content, start, Math.min(content.length - start, TEXT_PROBE_SIZE), StandardCharsets.ISO_8859_1)
+                .stripLeading();
+        String lowerHead = head.toLowerCase(Locale.ROOT);
+
+        if (head.startsWith("{\\rtf")) {
+            return DocumentFormat.RTF;
+        }
+        if (lowerHead.startsWith("<?xml") && lowerHead.contains("<pkg:package")) {
+            return DocumentFormat.FLAT_OPC;
+        }
+        if (lowerHead.startsWith("<!doctype html") || lowerHead.startsWith("<html")
+                || (lowerHead.startsWith("<?xml") && lowerHead.contains("<html"))) {
+            return DocumentFormat.HTML;
+        }
+        throw new IllegalArgumentException("无法识别的文档格式");
+    }
+
+    /**
+     * 在文件尾部中从后向前查找中央目录结尾记录
+     *
+     * @return 记录在 tail 中的下标，未找到时返回 -1
+     */
+    private static int findEndOfCentralDirectory(byte[] tail) {
+        for (int offset = tail.length - ZIP_END_OF_CENTRAL_DIRECTORY_SIZE; offset >= 0; offset--) {
+            if (readInt(tail, offset) == ZIP_END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                return offset;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 读取并解压一个小条目
+     */
+    private static String readEntry(Source source, EntryLocation location) throws IOException {
+        if (location.uncompressedSize > MAX_DESCRIPTOR_SIZE || location.compressedSize > MAX_DESCRIPTOR_SIZE) {
+            throw new IllegalArgumentException("ZIP 包描述文件过大，文件已损坏");
+        }
+        byte[] localHeader = source.read(location.localHeaderOffset, 30);
+        if (readInt(localHeader, 0) != ZIP_LOCAL_HEADER_SIGNATURE) {
+            throw new IllegalArgumentException("ZIP 本地文件头已损坏");
+        }
+        long dataOffset = location.localHeaderOffset + 30 + readShort(localHeader, 26) + readShort(localHeader, 28);
+        if (dataOffset + location.compressedSize > source.size()) {
+            throw new IllegalArgumentException("ZIP 条目数据不完整，文件可能被截断");
+        }
+        byte[] data = source.read(dataOffset, (int) location.compressedSize);
+
+        if (location.method == 0) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+        if (location.method != 8) {
+            throw new IllegalArgumentException("ZIP 条目压缩方式不受支持: " + location.method);
+        }
+
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(data);
+            byte[] buffer = new byte[(int) location.uncompressedSize];
+            int length = 0;
+            while (length < buffer.length && !inflater.finished()) {
+                int n = inflater.inflate(buffer, length, buffer.length - length);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += n;
+            }
+            return new String(buffer, 0, length, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("ZIP 条目数据已损坏");
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static boolean startsWith(byte[] content, byte[] prefix) {
+        if (content.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (content[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int readShort(byte[] content, int offset) {
+        return (content[offset] & 0xFF) | (content[offset + 1] & 0xFF) << 8;
+    }
+
+    private static int readInt(byte[] content, int offset) {
+        return (content[offset] & 0xFF) | (content[offset + 1] & 0xFF) << 8
+                | (content[offset + 2] & 0xFF) << 16 | (content[offset + 3] & 0xFF) << 24;
+    }
+
+    private static long readUnsignedInt(byte[] content, int offset) {
+        return readInt(content, offset) & 0xFFFFFFFFL;
+    }
+
+    private static void checkRange(long position, int length, long size) {
+        if (position < 0 || length < 0 || position + length > size) {
+            throw new IndexOutOfBoundsException("读取范围越界: " + position + "+" + length + " > " + size);
+        }
+    }
+
+    /**
+     * 中央目录中记录的条目位置
+     */
+    private static class EntryLocation {
+        private final int method;
+        private final long compressedSize;
+        private final long uncompressedSize;
+        private final long localHeaderOffset;
+
+        EntryLocation(int method, long compressedSize, long uncompressedSize, long localHeaderOffset) {
+            this.method = method;
+            this.compressedSize = compressedSize;
+            this.uncompressedSize = uncompressedSize;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+    }
+
+    /**
+     * 可按位置读取的文档内容
+     */
+    private interface Source {
+
+        long size() throws IOException;
+
+        /**
+         * 读取 [position, position + length) 范围的字节
+         *
+         * @throws IndexOutOfBoundsException 范围超出内容时抛出
+         */
+        byte[] read(long position, int length) throws IOException;
+    }
+
+    /**
+     * 内存中的内容
+     */
+    private static class ByteArraySource implements Source {
+        private final byte[] content;
+
+        ByteArraySource(byte[] content) {
+            this.content = content;
+        }
+
+        @Override
+        public long size() {
+            return content.length;
+        }
+
+        @Override
+        public byte[] read(long position, int length) {
+            checkRange(position, length, content.length);
+            return Arrays.copyOfRange(content, (int) position, (int) position + length);
+        }
+    }
+
+    /**
+     * 可定位的通道（磁盘文件），每次只读取需要的范围
+     */
+    private static class ChannelSource implements Source {
+        private final SeekableByteChannel channel;
+        private final long size;
+
+        ChannelSource(SeekableByteChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public byte[] read(long position, int length) throws IOException {
+            checkRange(position, length, size);
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            channel.position(position);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("文件在读取过程中被截断");
+                }
+            }
+            return buffer.array();
+        }
+    }
+
+    /**
+     * 可重复打开的流：每次读取重新打开并跳过前面的字节（磁盘文件的跳过为定位操作）
+     */
+    private static class StreamSource implements Source {
+        private final InputStreamSource source;
+        private final long size;
+
+        StreamSource(InputStreamSource source, long size) {
+            this.source = source;
+            this.size = size;
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public byte[] read(long position, int length) throws IOException {
+            checkRange(position, length, size);
+            try (InputStream inputStream = source.getInputStream()) {
+                inputStream.skipNBytes(position);
+                byte[] bytes = inputStream.readNBytes(length);
+                if (bytes.length < length) {
+                    throw new EOFException("文件在读取过程中被截断");
+                }
+                return bytes;
+            }
+        }
+    }
+}
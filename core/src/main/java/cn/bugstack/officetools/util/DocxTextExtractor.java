@@ -0,0 +1,191 @@
+package cn.bugstack.officetools.util;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * DOCX 流式文本提取工具
+ * 顺序读取 ZIP 流中的 word/document.xml 并用 StAX 解析，每解析完一个段落立即回调，
+ * 内存占用只与单个段落的长度有关，与文档大小无关
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+public class DocxTextExtractor {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    /**
+     * Markup Compatibility 命名空间：Word 把文本框同时写入 mc:Choice（wps:txbx）与 mc:Fallback（VML v:textbox），
+     * 两处都包含 w:txbxContent/w:p，只读 Choice 才不会重复
+     */
+    private static final String MARKUP_COMPATIBILITY_NS = "http://schemas.openxmlformats.org/markup-compatibility/2006";
+
+    /**
+     * 段落回调
+     */
+    @FunctionalInterface
+    public interface ParagraphHandler {
+
+        /**
+         * 处理一个段落
+         *
+         * @param index 段落序号（从 0 开始，按段落结束的顺序）
+         * @param text  段落文本
+         * @throws IOException 写出失败时抛出异常
+         */
+        void onParagraph(int index, String text) throws IOException;
+    }
+
+    /**
+     * 判断内容是否以 ZIP 本地文件头开始（DOCX 等 OOXML 格式）
+     *
+     * @param header 内容前 4 个字节
+     * @return 是否为 ZIP
+     */
+    public static boolean isZip(byte[] header) {
+        return header != null && header.length >= 4
+                && header[0] == 'P' && header[1] == 'K' && header[2] == 3 && header[3] == 4;
+    }
+
+    /**
+     * 流式提取正文段落
+     *
+     * @param inputStream DOCX 输入流（不会被关闭）
+     * @param handler     段落回调
+     * @return 段落数；包内没有 word/document.xml 时返回 -1
+     * @throws IOException 读取或回调失败时抛出异常
+     */
+    public static int extract(InputStream inputStream, ParagraphHandler handler) throws IOException {
+        ZipInputStream zis = new ZipInputStream(nonClosing(inputStream));
+        ZipEntry entry;
+        while ((entry = zis.getNextEntry()) != null) {
+            if ("word/document.xml".equals(entry.getName())) {
+                try {
+                    return parseDocument(zis, handler);
+                } catch (XMLStreamException e) {
+                    throw new IOException("解析 word/document.xml 失败: " + e.getMessage(), e);
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static int parseDocument(InputStream inputStream, ParagraphHandler handler)
+            throws XMLStreamException, IOException {
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(nonClosing(inputStream));
+        // 文本框等嵌套段落位于外层段落内部，用栈分别收集
+        Deque<StringBuilder> paragraphs = new ArrayDeque<>();
+        int index = 0;
+        boolean inText = false;
+
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if (isFallback(reader)) {
+                        skipElement(reader);
+                        continue;
+                    }
+                    if (!isWordElement(reader)) {
+                        continue;
+                    }
+                    switch (reader.getLocalName()) {
+                        case "p":
+                            paragraphs.push(new StringBuilder());
+                            break;
+                        case "t":
+                            inText = true;
+                            break;
+                        case "tab":
+                            appendTo(paragraphs, "\t");
+                            break;
+                        case "br":
+                        case "cr":
+                            appendTo(paragraphs, "\n");
+                            break;
+                        default:
+                            break;
+                    }
+                } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                    if (inText) {
+                        appendTo(paragraphs, reader.getText());
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (!isWordElement(reader)) {
+                        continue;
+                    }
+                    if ("t".equals(reader.getLocalName())) {
+                        inText = false;
+                    } else if ("p".equals(reader.getLocalName()) && !paragraphs.isEmpty()) {
+                        handler.onParagraph(index++, paragraphs.pop().toString());
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return index;
+    }
+
+    private static void appendTo(Deque<StringBuilder> paragraphs, String text) {
+        if (!paragraphs.isEmpty()) {
+            paragraphs.peek().append(text);
+        }
+    }
+
+    private static boolean isFallback(XMLStreamReader reader) {
+        return "Fallback".equals(reader.getLocalName()) && MARKUP_COMPATIBILITY_NS.equals(reader.getNamespaceURI());
+    }
+
+    /**
+     * 跳过当前元素及其全部子元素，返回时停在该元素的结束标签上
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static boolean isWordElement(XMLStreamReader reader) {
+        String namespace = reader.getNamespaceURI();
+        return namespace != null && namespace.contains("wordprocessingml");
+    }
+
+    /**
+     * 包装为不可关闭的流：JDK 自带的 StAX 实现关闭解析器时会连带关闭底层流
+     */
+    private static InputStream nonClosing(InputStream inputStream) {
+        return new FilterInputStream(inputStream) {
+            @Override
+            public void close() {
+                // 由调用方负责关闭
+            }
+        };
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        // 禁用 DTD 与外部实体，防止 XXE
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+}
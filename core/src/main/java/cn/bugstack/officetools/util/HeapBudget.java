@@ -0,0 +1,31 @@
+package cn.bugstack.officetools.util;
+
+/**
+ * 堆内存预算
+ * 缓存等内存预算默认按最大堆（-Xmx）的百分比计算，避免固定的 MB 配置在小堆容器中超过堆本身
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+public class HeapBudget {
+
+    private static final long MB = 1024 * 1024;
+
+    /**
+     * 计算内存预算
+     *
+     * @param configuredMb 显式配置的预算（MB），大于 0 时直接使用
+     * @param heapPercent  未显式配置时占最大堆的百分比
+     * @return 预算（MB，至少为 1）
+     */
+    public static long resolveMb(long configuredMb, int heapPercent) {
+        return resolveMb(configuredMb, heapPercent, Runtime.getRuntime().maxMemory());
+    }
+
+    static long resolveMb(long configuredMb, int heapPercent, long maxHeapBytes) {
+        if (configuredMb > 0) {
+            return configuredMb;
+        }
+        return Math.max(1, maxHeapBytes / MB * heapPercent / 100);
+    }
+}
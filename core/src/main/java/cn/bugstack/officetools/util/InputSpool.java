@@ -0,0 +1,145 @@
+package cn.bugstack.officetools.util;
+
+import cn.bugstack.officetools.domain.model.SpooledFile;
+import cn.bugstack.officetools.jfr.TempStorageEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 异步任务输入暂存
+ * 排队中的上传文件写入本地工作目录，队列深度受磁盘空间而不是堆内存限制
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Slf4j
+@Component
+public class InputSpool {
+
+    @Autowired
+    private JobJournal jobJournal;
+
+    @Value("${conversion.spool.dir:./data/spool}")
+    private String spoolDir;
+
+    @Value("${conversion.spool.min-free-mb:512}")
+    private long minFreeMb;
+
+    private Path directory;
+
+    private final AtomicInteger spooledCount = new AtomicInteger(0);
+    private final AtomicLong spooledBytes = new AtomicLong(0);
+
+    /**
+     * 创建工作目录，并清理上次运行残留的文件（任务日志中未完成任务的输入保留，启动后重新排队）
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        directory = Paths.get(spoolDir);
+        Files.createDirectories(directory);
+
+        Set<Path> referenced = jobJournal.getReferencedInputs();
+        int removed = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                if (referenced.contains(path.toAbsolutePath())) {
+                    spooledCount.incrementAndGet();
+                    spooledBytes.addAndGet(Files.size(path));
+                } else if (Files.deleteIfExists(path)) {
+                    removed++;
+                }
+            }
+        }
+        log.info("输入暂存目录初始化 - 目录: {}, 最少保留空间: {}MB, 清理残留文件: {}, 保留待恢复文件: {}",
+                directory.toAbsolutePath(), minFreeMb, removed, spooledCount.get());
+    }
+
+    /**
+     * 将上传文件写入工作目录
+     *
+     * @param file 上传的文件
+     * @return 暂存文件句柄
+     * @throws IllegalStateException 磁盘可用空间不足时抛出
+     * @throws IOException           写入失败时抛出
+     */
+    public SpooledFile spool(MultipartFile file) throws IOException {
+        long usable = Files.getFileStore(directory).getUsableSpace();
+        if (usable - file.getSize() < minFreeMb * 1024 * 1024) {
+            throw new IllegalStateException("任务队列已满（暂存磁盘空间不足），请稍后重试");
+        }
+
+        TempStorageEvent event = TempStorageEvent.start("spool", "store", file.getOriginalFilename());
+        event.setBytes(file.getSize());
+        try {
+            Path path = directory.resolve(UUID.randomUUID() + ".upload");
+            // 磁盘上的 multipart 临时文件会直接移动，避免再复制一次
+            file.transferTo(path);
+            event.setSuccess(true);
+
+            log.info("【性能监控】输入暂存 - 文件名: {}, 大小: {} bytes, 当前暂存: {} 个 / {} bytes",
+                    file.getOriginalFilename(), file.getSize(), spooledCount.incrementAndGet(),
+                    spooledBytes.addAndGet(file.getSize()));
+            return new SpooledFile(path, file.getOriginalFilename(), file.getContentType(), file.getSize());
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * 将输入流写入工作目录（集群模式下认领的工作项从对象存储下载到本地）
+     *
+     * @param inputStream      输入流（不会被关闭）
+     * @param originalFilename 原始文件名
+     * @param contentType      内容类型
+     * @return 暂存文件句柄
+     * @throws IOException 写入失败时抛出
+     */
+    public SpooledFile spool(InputStream inputStream, String originalFilename, String contentType) throws IOException {
+        TempStorageEvent event = TempStorageEvent.start("spool", "store", originalFilename);
+        try {
+            Path path = directory.resolve(UUID.randomUUID() + ".upload");
+            long size = Files.copy(inputStream, path);
+            event.setBytes(size);
+            event.setSuccess(true);
+
+            spooledCount.incrementAndGet();
+            spooledBytes.addAndGet(size);
+            return new SpooledFile(path, originalFilename, contentType, size);
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * 删除暂存文件（任务结束或入队失败时调用）
+     *
+     * @param files 暂存文件
+     */
+    public void release(Iterable<SpooledFile> files) {
+        for (SpooledFile file : files) {
+            try {
+                if (Files.deleteIfExists(file.getPath())) {
+                    spooledCount.decrementAndGet();
+                    spooledBytes.addAndGet(-file.getSize());
+                }
+            } catch (IOException e) {
+                log.warn("删除暂存文件失败: {}, 错误: {}", file.getPath(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package cn.bugstack.officetools.util;
+
+import cn.bugstack.officetools.domain.dto.ConvertedFileInfo;
+import cn.bugstack.officetools.domain.dto.TaskType;
+import cn.bugstack.officetools.domain.model.JournalRecord;
+import cn.bugstack.officetools.domain.model.SpooledFile;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 异步任务预写日志
+ * 任务受理后（输入已暂存）先落盘再返回任务 ID，每个文件转换上传后记录检查点，任务结束时记录完成。
+ * 进程重启时读回未完成的任务，由转换服务重新排队；集群模式下任务与输入已保存在对象存储中，不启用
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Slf4j
+@Component
+public class JobJournal {
+
+    private static final String JOURNAL_FILE = "journal.log";
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Value("${conversion.journal.enabled:true}")
+    private boolean journalEnabled;
+
+    @Value("${cluster.enabled:false}")
+    private boolean clusterEnabled;
+
+    @Value("${conversion.journal.dir:./data/journal}")
+    private String journalDir;
+
+    @Value("${conversion.spool.dir:./data/spool}")
+    private String spoolDir;
+
+    @Value("${conversion.journal.compact-threshold:10000}")
+    private int compactThreshold;
+
+    private boolean enabled;
+
+    private Path journalFile;
+
+    private FileChannel channel;
+
+    /**
+     * 未完成的任务（按受理顺序）
+     */
+    private final Map<String, PendingJob> pendingJobs = new LinkedHashMap<>();
+
+    /**
+     * 上次压缩后追加的记录数
+     */
+    private int appendedSinceCompaction;
+
+    /**
+     * 应用关闭中：此后因关闭而中断的失败不再记录，重启后重新执行
+     */
+    private volatile boolean closing;
+
+    /**
+     * 读回上次运行的日志，只保留未完成的任务重写日志文件
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        enabled = journalEnabled && !clusterEnabled;
+        if (!enabled) {
+            log.info("任务日志未启用（{}）", clusterEnabled ? "集群模式" : "已关闭");
+            return;
+        }
+
+        Path directory = Paths.get(journalDir);
+        Files.createDirectories(directory);
+        journalFile = directory.resolve(JOURNAL_FILE);
+        warnIfEphemeral(directory, "conversion.journal.dir");
+        warnIfEphemeral(Paths.get(spoolDir), "conversion.spool.dir");
+
+        int records = 0;
+        int corrupted = 0;
+        if (Files.exists(journalFile)) {
+            try (BufferedReader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        apply(jsonMapper.readValue(line, JournalRecord.class));
+                        records++;
+                    } catch (Exception e) {
+                        // 崩溃时最后一行可能只写了一半，跳过即可（对应的请求未返回任务 ID）
+                        corrupted++;
+                    }
+                }
+            }
+        }
+
+        compact();
+        log.info("任务日志初始化 - 文件: {}, 读取记录: {}, 损坏记录: {}, 未完成任务: {}",
+                journalFile.toAbsolutePath(), records, corrupted, pendingJobs.size());
+    }
+
+    /**
+     * 日志或暂存目录位于 tmpfs / 系统临时目录时，重新部署或重启容器后内容丢失，重放无从谈起
+     */
+    private void warnIfEphemeral(Path directory, String property) {
+        Path absolute = directory.toAbsolutePath().normalize();
+        boolean inTempDir = absolute.startsWith(Paths.get(System.getProperty("java.io.tmpdir")).toAbsolutePath().normalize());
+        String storeType = null;
+        try {
+            Files.createDirectories(absolute);
+            storeType = Files.getFileStore(absolute).type();
+        } catch (IOException e) {
+            // 无法判断文件系统类型时只按路径判断
+        }
+        if (inTempDir || "tmpfs".equalsIgnoreCase(storeType)) {
+            log.warn("{} 位于临时存储（{}，文件系统: {}），重启或重新部署后未完成的异步任务将无法恢复，请指向持久化磁盘",
+                    property, absolute, storeType);
+        }
+    }
+
+    /**
+     * 应用关闭开始时（销毁任何 Bean 之前）进入关闭状态
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void onContextClosed() {
+        closing = true;
+    }
+
+    @PreDestroy
+    public synchronized void destroy() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 记录已受理的任务（落盘后才返回）
+     *
+     * @param taskId      任务 ID
+     * @param taskType    任务类型
+     * @param files       暂存的输入文件（按序号）
+     * @param clientId    客户端标识
+     * @param callbackUrl 回调地址
+     * @throws IllegalStateException 写入失败时抛出（任务不能在无法恢复的状态下受理）
+     */
+    public void accepted(String taskId, TaskType taskType, List<SpooledFile> files, String clientId, String callbackUrl) {
+        if (!enabled) {
+            return;
+        }
+        List<JournalRecord.JournalFile> journalFiles = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            SpooledFile file = files.get(i);
+            journalFiles.add(new JournalRecord.JournalFile(i, file.getOriginalFilename(), file.getContentType(),
+                    file.getSize(), file.getPath().toAbsolutePath().toString()));
+        }
+        append(JournalRecord.builder()
+                .type(JournalRecord.Type.ACCEPTED)
+                .taskId(taskId)
+                .taskType(taskType)
+                .clientId(clientId)
+                .callbackUrl(callbackUrl)
+                .createdTime(LocalDateTime.now())
+                .files(journalFiles)
+                .build());
+    }
+
+    /**
+     * 记录文件转换检查点：成功时记录输出位置，重放时输出仍存在则跳过转换
+     *
+     * @param taskId 任务 ID
+     * @param index  文件序号
+     * @param file   转换结果（error 非空表示失败）
+     */
+    public void fileFinished(String taskId, int index, ConvertedFileInfo file) {
+        if (!enabled) {
+            return;
+        }
+        if (file.getError() != null) {
+            if (closing) {
+                return;
+            }
+            append(JournalRecord.builder()
+                    .type(JournalRecord.Type.FAILED)
+                    .taskId(taskId)
+                    .index(index)
+                    .error(file.getError())
+                    .build());
+        } else {
+            append(JournalRecord.builder()
+                    .type(JournalRecord.Type.CONVERTED)
+                    .taskId(taskId)
+                    .index(index)
+                    .pdfName(file.getPdfName())
+                    .pdfUrl(file.getPdfUrl())
+                    .fileSize(file.getFileSize())
+                    .build());
+        }
+    }
+
+    /**
+     * 记录任务结束
+     *
+     * @param taskId  任务 ID
+     * @param success 是否成功（关闭期间的失败不记录，重启后重新执行）
+     */
+    public void finished(String taskId, boolean success) {
+        if (!enabled || (closing && !success)) {
+            return;
+        }
+        append(JournalRecord.builder()
+                .type(JournalRecord.Type.FINISHED)
+                .taskId(taskId)
+                .build());
+    }
+
+    /**
+     * 获取未完成的任务（快照）
+     */
+    public synchronized List<PendingJob> getPendingJobs() {
+        List<PendingJob> result = new ArrayList<>();
+        for (PendingJob job : pendingJobs.values()) {
+            result.add(new PendingJob(job.accepted, new HashMap<>(job.checkpoints)));
+        }
+        return result;
+    }
+
+    /**
+     * 未完成任务仍需要的暂存输入（已有检查点的文件不再需要）
+     */
+    public synchronized Set<Path> getReferencedInputs() {
+        Set<Path> result = new HashSet<>();
+        for (PendingJob job : pendingJobs.values()) {
+            for (JournalRecord.JournalFile file : job.accepted.getFiles()) {
+                if (!job.checkpoints.containsKey(file.getIndex())) {
+                    result.add(Paths.get(file.getPath()).toAbsolutePath());
+                }
+            }
+        }
+        return result;
+    }
+
+    private synchronized void append(JournalRecord record) {
+        apply(record);
+        try {
+            if (channel == null) {
+                throw new IOException("任务日志已关闭");
+            }
+            write(channel, record);
+            channel.force(false);
+
+            if (++appendedSinceCompaction >= compactThreshold) {
+                compact();
+            }
+        } catch (IOException e) {
+            log.error("写入任务日志失败: {}, 错误: {}", record.getTaskId(), e.getMessage(), e);
+            throw new IllegalStateException("写入任务日志失败: " + e.getMessage(), e);
+        }
+    }
+
+    private void apply(JournalRecord record) {
+        switch (record.getType()) {
+            case ACCEPTED -> pendingJobs.put(record.getTaskId(), new PendingJob(record, new HashMap<>()));
+            case CONVERTED, FAILED -> {
+                PendingJob job = pendingJobs.get(record.getTaskId());
+                if (job != null) {
+                    job.checkpoints.put(record.getIndex(), record);
+                }
+            }
+            case FINISHED -> pendingJobs.remove(record.getTaskId());
+        }
+    }
+
+    /**
+     * 只保留未完成任务的记录，写入临时文件后原子替换
+     */
+    private void compact() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+
+        Path tempFile = journalFile.resolveSibling(JOURNAL_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (PendingJob job : pendingJobs.values()) {
+                write(out, job.accepted);
+                for (JournalRecord checkpoint : job.checkpoints.values()) {
+                    write(out, checkpoint);
+                }
+            }
+            out.force(true);
+        }
+        Files.move(tempFile, journalFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        channel = FileChannel.open(journalFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        appendedSinceCompaction = 0;
+    }
+
+    private void write(FileChannel target, JournalRecord record) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((jsonMapper.writeValueAsString(record) + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+
+    /**
+     * 未完成的任务：受理记录与各文件的检查点（文件序号 -> CONVERTED / FAILED 记录）
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class PendingJob {
+        private final JournalRecord accepted;
+        private final Map<Integer, JournalRecord> checkpoints;
+    }
+}
@@ -0,0 +1,310 @@
+package cn.bugstack.officetools.util;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * OOXML (DOCX) 元数据快速读取工具
+ * 直接从 ZIP 包中流式解析 docProps/core.xml、docProps/app.xml 和 word/document.xml，
+ * 不加载任何文档引擎，也不触发排版布局
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+public class OoxmlMetadataReader {
+
+    private static final String CORE_PART = "docProps/core.xml";
+    private static final String APP_PART = "docProps/app.xml";
+    private static final String DOCUMENT_PART = "word/document.xml";
+
+    /**
+     * 标记兼容性命名空间：mc:AlternateContent 中 mc:Choice 与 mc:Fallback 是同一内容的两种表示
+     */
+    private static final String MARKUP_COMPATIBILITY_NS = "http://schemas.openxmlformats.org/markup-compatibility/2006";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    /**
+     * 读取文档元数据
+     * 返回的键与引擎实现的 getDocumentInfo 保持一致；未保存在包内的字段不会出现在结果中
+     *
+     * @param content 文档内容
+     * @return 元数据；内容不是 OOXML 包时返回 null
+     */
+    public static Map<String, Object> read(byte[] content) {
+        if (!isZip(content)) {
+            return null;
+        }
+
+        Map<String, Object> info = new HashMap<>();
+        boolean foundDocument = false;
+
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(content))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                switch (entry.getName()) {
+                    case CORE_PART:
+                        readCoreProperties(zis, info);
+                        break;
+                    case APP_PART:
+                        readAppProperties(zis, info);
+                        break;
+                    case DOCUMENT_PART:
+                        readDocumentStatistics(zis, info);
+                        foundDocument = true;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } catch (IOException | XMLStreamException e) {
+            // 包损坏时交由引擎处理
+            return null;
+        }
+
+        return foundDocument ? info : null;
+    }
+
+    /**
+     * 读取核心属性（标题、作者、时间等）
+     */
+    private static void readCoreProperties(InputStream inputStream, Map<String, Object> info) throws XMLStreamException {
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(nonClosing(inputStream));
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                switch (reader.getLocalName()) {
+                    case "title":
+                        info.put("title", reader.getElementText());
+                        break;
+                    case "subject":
+                        info.put("subject", reader.getElementText());
+                        break;
+                    case "creator":
+                        info.put("author", reader.getElementText());
+                        break;
+                    case "keywords":
+                        info.put("keywords", reader.getElementText());
+                        break;
+                    case "description":
+                        info.put("comments", reader.getElementText());
+                        break;
+                    case "revision":
+                        info.put("revisionNumber", parseInt(reader.getElementText()));
+                        break;
+                    case "created":
+                        info.put("createdTime", parseDate(reader.getElementText()));
+                        break;
+                    case "modified":
+                        info.put("lastSavedTime", parseDate(reader.getElementText()));
+                        break;
+                    case "lastPrinted":
+                        info.put("lastPrinted", parseDate(reader.getElementText()));
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * 读取应用属性（保存时由 Word 写入的统计信息）
+     */
+    private static void readAppProperties(InputStream inputStream, Map<String, Object> info) throws XMLStreamException {
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(nonClosing(inputStream));
+        try {
+            int depth = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                    continue;
+                }
+                if (event != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                depth++;
+                // 只读取 Properties 的直接子元素，忽略 HeadingPairs 等嵌套结构
+                if (depth != 2) {
+                    continue;
+                }
+                String key;
+                switch (reader.getLocalName()) {
+                    case "Pages":
+                        key = "pageCount";
+                        break;
+                    case "Words":
+                        key = "wordCount";
+                        break;
+                    case "Characters":
+                        key = "characterCount";
+                        break;
+                    case "Lines":
+                        key = "lineCount";
+                        break;
+                    case "Paragraphs":
+                        key = "paragraphCount";
+                        break;
+                    default:
+                        key = null;
+                        break;
+                }
+                if (key != null) {
+                    Integer value = parseInt(reader.getElementText());
+                    // getElementText 已消费结束标签
+                    depth--;
+                    if (value != null) {
+                        info.put(key, value);
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * 流式统计正文中的节、表格和图片数量
+     * 段落数若未在 app.xml 中保存，也在此统计
+     * 文本框、形状在 mc:Choice（DrawingML）与 mc:Fallback（VML）中各写一份，只统计 Choice；
+     * 修订记录 w:sectPrChange 中的旧节属性不计为节
+     */
+    private static void readDocumentStatistics(InputStream inputStream, Map<String, Object> info) throws XMLStreamException {
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(nonClosing(inputStream));
+        int paragraphCount = 0;
+        int tableCount = 0;
+        int imageCount = 0;
+        int sectionCount = 0;
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                if (isFallback(reader)) {
+                    skipElement(reader);
+                    continue;
+                }
+                String namespace = reader.getNamespaceURI();
+                if (namespace == null || !namespace.contains("wordprocessingml")) {
+                    continue;
+                }
+                switch (reader.getLocalName()) {
+                    case "sectPrChange":
+                        skipElement(reader);
+                        break;
+                    case "p":
+                        paragraphCount++;
+                        break;
+                    case "tbl":
+                        tableCount++;
+                        break;
+                    case "drawing":
+                    case "pict":
+                        imageCount++;
+                        break;
+                    case "sectPr":
+                        sectionCount++;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+
+        info.putIfAbsent("paragraphCount", paragraphCount);
+        info.put("tableCount", tableCount);
+        info.put("imageCount", imageCount);
+        info.put("sectionCount", Math.max(sectionCount, 1));
+    }
+
+    private static boolean isFallback(XMLStreamReader reader) {
+        return "Fallback".equals(reader.getLocalName()) && MARKUP_COMPATIBILITY_NS.equals(reader.getNamespaceURI());
+    }
+
+    /**
+     * 跳过当前元素及其全部子元素，返回时停在该元素的结束标签上
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * 包装为不可关闭的流：JDK 自带的 StAX 实现关闭解析器时会连带关闭底层 ZIP 流
+     */
+    private static InputStream nonClosing(InputStream inputStream) {
+        return new FilterInputStream(inputStream) {
+            @Override
+            public void close() {
+                // 由外层 ZipInputStream 负责关闭
+            }
+        };
+    }
+
+    private static boolean isZip(byte[] content) {
+        return content != null && content.length > 4
+                && content[0] == 'P' && content[1] == 'K' && content[2] == 3 && content[3] == 4;
+    }
+
+    private static Integer parseInt(String value) {
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 解析 W3CDTF 时间，与引擎返回的 Date 类型保持一致
+     */
+    private static Date parseDate(String value) {
+        String text = value.trim();
+        try {
+            return Date.from(Instant.parse(text));
+        } catch (DateTimeParseException e) {
+            try {
+                return Date.from(LocalDateTime.parse(text).toInstant(ZoneOffset.UTC));
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        // 禁用 DTD 与外部实体，防止 XXE
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        return factory;
+    }
+}
@@ -0,0 +1,100 @@
+package cn.bugstack.officetools.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 页码范围解析工具
+ * 支持 "1-3,5,8-" 形式（页码从 1 开始，"8-" 表示第 8 页到最后一页）
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+public class PageRangeParser {
+
+    /**
+     * 表示"到最后一页"的结束页码
+     */
+    public static final int OPEN_END = Integer.MAX_VALUE;
+
+    /**
+     * 解析页码范围
+     *
+     * @param pageRange 页码范围表达式
+     * @return 从 0 开始的闭区间列表，每项为 [from, to]
+     * @throws IllegalArgumentException 表达式非法时抛出
+     */
+    public static List<int[]> parse(String pageRange) {
+        if (pageRange == null || pageRange.isBlank()) {
+            throw new IllegalArgumentException("页码范围不能为空");
+        }
+
+        List<int[]> ranges = new ArrayList<>();
+        for (String part : pageRange.replaceAll("\\s+", "").split(",")) {
+            if (part.isEmpty()) {
+                continue;
+            }
+
+            int from;
+            int to;
+            int dashIndex = part.indexOf('-');
+            if (dashIndex < 0) {
+                from = parsePage(part, pageRange);
+                to = from;
+            } else {
+                from = parsePage(part.substring(0, dashIndex), pageRange);
+                String end = part.substring(dashIndex + 1);
+                to = end.isEmpty() ? OPEN_END : parsePage(end, pageRange);
+            }
+
+            if (to < from) {
+                throw new IllegalArgumentException("页码范围非法: " + part);
+            }
+            ranges.add(new int[]{from - 1, to == OPEN_END ? OPEN_END : to - 1});
+        }
+
+        if (ranges.isEmpty()) {
+            throw new IllegalArgumentException("页码范围非法: " + pageRange);
+        }
+        return ranges;
+    }
+
+    /**
+     * 将 "前 N 页" 转换为页码范围表达式
+     *
+     * @param pages 页数
+     * @return 页码范围表达式
+     */
+    public static String firstPages(int pages) {
+        if (pages <= 0) {
+            throw new IllegalArgumentException("页数必须大于 0");
+        }
+        return "1-" + pages;
+    }
+
+    /**
+     * 合并 pages 与 pageRange 两种请求参数，pageRange 优先
+     *
+     * @param pages     前 N 页（可为 null）
+     * @param pageRange 页码范围表达式（可为 null）
+     * @return 页码范围表达式，均未指定时返回 null
+     */
+    public static String resolve(Integer pages, String pageRange) {
+        if (pageRange != null && !pageRange.isBlank()) {
+            return pageRange;
+        }
+        return pages != null ? firstPages(pages) : null;
+    }
+
+    private static int parsePage(String value, String pageRange) {
+        try {
+            int page = Integer.parseInt(value);
+            if (page < 1) {
+                throw new IllegalArgumentException("页码必须从 1 开始: " + pageRange);
+            }
+            return page;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("页码范围非法: " + pageRange);
+        }
+    }
+}
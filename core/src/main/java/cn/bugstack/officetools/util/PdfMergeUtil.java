@@ -0,0 +1,42 @@
+package cn.bugstack.officetools.util;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * PDF 合并工具
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+public class PdfMergeUtil {
+
+    /**
+     * 按顺序拼接多个 PDF
+     *
+     * @param parts PDF 内容列表
+     * @return 拼接后的 PDF 内容
+     * @throws IOException 合并失败时抛出异常
+     */
+    public static byte[] merge(List<byte[]> parts) throws IOException {
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+
+        PDFMergerUtility merger = new PDFMergerUtility();
+        for (byte[] part : parts) {
+            merger.addSource(new ByteArrayInputStream(part));
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        merger.setDestinationStream(outputStream);
+        merger.mergeDocuments(MemoryUsageSetting.setupMainMemoryOnly());
+
+        return outputStream.toByteArray();
+    }
+}
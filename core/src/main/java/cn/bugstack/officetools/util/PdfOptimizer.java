@@ -0,0 +1,417 @@
+package cn.bugstack.officetools.util;
+
+import cn.bugstack.officetools.domain.dto.PdfImageEncoding;
+import cn.bugstack.officetools.domain.model.PdfOptimizeResult;
+import org.apache.pdfbox.contentstream.PDFStreamEngine;
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.contentstream.operator.state.Concatenate;
+import org.apache.pdfbox.contentstream.operator.state.Restore;
+import org.apache.pdfbox.contentstream.operator.state.Save;
+import org.apache.pdfbox.contentstream.operator.state.SetGraphicsStateParameters;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSNull;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.util.Matrix;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * PDF 体积优化工具
+ * 1. 合并内容完全相同的图片、表单和字体文件（按节并行转换后合并的 PDF 每部分都各自嵌入一份）；
+ * 2. 按图片在页面上的最大显示尺寸计算实际分辨率，高于目标 DPI 的降采样后按 JPEG 或 Flate 重新编码；
+ * 3. 压缩未压缩的页面内容流，保存时只写出仍被引用的对象。
+ * 优化后不比原文件小时返回原内容
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+public class PdfOptimizer {
+
+    /**
+     * 缩放比例低于该值才降采样，避免为略高于目标的图片付出重新编码的画质损失
+     */
+    private static final double DOWNSAMPLE_THRESHOLD = 0.8;
+
+    /**
+     * 比较资源内容时展开嵌套对象的最大深度，超过时视为不同资源
+     */
+    private static final int MAX_DESCRIBE_DEPTH = 8;
+
+    private static final COSName[] FONT_FILE_KEYS = {COSName.FONT_FILE, COSName.FONT_FILE2, COSName.FONT_FILE3};
+
+    /**
+     * 替换图片内容时需要清除的原图字典项（由新图片的字典项重新设置）
+     */
+    private static final COSName[] IMAGE_KEYS = {COSName.FILTER, COSName.DECODE_PARMS, COSName.DECODE,
+            COSName.COLORSPACE, COSName.BITS_PER_COMPONENT, COSName.WIDTH, COSName.HEIGHT};
+
+    /**
+     * 优化 PDF 体积
+     *
+     * @param pdf         PDF 内容
+     * @param targetDpi   图片目标分辨率，小于等于 0 时不降采样
+     * @param encoding    重新编码图片使用的压缩方式
+     * @param jpegQuality JPEG 质量（1-100）
+     * @return 优化结果
+     * @throws IOException PDF 解析或保存失败时抛出异常
+     */
+    public static PdfOptimizeResult optimize(byte[] pdf, int targetDpi, PdfImageEncoding encoding, int jpegQuality)
+            throws IOException {
+        try (PDDocument document = PDDocument.load(new ByteArrayInputStream(pdf), MemoryUsageSetting.setupMainMemoryOnly())) {
+            if (document.isEncrypted()) {
+                return new PdfOptimizeResult(pdf, pdf.length, 0, 0, 0);
+            }
+
+            // 先合并重复资源，后续每张图片只处理一次
+            DuplicateMerger merger = new DuplicateMerger();
+            for (PDPage page : document.getPages()) {
+                merger.merge(page.getResources());
+            }
+
+            // 统计每张图片在页面上的最大显示尺寸
+            ImagePlacementCollector collector = new ImagePlacementCollector();
+            Map<COSStream, PDImageXObject> images = new LinkedHashMap<>();
+            Set<COSStream> visitedForms = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (PDPage page : document.getPages()) {
+                collector.processPage(page);
+                collectImages(page.getResources(), images, visitedForms);
+            }
+
+            int downsampled = 0;
+            int recompressed = 0;
+            float quality = Math.max(1, Math.min(100, jpegQuality)) / 100f;
+            for (PDImageXObject image : images.values()) {
+                float[] displaySize = collector.displaySizes.get(image.getCOSObject());
+                ImageAction action = optimizeImage(document, image, displaySize, targetDpi, encoding, quality);
+                if (action == ImageAction.DOWNSAMPLED) {
+                    downsampled++;
+                } else if (action == ImageAction.RECOMPRESSED) {
+                    recompressed++;
+                }
+            }
+
+            for (PDPage page : document.getPages()) {
+                compressContentStreams(page);
+            }
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(pdf.length);
+            document.save(outputStream);
+            byte[] optimized = outputStream.toByteArray();
+            return new PdfOptimizeResult(optimized.length < pdf.length ? optimized : pdf, pdf.length,
+                    downsampled, recompressed, merger.merged);
+        }
+    }
+
+    private static void collectImages(PDResources resources, Map<COSStream, PDImageXObject> images,
+                                      Set<COSStream> visitedForms) throws IOException {
+        if (resources == null) {
+            return;
+        }
+        for (COSName name : resources.getXObjectNames()) {
+            PDXObject xobject = resources.getXObject(name);
+            if (xobject instanceof PDImageXObject) {
+                images.putIfAbsent(xobject.getCOSObject(), (PDImageXObject) xobject);
+            } else if (xobject instanceof PDFormXObject && visitedForms.add(xobject.getCOSObject())) {
+                collectImages(((PDFormXObject) xobject).getResources(), images, visitedForms);
+            }
+        }
+    }
+
+    private static ImageAction optimizeImage(PDDocument document, PDImageXObject image, float[] displaySize,
+                                             int targetDpi, PdfImageEncoding encoding, float quality) throws IOException {
+        COSStream stream = image.getCOSObject();
+        // 蒙版、带透明通道和二值图片重新编码收益小且容易出错，保持原样
+        if (image.isStencil() || image.getBitsPerComponent() == 1
+                || stream.containsKey(COSName.SMASK) || stream.containsKey(COSName.MASK)) {
+            return ImageAction.NONE;
+        }
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double scale = 1;
+        if (targetDpi > 0 && displaySize != null && displaySize[0] > 0 && displaySize[1] > 0) {
+            // 按显示尺寸较大的方向计算，非等比拉伸的图片不会在任一方向低于目标分辨率
+            scale = targetDpi / 72.0 * Math.max(displaySize[0] / width, displaySize[1] / height);
+        }
+        boolean downsample = scale < DOWNSAMPLE_THRESHOLD;
+
+        List<COSName> filters = image.getStream().getFilters();
+        boolean wasJpeg = filters != null && filters.contains(COSName.DCT_DECODE);
+        boolean useJpeg = encoding == PdfImageEncoding.JPEG || (encoding == PdfImageEncoding.AUTO && wasJpeg);
+        if (!downsample && !(encoding == PdfImageEncoding.JPEG && !wasJpeg)) {
+            // 不降采样时只有把无损图片改为 JPEG 才可能变小
+            return ImageAction.NONE;
+        }
+
+        BufferedImage source = image.getImage();
+        BufferedImage target = downsample
+                ? resize(source, Math.max(1, (int) Math.round(width * scale)), Math.max(1, (int) Math.round(height * scale)))
+                : source;
+        PDImageXObject encoded = useJpeg
+                ? JPEGFactory.createFromImage(document, target, quality)
+                : LosslessFactory.createFromImage(document, target);
+        if (encoded.getCOSObject().getLength() >= stream.getLength()) {
+            return ImageAction.NONE;
+        }
+
+        // 原地替换图片流，所有引用该图片的页面和表单一起生效
+        replaceStream(stream, encoded.getCOSObject());
+        return downsample ? ImageAction.DOWNSAMPLED : ImageAction.RECOMPRESSED;
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width, int height) {
+        int type = source.getType() == BufferedImage.TYPE_BYTE_GRAY ? BufferedImage.TYPE_BYTE_GRAY : BufferedImage.TYPE_INT_RGB;
+        BufferedImage target = new BufferedImage(width, height, type);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static void replaceStream(COSStream target, COSStream source) throws IOException {
+        try (InputStream in = source.createRawInputStream(); OutputStream out = target.createRawOutputStream()) {
+            IOUtils.copy(in, out);
+        }
+        for (COSName key : IMAGE_KEYS) {
+            target.removeItem(key);
+        }
+        for (Map.Entry<COSName, COSBase> entry : source.entrySet()) {
+            if (!COSName.LENGTH.equals(entry.getKey())) {
+                target.setItem(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private static void compressContentStreams(PDPage page) throws IOException {
+        Iterator<PDStream> contents = page.getContentStreams();
+        while (contents.hasNext()) {
+            COSStream stream = contents.next().getCOSObject();
+            if (stream.getFilters() != null) {
+                continue;
+            }
+            byte[] data;
+            try (InputStream in = stream.createRawInputStream()) {
+                data = IOUtils.toByteArray(in);
+            }
+            try (OutputStream out = stream.createOutputStream(COSName.FLATE_DECODE)) {
+                out.write(data);
+            }
+        }
+    }
+
+    private enum ImageAction {
+        NONE, DOWNSAMPLED, RECOMPRESSED
+    }
+
+    /**
+     * 解析页面内容流，记录每张图片绘制时的最大宽高（单位：点）
+     */
+    private static class ImagePlacementCollector extends PDFStreamEngine {
+
+        private final Map<COSStream, float[]> displaySizes = new IdentityHashMap<>();
+
+        ImagePlacementCollector() {
+            addOperator(new Concatenate());
+            addOperator(new SetGraphicsStateParameters());
+            addOperator(new Save());
+            addOperator(new Restore());
+        }
+
+        @Override
+        protected void processOperator(Operator operator, List<COSBase> operands) throws IOException {
+            if ("Do".equals(operator.getName()) && !operands.isEmpty() && operands.get(0) instanceof COSName) {
+                PDResources resources = getResources();
+                PDXObject xobject = resources != null ? resources.getXObject((COSName) operands.get(0)) : null;
+                if (xobject instanceof PDImageXObject) {
+                    Matrix ctm = getGraphicsState().getCurrentTransformationMatrix();
+                    float[] size = displaySizes.computeIfAbsent(xobject.getCOSObject(), key -> new float[2]);
+                    size[0] = Math.max(size[0], Math.abs(ctm.getScalingFactorX()));
+                    size[1] = Math.max(size[1], Math.abs(ctm.getScalingFactorY()));
+                } else if (xobject instanceof PDFormXObject) {
+                    showForm((PDFormXObject) xobject);
+                }
+                return;
+            }
+            super.processOperator(operator, operands);
+        }
+    }
+
+    /**
+     * 合并内容完全相同的 XObject 与字体文件：后出现的引用改为指向首次出现的对象，
+     * 未再被引用的副本在保存时不会写出
+     */
+    private static class DuplicateMerger {
+
+        /**
+         * 内容键 -> 首次出现的引用
+         */
+        private final Map<String, COSBase> canonical = new HashMap<>();
+
+        private final Map<COSStream, String> keyCache = new IdentityHashMap<>();
+
+        private final Set<COSBase> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private int merged;
+
+        void merge(PDResources resources) throws IOException {
+            if (resources == null) {
+                return;
+            }
+            COSBase xobjects = resources.getCOSObject().getDictionaryObject(COSName.XOBJECT);
+            if (xobjects instanceof COSDictionary) {
+                COSDictionary dictionary = (COSDictionary) xobjects;
+                for (COSName name : new ArrayList<>(dictionary.keySet())) {
+                    COSBase value = dictionary.getDictionaryObject(name);
+                    if (!(value instanceof COSStream)) {
+                        continue;
+                    }
+                    COSStream stream = (COSStream) value;
+                    // 先处理表单内部的资源，使内容相同的表单引用同一批对象
+                    if (COSName.FORM.equals(stream.getCOSName(COSName.SUBTYPE)) && visited.add(stream)) {
+                        COSBase formResources = stream.getDictionaryObject(COSName.RESOURCES);
+                        if (formResources instanceof COSDictionary) {
+                            merge(new PDResources((COSDictionary) formResources));
+                        }
+                    }
+                    mergeEntry(dictionary, name, stream);
+                }
+            }
+
+            COSBase fonts = resources.getCOSObject().getDictionaryObject(COSName.FONT);
+            if (fonts instanceof COSDictionary) {
+                for (COSName name : ((COSDictionary) fonts).keySet()) {
+                    COSBase font = ((COSDictionary) fonts).getDictionaryObject(name);
+                    if (font instanceof COSDictionary) {
+                        mergeFontFiles((COSDictionary) font);
+                    }
+                }
+            }
+        }
+
+        private void mergeFontFiles(COSDictionary font) throws IOException {
+            COSBase descendants = font.getDictionaryObject(COSName.DESCENDANT_FONTS);
+            if (descendants instanceof COSArray && ((COSArray) descendants).size() > 0
+                    && ((COSArray) descendants).getObject(0) instanceof COSDictionary) {
+                font = (COSDictionary) ((COSArray) descendants).getObject(0);
+            }
+            COSBase descriptor = font.getDictionaryObject(COSName.FONT_DESC);
+            if (!(descriptor instanceof COSDictionary)) {
+                return;
+            }
+            for (COSName key : FONT_FILE_KEYS) {
+                COSBase fontFile = ((COSDictionary) descriptor).getDictionaryObject(key);
+                if (fontFile instanceof COSStream) {
+                    mergeEntry((COSDictionary) descriptor, key, (COSStream) fontFile);
+                }
+            }
+        }
+
+        private void mergeEntry(COSDictionary dictionary, COSName name, COSStream stream) throws IOException {
+            COSBase existing = canonical.putIfAbsent(streamKey(stream, 0), dictionary.getItem(name));
+            if (existing != null && dereference(existing) != stream) {
+                dictionary.setItem(name, existing);
+                merged++;
+            }
+        }
+
+        /**
+         * 资源内容键：原始（编码后）数据的摘要加上展开后的字典（不含 Length）
+         */
+        private String streamKey(COSStream stream, int depth) throws IOException {
+            String key = keyCache.get(stream);
+            if (key == null) {
+                byte[] raw;
+                try (InputStream in = stream.createRawInputStream()) {
+                    raw = IOUtils.toByteArray(in);
+                }
+                key = DigestUtil.sha256Hex(raw) + describeDictionary(stream, depth);
+                keyCache.put(stream, key);
+            }
+            return key;
+        }
+
+        private String describeDictionary(COSDictionary dictionary, int depth) throws IOException {
+            Map<String, COSBase> sorted = new TreeMap<>();
+            for (Map.Entry<COSName, COSBase> entry : dictionary.entrySet()) {
+                if (!COSName.LENGTH.equals(entry.getKey())) {
+                    sorted.put(entry.getKey().getName(), entry.getValue());
+                }
+            }
+            StringBuilder builder = new StringBuilder("<<");
+            for (Map.Entry<String, COSBase> entry : sorted.entrySet()) {
+                builder.append('/').append(entry.getKey()).append(' ').append(describe(entry.getValue(), depth + 1));
+            }
+            return builder.append(">>").toString();
+        }
+
+        private String describe(COSBase base, int depth) throws IOException {
+            base = dereference(base);
+            if (base == null || base instanceof COSNull) {
+                return "null";
+            }
+            if (depth > MAX_DESCRIBE_DEPTH) {
+                // 过深时按对象标识区分，宁可少合并也不误合并
+                return "@" + System.identityHashCode(base);
+            }
+            if (base instanceof COSStream) {
+                return "stream(" + streamKey((COSStream) base, depth) + ")";
+            }
+            if (base instanceof COSDictionary) {
+                return describeDictionary((COSDictionary) base, depth);
+            }
+            if (base instanceof COSArray) {
+                StringBuilder builder = new StringBuilder("[");
+                for (COSBase item : (COSArray) base) {
+                    builder.append(describe(item, depth + 1)).append(' ');
+                }
+                return builder.append(']').toString();
+            }
+            if (base instanceof COSString) {
+                return "<" + ((COSString) base).toHexString() + ">";
+            }
+            return base.toString();
+        }
+
+        private static COSBase dereference(COSBase base) {
+            return base instanceof COSObject ? ((COSObject) base).getObject() : base;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package cn.bugstack.officetools.util;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 进行中请求合并（single-flight）
+ * 同一个 key 同时只执行一次，执行期间到达的相同请求等待同一个结果；执行结束后立即移除，不做长期缓存
+ *
+ * @param <K> 请求键
+ * @param <V> 结果类型
+ * @author bugstack
+ * @date 2026-10-19
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 执行任务；相同 key 的任务正在执行时，等待并共享其结果（包括异常）
+     *
+     * @param key  请求键
+     * @param task 任务
+     * @return 执行结果
+     * @throws Exception 任务抛出的异常
+     */
+    public V execute(K key, Callable<V> task) throws Exception {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            V result = task.call();
+            created.complete(result);
+            return result;
+        } catch (Exception | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    private V await(CompletableFuture<V> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package cn.bugstack.officetools.util;
 
+import cn.bugstack.officetools.jfr.TempStorageEvent;
 import jakarta.annotation.PostConstruct;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -51,6 +52,17 @@ public class TempFileStorage {
      * @throws IllegalStateException 如果内存不足
      */
     public void store(String fileName, byte[] content) {
+        TempStorageEvent event = TempStorageEvent.start("memory", "store", fileName);
+        event.setBytes(content.length);
+        try {
+            doStore(fileName, content);
+            event.setSuccess(true);
+        } finally {
+            event.commit();
+        }
+    }
+
+    private void doStore(String fileName, byte[] content) {
         // 检查文件数量限制
         if (storage.size() >= maxFileCount) {
             cleanupOldFiles();
@@ -91,20 +103,27 @@ public class TempFileStorage {
      * @return 文件内容，如果文件不存在或已过期返回 null
      */
     public byte[] get(String fileName) {
-        TempFileEntry entry = storage.get(fileName);
+        TempStorageEvent event = TempStorageEvent.start("memory", "get", fileName);
+        try {
+            TempFileEntry entry = storage.get(fileName);
 
-        if (entry == null) {
-            return null;
-        }
+            if (entry == null) {
+                return null;
+            }
 
-        // 检查是否过期
-        if (LocalDateTime.now().isAfter(entry.getExpireTime())) {
-            remove(fileName);
-            log.debug("临时文件已过期并移除: {}", fileName);
-            return null;
-        }
+            // 检查是否过期
+            if (LocalDateTime.now().isAfter(entry.getExpireTime())) {
+                remove(fileName);
+                log.debug("临时文件已过期并移除: {}", fileName);
+                return null;
+            }
 
-        return entry.getContent();
+            event.setBytes(entry.getContentLength());
+            event.setSuccess(true);
+            return entry.getContent();
+        } finally {
+            event.commit();
+        }
     }
 
     /**
@@ -125,6 +144,7 @@ public class TempFileStorage {
      */
     @Scheduled(fixedRate = 300000) // 每 5 分钟清理一次
     public void cleanupExpired() {
+        TempStorageEvent event = TempStorageEvent.start("memory", "cleanup", null);
         LocalDateTime now = LocalDateTime.now();
         int removedCount = 0;
         long freedMemory = 0;
@@ -141,12 +161,18 @@ public class TempFileStorage {
             currentMemoryUsage.addAndGet(-freedMemory);
             log.info("清理过期临时文件: {} 个, 释放内存: {}MB", removedCount, freedMemory / 1024 / 1024);
         }
+        event.setBytes(freedMemory);
+        event.setSuccess(true);
+        event.commit();
     }
 
     /**
      * 清理旧文件（当存储空间不足时）
      */
     private void cleanupOldFiles() {
+        TempStorageEvent event = TempStorageEvent.start("memory", "evict", null);
+        long usageBefore = currentMemoryUsage.get();
+
         // 按过期时间排序，删除最老的文件
         storage.entrySet().stream()
                 .sorted((e1, e2) -> e1.getValue().getExpireTime().compareTo(e2.getValue().getExpireTime()))
@@ -157,6 +183,9 @@ public class TempFileStorage {
 
         log.info("主动清理旧文件，当前文件数: {}, 内存使用: {}MB",
                 storage.size(), currentMemoryUsage.get() / 1024 / 1024);
+        event.setBytes(usageBefore - currentMemoryUsage.get());
+        event.setSuccess(true);
+        event.commit();
     }
 
     /**
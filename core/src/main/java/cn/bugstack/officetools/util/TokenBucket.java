@@ -0,0 +1,108 @@
+package cn.bugstack.officetools.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 无锁令牌桶
+ * 以 GCRA（通用信元速率算法）实现：只维护一个"理论到达时间"，一次 CAS 完成补充与扣减，
+ * 效果等价于容量为 capacity、每 intervalNanos 补充一个令牌的令牌桶
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+public class TokenBucket {
+
+    private final int capacity;
+
+    /**
+     * 补充一个令牌所需的时间（纳秒）
+     */
+    private final long intervalNanos;
+
+    /**
+     * 理论到达时间：桶被补满的时刻（纳秒）
+     */
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * 单调时钟（纳秒）
+     */
+    private final LongSupplier nanoClock;
+
+    /**
+     * @param capacity        桶容量（允许的突发请求数）
+     * @param refillPerMinute 每分钟补充的令牌数
+     */
+    public TokenBucket(int capacity, int refillPerMinute) {
+        this(capacity, refillPerMinute, System::nanoTime);
+    }
+
+    /**
+     * 指定时钟，供测试推进时间
+     */
+    TokenBucket(int capacity, int refillPerMinute, LongSupplier nanoClock) {
+        this.capacity = Math.max(1, capacity);
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, refillPerMinute);
+        this.nanoClock = nanoClock;
+        this.theoreticalArrival = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * 尝试获取一个令牌
+     *
+     * @return 获取结果（无论成功与否都包含剩余令牌数与等待时间）
+     */
+    public Probe tryConsume() {
+        long burstNanos = capacity * intervalNanos;
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long debt = next - now;
+            if (debt > burstNanos) {
+                // 令牌不足：需要等到有一个令牌被补充
+                return new Probe(false, 0, debt - burstNanos, Math.max(0, current - now));
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return new Probe(true, (int) ((burstNanos - debt) / intervalNanos), 0, debt);
+            }
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 令牌获取结果
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Probe {
+
+        /**
+         * 是否获取成功
+         */
+        private final boolean consumed;
+
+        /**
+         * 剩余令牌数
+         */
+        private final int remaining;
+
+        /**
+         * 获取失败时需要等待的时间（纳秒）
+         */
+        private final long retryAfterNanos;
+
+        /**
+         * 桶补满所需的时间（纳秒）
+         */
+        private final long resetNanos;
+    }
+}
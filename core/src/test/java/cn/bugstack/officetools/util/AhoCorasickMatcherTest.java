@@ -0,0 +1,71 @@
+package cn.bugstack.officetools.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AhoCorasickMatcherTest {
+
+    @Test
+    void prefersLeftmostThenLongestMatch() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("he", "hers", "she", "his"), false);
+
+        // "she" 起点最靠前，与其重叠的 "he"、"hers" 被丢弃
+        assertEquals(List.of("she"), matched(matcher, "shers"));
+        // 同一起点取最长的 "hers"
+        assertEquals(List.of("hers"), matched(matcher, "hers"));
+    }
+
+    @Test
+    void returnsNonOverlappingMatchesInOrder() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("aa"), false);
+
+        List<AhoCorasickMatcher.Match> matches = matcher.findAll("aaaaa");
+
+        assertEquals(2, matches.size());
+        assertEquals(0, matches.get(0).getStart());
+        assertEquals(2, matches.get(0).getEnd());
+        assertEquals(2, matches.get(1).getStart());
+        assertEquals(4, matches.get(1).getEnd());
+    }
+
+    @Test
+    void followsFailureLinksIntoSuffixPatterns() {
+        // "abce" 在 d 处失配，需沿失配链转到 "bcd" 继续匹配
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("abce", "bcd", "cd"), false);
+
+        assertEquals(List.of("bcd"), matched(matcher, "abcd"));
+        assertEquals(List.of("abce", "cd"), matched(matcher, "abcecd"));
+    }
+
+    @Test
+    void reportsPatternIndexAndSupportsIgnoreCase() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("合同", "Party"), true);
+
+        List<AhoCorasickMatcher.Match> matches = matcher.findAll("本合同由 PARTY A 签署");
+
+        assertEquals(2, matches.size());
+        assertEquals(0, matches.get(0).getPatternIndex());
+        assertEquals(1, matches.get(0).getStart());
+        assertEquals(1, matches.get(1).getPatternIndex());
+        assertTrue(new AhoCorasickMatcher(List.of("Party"), false).findAll("PARTY").isEmpty());
+    }
+
+    @Test
+    void rejectsEmptyPattern() {
+        assertThrows(IllegalArgumentException.class, () -> new AhoCorasickMatcher(List.of("a", ""), false));
+    }
+
+    private static List<String> matched(AhoCorasickMatcher matcher, String text) {
+        List<String> result = new ArrayList<>();
+        for (AhoCorasickMatcher.Match match : matcher.findAll(text)) {
+            result.add(text.substring(match.getStart(), match.getEnd()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,164 @@
+package cn.bugstack.officetools.util;
+
+import cn.bugstack.officetools.domain.dto.DocumentFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.InputStreamSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DocumentFormatSnifferTest {
+
+    private static final String WORD_CONTENT_TYPES = "<Types><Override PartName=\"/word/document.xml\" "
+            + "ContentType=\"application/vnd.openxmlformats-officedocument.wordprocessingml.document.main+xml\"/></Types>";
+
+    private static final String EXCEL_CONTENT_TYPES = "<Types><Override PartName=\"/xl/workbook.xml\" "
+            + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/></Types>";
+
+    @Test
+    void detectsDocx() throws IOException {
+        assertEquals(DocumentFormat.DOCX, DocumentFormatSniffer.detect(docx()));
+    }
+
+    @Test
+    void detectsOdt() throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("mimetype", "application/vnd.oasis.opendocument.text");
+        entries.put("content.xml", "<office:document-content/>");
+        assertEquals(DocumentFormat.ODT, DocumentFormatSniffer.detect(zip(entries)));
+    }
+
+    @Test
+    void detectsTextFormats() {
+        assertEquals(DocumentFormat.RTF, DocumentFormatSniffer.detect(ascii("{\\rtf1\\ansi hello}")));
+        assertEquals(DocumentFormat.HTML, DocumentFormatSniffer.detect(ascii("  <!DOCTYPE html><html></html>")));
+        assertEquals(DocumentFormat.FLAT_OPC,
+                DocumentFormatSniffer.detect(ascii("<?xml version=\"1.0\"?><pkg:package xmlns:pkg=\"x\"/>")));
+    }
+
+    @Test
+    void rejectsEmptyAndUnknownContent() {
+        assertThrows(IllegalArgumentException.class, () -> DocumentFormatSniffer.detect((byte[]) null));
+        assertThrows(IllegalArgumentException.class, () -> DocumentFormatSniffer.detect(new byte[3]));
+        assertThrows(IllegalArgumentException.class, () -> DocumentFormatSniffer.detect(ascii("just some plain text")));
+    }
+
+    @Test
+    void rejectsTruncatedZip() throws IOException {
+        byte[] docx = docx();
+        for (int length : new int[]{8, 30, docx.length / 2, docx.length - 1}) {
+            byte[] truncated = Arrays.copyOf(docx, length);
+            assertThrows(IllegalArgumentException.class, () -> DocumentFormatSniffer.detect(truncated),
+                    "截断到 " + length + " 字节");
+        }
+    }
+
+    @Test
+    void rejectsCentralDirectoryNameLengthPastBuffer() throws IOException {
+        byte[] docx = docx();
+        int entry = lastIndexOf(docx, new byte[]{0x50, 0x4b, 0x01, 0x02});
+        docx[entry + 28] = (byte) 0xFF;
+        docx[entry + 29] = 0x7F;
+
+        assertThrows(IllegalArgumentException.class, () -> DocumentFormatSniffer.detect(docx));
+    }
+
+    @Test
+    void rejectsCorruptCentralDirectorySignature() throws IOException {
+        byte[] docx = docx();
+        int entry = lastIndexOf(docx, new byte[]{0x50, 0x4b, 0x01, 0x02});
+        docx[entry + 2] = 0x7F;
+
+        assertThrows(IllegalArgumentException.class, () -> DocumentFormatSniffer.detect(docx));
+    }
+
+    @Test
+    void rejectsNonWordPackages() throws IOException {
+        Map<String, String> xlsx = new LinkedHashMap<>();
+        xlsx.put("[Content_Types].xml", EXCEL_CONTENT_TYPES);
+        xlsx.put("xl/workbook.xml", "<workbook/>");
+        assertThrows(IllegalArgumentException.class, () -> DocumentFormatSniffer.detect(zip(xlsx)));
+
+        Map<String, String> plainZip = new LinkedHashMap<>();
+        plainZip.put("readme.txt", "hello");
+        assertThrows(IllegalArgumentException.class, () -> DocumentFormatSniffer.detect(zip(plainZip)));
+
+        Map<String, String> ods = new LinkedHashMap<>();
+        ods.put("mimetype", "application/vnd.oasis.opendocument.spreadsheet");
+        assertThrows(IllegalArgumentException.class, () -> DocumentFormatSniffer.detect(zip(ods)));
+    }
+
+    @Test
+    void detectsFromFileWithoutLoadingIt(@TempDir Path dir) throws IOException {
+        Path docx = Files.write(dir.resolve("a.docx"), docx());
+        assertEquals(DocumentFormat.DOCX, DocumentFormatSniffer.detect(docx));
+
+        Path rtf = Files.write(dir.resolve("a.rtf"), ascii("{\\rtf1\\ansi hello}"));
+        assertEquals(DocumentFormat.RTF, DocumentFormatSniffer.detect(rtf));
+
+        byte[] content = docx();
+        Path truncated = Files.write(dir.resolve("b.docx"), Arrays.copyOf(content, content.length - 1));
+        assertThrows(IllegalArgumentException.class, () -> DocumentFormatSniffer.detect(truncated));
+    }
+
+    @Test
+    void detectsFromReopenableStream() throws IOException {
+        byte[] docx = docx();
+        InputStreamSource source = () -> new ByteArrayInputStream(docx);
+        assertEquals(DocumentFormat.DOCX, DocumentFormatSniffer.detect(source, docx.length));
+
+        // 声明的大小与实际内容不符（上传被截断）
+        assertThrows(IOException.class, () -> DocumentFormatSniffer.detect(source, docx.length + 100L));
+    }
+
+    @Test
+    void rejectsTruncatedOle2Header() {
+        byte[] header = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1, 0, 0};
+        assertThrows(IllegalArgumentException.class, () -> DocumentFormatSniffer.detect(header));
+    }
+
+    private static byte[] docx() throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("[Content_Types].xml", WORD_CONTENT_TYPES);
+        entries.put("word/document.xml", "<w:document/>");
+        return zip(entries);
+    }
+
+    private static byte[] zip(Map<String, String> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static int lastIndexOf(byte[] content, byte[] pattern) {
+        for (int i = content.length - pattern.length; i >= 0; i--) {
+            if (Arrays.equals(content, i, i + pattern.length, pattern, 0, pattern.length)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("pattern not found");
+    }
+}
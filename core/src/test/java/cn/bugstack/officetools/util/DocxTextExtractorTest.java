@@ -0,0 +1,64 @@
+package cn.bugstack.officetools.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DocxTextExtractorTest {
+
+    private static final String W = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final String MC = "http://schemas.openxmlformats.org/markup-compatibility/2006";
+
+    @Test
+    void textBoxInAlternateContentIsExtractedOnce() throws IOException {
+        String body = "<w:p><w:r><w:t>前言</w:t></w:r>"
+                + "<w:r><mc:AlternateContent>"
+                + "<mc:Choice Requires=\"wps\"><w:txbxContent><w:p><w:r><w:t>文本框</w:t></w:r></w:p></w:txbxContent></mc:Choice>"
+                + "<mc:Fallback><w:pict><w:txbxContent><w:p><w:r><w:t>文本框</w:t></w:r></w:p></w:txbxContent></w:pict></mc:Fallback>"
+                + "</mc:AlternateContent></w:r></w:p>"
+                + "<w:p><w:r><w:t>正文</w:t><w:tab/><w:t>结束</w:t></w:r></w:p>";
+
+        List<String> paragraphs = extract(docx(body));
+
+        assertEquals(List.of("文本框", "前言", "正文\t结束"), paragraphs);
+    }
+
+    @Test
+    void packageWithoutDocumentPartReturnsMinusOne() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("xl/workbook.xml"));
+            zip.write("<workbook/>".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        assertEquals(-1, DocxTextExtractor.extract(new ByteArrayInputStream(bytes.toByteArray()), (index, text) -> { }));
+    }
+
+    private static List<String> extract(byte[] docx) throws IOException {
+        List<String> paragraphs = new ArrayList<>();
+        DocxTextExtractor.extract(new ByteArrayInputStream(docx), (index, text) -> paragraphs.add(text));
+        return paragraphs;
+    }
+
+    private static byte[] docx(String body) throws IOException {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<w:document xmlns:w=\"" + W + "\" xmlns:mc=\"" + MC + "\"><w:body>" + body + "</w:body></w:document>";
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            zip.write(xml.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return bytes.toByteArray();
+    }
+}
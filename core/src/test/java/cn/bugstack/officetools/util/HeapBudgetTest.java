@@ -0,0 +1,21 @@
+package cn.bugstack.officetools.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HeapBudgetTest {
+
+    private static final long MB = 1024 * 1024;
+
+    @Test
+    void derivesBudgetFromMaxHeap() {
+        assertEquals(36, HeapBudget.resolveMb(0, 15, 240 * MB));
+        assertEquals(1, HeapBudget.resolveMb(0, 1, 50 * MB));
+    }
+
+    @Test
+    void explicitValueWins() {
+        assertEquals(512, HeapBudget.resolveMb(512, 15, 240 * MB));
+    }
+}
@@ -0,0 +1,168 @@
+package cn.bugstack.officetools.util;
+
+import cn.bugstack.officetools.domain.dto.ConvertedFileInfo;
+import cn.bugstack.officetools.domain.dto.TaskType;
+import cn.bugstack.officetools.domain.model.JournalRecord;
+import cn.bugstack.officetools.domain.model.SpooledFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobJournalTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private final List<JobJournal> opened = new ArrayList<>();
+
+    @TempDir
+    private Path dir;
+
+    @AfterEach
+    void closeJournals() throws IOException {
+        for (JobJournal journal : opened) {
+            journal.destroy();
+        }
+    }
+
+    @Test
+    void replaysUnfinishedJobsWithCheckpoints() throws IOException {
+        JobJournal journal = open(10_000);
+        journal.accepted("a", TaskType.BATCH, spooled("a", 2), "client-1", "https://example.com/hook");
+        journal.accepted("b", TaskType.SINGLE, spooled("b", 1), "client-2", null);
+        journal.fileFinished("a", 0, ConvertedFileInfo.builder().pdfName("a0.pdf").pdfUrl("/a0.pdf").fileSize(10L).build());
+        journal.fileFinished("b", 0, ConvertedFileInfo.builder().pdfName("b0.pdf").build());
+        journal.finished("b", true);
+        journal.destroy();
+
+        JobJournal replayed = open(10_000);
+
+        List<JobJournal.PendingJob> jobs = replayed.getPendingJobs();
+        assertEquals(1, jobs.size());
+        JobJournal.PendingJob job = jobs.get(0);
+        assertEquals("a", job.getAccepted().getTaskId());
+        assertEquals(TaskType.BATCH, job.getAccepted().getTaskType());
+        assertEquals("client-1", job.getAccepted().getClientId());
+        assertEquals("https://example.com/hook", job.getAccepted().getCallbackUrl());
+        assertEquals(2, job.getAccepted().getFiles().size());
+        assertEquals(Set.of(0), job.getCheckpoints().keySet());
+        assertEquals("/a0.pdf", job.getCheckpoints().get(0).getPdfUrl());
+        // 已有检查点的文件不再需要暂存输入
+        assertEquals(Set.of(dir.resolve("a-1").toAbsolutePath()), replayed.getReferencedInputs());
+    }
+
+    @Test
+    void skipsPartiallyWrittenLastLineAndCompactsItAway() throws IOException {
+        JobJournal journal = open(10_000);
+        journal.accepted("a", TaskType.SINGLE, spooled("a", 1), "client-1", null);
+        journal.accepted("b", TaskType.SINGLE, spooled("b", 1), "client-1", null);
+        journal.destroy();
+
+        // 模拟崩溃：最后一条记录只写了一半，没有换行
+        Path journalFile = dir.resolve("journal/journal.log");
+        String full = jsonMapper.writeValueAsString(JournalRecord.builder()
+                .type(JournalRecord.Type.FINISHED).taskId("a").build());
+        Files.writeString(journalFile, full.substring(0, full.length() / 2), StandardOpenOption.APPEND);
+
+        JobJournal replayed = open(10_000);
+
+        // 半条 FINISHED 不生效，a 仍待重放
+        assertEquals(List.of("a", "b"), taskIds(replayed));
+        List<String> lines = Files.readAllLines(journalFile, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        for (String line : lines) {
+            jsonMapper.readValue(line, JournalRecord.class);
+        }
+
+        // 压缩后追加的记录不会接在半条记录后面
+        replayed.finished("a", true);
+        replayed.destroy();
+        assertEquals(List.of("b"), taskIds(open(10_000)));
+    }
+
+    @Test
+    void compactsFinishedJobsAfterThreshold() throws IOException {
+        JobJournal journal = open(3);
+        journal.accepted("a", TaskType.SINGLE, spooled("a", 1), "client-1", null);
+        journal.accepted("b", TaskType.SINGLE, spooled("b", 1), "client-1", null);
+        journal.finished("a", true);
+
+        List<String> lines = Files.readAllLines(dir.resolve("journal/journal.log"), StandardCharsets.UTF_8);
+        assertEquals(1, lines.size());
+        assertEquals("b", jsonMapper.readValue(lines.get(0), JournalRecord.class).getTaskId());
+    }
+
+    @Test
+    void failuresDuringShutdownAreNotRecorded() throws IOException {
+        JobJournal journal = open(10_000);
+        journal.accepted("a", TaskType.SINGLE, spooled("a", 1), "client-1", null);
+        journal.onContextClosed();
+        journal.fileFinished("a", 0, ConvertedFileInfo.builder().error("interrupted").build());
+        journal.finished("a", false);
+        journal.destroy();
+
+        List<JobJournal.PendingJob> jobs = open(10_000).getPendingJobs();
+        assertEquals(1, jobs.size());
+        assertTrue(jobs.get(0).getCheckpoints().isEmpty());
+    }
+
+    @Test
+    void disabledInClusterMode() throws IOException {
+        JobJournal journal = new JobJournal();
+        configure(journal, 10_000);
+        ReflectionTestUtils.setField(journal, "clusterEnabled", true);
+        journal.init();
+
+        assertFalse(journal.isEnabled());
+        journal.accepted("a", TaskType.SINGLE, spooled("a", 1), "client-1", null);
+        assertTrue(journal.getPendingJobs().isEmpty());
+        assertFalse(Files.exists(dir.resolve("journal")));
+    }
+
+    private JobJournal open(int compactThreshold) throws IOException {
+        JobJournal journal = new JobJournal();
+        configure(journal, compactThreshold);
+        journal.init();
+        opened.add(journal);
+        return journal;
+    }
+
+    private void configure(JobJournal journal, int compactThreshold) {
+        ReflectionTestUtils.setField(journal, "jsonMapper", jsonMapper);
+        ReflectionTestUtils.setField(journal, "journalEnabled", true);
+        ReflectionTestUtils.setField(journal, "journalDir", dir.resolve("journal").toString());
+        ReflectionTestUtils.setField(journal, "spoolDir", dir.resolve("spool").toString());
+        ReflectionTestUtils.setField(journal, "compactThreshold", compactThreshold);
+    }
+
+    private List<SpooledFile> spooled(String taskId, int count) {
+        List<SpooledFile> files = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            files.add(new SpooledFile(dir.resolve(taskId + "-" + i), taskId + "-" + i + ".docx",
+                    "application/octet-stream", 100));
+        }
+        return files;
+    }
+
+    private static List<String> taskIds(JobJournal journal) {
+        List<String> ids = new ArrayList<>();
+        for (JobJournal.PendingJob job : journal.getPendingJobs()) {
+            ids.add(job.getAccepted().getTaskId());
+        }
+        return ids;
+    }
+}
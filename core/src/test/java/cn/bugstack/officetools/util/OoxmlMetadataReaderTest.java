@@ -0,0 +1,65 @@
+package cn.bugstack.officetools.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class OoxmlMetadataReaderTest {
+
+    private static final String W = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final String MC = "http://schemas.openxmlformats.org/markup-compatibility/2006";
+
+    @Test
+    void countsAlternateContentOnce() throws IOException {
+        String body = "<w:p><w:r><mc:AlternateContent>"
+                + "<mc:Choice Requires=\"wps\"><w:drawing><w:txbxContent><w:p><w:r><w:t>文本框</w:t></w:r></w:p>"
+                + "</w:txbxContent></w:drawing></mc:Choice>"
+                + "<mc:Fallback><w:pict><w:txbxContent><w:p><w:r><w:t>文本框</w:t></w:r></w:p>"
+                + "</w:txbxContent></w:pict></mc:Fallback>"
+                + "</mc:AlternateContent></w:r></w:p>"
+                + "<w:tbl><w:tr><w:tc><w:p/></w:tc></w:tr></w:tbl>";
+
+        Map<String, Object> info = OoxmlMetadataReader.read(docx(body));
+
+        assertEquals(3, info.get("paragraphCount"));
+        assertEquals(1, info.get("imageCount"));
+        assertEquals(1, info.get("tableCount"));
+    }
+
+    @Test
+    void ignoresSectionPropertiesInRevisions() throws IOException {
+        String body = "<w:p><w:pPr><w:sectPr><w:sectPrChange><w:sectPr/></w:sectPrChange></w:sectPr></w:pPr></w:p>"
+                + "<w:p/>"
+                + "<w:sectPr><w:sectPrChange><w:sectPr/></w:sectPrChange></w:sectPr>";
+
+        Map<String, Object> info = OoxmlMetadataReader.read(docx(body));
+
+        assertEquals(2, info.get("sectionCount"));
+        assertEquals(2, info.get("paragraphCount"));
+    }
+
+    @Test
+    void returnsNullForNonOoxmlContent() {
+        assertNull(OoxmlMetadataReader.read("{\\rtf1}".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static byte[] docx(String body) throws IOException {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<w:document xmlns:w=\"" + W + "\" xmlns:mc=\"" + MC + "\"><w:body>" + body + "</w:body></w:document>";
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            zip.write(xml.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,51 @@
+package cn.bugstack.officetools.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageRangeParserTest {
+
+    @Test
+    void parsesSinglePagesRangesAndOpenEnd() {
+        List<int[]> ranges = PageRangeParser.parse(" 1-3, 5 ,8- ");
+
+        assertEquals(3, ranges.size());
+        assertArrayEquals(new int[]{0, 2}, ranges.get(0));
+        assertArrayEquals(new int[]{4, 4}, ranges.get(1));
+        assertArrayEquals(new int[]{7, PageRangeParser.OPEN_END}, ranges.get(2));
+    }
+
+    @Test
+    void skipsEmptySegments() {
+        List<int[]> ranges = PageRangeParser.parse("2,,4,");
+
+        assertEquals(2, ranges.size());
+        assertArrayEquals(new int[]{1, 1}, ranges.get(0));
+        assertArrayEquals(new int[]{3, 3}, ranges.get(1));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {" ", ",", ",,", "abc", "0", "0-2", "3-1", "-3", "1-2-3", "1--", "a-5", "2-x",
+            "1.5", "99999999999", "1;2"})
+    void rejectsMalformedRanges(String pageRange) {
+        assertThrows(IllegalArgumentException.class, () -> PageRangeParser.parse(pageRange));
+    }
+
+    @Test
+    void resolvePrefersPageRangeOverPages() {
+        assertEquals("2-4", PageRangeParser.resolve(10, "2-4"));
+        assertEquals("1-3", PageRangeParser.resolve(3, " "));
+        assertNull(PageRangeParser.resolve(null, null));
+        assertThrows(IllegalArgumentException.class, () -> PageRangeParser.resolve(0, null));
+    }
+}
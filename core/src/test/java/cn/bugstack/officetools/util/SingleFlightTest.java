@@ -0,0 +1,108 @@
+package cn.bugstack.officetools.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> flight = new SingleFlight<>();
+
+    @Test
+    void concurrentCallersShareOneExecution() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> leader = executor.submit(() -> flight.execute("k", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                release.await();
+                return "result";
+            }));
+            started.await();
+            FutureTask<String> follower = new FutureTask<>(() -> flight.execute("k", () -> {
+                calls.incrementAndGet();
+                return "other";
+            }));
+            awaitBlocked(follower);
+            release.countDown();
+
+            assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+            assertEquals("result", follower.get(5, TimeUnit.SECONDS));
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void followersReceiveTheSameException() throws Exception {
+        IOException failure = new IOException("转换失败");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Exception> leader = executor.submit(() -> assertThrows(IOException.class,
+                    () -> flight.execute("k", () -> {
+                        started.countDown();
+                        release.await();
+                        throw failure;
+                    })));
+            started.await();
+            FutureTask<Exception> follower = new FutureTask<>(() -> assertThrows(IOException.class,
+                    () -> flight.execute("k", () -> "unused")));
+            awaitBlocked(follower);
+            release.countDown();
+
+            assertSame(failure, leader.get(5, TimeUnit.SECONDS));
+            assertSame(failure, follower.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void errorsAreRethrownAsIs() {
+        assertThrows(OutOfMemoryError.class, () -> flight.execute("k", () -> {
+            throw new OutOfMemoryError("模拟");
+        }));
+    }
+
+    @Test
+    void keyIsReleasedAfterCompletion() throws Exception {
+        assertThrows(IllegalStateException.class, () -> flight.execute("k", () -> {
+            throw new IllegalStateException("第一次失败");
+        }));
+
+        // 失败结果不缓存，后续调用重新执行
+        assertEquals("first", flight.execute("k", () -> "first"));
+        assertEquals("second", flight.execute("k", () -> "second"));
+    }
+
+    /**
+     * 在独立线程中启动跟随者，并等待其阻塞在进行中的结果上
+     */
+    private static void awaitBlocked(FutureTask<?> follower) throws InterruptedException {
+        Thread thread = new Thread(follower);
+        thread.setDaemon(true);
+        thread.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(Thread.State.WAITING, thread.getState());
+    }
+}
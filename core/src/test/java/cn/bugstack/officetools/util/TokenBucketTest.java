@@ -0,0 +1,93 @@
+package cn.bugstack.officetools.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+    @Test
+    void allowsBurstUpToCapacity() {
+        // 容量 3，每分钟 60 个：每秒补充一个令牌
+        TokenBucket bucket = new TokenBucket(3, 60, clock::get);
+
+        for (int remaining = 2; remaining >= 0; remaining--) {
+            TokenBucket.Probe probe = bucket.tryConsume();
+            assertTrue(probe.isConsumed());
+            assertEquals(remaining, probe.getRemaining());
+            assertEquals((3 - remaining) * SECOND, probe.getResetNanos());
+        }
+
+        TokenBucket.Probe rejected = bucket.tryConsume();
+        assertFalse(rejected.isConsumed());
+        assertEquals(0, rejected.getRemaining());
+        assertEquals(SECOND, rejected.getRetryAfterNanos());
+        assertEquals(3 * SECOND, rejected.getResetNanos());
+    }
+
+    @Test
+    void rejectedAttemptDoesNotConsumeAndRetryAfterShrinks() {
+        TokenBucket bucket = new TokenBucket(1, 60, clock::get);
+        assertTrue(bucket.tryConsume().isConsumed());
+
+        assertEquals(SECOND, bucket.tryConsume().getRetryAfterNanos());
+        assertEquals(SECOND, bucket.tryConsume().getRetryAfterNanos());
+
+        clock.addAndGet(SECOND / 4);
+        TokenBucket.Probe probe = bucket.tryConsume();
+        assertFalse(probe.isConsumed());
+        assertEquals(3 * SECOND / 4, probe.getRetryAfterNanos());
+        assertEquals(3 * SECOND / 4, probe.getResetNanos());
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(3, 60, clock::get);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryConsume();
+        }
+
+        clock.addAndGet(SECOND);
+        TokenBucket.Probe probe = bucket.tryConsume();
+        assertTrue(probe.isConsumed());
+        assertEquals(0, probe.getRemaining());
+        assertFalse(bucket.tryConsume().isConsumed());
+
+        clock.addAndGet(2 * SECOND);
+        assertEquals(1, bucket.tryConsume().getRemaining());
+        assertEquals(0, bucket.tryConsume().getRemaining());
+        assertFalse(bucket.tryConsume().isConsumed());
+    }
+
+    @Test
+    void idleTimeDoesNotAccumulateBeyondCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 60, clock::get);
+        bucket.tryConsume();
+
+        clock.addAndGet(TimeUnit.HOURS.toNanos(1));
+        for (int remaining = 2; remaining >= 0; remaining--) {
+            assertEquals(remaining, bucket.tryConsume().getRemaining());
+        }
+        assertFalse(bucket.tryConsume().isConsumed());
+    }
+
+    @Test
+    void clampsInvalidConfiguration() {
+        TokenBucket bucket = new TokenBucket(0, 0, clock::get);
+
+        assertEquals(1, bucket.getCapacity());
+        assertTrue(bucket.tryConsume().isConsumed());
+        TokenBucket.Probe rejected = bucket.tryConsume();
+        assertFalse(rejected.isConsumed());
+        assertEquals(TimeUnit.MINUTES.toNanos(1), rejected.getRetryAfterNanos());
+    }
+}
@@ -0,0 +1,516 @@
+package cn.bugstack.officetools.controller;
+
+import cn.bugstack.officetools.domain.dto.ApiResponse;
+import cn.bugstack.officetools.domain.dto.BulkReplaceResult;
+import cn.bugstack.officetools.domain.dto.ConversionOptions;
+import cn.bugstack.officetools.domain.dto.ConversionProfile;
+import cn.bugstack.officetools.domain.dto.DocumentOperation;
+import cn.bugstack.officetools.service.AsposeWordService;
+import cn.bugstack.officetools.util.HttpHeaderUtil;
+import cn.bugstack.officetools.util.PageRangeParser;
+import cn.bugstack.officetools.util.ZipUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aspose.Words 文档处理控制器
+ *
+ * @author bugstack
+ * @date 2026-01-13
+ */
+@RestController
+@RequestMapping("/api/aspose/word")
+public class AsposeWordController {
+
+    private final AsposeWordService asposeWordService;
+
+    private final ZipUtil zipUtil;
+
+    @Autowired
+    public AsposeWordController(AsposeWordService asposeWordService, ZipUtil zipUtil) {
+        this.asposeWordService = asposeWordService;
+        this.zipUtil = zipUtil;
+    }
+
+    /**
+     * 转换 Word 文档格式
+     *
+     * @param file        上传的文件
+     * @param targetFormat 目标格式 (pdf, html, txt, etc.)
+     * @param pages       只转换前 N 页（可选，仅 PDF）
+     * @param pageRange   页码范围，如 1-3,5,8-（可选，仅 PDF，优先于 pages）
+     * @param sectionParallel 是否按节并行转换（可选，适用于数百页的大文档 PDF 输出）
+     * @param profile     转换档位 fast / balanced / archival（可选，预览用 fast 体积与耗时最小）
+     * @return 转换后的文件或结果信息
+     */
+    @PostMapping("/convert")
+    public ResponseEntity<?> convertDocument(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam("format") String targetFormat,
+            @RequestParam(value = "pages", required = false) Integer pages,
+            @RequestParam(value = "pageRange", required = false) String pageRange,
+            @RequestParam(value = "sectionParallel", defaultValue = "false") boolean sectionParallel,
+            @RequestParam(value = "profile", required = false) String profile) {
+
+        try {
+            if (file.isEmpty()) {
+                return ResponseEntity.badRequest()
+                        .body(new ApiResponse<>(false, "文件不能为空", null));
+            }
+
+            String originalFilename = file.getOriginalFilename();
+            if (originalFilename == null ||
+                    (!originalFilename.endsWith(".doc") && !originalFilename.endsWith(".docx"))) {
+                return ResponseEntity.badRequest()
+                        .body(new ApiResponse<>(false, "只支持 .doc 和 .docx 格式的文件", null));
+            }
+
+            ConversionOptions options = ConversionOptions.builder()
+                    .pageRange(PageRangeParser.resolve(pages, pageRange))
+                    .sectionParallel(sectionParallel)
+                    .profile(ConversionProfile.of(profile))
+                    .build();
+
+            ByteArrayOutputStream outputStream = asposeWordService.convertDocument(
+                    file.getInputStream(),
+                    originalFilename,
+                    targetFormat,
+                    options
+            );
+
+            // 生成带时间戳的输出文件名：原文件名_yyyy-MM-dd-HH-mm-ss.扩展名
+            String baseName = originalFilename.substring(0, originalFilename.lastIndexOf('.'));
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd-HH-mm-ss"));
+            String outputFilename = baseName + "_" + timestamp + "." + targetFormat;
+
+            return ResponseEntity.ok()
+                    .header("Content-Disposition", HttpHeaderUtil.createContentDispositionValue(outputFilename))
+                    .body(outputStream.toByteArray());
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "文档转换失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 将文档页面渲染为图片
+     * 单页时直接返回图片，多页时返回 ZIP 压缩包
+     *
+     * @param file      上传的文件
+     * @param format    图片格式 (png, jpeg)
+     * @param dpi       渲染分辨率
+     * @param pages     只渲染前 N 页（可选）
+     * @param pageRange 页码范围，如 1-3,5（可选，优先于 pages）
+     * @return 图片或 ZIP 压缩包
+     */
+    @PostMapping("/render")
+    public ResponseEntity<?> renderPages(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "format", defaultValue = "png") String format,
+            @RequestParam(value = "dpi", defaultValue = "96") int dpi,
+            @RequestParam(value = "pages", required = false) Integer pages,
+            @RequestParam(value = "pageRange", required = false) String pageRange) {
+
+        try {
+            if (file.isEmpty()) {
+                return ResponseEntity.badRequest()
+                        .body(new ApiResponse<>(false, "文件不能为空", null));
+            }
+
+            Map<Integer, byte[]> images = asposeWordService.renderPageImages(
+                    file.getInputStream(),
+                    file.getOriginalFilename(),
+                    PageRangeParser.resolve(pages, pageRange),
+                    format,
+                    dpi
+            );
+
+            String baseName = stripExtension(file.getOriginalFilename());
+            String extension = "png".equalsIgnoreCase(format) ? "png" : "jpg";
+
+            if (images.size() == 1) {
+                Map.Entry<Integer, byte[]> image = images.entrySet().iterator().next();
+                return ResponseEntity.ok()
+                        .header("Content-Disposition", HttpHeaderUtil.createContentDispositionValue(
+                                baseName + "_page" + image.getKey() + "." + extension))
+                        .contentType("png".equals(extension) ? MediaType.IMAGE_PNG : MediaType.IMAGE_JPEG)
+                        .body(image.getValue());
+            }
+
+            Map<String, byte[]> entries = new LinkedHashMap<>();
+            images.forEach((page, content) -> entries.put(baseName + "_page" + page + "." + extension, content));
+
+            return ResponseEntity.ok()
+                    .header("Content-Disposition", HttpHeaderUtil.createContentDispositionValue(baseName + "_pages.zip"))
+                    .header("Content-Type", "application/zip")
+                    .body(zipUtil.createZip(entries));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "页面渲染失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 生成文档首页缩略图（按内容缓存）
+     *
+     * @param file   上传的文件
+     * @param format 图片格式 (png, jpeg)
+     * @param dpi    渲染分辨率
+     * @return 缩略图
+     */
+    @PostMapping("/thumbnail")
+    public ResponseEntity<?> renderThumbnail(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "format", defaultValue = "png") String format,
+            @RequestParam(value = "dpi", defaultValue = "36") int dpi) {
+
+        try {
+            if (file.isEmpty()) {
+                return ResponseEntity.badRequest()
+                        .body(new ApiResponse<>(false, "文件不能为空", null));
+            }
+
+            byte[] thumbnail = asposeWordService.renderThumbnail(
+                    file.getInputStream(),
+                    file.getOriginalFilename(),
+                    format,
+                    dpi
+            );
+
+            return ResponseEntity.ok()
+                    .contentType("png".equalsIgnoreCase(format) ? MediaType.IMAGE_PNG : MediaType.IMAGE_JPEG)
+                    .header("Cache-Control", "max-age=86400")
+                    .body(thumbnail);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "缩略图生成失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 获取文档信息
+     *
+     * @param file 上传的文件
+     * @return 文档的详细信息
+     */
+    @PostMapping("/info")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getDocumentInfo(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "exactPageCount", defaultValue = "false") boolean exactPageCount) {
+
+        try {
+            if (file.isEmpty()) {
+                return ResponseEntity.ok()
+                        .body(new ApiResponse<>(false, "文件不能为空", null));
+            }
+
+            Map<String, Object> documentInfo = asposeWordService.getDocumentInfo(
+                    file.getInputStream(),
+                    file.getOriginalFilename(),
+                    exactPageCount
+            );
+
+            return ResponseEntity.ok()
+                    .body(new ApiResponse<>(true, "获取文档信息成功", documentInfo));
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "获取文档信息失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 批量获取文档信息（并行处理）
+     *
+     * @param files          上传的文件列表
+     * @param exactPageCount 是否通过排版计算精确页数（较慢）
+     * @return 每个文件的详细信息
+     */
+    @PostMapping("/info/batch")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getDocumentInfoBatch(
+            @RequestParam("files") MultipartFile[] files,
+            @RequestParam(value = "exactPageCount", defaultValue = "false") boolean exactPageCount) {
+
+        try {
+            if (files == null || files.length == 0) {
+                return ResponseEntity.badRequest()
+                        .body(new ApiResponse<>(false, "文件不能为空", null));
+            }
+
+            List<Map<String, Object>> documentInfos = asposeWordService.getDocumentInfoBatch(files, exactPageCount);
+
+            return ResponseEntity.ok()
+                    .body(new ApiResponse<>(true, "获取文档信息成功", documentInfos));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "获取文档信息失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 合并多个 Word 文档
+     *
+     * @param files        要合并的文件列表
+     * @param targetFormat 输出格式（默认 docx，可直接输出 pdf 等格式）
+     * @return 合并后的文档
+     */
+    @PostMapping("/merge")
+    public ResponseEntity<?> mergeDocuments(
+            @RequestParam("files") MultipartFile[] files,
+            @RequestParam(value = "format", defaultValue = "docx") String targetFormat) {
+
+        try {
+            if (files == null || files.length < 2) {
+                return ResponseEntity.badRequest()
+                        .body(new ApiResponse<>(false, "至少需要2个文件才能进行合并", null));
+            }
+
+            ByteArrayOutputStream outputStream = asposeWordService.mergeDocuments(files, targetFormat);
+
+            return ResponseEntity.ok()
+                    .header("Content-Disposition", HttpHeaderUtil.createContentDispositionValue(
+                            "merged_document." + targetFormat.toLowerCase()))
+                    .body(outputStream.toByteArray());
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "文档合并失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 在文档中插入文本
+     *
+     * @param file      上传的文件
+     * @param text      要插入的文本
+     * @param position  插入位置 (start, end)
+     * @param profile   转换档位，决定 DOCX 压缩级别（可选）
+     * @return 修改后的文档
+     */
+    @PostMapping("/insert")
+    public ResponseEntity<?> insertText(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam("text") String text,
+            @RequestParam(value = "position", defaultValue = "end") String position,
+            @RequestParam(value = "profile", required = false) String profile) {
+
+        try {
+            ByteArrayOutputStream outputStream = asposeWordService.insertText(
+                    file.getInputStream(),
+                    file.getOriginalFilename(),
+                    text,
+                    position,
+                    ConversionProfile.of(profile)
+            );
+
+            return ResponseEntity.ok()
+                    .header("Content-Disposition", HttpHeaderUtil.createContentDispositionValue("modified_document.docx"))
+                    .body(outputStream.toByteArray());
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "插入文本失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 替换文档中的文本
+     *
+     * @param file        上传的文件
+     * @param oldText     要替换的旧文本
+     * @param newText     替换的新文本
+     * @param matchCase   是否区分大小写
+     * @param profile     转换档位，决定 DOCX 压缩级别（可选）
+     * @return 修改后的文档
+     */
+    @PostMapping("/replace")
+    public ResponseEntity<?> replaceText(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam("oldText") String oldText,
+            @RequestParam("newText") String newText,
+            @RequestParam(value = "matchCase", defaultValue = "false") boolean matchCase,
+            @RequestParam(value = "profile", required = false) String profile) {
+
+        try {
+            ByteArrayOutputStream outputStream = asposeWordService.replaceText(
+                    file.getInputStream(),
+                    file.getOriginalFilename(),
+                    oldText,
+                    newText,
+                    matchCase,
+                    ConversionProfile.of(profile)
+            );
+
+            return ResponseEntity.ok()
+                    .header("Content-Disposition", HttpHeaderUtil.createContentDispositionValue("modified_document.docx"))
+                    .body(outputStream.toByteArray());
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "替换文本失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 批量替换文档中的文本（一次遍历匹配所有模式）
+     * replacements 部分为 JSON 对象（Content-Type: application/json），例如 {"{{甲方}}":"某公司","{{日期}}":"2026-10-19"}
+     * 每个模式的命中次数通过响应头 X-Replace-Hits 返回（URL 编码的 模式=次数&...）
+     *
+     * @param file         上传的文件
+     * @param replacements 旧文本到新文本的映射
+     * @param matchCase    是否区分大小写
+     * @param targetFormat 输出格式（默认 docx）
+     * @return 替换后的文档
+     */
+    @PostMapping("/replace/bulk")
+    public ResponseEntity<?> bulkReplaceText(
+            @RequestPart("file") MultipartFile file,
+            @RequestPart("replacements") Map<String, String> replacements,
+            @RequestParam(value = "matchCase", defaultValue = "false") boolean matchCase,
+            @RequestParam(value = "format", defaultValue = "docx") String targetFormat) {
+
+        try {
+            if (file.isEmpty()) {
+                return ResponseEntity.badRequest()
+                        .body(new ApiResponse<>(false, "文件不能为空", null));
+            }
+
+            BulkReplaceResult result = asposeWordService.bulkReplaceText(
+                    file.getInputStream(),
+                    file.getOriginalFilename(),
+                    replacements,
+                    matchCase,
+                    targetFormat
+            );
+
+            StringBuilder hitsHeader = new StringBuilder();
+            result.getHits().forEach((pattern, count) -> {
+                if (hitsHeader.length() > 0) {
+                    hitsHeader.append('&');
+                }
+                hitsHeader.append(URLEncoder.encode(pattern, StandardCharsets.UTF_8)).append('=').append(count);
+            });
+
+            String outputFilename = stripExtension(file.getOriginalFilename()) + "_replaced." + targetFormat.toLowerCase();
+
+            return ResponseEntity.ok()
+                    .header("Content-Disposition", HttpHeaderUtil.createContentDispositionValue(outputFilename))
+                    .header("X-Replace-Total", String.valueOf(result.getTotalHits()))
+                    .header("X-Replace-Hits", hitsHeader.toString())
+                    .body(result.getContent());
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "批量替换失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 操作链：一次上传，依次执行多个编辑操作后只保存一次
+     * operations 部分为 JSON 数组（Content-Type: application/json），例如
+     * [{"type":"replace","oldText":"甲方","newText":"某公司"},{"type":"insert","text":"附件","position":"end"},
+     * {"type":"watermark","text":"机密"}]
+     *
+     * @param file       上传的文件
+     * @param operations 有序的操作列表 (replace, bulkReplace, insert, watermark)
+     * @param targetFormat 最终输出格式（默认 docx）
+     * @param pages      只输出前 N 页（可选，仅 PDF）
+     * @param pageRange  页码范围，如 1-3,5,8-（可选，仅 PDF，优先于 pages）
+     * @param profile    转换档位 fast / balanced / archival（可选）
+     * @return 处理后的文档
+     */
+    @PostMapping("/operations")
+    public ResponseEntity<?> applyOperations(
+            @RequestPart("file") MultipartFile file,
+            @RequestPart("operations") List<DocumentOperation> operations,
+            @RequestParam(value = "format", defaultValue = "docx") String targetFormat,
+            @RequestParam(value = "pages", required = false) Integer pages,
+            @RequestParam(value = "pageRange", required = false) String pageRange,
+            @RequestParam(value = "profile", required = false) String profile) {
+
+        try {
+            if (file.isEmpty()) {
+                return ResponseEntity.badRequest()
+                        .body(new ApiResponse<>(false, "文件不能为空", null));
+            }
+
+            ConversionOptions options = ConversionOptions.builder()
+                    .pageRange(PageRangeParser.resolve(pages, pageRange))
+                    .profile(ConversionProfile.of(profile))
+                    .build();
+
+            ByteArrayOutputStream outputStream = asposeWordService.applyOperations(
+                    file.getInputStream(),
+                    file.getOriginalFilename(),
+                    operations,
+                    targetFormat,
+                    options
+            );
+
+            String outputFilename = stripExtension(file.getOriginalFilename()) + "_processed." + targetFormat.toLowerCase();
+
+            return ResponseEntity.ok()
+                    .header("Content-Disposition", HttpHeaderUtil.createContentDispositionValue(outputFilename))
+                    .body(outputStream.toByteArray());
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "操作链执行失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 去掉文件扩展名
+     */
+    private String stripExtension(String filename) {
+        if (filename == null || filename.isEmpty()) {
+            return "document";
+        }
+        int lastDotIndex = filename.lastIndexOf('.');
+        return lastDotIndex > 0 ? filename.substring(0, lastDotIndex) : filename;
+    }
+}
@@ -0,0 +1,283 @@
+package cn.bugstack.officetools.controller;
+
+import cn.bugstack.officetools.domain.dto.ApiResponse;
+import cn.bugstack.officetools.domain.dto.ConversionOptions;
+import cn.bugstack.officetools.domain.dto.ConversionProfile;
+import cn.bugstack.officetools.domain.dto.DocumentOperation;
+import cn.bugstack.officetools.domain.dto.DocumentSessionInfo;
+import cn.bugstack.officetools.service.DocumentSessionService;
+import cn.bugstack.officetools.util.HttpHeaderUtil;
+import cn.bugstack.officetools.util.PageRangeParser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文档会话控制器
+ * 上传一次获得会话 ID，之后的查询、编辑、导出都基于服务端缓存的已解析文档
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@RestController
+@RequestMapping("/api/aspose/word/session")
+public class DocumentSessionController {
+
+    private final DocumentSessionService documentSessionService;
+
+    @Autowired
+    public DocumentSessionController(DocumentSessionService documentSessionService) {
+        this.documentSessionService = documentSessionService;
+    }
+
+    /**
+     * 创建会话：上传并解析文档
+     *
+     * @param file 上传的文件
+     * @return 会话信息
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<DocumentSessionInfo>> createSession(@RequestParam("file") MultipartFile file) {
+
+        try {
+            if (file.isEmpty()) {
+                return ResponseEntity.badRequest()
+                        .body(new ApiResponse<>(false, "文件不能为空", null));
+            }
+
+            String originalFilename = file.getOriginalFilename();
+            if (originalFilename == null ||
+                    (!originalFilename.endsWith(".doc") && !originalFilename.endsWith(".docx"))) {
+                return ResponseEntity.badRequest()
+                        .body(new ApiResponse<>(false, "只支持 .doc 和 .docx 格式的文件", null));
+            }
+
+            DocumentSessionInfo session = documentSessionService.createSession(file.getInputStream(), originalFilename);
+
+            return ResponseEntity.ok()
+                    .body(new ApiResponse<>(true, "会话创建成功", session));
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "会话创建失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 获取会话信息
+     *
+     * @param sessionId 会话 ID
+     * @return 会话信息
+     */
+    @GetMapping("/{sessionId}")
+    public ResponseEntity<ApiResponse<DocumentSessionInfo>> getSession(@PathVariable String sessionId) {
+
+        try {
+            return ResponseEntity.ok()
+                    .body(new ApiResponse<>(true, "获取会话成功", documentSessionService.getSession(sessionId)));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 获取会话文档的当前信息
+     *
+     * @param sessionId 会话 ID
+     * @return 文档的详细信息
+     */
+    @GetMapping("/{sessionId}/info")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getDocumentInfo(@PathVariable String sessionId) {
+
+        try {
+            Map<String, Object> documentInfo = documentSessionService.getDocumentInfo(sessionId);
+
+            return ResponseEntity.ok()
+                    .body(new ApiResponse<>(true, "获取文档信息成功", documentInfo));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "获取文档信息失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 在会话文档中插入文本
+     *
+     * @param sessionId 会话 ID
+     * @param text      要插入的文本
+     * @param position  插入位置 (start, end)
+     * @return 会话信息
+     */
+    @PostMapping("/{sessionId}/insert")
+    public ResponseEntity<ApiResponse<DocumentSessionInfo>> insertText(
+            @PathVariable String sessionId,
+            @RequestParam("text") String text,
+            @RequestParam(value = "position", defaultValue = "end") String position) {
+
+        try {
+            DocumentSessionInfo session = documentSessionService.insertText(sessionId, text, position);
+
+            return ResponseEntity.ok()
+                    .body(new ApiResponse<>(true, "插入文本成功", session));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "插入文本失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 替换会话文档中的文本
+     *
+     * @param sessionId 会话 ID
+     * @param oldText   要替换的旧文本
+     * @param newText   替换的新文本
+     * @param matchCase 是否区分大小写
+     * @return 替换次数
+     */
+    @PostMapping("/{sessionId}/replace")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> replaceText(
+            @PathVariable String sessionId,
+            @RequestParam("oldText") String oldText,
+            @RequestParam("newText") String newText,
+            @RequestParam(value = "matchCase", defaultValue = "false") boolean matchCase) {
+
+        try {
+            int count = documentSessionService.replaceText(sessionId, oldText, newText, matchCase);
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("sessionId", sessionId);
+            result.put("replacedCount", count);
+
+            return ResponseEntity.ok()
+                    .body(new ApiResponse<>(true, "替换文本成功", result));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "替换文本失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 在会话文档上依次执行操作链
+     *
+     * @param sessionId  会话 ID
+     * @param operations 有序的操作列表 (replace, bulkReplace, insert, watermark)
+     * @return 每个操作的结果
+     */
+    @PostMapping("/{sessionId}/operations")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> applyOperations(
+            @PathVariable String sessionId,
+            @RequestBody List<DocumentOperation> operations) {
+
+        try {
+            List<Integer> results = documentSessionService.applyOperations(sessionId, operations);
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("sessionId", sessionId);
+            result.put("results", results);
+
+            return ResponseEntity.ok()
+                    .body(new ApiResponse<>(true, "操作链执行成功", result));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "操作链执行失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 导出会话文档（会话保持有效，可再次编辑或导出其他格式）
+     *
+     * @param sessionId    会话 ID
+     * @param targetFormat 目标格式 (docx, pdf, html, etc.)
+     * @param pages        只导出前 N 页（可选，仅 PDF）
+     * @param pageRange    页码范围，如 1-3,5,8-（可选，仅 PDF，优先于 pages）
+     * @param profile      转换档位 fast / balanced / archival（可选）
+     * @return 导出的文件
+     */
+    @GetMapping("/{sessionId}/export")
+    public ResponseEntity<?> export(
+            @PathVariable String sessionId,
+            @RequestParam(value = "format", defaultValue = "docx") String targetFormat,
+            @RequestParam(value = "pages", required = false) Integer pages,
+            @RequestParam(value = "pageRange", required = false) String pageRange,
+            @RequestParam(value = "profile", required = false) String profile) {
+
+        try {
+            DocumentSessionInfo session = documentSessionService.getSession(sessionId);
+
+            ConversionOptions options = ConversionOptions.builder()
+                    .pageRange(PageRangeParser.resolve(pages, pageRange))
+                    .profile(ConversionProfile.of(profile))
+                    .build();
+
+            ByteArrayOutputStream outputStream = documentSessionService.export(sessionId, targetFormat, options);
+
+            String fileName = session.getFileName();
+            int lastDotIndex = fileName == null ? -1 : fileName.lastIndexOf('.');
+            String baseName = lastDotIndex > 0 ? fileName.substring(0, lastDotIndex) : "document";
+
+            return ResponseEntity.ok()
+                    .header("Content-Disposition", HttpHeaderUtil.createContentDispositionValue(
+                            baseName + "." + targetFormat.toLowerCase()))
+                    .body(outputStream.toByteArray());
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "文档导出失败: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 关闭会话，释放服务端缓存的文档
+     *
+     * @param sessionId 会话 ID
+     * @return 操作结果
+     */
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<ApiResponse<Void>> closeSession(@PathVariable String sessionId) {
+        if (!documentSessionService.closeSession(sessionId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, "会话不存在或已过期: " + sessionId, null));
+        }
+        return ResponseEntity.ok()
+                .body(new ApiResponse<>(true, "会话已关闭", null));
+    }
+
+    /**
+     * 获取会话缓存统计
+     *
+     * @return 统计信息
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getStatistics() {
+        return ResponseEntity.ok()
+                .body(new ApiResponse<>(true, "获取会话统计成功", documentSessionService.getStatistics()));
+    }
+}
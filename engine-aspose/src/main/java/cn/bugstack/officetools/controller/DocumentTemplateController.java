@@ -0,0 +1,155 @@
+package cn.bugstack.officetools.controller;
+
+import cn.bugstack.officetools.domain.dto.ApiResponse;
+import cn.bugstack.officetools.service.DocumentTemplateService;
+import cn.bugstack.officetools.util.CsvUtil;
+import cn.bugstack.officetools.util.HttpHeaderUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 模板批量生成控制器（邮件合并）
+ * 模板中的 MERGEFIELD 域和 {{字段名}} 占位符按数据行填充，结果以 ZIP 流式返回
+ * 参数校验失败时抛出 IllegalArgumentException，由全局异常处理返回 400
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@RestController
+@RequestMapping("/api/aspose/word/template")
+public class DocumentTemplateController {
+
+    private final DocumentTemplateService documentTemplateService;
+
+    @Autowired
+    public DocumentTemplateController(DocumentTemplateService documentTemplateService) {
+        this.documentTemplateService = documentTemplateService;
+    }
+
+    /**
+     * 注册模板，返回模板 ID，后续生成可直接引用而无需重复上传
+     *
+     * @param file 模板文件
+     * @return 模板 ID
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<Map<String, Object>>> registerTemplate(@RequestParam("file") MultipartFile file) throws Exception {
+        validateTemplateFile(file);
+
+        String templateId = documentTemplateService.registerTemplate(file.getBytes(), file.getOriginalFilename());
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("templateId", templateId);
+        result.put("fileName", file.getOriginalFilename());
+
+        return ResponseEntity.ok()
+                .body(new ApiResponse<>(true, "模板注册成功", result));
+    }
+
+    /**
+     * 上传模板和数据行，一次性生成
+     * 数据行二选一：rows 部分为 JSON 数组（Content-Type: application/json），或 csv 部分为带表头的 UTF-8 CSV 文件
+     *
+     * @param file          模板文件
+     * @param rows          JSON 数据行
+     * @param csv           CSV 数据文件
+     * @param targetFormat  输出格式（默认 docx）
+     * @param fileNameField 用作输出文件名的字段（可选）
+     * @return 包含所有生成文档的 ZIP
+     */
+    @PostMapping("/generate")
+    public ResponseEntity<StreamingResponseBody> generate(
+            @RequestPart("file") MultipartFile file,
+            @RequestPart(value = "rows", required = false) List<Map<String, Object>> rows,
+            @RequestPart(value = "csv", required = false) MultipartFile csv,
+            @RequestParam(value = "format", defaultValue = "docx") String targetFormat,
+            @RequestParam(value = "fileNameField", required = false) String fileNameField) throws Exception {
+
+        validateTemplateFile(file);
+        String templateId = documentTemplateService.registerTemplate(file.getBytes(), file.getOriginalFilename());
+
+        return generateZip(templateId, resolveRows(rows, csv), targetFormat, fileNameField);
+    }
+
+    /**
+     * 基于已注册的模板生成
+     *
+     * @param templateId    模板 ID
+     * @param rows          JSON 数据行
+     * @param csv           CSV 数据文件
+     * @param targetFormat  输出格式（默认 docx）
+     * @param fileNameField 用作输出文件名的字段（可选）
+     * @return 包含所有生成文档的 ZIP
+     */
+    @PostMapping("/{templateId}/generate")
+    public ResponseEntity<StreamingResponseBody> generateFromTemplate(
+            @PathVariable String templateId,
+            @RequestPart(value = "rows", required = false) List<Map<String, Object>> rows,
+            @RequestPart(value = "csv", required = false) MultipartFile csv,
+            @RequestParam(value = "format", defaultValue = "docx") String targetFormat,
+            @RequestParam(value = "fileNameField", required = false) String fileNameField) throws Exception {
+
+        return generateZip(templateId, resolveRows(rows, csv), targetFormat, fileNameField);
+    }
+
+    /**
+     * 获取模板缓存统计
+     *
+     * @return 统计信息
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getStatistics() {
+        return ResponseEntity.ok()
+                .body(new ApiResponse<>(true, "获取模板统计成功", documentTemplateService.getStatistics()));
+    }
+
+    private ResponseEntity<StreamingResponseBody> generateZip(String templateId, List<Map<String, Object>> rows,
+                                                              String targetFormat, String fileNameField) {
+        // 开始写出 ZIP 之后就无法再返回错误响应，因此先校验
+        documentTemplateService.validateGenerateRequest(templateId, rows, targetFormat);
+
+        StreamingResponseBody body = outputStream -> {
+            try {
+                documentTemplateService.generate(templateId, rows, targetFormat, fileNameField, outputStream);
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException("模板批量生成失败: " + e.getMessage(), e);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .header("Content-Disposition", HttpHeaderUtil.createContentDispositionValue("generated_documents.zip"))
+                .header("Content-Type", "application/zip")
+                .body(body);
+    }
+
+    private List<Map<String, Object>> resolveRows(List<Map<String, Object>> rows, MultipartFile csv) throws Exception {
+        if (rows != null && !rows.isEmpty()) {
+            return rows;
+        }
+        if (csv != null && !csv.isEmpty()) {
+            return CsvUtil.parseWithHeader(csv.getInputStream());
+        }
+        throw new IllegalArgumentException("请提供 rows (JSON) 或 csv 数据");
+    }
+
+    private void validateTemplateFile(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("模板文件不能为空");
+        }
+        String originalFilename = file.getOriginalFilename();
+        if (originalFilename == null ||
+                (!originalFilename.endsWith(".doc") && !originalFilename.endsWith(".docx"))) {
+            throw new IllegalArgumentException("只支持 .doc 和 .docx 格式的模板");
+        }
+    }
+}
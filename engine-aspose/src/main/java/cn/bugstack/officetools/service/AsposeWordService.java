@@ -0,0 +1,207 @@
+package cn.bugstack.officetools.service;
+
+import cn.bugstack.officetools.domain.dto.BulkReplaceResult;
+import cn.bugstack.officetools.domain.dto.ConversionOptions;
+import cn.bugstack.officetools.domain.dto.ConversionProfile;
+import cn.bugstack.officetools.domain.dto.DocumentOperation;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aspose.Words 文档处理服务接口
+ *
+ * @author bugstack
+ * @date 2026-01-13
+ */
+public interface AsposeWordService {
+
+    /**
+     * 转换 Word 文档格式
+     *
+     * @param inputStream        文档输入流
+     * @param originalFilename   原始文件名
+     * @param targetFormat       目标格式 (pdf, html, txt, docx, doc, etc.)
+     * @return 转换后的文档输出流
+     * @throws Exception 转换失败时抛出异常
+     */
+    ByteArrayOutputStream convertDocument(InputStream inputStream, String originalFilename, String targetFormat) throws Exception;
+
+    /**
+     * 按转换选项转换 Word 文档格式
+     * 指定页码范围时只保存所请求的页，并按 (内容, 格式, 页码范围) 缓存结果
+     *
+     * @param inputStream        文档输入流
+     * @param originalFilename   原始文件名
+     * @param targetFormat       目标格式
+     * @param options            转换选项（页码范围等）
+     * @return 转换后的文档输出流
+     * @throws Exception 转换失败时抛出异常
+     */
+    ByteArrayOutputStream convertDocument(InputStream inputStream, String originalFilename, String targetFormat,
+                                          ConversionOptions options) throws Exception;
+
+    /**
+     * 将文档页面渲染为图片，多页并行渲染
+     *
+     * @param inputStream        文档输入流
+     * @param originalFilename   原始文件名
+     * @param pageRange          页码范围（为空表示全部页，受最大页数限制）
+     * @param imageFormat        图片格式 (png, jpeg)
+     * @param dpi                渲染分辨率
+     * @return 页码（从 1 开始）到图片内容的有序映射
+     * @throws Exception 渲染失败时抛出异常
+     */
+    Map<Integer, byte[]> renderPageImages(InputStream inputStream, String originalFilename, String pageRange,
+                                          String imageFormat, int dpi) throws Exception;
+
+    /**
+     * 渲染文档首页缩略图，按内容摘要缓存
+     *
+     * @param inputStream        文档输入流
+     * @param originalFilename   原始文件名
+     * @param imageFormat        图片格式 (png, jpeg)
+     * @param dpi                渲染分辨率
+     * @return 缩略图内容
+     * @throws Exception 渲染失败时抛出异常
+     */
+    byte[] renderThumbnail(InputStream inputStream, String originalFilename, String imageFormat, int dpi) throws Exception;
+
+    /**
+     * 获取文档信息
+     *
+     * @param inputStream        文档输入流
+     * @param originalFilename   原始文件名
+     * @return 包含文档详细信息的 Map (页数、字数、段落数、作者等)
+     * @throws Exception 获取失败时抛出异常
+     */
+    Map<String, Object> getDocumentInfo(InputStream inputStream, String originalFilename) throws Exception;
+
+    /**
+     * 获取文档信息
+     * DOCX 优先直接读取包内的 docProps 属性，只有需要精确页数时才加载引擎并排版
+     *
+     * @param inputStream        文档输入流
+     * @param originalFilename   原始文件名
+     * @param exactPageCount     是否通过排版计算精确页数（较慢）
+     * @return 包含文档详细信息的 Map
+     * @throws Exception 获取失败时抛出异常
+     */
+    Map<String, Object> getDocumentInfo(InputStream inputStream, String originalFilename, boolean exactPageCount) throws Exception;
+
+    /**
+     * 并行获取多个文档的信息
+     *
+     * @param files          文件数组
+     * @param exactPageCount 是否通过排版计算精确页数（较慢）
+     * @return 每个文件的信息（按上传顺序），单个文件失败时包含 error 字段
+     * @throws Exception 获取失败时抛出异常
+     */
+    List<Map<String, Object>> getDocumentInfoBatch(MultipartFile[] files, boolean exactPageCount) throws Exception;
+
+    /**
+     * 合并多个 Word 文档
+     *
+     * @param files 要合并的文件数组
+     * @return 合并后的文档输出流
+     * @throws Exception 合并失败时抛出异常
+     */
+    ByteArrayOutputStream mergeDocuments(MultipartFile[] files) throws Exception;
+
+    /**
+     * 合并多个 Word 文档并直接保存为目标格式
+     * 源文档在预读内存预算内并行解析，按上传顺序依次追加
+     *
+     * @param files        要合并的文件数组
+     * @param targetFormat 目标格式 (docx, pdf, etc.)
+     * @return 合并后的文档输出流
+     * @throws Exception 合并失败时抛出异常
+     */
+    ByteArrayOutputStream mergeDocuments(MultipartFile[] files, String targetFormat) throws Exception;
+
+    /**
+     * 在文档中插入文本
+     *
+     * @param inputStream        文档输入流
+     * @param originalFilename   原始文件名
+     * @param text               要插入的文本
+     * @param position           插入位置 (start, end)
+     * @return 修改后的文档输出流
+     * @throws Exception 插入失败时抛出异常
+     */
+    ByteArrayOutputStream insertText(InputStream inputStream, String originalFilename, String text, String position) throws Exception;
+
+    /**
+     * 在文档中插入文本，按档位选择 DOCX 压缩级别
+     *
+     * @param inputStream        文档输入流
+     * @param originalFilename   原始文件名
+     * @param text               要插入的文本
+     * @param position           插入位置 (start, end)
+     * @param profile            转换档位（为空时使用默认档位）
+     * @return 修改后的文档输出流
+     * @throws Exception 插入失败时抛出异常
+     */
+    ByteArrayOutputStream insertText(InputStream inputStream, String originalFilename, String text, String position,
+                                     ConversionProfile profile) throws Exception;
+
+    /**
+     * 替换文档中的文本
+     *
+     * @param inputStream        文档输入流
+     * @param originalFilename   原始文件名
+     * @param oldText            要替换的旧文本
+     * @param newText            替换的新文本
+     * @param matchCase          是否区分大小写
+     * @return 修改后的文档输出流
+     * @throws Exception 替换失败时抛出异常
+     */
+    ByteArrayOutputStream replaceText(InputStream inputStream, String originalFilename, String oldText, String newText, boolean matchCase) throws Exception;
+
+    /**
+     * 替换文档中的文本，按档位选择 DOCX 压缩级别
+     *
+     * @param inputStream        文档输入流
+     * @param originalFilename   原始文件名
+     * @param oldText            要替换的旧文本
+     * @param newText            替换的新文本
+     * @param matchCase          是否区分大小写
+     * @param profile            转换档位（为空时使用默认档位）
+     * @return 修改后的文档输出流
+     * @throws Exception 替换失败时抛出异常
+     */
+    ByteArrayOutputStream replaceText(InputStream inputStream, String originalFilename, String oldText, String newText,
+                                      boolean matchCase, ConversionProfile profile) throws Exception;
+
+    /**
+     * 批量替换文档中的文本：一次加载、一次遍历、一次保存
+     *
+     * @param inputStream        文档输入流
+     * @param originalFilename   原始文件名
+     * @param replacements       旧文本到新文本的映射
+     * @param matchCase          是否区分大小写
+     * @param targetFormat       输出格式
+     * @return 替换后的文档及每个模式的命中次数
+     * @throws Exception 替换失败时抛出异常
+     */
+    BulkReplaceResult bulkReplaceText(InputStream inputStream, String originalFilename, Map<String, String> replacements,
+                                      boolean matchCase, String targetFormat) throws Exception;
+
+    /**
+     * 在同一份已加载的文档上依次执行操作链，只在最后保存一次
+     *
+     * @param inputStream        文档输入流
+     * @param originalFilename   原始文件名
+     * @param operations         有序的操作列表 (replace, bulkReplace, insert, watermark)
+     * @param targetFormat       最终输出格式
+     * @param options            转换选项（页码范围仅支持 PDF）
+     * @return 最终文档输出流
+     * @throws Exception 任一操作失败时抛出异常
+     */
+    ByteArrayOutputStream applyOperations(InputStream inputStream, String originalFilename,
+                                          List<DocumentOperation> operations, String targetFormat,
+                                          ConversionOptions options) throws Exception;
+}
@@ -0,0 +1,108 @@
+package cn.bugstack.officetools.service;
+
+import cn.bugstack.officetools.domain.dto.ConversionOptions;
+import cn.bugstack.officetools.domain.dto.DocumentOperation;
+import cn.bugstack.officetools.domain.dto.DocumentSessionInfo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文档会话服务接口
+ * 上传一次并解析为 Document 后缓存在服务端，后续的信息查询、编辑与导出都在缓存的文档上进行，
+ * 避免多步骤流程中重复上传和重复解析
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+public interface DocumentSessionService {
+
+    /**
+     * 创建会话：解析文档并缓存
+     *
+     * @param inputStream      文档输入流
+     * @param originalFilename 原始文件名
+     * @return 会话信息
+     * @throws Exception 解析失败时抛出异常
+     */
+    DocumentSessionInfo createSession(InputStream inputStream, String originalFilename) throws Exception;
+
+    /**
+     * 获取会话信息
+     *
+     * @param sessionId 会话 ID
+     * @return 会话信息
+     * @throws IllegalArgumentException 会话不存在或已过期时抛出
+     */
+    DocumentSessionInfo getSession(String sessionId);
+
+    /**
+     * 获取会话中文档的当前信息（反映已执行的编辑）
+     *
+     * @param sessionId 会话 ID
+     * @return 文档详细信息
+     * @throws Exception 获取失败时抛出异常
+     */
+    Map<String, Object> getDocumentInfo(String sessionId) throws Exception;
+
+    /**
+     * 在会话文档中插入文本
+     *
+     * @param sessionId 会话 ID
+     * @param text      要插入的文本
+     * @param position  插入位置 (start, end)
+     * @return 会话信息
+     * @throws Exception 插入失败时抛出异常
+     */
+    DocumentSessionInfo insertText(String sessionId, String text, String position) throws Exception;
+
+    /**
+     * 替换会话文档中的文本
+     *
+     * @param sessionId 会话 ID
+     * @param oldText   要替换的旧文本
+     * @param newText   替换的新文本
+     * @param matchCase 是否区分大小写
+     * @return 替换次数
+     * @throws Exception 替换失败时抛出异常
+     */
+    int replaceText(String sessionId, String oldText, String newText, boolean matchCase) throws Exception;
+
+    /**
+     * 在会话文档上依次执行操作链
+     *
+     * @param sessionId  会话 ID
+     * @param operations 有序的操作列表 (replace, bulkReplace, insert, watermark)
+     * @return 每个操作的结果（replace 为替换次数，其他为 1）
+     * @throws Exception 操作失败时抛出异常
+     */
+    List<Integer> applyOperations(String sessionId, List<DocumentOperation> operations) throws Exception;
+
+    /**
+     * 导出会话文档（不结束会话，可多次导出不同格式）
+     *
+     * @param sessionId    会话 ID
+     * @param targetFormat 目标格式 (docx, pdf, html, etc.)
+     * @param options      转换选项（页码范围仅支持 PDF）
+     * @return 导出的文档输出流
+     * @throws Exception 导出失败时抛出异常
+     */
+    ByteArrayOutputStream export(String sessionId, String targetFormat, ConversionOptions options) throws Exception;
+
+    /**
+     * 关闭会话并释放缓存的文档
+     *
+     * @param sessionId 会话 ID
+     * @return 会话是否存在
+     */
+    boolean closeSession(String sessionId);
+
+    /**
+     * 获取会话缓存统计
+     *
+     * @return 统计信息
+     */
+    Map<String, Object> getStatistics();
+}
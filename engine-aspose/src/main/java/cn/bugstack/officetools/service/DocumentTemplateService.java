@@ -0,0 +1,56 @@
+package cn.bugstack.officetools.service;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 模板批量生成服务接口（邮件合并）
+ * 模板只解析一次并按内容摘要缓存，每行数据在工作线程中基于模板副本填充
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+public interface DocumentTemplateService {
+
+    /**
+     * 注册模板：解析并缓存，相同内容的模板只解析一次
+     *
+     * @param content          模板内容
+     * @param originalFilename 模板文件名
+     * @return 模板 ID（内容摘要）
+     * @throws Exception 解析失败时抛出异常
+     */
+    String registerTemplate(byte[] content, String originalFilename) throws Exception;
+
+    /**
+     * 校验生成请求（在开始输出 ZIP 之前调用，以便返回明确的错误）
+     *
+     * @param templateId   模板 ID
+     * @param rows         数据行
+     * @param targetFormat 输出格式
+     * @throws IllegalArgumentException 模板不存在、数据行为空或超限、格式不支持时抛出
+     */
+    void validateGenerateRequest(String templateId, List<Map<String, Object>> rows, String targetFormat);
+
+    /**
+     * 按数据行批量生成文档，并以 ZIP 格式写入输出流
+     * 模板中的 MERGEFIELD 域与 {{字段名}} 占位符都会被替换；单行失败不影响其他行，失败信息写入 errors.csv
+     *
+     * @param templateId    模板 ID
+     * @param rows          数据行（字段名 -> 值）
+     * @param targetFormat  输出格式 (docx, pdf, etc.)
+     * @param fileNameField 用作输出文件名的字段（可选）
+     * @param outputStream  ZIP 输出流
+     * @throws Exception 生成失败时抛出异常
+     */
+    void generate(String templateId, List<Map<String, Object>> rows, String targetFormat, String fileNameField,
+                  OutputStream outputStream) throws Exception;
+
+    /**
+     * 获取模板缓存统计
+     *
+     * @return 统计信息
+     */
+    Map<String, Object> getStatistics();
+}
@@ -0,0 +1,46 @@
+package cn.bugstack.officetools.service.impl;
+
+import cn.bugstack.officetools.domain.dto.ConversionOptions;
+import cn.bugstack.officetools.service.AsposeWordService;
+import cn.bugstack.officetools.service.DocumentEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * Aspose.Words 转换引擎适配
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Component
+public class AsposeDocumentEngine implements DocumentEngine {
+
+    private static final Set<String> SUPPORTED_FORMATS = Set.of("pdf", "html", "txt", "doc", "docx", "rtf", "epub");
+
+    @Autowired
+    private AsposeWordService asposeWordService;
+
+    @Override
+    public String getName() {
+        return "aspose";
+    }
+
+    @Override
+    public boolean supports(String targetFormat, ConversionOptions options) {
+        if (targetFormat == null || !SUPPORTED_FORMATS.contains(targetFormat.toLowerCase())) {
+            return false;
+        }
+        // 页码范围仅支持 PDF 输出
+        return !options.hasPageRange() || "pdf".equalsIgnoreCase(targetFormat);
+    }
+
+    @Override
+    public ByteArrayOutputStream convert(InputStream inputStream, String originalFilename, String targetFormat,
+                                         ConversionOptions options) throws Exception {
+        return asposeWordService.convertDocument(inputStream, originalFilename, targetFormat, options);
+    }
+}
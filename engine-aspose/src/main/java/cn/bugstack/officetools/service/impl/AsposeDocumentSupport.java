@@ -0,0 +1,379 @@
+package cn.bugstack.officetools.service.impl;
+
+import cn.bugstack.officetools.domain.dto.ConversionOptions;
+import cn.bugstack.officetools.domain.dto.ConversionProfile;
+import cn.bugstack.officetools.domain.dto.DocumentFormat;
+import cn.bugstack.officetools.domain.dto.DocumentOperation;
+import cn.bugstack.officetools.util.AhoCorasickMatcher;
+import cn.bugstack.officetools.util.DocumentFormatSniffer;
+import cn.bugstack.officetools.util.PageRangeParser;
+import com.aspose.words.*;
+
+import java.awt.Color;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aspose.Words 公共操作
+ * 无状态请求（AsposeWordServiceImpl）与文档会话（DocumentSessionServiceImpl）共用的加载、保存与编辑逻辑
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+final class AsposeDocumentSupport {
+
+    /**
+     * 字体设置只构建一次：每次加载都新建会重复扫描字体目录
+     */
+    private static final FontSettings FONT_SETTINGS = createFontSettings();
+
+    private AsposeDocumentSupport() {
+    }
+
+    /**
+     * 按内容识别真实格式后加载文档
+     * 损坏、截断或不是 Word 文档的内容在加载引擎之前即抛出 IllegalArgumentException
+     */
+    static Document loadDocument(byte[] content) throws Exception {
+        return loadDocument(content, null);
+    }
+
+    /**
+     * 按内容识别真实格式后加载文档
+     *
+     * @param tempFolder 加载时使用的临时目录（大文档以磁盘换内存），为 null 时全部在内存中处理
+     */
+    static Document loadDocument(byte[] content, String tempFolder) throws Exception {
+        DocumentFormat format = DocumentFormatSniffer.detect(content);
+        LoadOptions loadOptions = createLoadOptions(format);
+        if (tempFolder != null) {
+            loadOptions.setTempFolder(tempFolder);
+        }
+        return new Document(new ByteArrayInputStream(content), loadOptions);
+    }
+
+    /**
+     * 读取输入流后按内容识别格式加载文档
+     */
+    static Document loadDocument(InputStream inputStream) throws Exception {
+        return loadDocument(inputStream.readAllBytes());
+    }
+
+    /**
+     * 创建加载选项
+     *
+     * @param format 嗅探得到的文档格式
+     */
+    static LoadOptions createLoadOptions(DocumentFormat format) {
+        // 创建加载选项以优化内存使用
+        LoadOptions loadOptions = new LoadOptions();
+        loadOptions.setLoadFormat(toLoadFormat(format));
+
+        // 配置字体设置，避免加载所有系统字体（节省内存）
+        loadOptions.setFontSettings(FONT_SETTINGS);
+
+        return loadOptions;
+    }
+
+    private static FontSettings createFontSettings() {
+        FontSettings fontSettings = new FontSettings();
+        // 只设置必要的字体文件夹
+        fontSettings.setFontsFolder("/usr/share/fonts/noto", false);
+        return fontSettings;
+    }
+
+    private static int toLoadFormat(DocumentFormat format) {
+        switch (format) {
+            case DOC:
+                return LoadFormat.DOC;
+            case DOCM:
+                return LoadFormat.DOCM;
+            case DOTX:
+                return LoadFormat.DOTX;
+            case DOTM:
+                return LoadFormat.DOTM;
+            case FLAT_OPC:
+                return LoadFormat.FLAT_OPC;
+            case RTF:
+                return LoadFormat.RTF;
+            case ODT:
+                return LoadFormat.ODT;
+            case HTML:
+                return LoadFormat.HTML;
+            case DOCX:
+            default:
+                return LoadFormat.DOCX;
+        }
+    }
+
+    /**
+     * 目标格式转换为 Aspose 保存格式
+     */
+    static int resolveSaveFormat(String targetFormat) {
+        switch (targetFormat.toLowerCase()) {
+            case "pdf":
+                return SaveFormat.PDF;
+            case "html":
+                return SaveFormat.HTML;
+            case "txt":
+                return SaveFormat.TEXT;
+            case "doc":
+                return SaveFormat.DOC;
+            case "docx":
+                return SaveFormat.DOCX;
+            case "rtf":
+                return SaveFormat.RTF;
+            case "epub":
+                return SaveFormat.EPUB;
+            default:
+                throw new IllegalArgumentException("不支持的目标格式: " + targetFormat);
+        }
+    }
+
+    /**
+     * 页码范围表达式转换为 Aspose 页集合
+     */
+    static PageSet buildPageSet(String pageRange, int pageCount) {
+        List<PageRange> pageRanges = new ArrayList<>();
+        for (int[] range : PageRangeParser.parse(pageRange)) {
+            if (range[0] >= pageCount) {
+                continue;
+            }
+            pageRanges.add(new PageRange(range[0], Math.min(range[1], pageCount - 1)));
+        }
+
+        if (pageRanges.isEmpty()) {
+            throw new IllegalArgumentException("页码范围超出文档页数: " + pageRange + ", 总页数: " + pageCount);
+        }
+        return new PageSet(pageRanges.toArray(new PageRange[0]));
+    }
+
+    /**
+     * 从已加载的文档收集文档信息（页数需要排版布局）
+     */
+    static Map<String, Object> collectDocumentInfo(Document doc, String originalFilename) throws Exception {
+        Map<String, Object> info = new HashMap<>();
+
+        // 基本信息
+        info.put("fileName", originalFilename);
+        info.put("pageCount", doc.getPageCount());
+        info.put("wordCount", doc.getBuiltInDocumentProperties().getWords());
+        info.put("characterCount", doc.getBuiltInDocumentProperties().getCharacters());
+        info.put("paragraphCount", doc.getChildNodes(NodeType.PARAGRAPH, true).getCount());
+        info.put("sectionCount", doc.getSections().getCount());
+
+        // 文档属性
+        info.put("title", doc.getBuiltInDocumentProperties().getTitle());
+        info.put("author", doc.getBuiltInDocumentProperties().getAuthor());
+        info.put("subject", doc.getBuiltInDocumentProperties().getSubject());
+        info.put("keywords", doc.getBuiltInDocumentProperties().getKeywords());
+        info.put("comments", doc.getBuiltInDocumentProperties().getComments());
+        info.put("createdTime", doc.getBuiltInDocumentProperties().getCreatedTime());
+        info.put("lastSavedTime", doc.getBuiltInDocumentProperties().getLastSavedTime());
+        info.put("lastPrinted", doc.getBuiltInDocumentProperties().getLastPrinted());
+        info.put("revisionNumber", doc.getBuiltInDocumentProperties().getRevisionNumber());
+
+        // 统计信息
+        info.put("lineCount", doc.getBuiltInDocumentProperties().getLines());
+        info.put("pageCount", doc.getBuiltInDocumentProperties().getPages());
+        info.put("paragraphCount", doc.getBuiltInDocumentProperties().getParagraphs());
+        info.put("tableCount", doc.getChildNodes(NodeType.TABLE, true).getCount());
+        info.put("imageCount", doc.getChildNodes(NodeType.SHAPE, true).getCount());
+
+        return info;
+    }
+
+    /**
+     * 在文档开头或末尾插入文本
+     */
+    static void insertText(Document doc, String text, String position) throws Exception {
+        DocumentBuilder builder = new DocumentBuilder(doc);
+
+        if ("start".equalsIgnoreCase(position)) {
+            // 移动到文档开头
+            builder.moveToDocumentStart();
+            builder.writeln(text);
+        } else {
+            // 默认添加到文档末尾
+            builder.moveToDocumentEnd();
+            if (doc.getLastSection().getBody().getLastParagraph() != null) {
+                // 在最后一节后添加新段落
+                builder.insertParagraph();
+            }
+            builder.write(text);
+        }
+    }
+
+    /**
+     * 替换文档中的文本
+     *
+     * @return 替换次数
+     */
+    static int replaceText(Document doc, String oldText, String newText, boolean matchCase) throws Exception {
+        FindReplaceOptions options = new FindReplaceOptions();
+        options.setMatchCase(matchCase);
+        options.setFindWholeWordsOnly(false);
+
+        return doc.getRange().replace(oldText, newText, options);
+    }
+
+    /**
+     * 批量替换：每个段落只扫描一次，用 Aho-Corasick 同时匹配所有模式，支持跨 Run 的匹配
+     * 替换文本沿用匹配起点所在 Run 的格式
+     *
+     * @param replacements 旧文本到新文本的映射
+     * @return 每个模式的命中次数（按传入顺序）
+     */
+    static Map<String, Integer> bulkReplace(Document doc, Map<String, String> replacements, boolean matchCase) {
+        List<String> patterns = new ArrayList<>(replacements.keySet());
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(patterns, !matchCase);
+        int[] hits = new int[patterns.size()];
+
+        NodeCollection paragraphs = doc.getChildNodes(NodeType.PARAGRAPH, true);
+        for (int p = 0; p < paragraphs.getCount(); p++) {
+            Paragraph paragraph = (Paragraph) paragraphs.get(p);
+
+            // 只取直接属于本段落的 Run（文本框等嵌套段落单独处理）
+            List<Run> runs = new ArrayList<>();
+            NodeCollection runNodes = paragraph.getChildNodes(NodeType.RUN, true);
+            for (int r = 0; r < runNodes.getCount(); r++) {
+                Run run = (Run) runNodes.get(r);
+                if (run.getParentParagraph() == paragraph) {
+                    runs.add(run);
+                }
+            }
+            if (runs.isEmpty()) {
+                continue;
+            }
+
+            StringBuilder text = new StringBuilder();
+            int[] runStarts = new int[runs.size()];
+            for (int i = 0; i < runs.size(); i++) {
+                runStarts[i] = text.length();
+                text.append(runs.get(i).getText());
+            }
+
+            List<AhoCorasickMatcher.Match> matches = matcher.findAll(text);
+            // 从后往前替换，前面匹配的偏移不受影响
+            for (int m = matches.size() - 1; m >= 0; m--) {
+                AhoCorasickMatcher.Match match = matches.get(m);
+                String replacement = replacements.get(patterns.get(match.getPatternIndex()));
+                replaceAcrossRuns(runs, runStarts, match.getStart(), match.getEnd(),
+                        replacement == null ? "" : replacement);
+                hits[match.getPatternIndex()]++;
+            }
+        }
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int i = 0; i < patterns.size(); i++) {
+            result.put(patterns.get(i), hits[i]);
+        }
+        return result;
+    }
+
+    /**
+     * 将段落文本区间 [start, end) 替换为新文本：写入起点所在 Run，清除后续 Run 中被覆盖的部分
+     */
+    private static void replaceAcrossRuns(List<Run> runs, int[] runStarts, int start, int end, String replacement) {
+        for (int i = 0; i < runs.size(); i++) {
+            Run run = runs.get(i);
+            String runText = run.getText();
+            int runStart = runStarts[i];
+            int runEnd = runStart + runText.length();
+            if (runEnd <= start) {
+                continue;
+            }
+            if (runStart >= end) {
+                break;
+            }
+
+            int localStart = Math.max(start - runStart, 0);
+            int localEnd = Math.min(end - runStart, runText.length());
+            String inserted = runStart <= start ? replacement : "";
+            run.setText(runText.substring(0, localStart) + inserted + runText.substring(localEnd));
+        }
+    }
+
+    /**
+     * 添加文本水印（样式与 Spire 水印接口保持一致）
+     */
+    static void addTextWatermark(Document doc, String text) throws Exception {
+        TextWatermarkOptions watermarkOptions = new TextWatermarkOptions();
+        watermarkOptions.setFontSize(40);
+        watermarkOptions.setColor(new Color(128, 128, 128));
+        watermarkOptions.setLayout(WatermarkLayout.HORIZONTAL);
+        watermarkOptions.setSemitrasparent(true);
+
+        doc.getWatermark().setText(text, watermarkOptions);
+    }
+
+    /**
+     * 在已加载的文档上执行一个编辑操作
+     *
+     * @return 操作结果（replace / bulkReplace 返回替换次数，其他操作返回 1）
+     */
+    static int applyOperation(Document doc, DocumentOperation operation) throws Exception {
+        if (operation == null || operation.getType() == null) {
+            throw new IllegalArgumentException("操作类型不能为空");
+        }
+
+        switch (operation.getType().toLowerCase()) {
+            case "replace":
+                if (operation.getOldText() == null || operation.getOldText().isEmpty()) {
+                    throw new IllegalArgumentException("replace 操作缺少 oldText");
+                }
+                return replaceText(doc, operation.getOldText(),
+                        operation.getNewText() == null ? "" : operation.getNewText(), operation.isMatchCase());
+            case "insert":
+                if (operation.getText() == null) {
+                    throw new IllegalArgumentException("insert 操作缺少 text");
+                }
+                insertText(doc, operation.getText(), operation.getPosition());
+                return 1;
+            case "bulkreplace":
+                if (operation.getReplacements() == null || operation.getReplacements().isEmpty()) {
+                    throw new IllegalArgumentException("bulkReplace 操作缺少 replacements");
+                }
+                return bulkReplace(doc, operation.getReplacements(), operation.isMatchCase())
+                        .values().stream().mapToInt(Integer::intValue).sum();
+            case "watermark":
+                if (operation.getText() == null || operation.getText().isEmpty()) {
+                    throw new IllegalArgumentException("watermark 操作缺少 text");
+                }
+                addTextWatermark(doc, operation.getText());
+                return 1;
+            default:
+                throw new IllegalArgumentException("不支持的操作类型: " + operation.getType());
+        }
+    }
+
+    /**
+     * 按目标格式保存文档，PDF 与 DOCX 使用所选档位的保存选项，PDF 支持页码范围
+     */
+    static ByteArrayOutputStream save(Document doc, String targetFormat, ConversionOptions options,
+                                      AsposeProfileOptions profileOptions) throws Exception {
+        int saveFormat = resolveSaveFormat(targetFormat);
+        boolean hasPageRange = options != null && options.hasPageRange();
+        if (hasPageRange && saveFormat != SaveFormat.PDF) {
+            throw new IllegalArgumentException("页码范围仅支持 PDF 输出");
+        }
+
+        ConversionProfile profile = options != null ? options.getProfile() : null;
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        if (saveFormat == SaveFormat.PDF) {
+            PageSet pageSet = hasPageRange ? buildPageSet(options.getPageRange(), doc.getPageCount()) : null;
+            doc.save(outputStream, profileOptions.asposePdf(profile, 0, pageSet));
+        } else if (saveFormat == SaveFormat.DOCX) {
+            doc.save(outputStream, profileOptions.asposeDocx(profile));
+        } else {
+            doc.save(outputStream, saveFormat);
+        }
+        return outputStream;
+    }
+}
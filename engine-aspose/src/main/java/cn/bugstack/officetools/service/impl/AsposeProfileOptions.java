@@ -0,0 +1,129 @@
+package cn.bugstack.officetools.service.impl;
+
+import cn.bugstack.officetools.domain.dto.ConversionProfile;
+import com.aspose.words.CompressionLevel;
+import com.aspose.words.OoxmlSaveOptions;
+import com.aspose.words.PageSet;
+import com.aspose.words.PdfFontEmbeddingMode;
+import com.aspose.words.PdfImageCompression;
+import com.aspose.words.PdfSaveOptions;
+import com.aspose.words.SaveFormat;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 各转换档位的 Aspose 保存选项
+ * 启动时按档位构建一次并复用；需要按请求修改的（页码范围）复制后再修改，共享实例不会被改动
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Component
+public class AsposeProfileOptions {
+
+    @Autowired
+    private ConversionProfileOptions conversionProfileOptions;
+
+    private final Map<ConversionProfile, PdfSaveOptions> asposePdfOptions = new EnumMap<>(ConversionProfile.class);
+
+    /**
+     * 大文档使用的 PDF 选项（开启内存优化，布局中间数据写入临时目录）
+     */
+    private final Map<ConversionProfile, PdfSaveOptions> asposeLargePdfOptions = new EnumMap<>(ConversionProfile.class);
+
+    private final Map<ConversionProfile, OoxmlSaveOptions> asposeDocxOptions = new EnumMap<>(ConversionProfile.class);
+
+    @PostConstruct
+    public void init() {
+        for (ConversionProfile profile : ConversionProfile.values()) {
+            asposePdfOptions.put(profile, createPdfSaveOptions(profile, false));
+            asposeLargePdfOptions.put(profile, createPdfSaveOptions(profile, true));
+            asposeDocxOptions.put(profile, createDocxSaveOptions(profile));
+        }
+    }
+
+    /**
+     * Aspose PDF 保存选项
+     *
+     * @param profile     档位
+     * @param contentSize 输入大小（字节），未知时传 0
+     * @param pageSet     只保存的页，为 null 时保存全部页（返回共享实例，调用方不得修改）
+     */
+    public PdfSaveOptions asposePdf(ConversionProfile profile, long contentSize, PageSet pageSet) {
+        Map<ConversionProfile, PdfSaveOptions> options = conversionProfileOptions.isLargeDocument(contentSize)
+                ? asposeLargePdfOptions : asposePdfOptions;
+        PdfSaveOptions shared = options.get(conversionProfileOptions.resolve(profile));
+        if (pageSet == null) {
+            return shared;
+        }
+        PdfSaveOptions pdfOptions = (PdfSaveOptions) shared.deepClone();
+        pdfOptions.setPageSet(pageSet);
+        return pdfOptions;
+    }
+
+    /**
+     * Aspose DOCX 保存选项（共享实例，调用方不得修改）
+     */
+    public OoxmlSaveOptions asposeDocx(ConversionProfile profile) {
+        return asposeDocxOptions.get(conversionProfileOptions.resolve(profile));
+    }
+
+    private PdfSaveOptions createPdfSaveOptions(ConversionProfile profile, boolean largeDocument) {
+        PdfSaveOptions pdfOptions = new PdfSaveOptions();
+        switch (profile) {
+            case FAST:
+                // 标准字体不嵌入，其余字体只嵌入用到的字形
+                pdfOptions.setFontEmbeddingMode(PdfFontEmbeddingMode.EMBED_NONSTANDARD);
+                pdfOptions.setEmbedFullFonts(false);
+                pdfOptions.setUseCoreFonts(true);
+                // 预览不需要原始分辨率的图片
+                pdfOptions.setImageCompression(PdfImageCompression.JPEG);
+                pdfOptions.setJpegQuality(conversionProfileOptions.getFastJpegQuality());
+                pdfOptions.getDownsampleOptions().setDownsampleImages(true);
+                pdfOptions.getDownsampleOptions().setResolution(conversionProfileOptions.getFastImageDpi());
+                pdfOptions.setOptimizeOutput(true);
+                break;
+            case BALANCED:
+                // 嵌入全部字体的子集：外观与归档一致，中文字体从数 MB 降到只含用到的字形
+                pdfOptions.setFontEmbeddingMode(PdfFontEmbeddingMode.EMBED_ALL);
+                pdfOptions.setEmbedFullFonts(false);
+                pdfOptions.setPreserveFormFields(true);
+                pdfOptions.setOptimizeOutput(true);
+                break;
+            case ARCHIVAL:
+            default:
+                // 嵌入完整字体（包括未使用的字形）以最大程度保留字体
+                pdfOptions.setFontEmbeddingMode(PdfFontEmbeddingMode.EMBED_ALL);
+                pdfOptions.setEmbedFullFonts(true);
+                pdfOptions.setPreserveFormFields(true);
+                break;
+        }
+
+        if (largeDocument) {
+            // 以速度换内存：布局中间数据写入临时目录，避免大文档占满堆
+            pdfOptions.setMemoryOptimization(true);
+            pdfOptions.setTempFolder(conversionProfileOptions.getTempFolder());
+        }
+        return pdfOptions;
+    }
+
+    private OoxmlSaveOptions createDocxSaveOptions(ConversionProfile profile) {
+        OoxmlSaveOptions docxOptions = new OoxmlSaveOptions(SaveFormat.DOCX);
+        switch (profile) {
+            case FAST:
+                docxOptions.setCompressionLevel(CompressionLevel.SUPER_FAST);
+                break;
+            case BALANCED:
+            case ARCHIVAL:
+            default:
+                // 归档是默认档位，保持原有的标准压缩，避免所有编辑接口默认变慢
+                docxOptions.setCompressionLevel(CompressionLevel.NORMAL);
+                break;
+        }
+        return docxOptions;
+    }
+}
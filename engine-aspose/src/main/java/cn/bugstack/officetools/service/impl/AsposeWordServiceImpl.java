@@ -0,0 +1,879 @@
+package cn.bugstack.officetools.service.impl;
+
+import cn.bugstack.officetools.domain.dto.BulkReplaceResult;
+import cn.bugstack.officetools.domain.dto.ConversionOptions;
+import cn.bugstack.officetools.domain.dto.ConversionProfile;
+import cn.bugstack.officetools.domain.dto.DocumentOperation;
+import cn.bugstack.officetools.jfr.ConversionStageEvent;
+import cn.bugstack.officetools.service.AsposeWordService;
+import cn.bugstack.officetools.util.DigestUtil;
+import cn.bugstack.officetools.util.HeapBudget;
+import cn.bugstack.officetools.util.OoxmlMetadataReader;
+import cn.bugstack.officetools.util.PageRangeParser;
+import cn.bugstack.officetools.util.PdfMergeUtil;
+import com.aspose.words.*;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Aspose.Words 文档处理服务实现类
+ *
+ * @author bugstack
+ * @date 2026-01-13
+ */
+@Slf4j
+@Service
+public class AsposeWordServiceImpl implements AsposeWordService {
+
+    static {
+        // 设置 Aspose.Words 许可证（如果有）
+        // License license = new License();
+        // license.setLicense("Aspose.Words.lic");
+    }
+
+    /**
+     * 页眉页脚类型（首页、奇数页、偶数页）
+     */
+    private static final int[] HEADER_FOOTER_TYPES = {
+            HeaderFooterType.HEADER_FIRST, HeaderFooterType.HEADER_PRIMARY, HeaderFooterType.HEADER_EVEN,
+            HeaderFooterType.FOOTER_FIRST, HeaderFooterType.FOOTER_PRIMARY, HeaderFooterType.FOOTER_EVEN};
+
+    @Autowired
+    @Qualifier("documentWorkerExecutor")
+    private ThreadPoolTaskExecutor documentWorkerExecutor;
+
+    @Autowired
+    private ConversionProfileOptions conversionProfileOptions;
+
+    @Autowired
+    private AsposeProfileOptions asposeProfileOptions;
+
+    @Value("${conversion.section-parallel.min-sections:2}")
+    private int sectionParallelMinSections;
+
+    @Value("${conversion.info.batch-max-count:100}")
+    private int infoBatchMaxCount;
+
+    @Value("${conversion.operations.max-count:50}")
+    private int operationsMaxCount;
+
+    @Value("${conversion.replace.bulk-max-patterns:1000}")
+    private int bulkReplaceMaxPatterns;
+
+    @Value("${conversion.merge.read-ahead-mb:0}")
+    private long configuredMergeReadAheadMb;
+
+    @Value("${conversion.merge.read-ahead-percent:15}")
+    private int mergeReadAheadPercent;
+
+    private long mergeReadAheadMb;
+
+    @Value("${conversion.merge.memory-factor:10}")
+    private int mergeMemoryFactor;
+
+    @Value("${conversion.render.max-pages:50}")
+    private int renderMaxPages;
+
+    @Value("${conversion.render.max-dpi:300}")
+    private int renderMaxDpi;
+
+    @Value("${conversion.render.thumbnail-cache.max-size-mb:0}")
+    private long configuredThumbnailCacheMaxSizeMb;
+
+    @Value("${conversion.render.thumbnail-cache.max-size-percent:5}")
+    private int thumbnailCacheMaxSizePercent;
+
+    private long thumbnailCacheMaxSizeMb;
+
+    @Value("${conversion.page-range.cache.max-size-mb:0}")
+    private long configuredPageRangeCacheMaxSizeMb;
+
+    @Value("${conversion.page-range.cache.max-size-percent:10}")
+    private int pageRangeCacheMaxSizePercent;
+
+    private long pageRangeCacheMaxSizeMb;
+
+    @Value("${conversion.page-range.cache.expire-minutes:30}")
+    private long pageRangeCacheExpireMinutes;
+
+    /**
+     * 页码范围转换结果缓存（按字节数限制容量）
+     */
+    private Cache<String, byte[]> pageRangeCache;
+
+    /**
+     * 首页缩略图缓存（按内容摘要，按字节数限制容量）
+     */
+    private Cache<String, byte[]> thumbnailCache;
+
+    @PostConstruct
+    public void init() {
+        // 未显式配置时各项预算按最大堆的百分比计算，与模板、会话缓存合计约为堆的 55%
+        mergeReadAheadMb = HeapBudget.resolveMb(configuredMergeReadAheadMb, mergeReadAheadPercent);
+        thumbnailCacheMaxSizeMb = HeapBudget.resolveMb(configuredThumbnailCacheMaxSizeMb, thumbnailCacheMaxSizePercent);
+        pageRangeCacheMaxSizeMb = HeapBudget.resolveMb(configuredPageRangeCacheMaxSizeMb, pageRangeCacheMaxSizePercent);
+        log.info("合并预读内存预算: {}MB", mergeReadAheadMb);
+
+        pageRangeCache = Caffeine.newBuilder()
+                .maximumWeight(pageRangeCacheMaxSizeMb * 1024 * 1024)
+                .weigher((String key, byte[] value) -> value.length)
+                .expireAfterWrite(Duration.ofMinutes(pageRangeCacheExpireMinutes))
+                .build();
+        log.info("页码范围缓存初始化 - 最大容量: {}MB, 过期时间: {} 分钟",
+                pageRangeCacheMaxSizeMb, pageRangeCacheExpireMinutes);
+
+        thumbnailCache = Caffeine.newBuilder()
+                .maximumWeight(thumbnailCacheMaxSizeMb * 1024 * 1024)
+                .weigher((String key, byte[] value) -> value.length)
+                .build();
+        log.info("缩略图缓存初始化 - 最大容量: {}MB", thumbnailCacheMaxSizeMb);
+    }
+
+    @Override
+    public ByteArrayOutputStream convertDocument(InputStream inputStream, String originalFilename, String targetFormat) throws Exception {
+        return convertDocument(inputStream, originalFilename, targetFormat, ConversionOptions.defaults());
+    }
+
+    @Override
+    public ByteArrayOutputStream convertDocument(InputStream inputStream, String originalFilename, String targetFormat,
+                                                 ConversionOptions options) throws Exception {
+        if (options == null || !options.hasPageRange()) {
+            return doConvert(inputStream.readAllBytes(), originalFilename, targetFormat, options);
+        }
+
+        // 页码范围转换结果按 (内容摘要, 格式, 选项) 缓存，预览场景会反复请求前几页
+        byte[] content = inputStream.readAllBytes();
+        String cacheKey = DigestUtil.sha256Hex(content) + "|" + targetFormat.toLowerCase() + "|" + options.cacheKey();
+
+        byte[] cached = pageRangeCache.getIfPresent(cacheKey);
+        if (cached != null) {
+            log.info("【性能监控-Aspose】页码范围缓存命中, 文件名: {}, 页码范围: {}", originalFilename, options.getPageRange());
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(cached.length);
+            outputStream.write(cached);
+            return outputStream;
+        }
+
+        ByteArrayOutputStream outputStream = doConvert(content, originalFilename, targetFormat, options);
+        pageRangeCache.put(cacheKey, outputStream.toByteArray());
+        return outputStream;
+    }
+
+    /**
+     * 执行转换
+     */
+    private ByteArrayOutputStream doConvert(byte[] content, String originalFilename, String targetFormat,
+                                            ConversionOptions options) throws Exception {
+        long totalStart = System.currentTimeMillis();
+
+        // 确定保存格式（先于加载校验，避免无效请求浪费加载时间）
+        int saveFormat = AsposeDocumentSupport.resolveSaveFormat(targetFormat);
+        boolean hasPageRange = options != null && options.hasPageRange();
+        if (hasPageRange && saveFormat != SaveFormat.PDF) {
+            throw new IllegalArgumentException("页码范围仅支持 PDF 输出");
+        }
+
+        // 加载文档 - 使用优化选项减少内存占用，大文档加载时使用临时目录
+        long loadStart = System.currentTimeMillis();
+        ConversionProfile profile = conversionProfileOptions.resolve(options);
+        boolean largeDocument = conversionProfileOptions.isLargeDocument(content.length);
+        ConversionStageEvent loadEvent = stageEvent("load", originalFilename, targetFormat, content.length);
+        Document doc;
+        try {
+            doc = AsposeDocumentSupport.loadDocument(content, conversionProfileOptions.getLoadTempFolder(content.length));
+            loadEvent.setSuccess(true);
+        } finally {
+            loadEvent.commit();
+        }
+
+        // 按节并行转换：在触发整篇布局之前尝试，节之间存在依赖时回退到串行
+        if (saveFormat == SaveFormat.PDF && !hasPageRange && options != null && options.isSectionParallel()) {
+            ByteArrayOutputStream parallelOutput = convertSectionsInParallel(doc, originalFilename, profile);
+            if (parallelOutput != null) {
+                log.info("【性能监控-Aspose】按节并行转换完成 - 文件名: {}, 输出大小: {} bytes, 总耗时: {}ms",
+                        originalFilename, parallelOutput.size(), System.currentTimeMillis() - totalStart);
+                return parallelOutput;
+            }
+        }
+
+        long loadTime = System.currentTimeMillis() - loadStart;
+        ConversionStageEvent layoutEvent = stageEvent("layout", originalFilename, targetFormat, content.length);
+        int pageCount;
+        try {
+            pageCount = doc.getPageCount();
+            layoutEvent.setPageCount(pageCount);
+            layoutEvent.setSuccess(true);
+        } finally {
+            layoutEvent.commit();
+        }
+        log.info("【性能监控-Aspose】文档加载耗时: {}ms, 文件名: {}, 页数: {}, 档位: {}, 大文档内存优化: {}",
+                loadTime, originalFilename, pageCount, profile, largeDocument ? "开启" : "关闭");
+
+        // 保存到输出流
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        long saveStart = System.currentTimeMillis();
+        ConversionStageEvent saveEvent = stageEvent("save", originalFilename, targetFormat, content.length);
+        saveEvent.setPageCount(pageCount);
+
+        try {
+            // 对于 PDF 格式，使用所选档位的保存选项（只保存请求的页）
+            if (saveFormat == SaveFormat.PDF) {
+                PageSet pageSet = hasPageRange ? AsposeDocumentSupport.buildPageSet(options.getPageRange(), pageCount) : null;
+                PdfSaveOptions pdfOptions = asposeProfileOptions.asposePdf(profile, content.length, pageSet);
+                doc.save(outputStream, pdfOptions);
+
+                log.info("【性能监控-Aspose】PDF 保存选项已应用 - 档位: {}, 字体嵌入: {}, 完整字体: {}, 页码范围: {}",
+                        profile, pdfOptions.getFontEmbeddingMode(), pdfOptions.getEmbedFullFonts(),
+                        hasPageRange ? options.getPageRange() : "全部");
+            } else if (saveFormat == SaveFormat.DOCX) {
+                doc.save(outputStream, asposeProfileOptions.asposeDocx(profile));
+            } else {
+                // 其他格式直接保存
+                doc.save(outputStream, saveFormat);
+            }
+            saveEvent.setOutputSize(outputStream.size());
+            saveEvent.setSuccess(true);
+        } finally {
+            saveEvent.commit();
+        }
+
+        long saveTime = System.currentTimeMillis() - saveStart;
+
+        long totalTime = System.currentTimeMillis() - totalStart;
+        log.info("【性能监控-Aspose】文档保存耗时: {}ms, 目标格式: {}, 输出大小: {} bytes, 总耗时: {}ms",
+                saveTime, targetFormat, outputStream.size(), totalTime);
+
+        return outputStream;
+    }
+
+    /**
+     * 按节拆分文档并行转换为 PDF，再按顺序拼接
+     *
+     * @return 拼接后的 PDF；节之间存在依赖（连续页码、交叉引用等）或无法拆分时返回 null
+     */
+    private ByteArrayOutputStream convertSectionsInParallel(Document doc, String originalFilename,
+                                                           ConversionProfile profile) throws Exception {
+        long planStart = System.currentTimeMillis();
+        List<List<Integer>> groups = planSectionGroups(doc, documentWorkerExecutor.getMaxPoolSize());
+        if (groups == null) {
+            log.info("【性能监控-Aspose】文档节之间存在依赖或节数不足，回退串行转换, 文件名: {}", originalFilename);
+            return null;
+        }
+
+        // 子文档在调用线程中依次创建（Document 非线程安全），最后一组直接裁剪原文档以节省一份副本
+        List<CompletableFuture<byte[]>> futures = new ArrayList<>();
+        for (int i = 0; i < groups.size(); i++) {
+            Document part = i == groups.size() - 1 ? doc : doc.deepClone();
+            retainSections(part, groups.get(i));
+            futures.add(CompletableFuture.supplyAsync(() -> savePdfPart(part, originalFilename, profile),
+                    documentWorkerExecutor));
+        }
+        log.info("【性能监控-Aspose】按节拆分完成 - 文件名: {}, 分组: {}, 拆分耗时: {}ms",
+                originalFilename, groups, System.currentTimeMillis() - planStart);
+
+        List<byte[]> parts = new ArrayList<>();
+        for (CompletableFuture<byte[]> future : futures) {
+            parts.add(joinUnwrapped(future));
+        }
+
+        long partsSize = parts.stream().mapToLong(part -> part.length).sum();
+        ConversionStageEvent mergeEvent = stageEvent("merge", originalFilename, "pdf", partsSize);
+        byte[] merged;
+        try {
+            merged = PdfMergeUtil.merge(parts);
+            mergeEvent.setOutputSize(merged.length);
+            mergeEvent.setSuccess(true);
+        } finally {
+            mergeEvent.commit();
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(merged.length);
+        outputStream.write(merged);
+        return outputStream;
+    }
+
+    /**
+     * 规划可独立转换的节分组
+     *
+     * @param doc      文档
+     * @param maxGroup 最大分组数
+     * @return 每组包含的节下标（连续）；不可拆分时返回 null
+     */
+    private List<List<Integer>> planSectionGroups(Document doc, int maxGroup) {
+        int sectionCount = doc.getSections().getCount();
+        if (sectionCount < sectionParallelMinSections || maxGroup < 2) {
+            return null;
+        }
+
+        // 跨节依赖：总页数、目录、交叉引用在拆分后会得到错误结果
+        boolean hasPageField = false;
+        for (Field field : doc.getRange().getFields()) {
+            switch (field.getType()) {
+                case FieldType.FIELD_NUM_PAGES:
+                case FieldType.FIELD_TOC:
+                case FieldType.FIELD_REF:
+                case FieldType.FIELD_PAGE_REF:
+                case FieldType.FIELD_NOTE_REF:
+                    return null;
+                case FieldType.FIELD_PAGE:
+                    hasPageField = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        // 脚注/尾注编号在拆分后会各自从 1 开始
+        if (doc.getChildNodes(NodeType.FOOTNOTE, true).getCount() > 0) {
+            return null;
+        }
+
+        // 在允许断开的节边界切出最小片段：必须另起新页，且有页码时该节需重新编号
+        List<List<Integer>> segments = new ArrayList<>();
+        List<Integer> current = new ArrayList<>();
+        for (int i = 0; i < sectionCount; i++) {
+            PageSetup pageSetup = doc.getSections().get(i).getPageSetup();
+            boolean canBreak = i > 0
+                    && pageSetup.getSectionStart() == SectionStart.NEW_PAGE
+                    && (!hasPageField || pageSetup.getRestartPageNumbering());
+            if (canBreak) {
+                segments.add(current);
+                current = new ArrayList<>();
+            }
+            current.add(i);
+        }
+        segments.add(current);
+
+        if (segments.size() < 2) {
+            return null;
+        }
+
+        // 按段落数把相邻片段合并为不超过 maxGroup 个大致均衡的分组
+        int[] weights = new int[segments.size()];
+        int totalWeight = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            for (Integer sectionIndex : segments.get(i)) {
+                weights[i] += doc.getSections().get(sectionIndex).getChildNodes(NodeType.PARAGRAPH, true).getCount();
+            }
+            totalWeight += weights[i];
+        }
+
+        int groupCount = Math.min(maxGroup, segments.size());
+        double target = (double) totalWeight / groupCount;
+        List<List<Integer>> groups = new ArrayList<>();
+        List<Integer> group = new ArrayList<>();
+        int groupWeight = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            group.addAll(segments.get(i));
+            groupWeight += weights[i];
+            int remainingSegments = segments.size() - i - 1;
+            int remainingGroups = groupCount - groups.size() - 1;
+            if (remainingGroups > 0 && (groupWeight >= target || remainingSegments == remainingGroups)) {
+                groups.add(group);
+                group = new ArrayList<>();
+                groupWeight = 0;
+            }
+        }
+        if (!group.isEmpty()) {
+            groups.add(group);
+        }
+
+        return groups.size() < 2 ? null : groups;
+    }
+
+    /**
+     * 只保留指定下标的节
+     * 首个保留节"链接到前一节"的页眉页脚会随前面的节一起被删除，删除前先复制为该节自己的页眉页脚
+     */
+    private void retainSections(Document doc, List<Integer> sectionIndexes) {
+        int first = sectionIndexes.get(0);
+        if (first > 0) {
+            Section firstSection = doc.getSections().get(first);
+            HeaderFooterCollection headersFooters = firstSection.getHeadersFooters();
+            for (int type : HEADER_FOOTER_TYPES) {
+                if (headersFooters.getByHeaderFooterType(type) != null) {
+                    continue;
+                }
+                // 沿链接向前找到实际提供该类页眉页脚的节
+                for (int i = first - 1; i >= 0; i--) {
+                    HeaderFooter inherited = doc.getSections().get(i).getHeadersFooters().getByHeaderFooterType(type);
+                    if (inherited != null) {
+                        headersFooters.add(inherited.deepClone(true));
+                        break;
+                    }
+                }
+            }
+        }
+
+        for (int i = doc.getSections().getCount() - 1; i >= 0; i--) {
+            if (!sectionIndexes.contains(i)) {
+                doc.getSections().removeAt(i);
+            }
+        }
+    }
+
+    /**
+     * 保存单个子文档为 PDF（在工作线程中执行）
+     */
+    private byte[] savePdfPart(Document part, String originalFilename, ConversionProfile profile) {
+        ConversionStageEvent event = stageEvent("section", originalFilename, "pdf", 0);
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            part.save(outputStream, asposeProfileOptions.asposePdf(profile, 0, null));
+            event.setOutputSize(outputStream.size());
+            event.setSuccess(true);
+            return outputStream.toByteArray();
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * 创建 Aspose 引擎内部阶段的 JFR 事件
+     */
+    private static ConversionStageEvent stageEvent(String stage, String originalFilename, String targetFormat,
+                                                   long inputSize) {
+        ConversionStageEvent event = ConversionStageEvent.start(stage, originalFilename, targetFormat, inputSize);
+        event.setEngine("aspose");
+        return event;
+    }
+
+    @Override
+    public Map<Integer, byte[]> renderPageImages(InputStream inputStream, String originalFilename, String pageRange,
+                                                 String imageFormat, int dpi) throws Exception {
+        long totalStart = System.currentTimeMillis();
+        int saveFormat = resolveImageFormat(imageFormat);
+        validateDpi(dpi);
+
+        Document doc = AsposeDocumentSupport.loadDocument(inputStream);
+        int pageCount = doc.getPageCount();
+
+        // 确定要渲染的页（从 0 开始）
+        List<Integer> pages = new ArrayList<>();
+        if (pageRange == null || pageRange.isBlank()) {
+            for (int i = 0; i < pageCount; i++) {
+                pages.add(i);
+            }
+        } else {
+            for (int[] range : PageRangeParser.parse(pageRange)) {
+                for (int i = range[0]; i <= Math.min(range[1], pageCount - 1); i++) {
+                    if (!pages.contains(i)) {
+                        pages.add(i);
+                    }
+                }
+            }
+        }
+        if (pages.isEmpty()) {
+            throw new IllegalArgumentException("页码范围超出文档页数: " + pageRange + ", 总页数: " + pageCount);
+        }
+        if (pages.size() > renderMaxPages) {
+            throw new IllegalArgumentException("单次最多渲染 " + renderMaxPages + " 页，请指定页码范围");
+        }
+
+        // 按工作线程数切分页面，每个分片使用独立的 Document 副本（Document 非线程安全）
+        int chunkCount = Math.min(documentWorkerExecutor.getMaxPoolSize(), pages.size());
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int i = 0; i < chunkCount; i++) {
+            chunks.add(new ArrayList<>());
+        }
+        for (int i = 0; i < pages.size(); i++) {
+            chunks.get(i % chunkCount).add(pages.get(i));
+        }
+
+        // 副本在调用线程中依次创建，第一个分片直接复用已完成布局的原文档
+        List<CompletableFuture<Map<Integer, byte[]>>> futures = new ArrayList<>();
+        for (int i = 0; i < chunkCount; i++) {
+            Document workerDoc = i == 0 ? doc : doc.deepClone();
+            List<Integer> chunk = chunks.get(i);
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> renderChunk(workerDoc, chunk, saveFormat, dpi), documentWorkerExecutor));
+        }
+
+        Map<Integer, byte[]> rendered = new HashMap<>();
+        for (CompletableFuture<Map<Integer, byte[]>> future : futures) {
+            rendered.putAll(joinUnwrapped(future));
+        }
+
+        // 按请求顺序输出，页码从 1 开始
+        Map<Integer, byte[]> result = new LinkedHashMap<>();
+        for (Integer page : pages) {
+            result.put(page + 1, rendered.get(page));
+        }
+
+        log.info("【性能监控-Aspose】页面渲染完成 - 文件名: {}, 页数: {}/{}, 格式: {}, DPI: {}, 并行度: {}, 总耗时: {}ms",
+                originalFilename, pages.size(), pageCount, imageFormat, dpi, chunkCount,
+                System.currentTimeMillis() - totalStart);
+
+        return result;
+    }
+
+    @Override
+    public byte[] renderThumbnail(InputStream inputStream, String originalFilename, String imageFormat, int dpi) throws Exception {
+        byte[] content = inputStream.readAllBytes();
+        String cacheKey = DigestUtil.sha256Hex(content) + "|" + imageFormat.toLowerCase() + "|" + dpi;
+
+        byte[] cached = thumbnailCache.getIfPresent(cacheKey);
+        if (cached != null) {
+            log.debug("缩略图缓存命中: {}", originalFilename);
+            return cached;
+        }
+
+        long start = System.currentTimeMillis();
+        int saveFormat = resolveImageFormat(imageFormat);
+        validateDpi(dpi);
+
+        Document doc = AsposeDocumentSupport.loadDocument(content);
+        byte[] thumbnail = renderChunk(doc, List.of(0), saveFormat, dpi).get(0);
+        thumbnailCache.put(cacheKey, thumbnail);
+
+        log.info("【性能监控-Aspose】缩略图渲染耗时: {}ms, 文件名: {}, 大小: {} bytes",
+                System.currentTimeMillis() - start, originalFilename, thumbnail.length);
+
+        return thumbnail;
+    }
+
+    /**
+     * 在单个 Document 上依次渲染一组页面
+     */
+    private Map<Integer, byte[]> renderChunk(Document doc, List<Integer> pages, int saveFormat, int dpi) {
+        Map<Integer, byte[]> images = new HashMap<>();
+        try {
+            for (Integer page : pages) {
+                ImageSaveOptions imageOptions = new ImageSaveOptions(saveFormat);
+                imageOptions.setResolution(dpi);
+                imageOptions.setPageSet(new PageSet(page));
+
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                doc.save(outputStream, imageOptions);
+                images.put(page, outputStream.toByteArray());
+            }
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+        return images;
+    }
+
+    /**
+     * 等待异步结果，并还原工作线程中抛出的原始异常
+     */
+    private <T> T joinUnwrapped(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 图片格式转换为 Aspose 保存格式
+     */
+    private int resolveImageFormat(String imageFormat) {
+        switch (imageFormat.toLowerCase()) {
+            case "png":
+                return SaveFormat.PNG;
+            case "jpg":
+            case "jpeg":
+                return SaveFormat.JPEG;
+            default:
+                throw new IllegalArgumentException("不支持的图片格式: " + imageFormat);
+        }
+    }
+
+    private void validateDpi(int dpi) {
+        if (dpi < 24 || dpi > renderMaxDpi) {
+            throw new IllegalArgumentException("DPI 必须在 24 到 " + renderMaxDpi + " 之间");
+        }
+    }
+
+    @Override
+    public Map<String, Object> getDocumentInfo(InputStream inputStream, String originalFilename) throws Exception {
+        return getDocumentInfo(inputStream, originalFilename, false);
+    }
+
+    @Override
+    public Map<String, Object> getDocumentInfo(InputStream inputStream, String originalFilename, boolean exactPageCount) throws Exception {
+        long start = System.currentTimeMillis();
+        byte[] content = inputStream.readAllBytes();
+
+        // 快速路径：DOCX 直接读取包内属性，不加载引擎
+        Map<String, Object> info = OoxmlMetadataReader.read(content);
+        if (info != null) {
+            info.put("fileName", originalFilename);
+            if (exactPageCount || info.get("pageCount") == null) {
+                // 只有页数需要排版布局
+                Document doc = AsposeDocumentSupport.loadDocument(content);
+                info.put("pageCount", doc.getPageCount());
+                info.put("source", "layout");
+            } else {
+                info.put("source", "docProps");
+            }
+            log.info("【性能监控-Aspose】文档信息读取耗时: {}ms, 文件名: {}, 来源: {}",
+                    System.currentTimeMillis() - start, originalFilename, info.get("source"));
+            return info;
+        }
+
+        info = loadDocumentInfo(content, originalFilename);
+        log.info("【性能监控-Aspose】文档信息读取耗时: {}ms, 文件名: {}, 来源: engine",
+                System.currentTimeMillis() - start, originalFilename);
+        return info;
+    }
+
+    @Override
+    public List<Map<String, Object>> getDocumentInfoBatch(MultipartFile[] files, boolean exactPageCount) throws Exception {
+        if (files.length > infoBatchMaxCount) {
+            throw new IllegalArgumentException("最多支持 " + infoBatchMaxCount + " 个文件");
+        }
+
+        List<CompletableFuture<Map<String, Object>>> futures = new ArrayList<>();
+        for (MultipartFile file : files) {
+            byte[] content = file.getBytes();
+            String originalFilename = file.getOriginalFilename();
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return getDocumentInfo(new ByteArrayInputStream(content), originalFilename, exactPageCount);
+                } catch (Exception e) {
+                    // 单个文件失败不影响其他文件
+                    log.warn("获取文档信息失败: {}, 错误: {}", originalFilename, e.getMessage());
+                    Map<String, Object> error = new HashMap<>();
+                    error.put("fileName", originalFilename);
+                    error.put("error", e.getMessage());
+                    return error;
+                }
+            }, documentWorkerExecutor));
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (CompletableFuture<Map<String, Object>> future : futures) {
+            result.add(future.join());
+        }
+        return result;
+    }
+
+    /**
+     * 加载引擎读取文档信息（非 OOXML 格式，如 .doc）
+     */
+    private Map<String, Object> loadDocumentInfo(byte[] content, String originalFilename) throws Exception {
+        Document doc = AsposeDocumentSupport.loadDocument(content);
+
+        Map<String, Object> info = AsposeDocumentSupport.collectDocumentInfo(doc, originalFilename);
+        info.put("source", "engine");
+
+        return info;
+    }
+
+    @Override
+    public ByteArrayOutputStream mergeDocuments(MultipartFile[] files) throws Exception {
+        return mergeDocuments(files, "docx");
+    }
+
+    @Override
+    public ByteArrayOutputStream mergeDocuments(MultipartFile[] files, String targetFormat) throws Exception {
+        if (files == null || files.length == 0) {
+            throw new IllegalArgumentException("文件不能为空");
+        }
+        // 先校验输出格式，避免无效请求浪费解析时间
+        AsposeDocumentSupport.resolveSaveFormat(targetFormat);
+
+        long totalStart = System.currentTimeMillis();
+        long budgetBytes = mergeReadAheadMb * 1024 * 1024;
+
+        // 解析在工作线程中并行进行，调用线程按上传顺序追加；
+        // 在途文档的估算内存不超过预算（至少保留一个在途，保证超大文件也能处理）
+        Deque<PendingDocument> pending = new ArrayDeque<>();
+        long inFlightBytes = 0;
+        int maxInFlight = 0;
+        int next = 0;
+        Document mainDoc = null;
+
+        while (next < files.length || !pending.isEmpty()) {
+            while (next < files.length) {
+                MultipartFile file = files[next];
+                long weight = file.getSize() * mergeMemoryFactor;
+                if (!pending.isEmpty() && inFlightBytes + weight > budgetBytes) {
+                    break;
+                }
+                pending.add(new PendingDocument(weight, CompletableFuture.supplyAsync(
+                        () -> parseDocument(file), documentWorkerExecutor)));
+                inFlightBytes += weight;
+                next++;
+            }
+            maxInFlight = Math.max(maxInFlight, pending.size());
+
+            PendingDocument head = pending.poll();
+            Document doc = joinUnwrapped(head.future);
+            if (mainDoc == null) {
+                // 以第一个文档为主文档，避免空白文档带来的多余首页
+                mainDoc = doc;
+            } else {
+                mainDoc.appendDocument(doc, ImportFormatMode.KEEP_SOURCE_FORMATTING);
+            }
+            inFlightBytes -= head.weight;
+        }
+
+        long saveStart = System.currentTimeMillis();
+        ByteArrayOutputStream outputStream = AsposeDocumentSupport.save(mainDoc, targetFormat, ConversionOptions.defaults(),
+                asposeProfileOptions);
+
+        log.info("【性能监控-Aspose】文档合并完成 - 文件数: {}, 目标格式: {}, 最大并行解析数: {}, 保存耗时: {}ms, 输出大小: {} bytes, 总耗时: {}ms",
+                files.length, targetFormat, maxInFlight, System.currentTimeMillis() - saveStart,
+                outputStream.size(), System.currentTimeMillis() - totalStart);
+
+        return outputStream;
+    }
+
+    /**
+     * 解析单个待合并文档（在工作线程中执行）
+     */
+    private Document parseDocument(MultipartFile file) {
+        try (InputStream inputStream = file.getInputStream()) {
+            return AsposeDocumentSupport.loadDocument(inputStream);
+        } catch (Exception e) {
+            throw new CompletionException(new IllegalArgumentException(
+                    "文档解析失败: " + file.getOriginalFilename() + ", " + e.getMessage(), e));
+        }
+    }
+
+    @Override
+    public ByteArrayOutputStream insertText(InputStream inputStream, String originalFilename, String text, String position) throws Exception {
+        return insertText(inputStream, originalFilename, text, position, null);
+    }
+
+    @Override
+    public ByteArrayOutputStream insertText(InputStream inputStream, String originalFilename, String text, String position,
+                                            ConversionProfile profile) throws Exception {
+        Document doc = AsposeDocumentSupport.loadDocument(inputStream);
+
+        AsposeDocumentSupport.insertText(doc, text, position);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        doc.save(outputStream, asposeProfileOptions.asposeDocx(profile));
+
+        return outputStream;
+    }
+
+    @Override
+    public ByteArrayOutputStream replaceText(InputStream inputStream, String originalFilename, String oldText, String newText, boolean matchCase) throws Exception {
+        return replaceText(inputStream, originalFilename, oldText, newText, matchCase, null);
+    }
+
+    @Override
+    public ByteArrayOutputStream replaceText(InputStream inputStream, String originalFilename, String oldText, String newText,
+                                             boolean matchCase, ConversionProfile profile) throws Exception {
+        Document doc = AsposeDocumentSupport.loadDocument(inputStream);
+
+        // 执行替换
+        AsposeDocumentSupport.replaceText(doc, oldText, newText, matchCase);
+
+        // 保存修改后的文档（压缩级别取决于档位）
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        doc.save(outputStream, asposeProfileOptions.asposeDocx(profile));
+
+        return outputStream;
+    }
+
+    @Override
+    public BulkReplaceResult bulkReplaceText(InputStream inputStream, String originalFilename, Map<String, String> replacements,
+                                             boolean matchCase, String targetFormat) throws Exception {
+        if (replacements == null || replacements.isEmpty()) {
+            throw new IllegalArgumentException("替换映射不能为空");
+        }
+        if (replacements.size() > bulkReplaceMaxPatterns) {
+            throw new IllegalArgumentException("单次最多替换 " + bulkReplaceMaxPatterns + " 个模式");
+        }
+        AsposeDocumentSupport.resolveSaveFormat(targetFormat);
+
+        long totalStart = System.currentTimeMillis();
+        Document doc = AsposeDocumentSupport.loadDocument(inputStream);
+
+        long replaceStart = System.currentTimeMillis();
+        Map<String, Integer> hits = AsposeDocumentSupport.bulkReplace(doc, replacements, matchCase);
+        long replaceTime = System.currentTimeMillis() - replaceStart;
+
+        ByteArrayOutputStream outputStream = AsposeDocumentSupport.save(doc, targetFormat, ConversionOptions.defaults(),
+                asposeProfileOptions);
+        int totalHits = hits.values().stream().mapToInt(Integer::intValue).sum();
+
+        log.info("【性能监控-Aspose】批量替换完成 - 文件名: {}, 模式数: {}, 总替换次数: {}, 替换耗时: {}ms, 总耗时: {}ms",
+                originalFilename, replacements.size(), totalHits, replaceTime, System.currentTimeMillis() - totalStart);
+
+        return BulkReplaceResult.builder()
+                .content(outputStream.toByteArray())
+                .hits(hits)
+                .totalHits(totalHits)
+                .build();
+    }
+
+    @Override
+    public ByteArrayOutputStream applyOperations(InputStream inputStream, String originalFilename,
+                                                 List<DocumentOperation> operations, String targetFormat,
+                                                 ConversionOptions options) throws Exception {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("操作列表不能为空");
+        }
+        if (operations.size() > operationsMaxCount) {
+            throw new IllegalArgumentException("单次最多执行 " + operationsMaxCount + " 个操作");
+        }
+        // 先校验输出格式，避免无效请求浪费加载时间
+        AsposeDocumentSupport.resolveSaveFormat(targetFormat);
+
+        long totalStart = System.currentTimeMillis();
+        Document doc = AsposeDocumentSupport.loadDocument(inputStream);
+        long loadTime = System.currentTimeMillis() - totalStart;
+
+        List<Integer> results = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            try {
+                results.add(AsposeDocumentSupport.applyOperation(doc, operations.get(i)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("第 " + (i + 1) + " 个操作无效: " + e.getMessage());
+            }
+        }
+
+        long saveStart = System.currentTimeMillis();
+        ByteArrayOutputStream outputStream = AsposeDocumentSupport.save(doc, targetFormat, options, asposeProfileOptions);
+
+        log.info("【性能监控-Aspose】操作链完成 - 文件名: {}, 操作数: {}, 操作结果: {}, 加载耗时: {}ms, 保存耗时: {}ms, 总耗时: {}ms",
+                originalFilename, operations.size(), results, loadTime,
+                System.currentTimeMillis() - saveStart, System.currentTimeMillis() - totalStart);
+
+        return outputStream;
+    }
+
+    /**
+     * 合并时正在解析的文档及其估算内存
+     */
+    private static class PendingDocument {
+        private final long weight;
+        private final CompletableFuture<Document> future;
+
+        PendingDocument(long weight, CompletableFuture<Document> future) {
+            this.weight = weight;
+            this.future = future;
+        }
+    }
+}
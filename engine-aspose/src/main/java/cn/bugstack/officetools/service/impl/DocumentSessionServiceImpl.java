@@ -0,0 +1,273 @@
+package cn.bugstack.officetools.service.impl;
+
+import cn.bugstack.officetools.domain.dto.ConversionOptions;
+import cn.bugstack.officetools.domain.dto.DocumentOperation;
+import cn.bugstack.officetools.domain.dto.DocumentSessionInfo;
+import cn.bugstack.officetools.service.DocumentSessionService;
+import cn.bugstack.officetools.util.HeapBudget;
+import com.aspose.words.Document;
+import com.aspose.words.SaveFormat;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 文档会话服务实现类
+ * 已解析的 Document 按估算内存占用加权缓存，空闲超时自动淘汰；
+ * Document 非线程安全，同一会话上的操作串行执行
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Slf4j
+@Service
+public class DocumentSessionServiceImpl implements DocumentSessionService {
+
+    @Autowired
+    private AsposeProfileOptions asposeProfileOptions;
+
+    @Value("${conversion.session.max-memory-mb:0}")
+    private long configuredMaxMemoryMb;
+
+    @Value("${conversion.session.max-memory-percent:15}")
+    private int maxMemoryPercent;
+
+    /**
+     * 会话缓存的最大估算内存（MB）：未显式配置时按最大堆的百分比计算
+     */
+    private long maxMemoryMb;
+
+    @Value("${conversion.session.idle-expire-minutes:15}")
+    private long idleExpireMinutes;
+
+    @Value("${conversion.session.memory-factor:10}")
+    private int memoryFactor;
+
+    /**
+     * 会话缓存（权重单位为 KB，避免大文档权重溢出 int）
+     */
+    private Cache<String, DocumentSession> sessionCache;
+
+    @PostConstruct
+    public void init() {
+        maxMemoryMb = HeapBudget.resolveMb(configuredMaxMemoryMb, maxMemoryPercent);
+        sessionCache = Caffeine.newBuilder()
+                .maximumWeight(maxMemoryMb * 1024)
+                .weigher((String key, DocumentSession session) ->
+                        (int) Math.min(Integer.MAX_VALUE, Math.max(1, session.estimatedMemoryBytes / 1024)))
+                .expireAfterAccess(Duration.ofMinutes(idleExpireMinutes))
+                .removalListener((String key, DocumentSession session, RemovalCause cause) -> {
+                    if (session != null && cause.wasEvicted()) {
+                        log.info("文档会话已淘汰 - 会话: {}, 文件名: {}, 原因: {}", key, session.fileName, cause);
+                    }
+                })
+                .recordStats()
+                .build();
+        log.info("文档会话缓存初始化 - 最大估算内存: {}MB, 空闲过期: {} 分钟, 内存估算系数: {}",
+                maxMemoryMb, idleExpireMinutes, memoryFactor);
+    }
+
+    @Override
+    public DocumentSessionInfo createSession(InputStream inputStream, String originalFilename) throws Exception {
+        long start = System.currentTimeMillis();
+        byte[] content = inputStream.readAllBytes();
+
+        Document document = AsposeDocumentSupport.loadDocument(content);
+
+        // 解析后的对象模型通常是文件大小的数倍，按系数估算
+        DocumentSession session = new DocumentSession(
+                UUID.randomUUID().toString().replace("-", ""),
+                originalFilename,
+                content.length,
+                (long) content.length * memoryFactor,
+                document);
+        sessionCache.put(session.id, session);
+
+        log.info("【性能监控-Aspose】文档会话创建 - 会话: {}, 文件名: {}, 大小: {} bytes, 解析耗时: {}ms",
+                session.id, originalFilename, content.length, System.currentTimeMillis() - start);
+
+        return session.toInfo();
+    }
+
+    @Override
+    public DocumentSessionInfo getSession(String sessionId) {
+        DocumentSession session = requireSession(sessionId);
+        synchronized (session) {
+            return session.toInfo();
+        }
+    }
+
+    @Override
+    public Map<String, Object> getDocumentInfo(String sessionId) throws Exception {
+        DocumentSession session = requireSession(sessionId);
+        synchronized (session) {
+            Map<String, Object> info = AsposeDocumentSupport.collectDocumentInfo(session.document, session.fileName);
+            // 编辑后内置属性中的页数已过期，以当前排版结果为准
+            info.put("pageCount", session.layoutPageCount());
+            info.put("sessionId", session.id);
+            info.put("operationCount", session.operationCount);
+            return info;
+        }
+    }
+
+    @Override
+    public DocumentSessionInfo insertText(String sessionId, String text, String position) throws Exception {
+        DocumentSession session = requireSession(sessionId);
+        synchronized (session) {
+            AsposeDocumentSupport.insertText(session.document, text, position);
+            session.markModified();
+            return session.toInfo();
+        }
+    }
+
+    @Override
+    public int replaceText(String sessionId, String oldText, String newText, boolean matchCase) throws Exception {
+        DocumentSession session = requireSession(sessionId);
+        synchronized (session) {
+            int count = AsposeDocumentSupport.replaceText(session.document, oldText, newText, matchCase);
+            if (count > 0) {
+                session.markModified();
+            }
+            return count;
+        }
+    }
+
+    @Override
+    public List<Integer> applyOperations(String sessionId, List<DocumentOperation> operations) throws Exception {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("操作列表不能为空");
+        }
+
+        DocumentSession session = requireSession(sessionId);
+        synchronized (session) {
+            List<Integer> results = new ArrayList<>();
+            for (DocumentOperation operation : operations) {
+                results.add(AsposeDocumentSupport.applyOperation(session.document, operation));
+                session.markModified();
+            }
+            return results;
+        }
+    }
+
+    @Override
+    public ByteArrayOutputStream export(String sessionId, String targetFormat, ConversionOptions options) throws Exception {
+        DocumentSession session = requireSession(sessionId);
+
+        synchronized (session) {
+            long start = System.currentTimeMillis();
+
+            // 编辑前若已排版（查询过页数），导出 PDF 前需刷新排版
+            if (AsposeDocumentSupport.resolveSaveFormat(targetFormat) == SaveFormat.PDF) {
+                session.layoutPageCount();
+            }
+            ByteArrayOutputStream outputStream = AsposeDocumentSupport.save(session.document, targetFormat, options,
+                    asposeProfileOptions);
+
+            log.info("【性能监控-Aspose】文档会话导出 - 会话: {}, 目标格式: {}, 输出大小: {} bytes, 耗时: {}ms",
+                    session.id, targetFormat, outputStream.size(), System.currentTimeMillis() - start);
+
+            return outputStream;
+        }
+    }
+
+    @Override
+    public boolean closeSession(String sessionId) {
+        return sessionCache.asMap().remove(sessionId) != null;
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        CacheStats stats = sessionCache.stats();
+        long weightKb = sessionCache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("activeSessions", sessionCache.estimatedSize());
+        result.put("estimatedMemoryMb", weightKb / 1024);
+        result.put("maxMemoryMb", maxMemoryMb);
+        result.put("idleExpireMinutes", idleExpireMinutes);
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("evictionCount", stats.evictionCount());
+        return result;
+    }
+
+    private DocumentSession requireSession(String sessionId) {
+        DocumentSession session = sessionCache.getIfPresent(sessionId);
+        if (session == null) {
+            throw new IllegalArgumentException("会话不存在或已过期: " + sessionId);
+        }
+        session.lastAccessedAt = LocalDateTime.now();
+        return session;
+    }
+
+    /**
+     * 单个文档会话
+     */
+    private static class DocumentSession {
+        private final String id;
+        private final String fileName;
+        private final long fileSize;
+        private final long estimatedMemoryBytes;
+        private final Document document;
+        private final LocalDateTime createdAt;
+        private volatile LocalDateTime lastAccessedAt;
+        private int operationCount;
+        private boolean layoutDirty;
+
+        DocumentSession(String id, String fileName, long fileSize, long estimatedMemoryBytes, Document document) {
+            this.id = id;
+            this.fileName = fileName;
+            this.fileSize = fileSize;
+            this.estimatedMemoryBytes = estimatedMemoryBytes;
+            this.document = document;
+            this.createdAt = LocalDateTime.now();
+            this.lastAccessedAt = this.createdAt;
+        }
+
+        void markModified() {
+            operationCount++;
+            layoutDirty = true;
+        }
+
+        /**
+         * 获取当前页数，编辑后先刷新排版
+         */
+        int layoutPageCount() throws Exception {
+            if (layoutDirty) {
+                document.updatePageLayout();
+                layoutDirty = false;
+            }
+            return document.getPageCount();
+        }
+
+        DocumentSessionInfo toInfo() {
+            return DocumentSessionInfo.builder()
+                    .sessionId(id)
+                    .fileName(fileName)
+                    .fileSize(fileSize)
+                    .estimatedMemoryBytes(estimatedMemoryBytes)
+                    .operationCount(operationCount)
+                    .createdAt(createdAt)
+                    .lastAccessedAt(lastAccessedAt)
+                    .build();
+        }
+    }
+}
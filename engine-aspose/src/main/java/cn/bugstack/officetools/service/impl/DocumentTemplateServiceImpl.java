@@ -0,0 +1,292 @@
+package cn.bugstack.officetools.service.impl;
+
+import cn.bugstack.officetools.domain.dto.ConversionOptions;
+import cn.bugstack.officetools.service.DocumentTemplateService;
+import cn.bugstack.officetools.util.DigestUtil;
+import cn.bugstack.officetools.util.HeapBudget;
+import com.aspose.words.Document;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 模板批量生成服务实现类
+ * 每行数据从缓存模板深拷贝出独立的 Document 并行填充；
+ * 同时在途的行数受限，生成结果按行顺序边生成边写入 ZIP，内存占用与总行数无关
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Slf4j
+@Service
+public class DocumentTemplateServiceImpl implements DocumentTemplateService {
+
+    @Autowired
+    @Qualifier("documentWorkerExecutor")
+    private ThreadPoolTaskExecutor documentWorkerExecutor;
+
+    @Autowired
+    private AsposeProfileOptions asposeProfileOptions;
+
+    @Value("${conversion.template.cache.max-size-mb:0}")
+    private long configuredCacheMaxSizeMb;
+
+    @Value("${conversion.template.cache.max-size-percent:10}")
+    private int cacheMaxSizePercent;
+
+    /**
+     * 模板缓存的最大估算内存（MB）：未显式配置时按最大堆的百分比计算
+     */
+    private long cacheMaxSizeMb;
+
+    @Value("${conversion.template.cache.expire-minutes:60}")
+    private long cacheExpireMinutes;
+
+    @Value("${conversion.template.memory-factor:10}")
+    private int memoryFactor;
+
+    @Value("${conversion.template.max-rows:10000}")
+    private int maxRows;
+
+    /**
+     * 已解析模板缓存（权重单位为 KB）
+     */
+    private Cache<String, TemplateEntry> templateCache;
+
+    @PostConstruct
+    public void init() {
+        cacheMaxSizeMb = HeapBudget.resolveMb(configuredCacheMaxSizeMb, cacheMaxSizePercent);
+        templateCache = Caffeine.newBuilder()
+                .maximumWeight(cacheMaxSizeMb * 1024)
+                .weigher((String key, TemplateEntry entry) ->
+                        (int) Math.min(Integer.MAX_VALUE, Math.max(1, entry.estimatedMemoryBytes / 1024)))
+                .expireAfterAccess(Duration.ofMinutes(cacheExpireMinutes))
+                .recordStats()
+                .build();
+        log.info("模板缓存初始化 - 最大估算内存: {}MB, 空闲过期: {} 分钟", cacheMaxSizeMb, cacheExpireMinutes);
+    }
+
+    @Override
+    public String registerTemplate(byte[] content, String originalFilename) throws Exception {
+        String templateId = DigestUtil.sha256Hex(content);
+        if (templateCache.getIfPresent(templateId) != null) {
+            log.info("【性能监控-Aspose】模板缓存命中, 文件名: {}, 模板: {}", originalFilename, templateId);
+            return templateId;
+        }
+
+        long start = System.currentTimeMillis();
+        Document document = AsposeDocumentSupport.loadDocument(content);
+        boolean hasMergeFields = document.getMailMerge().getFieldNames().length > 0;
+
+        templateCache.put(templateId, new TemplateEntry(originalFilename, document, hasMergeFields,
+                (long) content.length * memoryFactor));
+
+        log.info("【性能监控-Aspose】模板解析耗时: {}ms, 文件名: {}, 模板: {}, 包含合并域: {}",
+                System.currentTimeMillis() - start, originalFilename, templateId, hasMergeFields);
+        return templateId;
+    }
+
+    @Override
+    public void validateGenerateRequest(String templateId, List<Map<String, Object>> rows, String targetFormat) {
+        if (templateCache.getIfPresent(templateId) == null) {
+            throw new IllegalArgumentException("模板不存在或已过期: " + templateId);
+        }
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("数据行不能为空");
+        }
+        if (rows.size() > maxRows) {
+            throw new IllegalArgumentException("单次最多生成 " + maxRows + " 份文档");
+        }
+        AsposeDocumentSupport.resolveSaveFormat(targetFormat);
+    }
+
+    @Override
+    public void generate(String templateId, List<Map<String, Object>> rows, String targetFormat, String fileNameField,
+                         OutputStream outputStream) throws Exception {
+        TemplateEntry template = templateCache.getIfPresent(templateId);
+        if (template == null) {
+            throw new IllegalArgumentException("模板不存在或已过期: " + templateId);
+        }
+
+        long start = System.currentTimeMillis();
+        String extension = targetFormat.toLowerCase();
+        String baseName = stripExtension(template.fileName);
+
+        // 在途任务窗口：既让工作线程保持忙碌，又避免一次性把所有结果堆在内存中
+        int window = Math.max(2, documentWorkerExecutor.getMaxPoolSize() * 2);
+        Deque<CompletableFuture<byte[]>> inFlight = new ArrayDeque<>();
+        Set<String> usedNames = new HashSet<>();
+        StringBuilder errors = new StringBuilder();
+        int successCount = 0;
+
+        try (ZipOutputStream zos = new ZipOutputStream(outputStream)) {
+            int written = 0;
+            for (int i = 0; i < rows.size(); i++) {
+                Map<String, Object> row = rows.get(i);
+                inFlight.add(CompletableFuture.supplyAsync(() -> fillRow(template, row, targetFormat), documentWorkerExecutor));
+
+                if (inFlight.size() >= window) {
+                    successCount += writeNext(zos, inFlight.poll(), rows.get(written), written,
+                            baseName, extension, fileNameField, usedNames, errors);
+                    written++;
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                successCount += writeNext(zos, inFlight.poll(), rows.get(written), written,
+                        baseName, extension, fileNameField, usedNames, errors);
+                written++;
+            }
+
+            if (errors.length() > 0) {
+                zos.putNextEntry(new ZipEntry("errors.csv"));
+                zos.write(("row,error\n" + errors).getBytes(StandardCharsets.UTF_8));
+                zos.closeEntry();
+            }
+            zos.finish();
+        }
+
+        log.info("【性能监控-Aspose】模板批量生成完成 - 模板: {}, 行数: {}, 成功: {}, 格式: {}, 总耗时: {}ms",
+                template.fileName, rows.size(), successCount, targetFormat, System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        CacheStats stats = templateCache.stats();
+        Map<String, Object> result = new HashMap<>();
+        result.put("cachedTemplates", templateCache.estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("evictionCount", stats.evictionCount());
+        return result;
+    }
+
+    /**
+     * 等待一行的生成结果并写入 ZIP
+     *
+     * @return 成功返回 1，失败返回 0
+     */
+    private int writeNext(ZipOutputStream zos, CompletableFuture<byte[]> future, Map<String, Object> row, int rowIndex,
+                          String baseName, String extension, String fileNameField, Set<String> usedNames,
+                          StringBuilder errors) throws Exception {
+        byte[] content;
+        try {
+            content = future.join();
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.warn("模板行生成失败 - 行: {}, 错误: {}", rowIndex + 1, cause.getMessage());
+            errors.append(rowIndex + 1).append(",\"")
+                    .append(String.valueOf(cause.getMessage()).replace("\"", "\"\"")).append("\"\n");
+            return 0;
+        }
+
+        zos.putNextEntry(new ZipEntry(resolveEntryName(row, rowIndex, baseName, extension, fileNameField, usedNames)));
+        zos.write(content);
+        zos.closeEntry();
+        return 1;
+    }
+
+    /**
+     * 基于模板副本填充一行数据（在工作线程中执行）
+     */
+    private byte[] fillRow(TemplateEntry template, Map<String, Object> row, String targetFormat) {
+        try {
+            Document doc;
+            // 模板是共享对象，深拷贝时串行访问
+            synchronized (template) {
+                doc = template.document.deepClone();
+            }
+
+            // MERGEFIELD 域
+            if (template.hasMergeFields) {
+                String[] names = row.keySet().toArray(new String[0]);
+                Object[] values = new Object[names.length];
+                for (int i = 0; i < names.length; i++) {
+                    values[i] = row.get(names[i]);
+                }
+                doc.getMailMerge().execute(names, values);
+            }
+
+            // {{字段名}} 占位符
+            Map<String, String> replacements = new LinkedHashMap<>();
+            row.forEach((key, value) -> replacements.put("{{" + key + "}}", value == null ? "" : String.valueOf(value)));
+            if (!replacements.isEmpty()) {
+                AsposeDocumentSupport.bulkReplace(doc, replacements, true);
+            }
+
+            return AsposeDocumentSupport.save(doc, targetFormat, ConversionOptions.defaults(), asposeProfileOptions).toByteArray();
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * 生成 ZIP 条目名称：优先使用指定字段的值，否则按行号编号；重名时追加行号，
+     * 追加后仍重名（例如另一行的字段值恰好是 "x_3"）再追加序号，直到唯一
+     */
+    private String resolveEntryName(Map<String, Object> row, int rowIndex, String baseName, String extension,
+                                    String fileNameField, Set<String> usedNames) {
+        String name = null;
+        if (fileNameField != null && row.get(fileNameField) != null) {
+            name = String.valueOf(row.get(fileNameField)).replaceAll("[\\\\/:*?\"<>|\\r\\n]", "_").trim();
+        }
+        if (name == null || name.isEmpty()) {
+            name = String.format("%s_%05d", baseName, rowIndex + 1);
+        }
+        if (usedNames.add(name)) {
+            return name + "." + extension;
+        }
+        String candidate = name + "_" + (rowIndex + 1);
+        for (int suffix = 2; !usedNames.add(candidate); suffix++) {
+            candidate = name + "_" + (rowIndex + 1) + "_" + suffix;
+        }
+        return candidate + "." + extension;
+    }
+
+    private String stripExtension(String filename) {
+        if (filename == null || filename.isEmpty()) {
+            return "document";
+        }
+        int lastDotIndex = filename.lastIndexOf('.');
+        return lastDotIndex > 0 ? filename.substring(0, lastDotIndex) : filename;
+    }
+
+    /**
+     * 已解析的模板
+     */
+    private static class TemplateEntry {
+        private final String fileName;
+        private final Document document;
+        private final boolean hasMergeFields;
+        private final long estimatedMemoryBytes;
+
+        TemplateEntry(String fileName, Document document, boolean hasMergeFields, long estimatedMemoryBytes) {
+            this.fileName = fileName;
+            this.document = document;
+            this.hasMergeFields = hasMergeFields;
+            this.estimatedMemoryBytes = estimatedMemoryBytes;
+        }
+    }
+}
@@ -1,15 +1,21 @@
 package cn.bugstack.officetools.controller;
 
 import cn.bugstack.officetools.domain.dto.ApiResponse;
+import cn.bugstack.officetools.service.DocumentIndexService;
 import cn.bugstack.officetools.service.SpireDocService;
+import cn.bugstack.officetools.util.DigestUtil;
 import cn.bugstack.officetools.util.HttpHeaderUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Map;
@@ -25,10 +31,12 @@ import java.util.Map;
 public class SpireDocController {
 
     private final SpireDocService spireDocService;
+    private final DocumentIndexService documentIndexService;
 
     @Autowired
-    public SpireDocController(SpireDocService spireDocService) {
+    public SpireDocController(SpireDocService spireDocService, DocumentIndexService documentIndexService) {
         this.spireDocService = spireDocService;
+        this.documentIndexService = documentIndexService;
     }
 
     /**
@@ -123,10 +131,18 @@ public class SpireDocController {
                         .body(new ApiResponse<>(false, "文件不能为空", null));
             }
 
-            String textContent = spireDocService.extractText(
-                    file.getInputStream(),
-                    file.getOriginalFilename()
-            );
+            // 已索引的文档直接返回索引中的文本，不再重新提取
+            String documentId = documentIndexService.isEnabled() ? DigestUtil.sha256Hex(file.getBytes()) : null;
+            String textContent = documentId != null ? documentIndexService.getIndexedText(documentId) : null;
+            if (textContent == null) {
+                textContent = spireDocService.extractText(
+                        file.getInputStream(),
+                        file.getOriginalFilename()
+                );
+                if (documentId != null) {
+                    documentIndexService.indexTextAsync(documentId, file.getOriginalFilename(), file.getSize(), textContent);
+                }
+            }
 
             return ResponseEntity.ok()
                     .body(new ApiResponse<>(true, "提取文本成功", textContent));
@@ -137,6 +153,47 @@ public class SpireDocController {
         }
     }
 
+    /**
+     * 流式提取文档文本（边解析边输出，适合批量索引等场景）
+     * DOCX 不构建文档对象模型，内存占用与文档大小无关；旧版 .doc 使用 Spire 加载
+     *
+     * @param file   上传的文件
+     * @param format 输出格式：text（每段一行）或 ndjson（每行一个 {"index","text"} 对象）
+     * @return 文本流
+     */
+    @PostMapping("/extract/stream")
+    public ResponseEntity<StreamingResponseBody> streamText(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "format", defaultValue = "text") String format) {
+
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("文件不能为空");
+        }
+        boolean ndjson;
+        if ("ndjson".equalsIgnoreCase(format)) {
+            ndjson = true;
+        } else if ("text".equalsIgnoreCase(format)) {
+            ndjson = false;
+        } else {
+            throw new IllegalArgumentException("不支持的输出格式: " + format + "，可选 text、ndjson");
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try (InputStream inputStream = file.getInputStream()) {
+                spireDocService.streamText(inputStream, file.getOriginalFilename(), ndjson, outputStream);
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException("提取文本失败: " + e.getMessage(), e);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.parseMediaType("application/x-ndjson;charset=UTF-8")
+                        : MediaType.parseMediaType("text/plain;charset=UTF-8"))
+                .body(body);
+    }
+
     /**
      * 在文档中添加水印
      *
@@ -0,0 +1,349 @@
+package cn.bugstack.officetools.service.impl;
+
+import cn.bugstack.officetools.domain.dto.ConversionOptions;
+import cn.bugstack.officetools.domain.dto.ConversionProfile;
+import cn.bugstack.officetools.domain.dto.DocumentFormat;
+import cn.bugstack.officetools.service.SpireDocService;
+import cn.bugstack.officetools.util.DocumentFormatSniffer;
+import cn.bugstack.officetools.util.DocxTextExtractor;
+import cn.bugstack.officetools.util.OoxmlMetadataReader;
+import com.spire.doc.Document;
+import com.spire.doc.FileFormat;
+import com.spire.doc.Section;
+import com.spire.doc.documents.Paragraph;
+import com.spire.doc.TextWatermark;
+import com.spire.doc.documents.WatermarkLayout;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Spire.Doc 文档处理服务实现类
+ *
+ * @author bugstack
+ * @date 2026-01-13
+ */
+@Slf4j
+@Service
+public class SpireDocServiceImpl implements SpireDocService {
+
+    @Autowired
+    private SpireProfileOptions spireProfileOptions;
+
+    @Override
+    public ByteArrayOutputStream convertDocument(InputStream inputStream, String originalFilename, String targetFormat) throws Exception {
+        return convertDocument(inputStream, originalFilename, targetFormat, ConversionOptions.defaults());
+    }
+
+    @Override
+    public ByteArrayOutputStream convertDocument(InputStream inputStream, String originalFilename, String targetFormat,
+                                                 ConversionOptions options) throws Exception {
+        // 加载文档
+        Document doc = loadDocument(inputStream);
+
+        // 确定保存格式
+        FileFormat fileFormat;
+        switch (targetFormat.toLowerCase()) {
+            case "pdf":
+                fileFormat = FileFormat.PDF;
+                break;
+            case "html":
+                fileFormat = FileFormat.Html;
+                break;
+            case "txt":
+                fileFormat = FileFormat.Txt;
+                break;
+            case "doc":
+                fileFormat = FileFormat.Doc;
+                break;
+            case "docx":
+                fileFormat = FileFormat.Docx_2013;
+                break;
+            case "rtf":
+                fileFormat = FileFormat.Rtf;
+                break;
+            case "xps":
+                fileFormat = FileFormat.XPS;
+                break;
+            default:
+                throw new IllegalArgumentException("不支持的目标格式: " + targetFormat);
+        }
+
+        // 保存到输出流，PDF 使用所选档位的参数
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        if (fileFormat == FileFormat.PDF) {
+            ConversionProfile profile = options != null ? options.getProfile() : null;
+            int jpegQuality = spireProfileOptions.spireJpegQuality(profile);
+            if (jpegQuality > 0) {
+                doc.setJPEGQuality(jpegQuality);
+            }
+            doc.saveToStream(outputStream, spireProfileOptions.spirePdf(profile));
+        } else {
+            doc.saveToStream(outputStream, fileFormat);
+        }
+
+        return outputStream;
+    }
+
+    @Override
+    public Map<String, Object> getDocumentInfo(InputStream inputStream, String originalFilename) throws Exception {
+        byte[] content = inputStream.readAllBytes();
+
+        // 快速路径：DOCX 直接读取包内属性，不加载引擎
+        Map<String, Object> info = OoxmlMetadataReader.read(content);
+        if (info != null && info.get("pageCount") != null) {
+            info.put("fileName", originalFilename);
+            info.put("source", "docProps");
+            return info;
+        }
+
+        Document doc = loadDocument(content);
+
+        info = new HashMap<>();
+
+        // 基本信息
+        info.put("fileName", originalFilename);
+        info.put("pageCount", doc.getPageCount());
+
+        // 文档属性
+        info.put("title", doc.getBuiltinDocumentProperties().getTitle());
+        info.put("author", doc.getBuiltinDocumentProperties().getAuthor());
+        info.put("subject", doc.getBuiltinDocumentProperties().getSubject());
+        info.put("keywords", doc.getBuiltinDocumentProperties().getKeywords());
+        info.put("comments", doc.getBuiltinDocumentProperties().getComments());
+
+        // 统计信息
+        int sectionCount = doc.getSections().getCount();
+        int paragraphCount = 0;
+        int tableCount = 0;
+
+        for (int i = 0; i < sectionCount; i++) {
+            Section section = doc.getSections().get(i);
+            paragraphCount += section.getParagraphs().getCount();
+            // 统计表格数量
+            for (int j = 0; j < section.getParagraphs().getCount(); j++) {
+                Paragraph para = section.getParagraphs().get(j);
+                tableCount += para.getChildObjects().getCount();
+            }
+        }
+
+        info.put("sectionCount", sectionCount);
+        info.put("paragraphCount", paragraphCount);
+        info.put("tableCount", tableCount);
+        info.put("source", "engine");
+
+        return info;
+    }
+
+    @Override
+    public String extractText(InputStream inputStream, String originalFilename) throws Exception {
+        // 提取文本内容
+        StringBuilder textContent = new StringBuilder();
+        extractParagraphs(inputStream, (index, text) -> textContent.append(text).append("\n"));
+
+        return textContent.toString();
+    }
+
+    @Override
+    public int streamText(InputStream inputStream, String originalFilename, boolean ndjson, OutputStream outputStream) throws Exception {
+        long start = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        int paragraphCount = extractParagraphs(inputStream, (index, text) -> {
+            if (ndjson) {
+                writer.write("{\"index\":" + index + ",\"text\":\"" + escapeJson(text) + "\"}\n");
+            } else {
+                writer.write(text);
+                writer.write('\n');
+            }
+        });
+        writer.flush();
+
+        log.info("【性能监控-Spire】流式文本提取完成 - 文件名: {}, 段落数: {}, 耗时: {}ms",
+                originalFilename, paragraphCount, System.currentTimeMillis() - start);
+        return paragraphCount;
+    }
+
+    /**
+     * 逐段提取文本：DOCX 走 StAX 流式解析，其他格式（.doc）使用 Spire 加载
+     *
+     * @return 段落数
+     */
+    private int extractParagraphs(InputStream inputStream, DocxTextExtractor.ParagraphHandler handler) throws Exception {
+        BufferedInputStream bufferedInput = new BufferedInputStream(inputStream);
+        bufferedInput.mark(4);
+        byte[] header = bufferedInput.readNBytes(4);
+        bufferedInput.reset();
+
+        if (DocxTextExtractor.isZip(header)) {
+            int paragraphCount = DocxTextExtractor.extract(bufferedInput, handler);
+            if (paragraphCount < 0) {
+                throw new IllegalArgumentException("不是有效的 Word 文档：缺少 word/document.xml");
+            }
+            return paragraphCount;
+        }
+
+        Document doc = loadDocument(bufferedInput);
+
+        int index = 0;
+        for (Object sectionObj : doc.getSections()) {
+            Section section = (Section) sectionObj;
+            for (Object paraObj : section.getParagraphs()) {
+                Paragraph para = (Paragraph) paraObj;
+                handler.onParagraph(index++, para.getText());
+            }
+        }
+        return index;
+    }
+
+    /**
+     * 按内容识别真实格式后加载文档
+     * 损坏、截断或不是 Word 文档的内容在加载引擎之前即抛出 IllegalArgumentException
+     */
+    private Document loadDocument(byte[] content) throws Exception {
+        FileFormat fileFormat = toFileFormat(DocumentFormatSniffer.detect(content));
+        Document doc = new Document();
+        doc.loadFromStream(new ByteArrayInputStream(content), fileFormat);
+        return doc;
+    }
+
+    private Document loadDocument(InputStream inputStream) throws Exception {
+        return loadDocument(inputStream.readAllBytes());
+    }
+
+    private static FileFormat toFileFormat(DocumentFormat format) {
+        switch (format) {
+            case DOC:
+                return FileFormat.Doc;
+            case DOCX:
+                return FileFormat.Docx_2013;
+            case DOCM:
+                return FileFormat.Docm;
+            case DOTX:
+                return FileFormat.Dotx;
+            case DOTM:
+                return FileFormat.Dotm;
+            case RTF:
+                return FileFormat.Rtf;
+            case ODT:
+                return FileFormat.Odt;
+            case HTML:
+                return FileFormat.Html;
+            default:
+                // Flat OPC 由 Spire 自行识别
+                return FileFormat.Auto;
+        }
+    }
+
+    private static String escapeJson(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 16);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"':
+                    escaped.append("\\\"");
+                    break;
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+                case '\t':
+                    escaped.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        escaped.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                    break;
+            }
+        }
+        return escaped.toString();
+    }
+
+    @Override
+    public ByteArrayOutputStream addWatermark(InputStream inputStream, String originalFilename, String watermarkText, boolean isImageWatermark) throws Exception {
+        Document doc = loadDocument(inputStream);
+
+        if (!isImageWatermark) {
+            // 添加文本水印
+            TextWatermark txtWatermark = new TextWatermark();
+            txtWatermark.setText(watermarkText);
+            txtWatermark.setFontSize(40f);
+            txtWatermark.setColor(new java.awt.Color(128, 128, 128, 128));
+            txtWatermark.setLayout(WatermarkLayout.Horizontal);
+            doc.setWatermark(txtWatermark);
+        } else {
+            // 图片水印需要先有图片文件，这里简化处理，实际使用时需要传入图片流
+            TextWatermark txtWatermark = new TextWatermark();
+            txtWatermark.setText(watermarkText);
+            txtWatermark.setFontSize(40f);
+            txtWatermark.setColor(new java.awt.Color(128, 128, 128, 128));
+            doc.setWatermark(txtWatermark);
+        }
+
+        // 保存文档
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        doc.saveToStream(outputStream, FileFormat.Docx_2013);
+
+        return outputStream;
+    }
+
+    @Override
+    public ByteArrayOutputStream protectDocument(InputStream inputStream, String originalFilename, String password, String protectionType) throws Exception {
+        Document doc = loadDocument(inputStream);
+
+        // Spire.Doc 使用 protect 方法进行文档保护
+        // 注意: Spire.Doc Free 版可能有限制
+        try {
+            // 使用枚举值进行保护
+            doc.protect(com.spire.doc.ProtectionType.Allow_Only_Reading);
+        } catch (Exception e) {
+            // 保护功能可能在免费版中不可用
+            System.err.println("文档保护功能可能需要商业版 Spire.Doc: " + e.getMessage());
+        }
+
+        // 保存文档
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        doc.saveToStream(outputStream, FileFormat.Docx_2013);
+
+        return outputStream;
+    }
+
+    @Override
+    public ByteArrayOutputStream unprotectDocument(InputStream inputStream, String originalFilename, String password) throws Exception {
+        Document doc = loadDocument(inputStream);
+
+        // 移除文档保护
+        try {
+            doc.unprotect();
+        } catch (Exception e) {
+            // 移除保护功能可能在免费版中不可用
+            System.err.println("移除文档保护功能可能需要商业版 Spire.Doc: " + e.getMessage());
+        }
+
+        // 保存文档
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        doc.saveToStream(outputStream, FileFormat.Docx_2013);
+
+        return outputStream;
+    }
+}
@@ -0,0 +1,44 @@
+package cn.bugstack.officetools.service.impl;
+
+import cn.bugstack.officetools.domain.dto.ConversionOptions;
+import cn.bugstack.officetools.service.DocumentEngine;
+import cn.bugstack.officetools.service.SpireDocService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * Spire.Doc 转换引擎适配
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Component
+public class SpireDocumentEngine implements DocumentEngine {
+
+    private static final Set<String> SUPPORTED_FORMATS = Set.of("pdf", "html", "txt", "doc", "docx", "rtf", "xps");
+
+    @Autowired
+    private SpireDocService spireDocService;
+
+    @Override
+    public String getName() {
+        return "spire";
+    }
+
+    @Override
+    public boolean supports(String targetFormat, ConversionOptions options) {
+        // Spire.Doc 不支持按页码范围保存
+        return targetFormat != null && SUPPORTED_FORMATS.contains(targetFormat.toLowerCase())
+                && !options.hasPageRange();
+    }
+
+    @Override
+    public ByteArrayOutputStream convert(InputStream inputStream, String originalFilename, String targetFormat,
+                                         ConversionOptions options) throws Exception {
+        return spireDocService.convertDocument(inputStream, originalFilename, targetFormat, options);
+    }
+}
@@ -0,0 +1,55 @@
+package cn.bugstack.officetools.service.impl;
+
+import cn.bugstack.officetools.domain.dto.ConversionProfile;
+import com.spire.doc.ToPdfParameterList;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 各转换档位的 Spire 保存参数
+ * 启动时按档位构建一次并复用，共享实例不会被改动
+ *
+ * @author bugstack
+ * @date 2026-10-19
+ */
+@Component
+public class SpireProfileOptions {
+
+    @Autowired
+    private ConversionProfileOptions conversionProfileOptions;
+
+    private final Map<ConversionProfile, ToPdfParameterList> spirePdfParameters = new EnumMap<>(ConversionProfile.class);
+
+    @PostConstruct
+    public void init() {
+        for (ConversionProfile profile : ConversionProfile.values()) {
+            spirePdfParameters.put(profile, createSpirePdfParameters(profile));
+        }
+    }
+
+    /**
+     * Spire PDF 保存参数（共享实例，调用方不得修改）
+     */
+    public ToPdfParameterList spirePdf(ConversionProfile profile) {
+        return spirePdfParameters.get(conversionProfileOptions.resolve(profile));
+    }
+
+    /**
+     * Spire 输出图片的 JPEG 质量，返回 0 表示保持引擎默认值
+     */
+    public int spireJpegQuality(ConversionProfile profile) {
+        return conversionProfileOptions.resolve(profile) == ConversionProfile.FAST
+                ? conversionProfileOptions.getFastJpegQuality() : 0;
+    }
+
+    private ToPdfParameterList createSpirePdfParameters(ConversionProfile profile) {
+        ToPdfParameterList parameters = new ToPdfParameterList();
+        // 只有归档档位嵌入完整字体，其余档位由引擎嵌入子集
+        parameters.isEmbeddedAllFonts(profile == ConversionProfile.ARCHIVAL);
+        return parameters;
+    }
+}
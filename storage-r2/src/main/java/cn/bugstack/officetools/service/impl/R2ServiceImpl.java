@@ -0,0 +1,316 @@
+package cn.bugstack.officetools.service.impl;
+
+import cn.bugstack.officetools.domain.model.VersionedObject;
+import cn.bugstack.officetools.jfr.StorageTransferEvent;
+import cn.bugstack.officetools.service.R2Service;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cloudflare R2 文件存储服务实现类
+ *
+ * @author bugstack
+ * @date 2026-01-15
+ */
+@Slf4j
+@Service
+public class R2ServiceImpl implements R2Service {
+
+    @Autowired
+    private S3Client s3Client;
+
+    @Value("${r2.bucket-name}")
+    private String bucketName;
+
+    @Value("${r2.public-domain:}")
+    private String publicDomain;
+
+    @Override
+    public String uploadFile(MultipartFile file) throws IOException {
+        return uploadFile(file, null);
+    }
+
+    @Override
+    public String uploadFile(MultipartFile file, String fileName) throws IOException {
+        // 如果没有指定文件名，使用 UUID 生成
+        if (fileName == null || fileName.isEmpty()) {
+            String originalFilename = file.getOriginalFilename();
+            String extension = originalFilename != null && originalFilename.contains(".")
+                    ? originalFilename.substring(originalFilename.lastIndexOf("."))
+                    : "";
+            fileName = UUID.randomUUID().toString() + extension;
+        }
+
+        // 构建上传请求
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(fileName)
+                .contentType(file.getContentType())
+                .contentLength(file.getSize())
+                .build();
+
+        // 执行上传
+        StorageTransferEvent event = StorageTransferEvent.start("upload", fileName, file.getSize());
+        try {
+            s3Client.putObject(putObjectRequest, RequestBody.fromBytes(file.getBytes()));
+            event.setSuccess(true);
+        } finally {
+            event.commit();
+        }
+
+        // 返回访问 URL
+        return buildFileUrl(fileName);
+    }
+
+    @Override
+    public String uploadBytes(byte[] content, String fileName, String contentType) {
+        long totalStart = System.currentTimeMillis();
+
+        // 构建上传请求
+        long buildStart = System.currentTimeMillis();
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(fileName)
+                .contentType(contentType)
+                .contentLength((long) content.length)
+                .build();
+        log.info("【性能监控-R2】构建请求耗时: {}ms",
+                System.currentTimeMillis() - buildStart);
+
+        // 执行上传
+        long uploadStart = System.currentTimeMillis();
+        StorageTransferEvent event = StorageTransferEvent.start("upload", fileName, content.length);
+        try {
+            s3Client.putObject(putObjectRequest, RequestBody.fromBytes(content));
+            event.setSuccess(true);
+        } finally {
+            event.commit();
+        }
+        long uploadTime = System.currentTimeMillis() - uploadStart;
+
+        long totalTime = System.currentTimeMillis() - totalStart;
+        // 计算上传速度 (KB/s)
+        double speedKB = (content.length / 1024.0) / (uploadTime / 1000.0);
+        log.info("【性能监控-R2】上传耗时: {}ms, 文件: {}, 大小: {} bytes, 速度: {:.2f} KB/s, 总耗时: {}ms",
+                uploadTime, fileName, content.length, speedKB, totalTime);
+
+        return buildFileUrl(fileName);
+    }
+
+    @Override
+    public String uploadFile(Path path, String fileName, String contentType) throws IOException {
+        long size = Files.size(path);
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(fileName)
+                .contentType(contentType)
+                .contentLength(size)
+                .build();
+
+        long uploadStart = System.currentTimeMillis();
+        StorageTransferEvent event = StorageTransferEvent.start("upload", fileName, size);
+        try {
+            s3Client.putObject(putObjectRequest, RequestBody.fromFile(path));
+            event.setSuccess(true);
+        } finally {
+            event.commit();
+        }
+        log.info("【性能监控-R2】文件上传耗时: {}ms, 文件: {}, 大小: {} bytes",
+                System.currentTimeMillis() - uploadStart, fileName, size);
+
+        return buildFileUrl(fileName);
+    }
+
+    @Override
+    public byte[] downloadFile(String fileName) throws IOException {
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(fileName)
+                .build();
+
+        StorageTransferEvent event = StorageTransferEvent.start("download", fileName, 0);
+        try (InputStream is = s3Client.getObject(getObjectRequest);
+             ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+
+            byte[] buffer = new byte[8192];
+            int len;
+            while ((len = is.read(buffer)) > 0) {
+                baos.write(buffer, 0, len);
+            }
+
+            event.setBytes(baos.size());
+            event.setSuccess(true);
+            return baos.toByteArray();
+        } catch (Exception e) {
+            log.error("下载文件失败: {}", e.getMessage(), e);
+            throw new IOException("下载文件失败: " + e.getMessage(), e);
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    public InputStream downloadFileStream(String fileName) throws IOException {
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(fileName)
+                .build();
+
+        // 流式下载只记录到拿到响应流为止（首字节延迟），传输在调用方读取时进行
+        StorageTransferEvent event = StorageTransferEvent.start("download-stream", fileName, 0);
+        try {
+            ResponseInputStream<GetObjectResponse> stream = s3Client.getObject(getObjectRequest);
+            event.setBytes(stream.response().contentLength() != null ? stream.response().contentLength() : 0);
+            event.setSuccess(true);
+            return stream;
+        } catch (Exception e) {
+            log.error("下载文件流失败: {}", e.getMessage(), e);
+            throw new IOException("下载文件流失败: " + e.getMessage(), e);
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    public void deleteFile(String fileName) {
+        DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
+                .bucket(bucketName)
+                .key(fileName)
+                .build();
+
+        StorageTransferEvent event = StorageTransferEvent.start("delete", fileName, 0);
+        try {
+            s3Client.deleteObject(deleteObjectRequest);
+            event.setSuccess(true);
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    public boolean fileExists(String fileName) {
+        StorageTransferEvent event = StorageTransferEvent.start("head", fileName, 0);
+        try {
+            HeadObjectRequest headObjectRequest = HeadObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(fileName)
+                    .build();
+            s3Client.headObject(headObjectRequest);
+            event.setSuccess(true);
+            return true;
+        } catch (NoSuchKeyException e) {
+            event.setSuccess(true);
+            return false;
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    public VersionedObject getVersioned(String key) throws IOException {
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
+
+        StorageTransferEvent event = StorageTransferEvent.start("get-versioned", key, 0);
+        try {
+            ResponseBytes<GetObjectResponse> bytes = s3Client.getObjectAsBytes(getObjectRequest);
+            byte[] content = bytes.asByteArray();
+            event.setBytes(content.length);
+            event.setSuccess(true);
+            return new VersionedObject(content, bytes.response().eTag());
+        } catch (NoSuchKeyException e) {
+            event.setSuccess(true);
+            return null;
+        } catch (Exception e) {
+            log.error("读取对象失败: {}, 错误: {}", key, e.getMessage(), e);
+            throw new IOException("读取对象失败: " + e.getMessage(), e);
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    public String putIfMatch(String key, byte[] content, String contentType, String expectedEtag) {
+        // 通过请求头传递条件，兼容未提供 ifMatch/ifNoneMatch 参数的 SDK 版本
+        String header = expectedEtag == null ? "If-None-Match" : "If-Match";
+        String value = expectedEtag == null ? "*" : expectedEtag;
+
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .contentLength((long) content.length)
+                .overrideConfiguration(o -> o.putHeader(header, value))
+                .build();
+
+        // 条件不满足也是一次成功的请求，success 只表示请求本身是否出错
+        StorageTransferEvent event = StorageTransferEvent.start("put-if-match", key, content.length);
+        try {
+            String etag = s3Client.putObject(putObjectRequest, RequestBody.fromBytes(content)).eTag();
+            event.setSuccess(true);
+            return etag;
+        } catch (S3Exception e) {
+            // 412 条件不满足；409 为并发的条件写入冲突
+            if (e.statusCode() == 412 || e.statusCode() == 409) {
+                event.setSuccess(true);
+                return null;
+            }
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    public List<String> listKeys(String prefix) {
+        ListObjectsV2Request listRequest = ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .prefix(prefix)
+                .build();
+
+        List<String> keys = new ArrayList<>();
+        StorageTransferEvent event = StorageTransferEvent.start("list", prefix, 0);
+        try {
+            s3Client.listObjectsV2Paginator(listRequest).contents().forEach(object -> keys.add(object.key()));
+            event.setSuccess(true);
+        } finally {
+            event.commit();
+        }
+        return keys;
+    }
+
+    /**
+     * 构建文件的访问 URL
+     *
+     * @param fileName 文件名
+     * @return 访问 URL
+     */
+    private String buildFileUrl(String fileName) {
+        // 如果配置了公共域名，使用公共域名
+        if (publicDomain != null && !publicDomain.isEmpty()) {
+            return publicDomain + "/" + fileName;
+        }
+
+        // 否则返回相对路径（适用于自定义域名场景）
+        return "/" + fileName;
+    }
+}